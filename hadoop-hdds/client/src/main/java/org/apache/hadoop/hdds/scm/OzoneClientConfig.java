@@ -29,6 +29,8 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 /**
  * Configuration values for Ozone Client.
  */
@@ -143,6 +145,29 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private int retryInterval = 0;
 
+  @Config(key = "buffer.arena.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "Total size of the stream buffers that output streams of "
+          + "the client JVM may borrow from a shared arena.  Buffers returned "
+          + "by closed streams are reused by new ones instead of being "
+          + "allocated again.  A stream that needs a buffer when the arena "
+          + "is exhausted waits up to ozone.client.buffer.arena.max.wait.  "
+          + "Only the first client of the JVM determines the size, 0 "
+          + "disables the arena.",
+      tags = ConfigTag.CLIENT)
+  private long bufferArenaSize = 0;
+
+  @Config(key = "buffer.arena.max.wait",
+      defaultValue = "1s",
+      type = ConfigType.TIME,
+      timeUnit = MILLISECONDS,
+      description = "Maximum time an output stream waits for a buffer when "
+          + "the buffer arena is exhausted, after which the buffer is "
+          + "allocated beyond the size of the arena.",
+      tags = ConfigTag.CLIENT)
+  private long bufferArenaMaxWait = 1000;
+
   @Config(key = "checksum.type",
       defaultValue = "CRC32",
       description = "The checksum type [NONE/ CRC32/ CRC32C/ SHA256/ MD5] "
@@ -160,6 +185,14 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private int bytesPerChecksum = 1024 * 1024;
 
+  @Config(key = "checksum.parallel",
+      defaultValue = "true",
+      description = "Whether the checksums of a chunk of at least 1MB can be "
+          + "computed in parallel by a small pool shared by all streams of "
+          + "the client.",
+      tags = ConfigTag.CLIENT)
+  private boolean checksumParallel = true;
+
   @Config(key = "verify.checksum",
       defaultValue = "true",
       description = "Ozone client to verify checksum of the checksum "
@@ -181,6 +214,26 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private int ecStripeQueueSize = 2;
 
+  @Config(key = "ec.stripe.write.threads",
+      defaultValue = "8",
+      description = "Number of threads of the client that compute the parity"
+          + " of EC stripes and write them to datanodes.  The threads are"
+          + " shared by all EC output streams of the client, stripes of the"
+          + " same stream are still written in order.",
+      tags = ConfigTag.CLIENT)
+  private int ecStripeWriteThreads = 8;
+
+  @Config(key = "ec.stripe.inflight.limit",
+      defaultValue = "0",
+      description = "The max number of EC stripes buffered by all EC output"
+          + " streams of the client while waiting for their parity or"
+          + " their write to datanodes.  Writers block once the limit is"
+          + " reached, which bounds the buffer memory of the client.  0"
+          + " means only ozone.client.ec.stripe.queue.size limits each"
+          + " stream.",
+      tags = ConfigTag.CLIENT)
+  private int ecStripeInflightLimit = 0;
+
   @Config(key = "exclude.nodes.expiry.time",
       defaultValue = "600000",
       description = "Time after which an excluded node is reconsidered for" +
@@ -200,6 +253,45 @@ public enum ChecksumCombineMode {
   // 3 concurrent stripe read should be enough.
   private int ecReconstructStripeReadPoolLimit = 10 * 3;
 
+  @Config(key = "read.ahead.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "Maximum number of bytes an input stream reads ahead of "
+          + "the reader once it detects sequential reads.  Whole chunks "
+          + "following the current one are fetched asynchronously while the "
+          + "current one is consumed.  Random reads, like those of columnar "
+          + "file footers, do not trigger read-ahead.  0 disables it.",
+      tags = ConfigTag.CLIENT)
+  private long readAheadSize = 0;
+
+  @Config(key = "read.ahead.threads",
+      defaultValue = "8",
+      description = "Number of threads of the client that fetch chunks read "
+          + "ahead by input streams.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadThreads = 8;
+
+  @Config(key = "read.ahead.timeout",
+      defaultValue = "30s",
+      type = ConfigType.TIME,
+      timeUnit = MILLISECONDS,
+      description = "Maximum time a reader waits for a chunk being read "
+          + "ahead, after which the chunk is read again synchronously.",
+      tags = ConfigTag.CLIENT)
+  private long readAheadTimeout = 30_000;
+
+  @Config(key = "small.block.read.threshold",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "Blocks up to this length are read with a single request "
+          + "returning both the chunk list and the data of the block, "
+          + "instead of a GetBlock followed by one ReadChunk per chunk.  "
+          + "If the datanode does not return the chunk list, it is read "
+          + "with a GetBlock request and the data already read is used.  "
+          + "0 disables it.",
+      tags = ConfigTag.CLIENT)
+  private long smallBlockReadThreshold = 0;
+
   @Config(key = "checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -314,6 +406,22 @@ public void setRetryInterval(int retryInterval) {
     this.retryInterval = retryInterval;
   }
 
+  public long getBufferArenaSize() {
+    return bufferArenaSize;
+  }
+
+  public void setBufferArenaSize(long bufferArenaSize) {
+    this.bufferArenaSize = bufferArenaSize;
+  }
+
+  public long getBufferArenaMaxWait() {
+    return bufferArenaMaxWait;
+  }
+
+  public void setBufferArenaMaxWait(long bufferArenaMaxWait) {
+    this.bufferArenaMaxWait = bufferArenaMaxWait;
+  }
+
   public ChecksumType getChecksumType() {
     return ChecksumType.valueOf(checksumType);
   }
@@ -330,6 +438,14 @@ public void setBytesPerChecksum(int bytesPerChecksum) {
     this.bytesPerChecksum = bytesPerChecksum;
   }
 
+  public boolean isChecksumParallel() {
+    return checksumParallel;
+  }
+
+  public void setChecksumParallel(boolean checksumParallel) {
+    this.checksumParallel = checksumParallel;
+  }
+
   public boolean isChecksumVerify() {
     return checksumVerify;
   }
@@ -346,6 +462,22 @@ public int getEcStripeQueueSize() {
     return this.ecStripeQueueSize;
   }
 
+  public int getEcStripeWriteThreads() {
+    return ecStripeWriteThreads;
+  }
+
+  public void setEcStripeWriteThreads(int threads) {
+    this.ecStripeWriteThreads = threads;
+  }
+
+  public int getEcStripeInflightLimit() {
+    return ecStripeInflightLimit;
+  }
+
+  public void setEcStripeInflightLimit(int limit) {
+    this.ecStripeInflightLimit = limit;
+  }
+
   public long getExcludeNodesExpiryTime() {
     return excludeNodesExpiryTime;
   }
@@ -382,6 +514,38 @@ public int getEcReconstructStripeReadPoolLimit() {
     return ecReconstructStripeReadPoolLimit;
   }
 
+  public long getReadAheadSize() {
+    return readAheadSize;
+  }
+
+  public void setReadAheadSize(long readAheadSize) {
+    this.readAheadSize = readAheadSize;
+  }
+
+  public int getReadAheadThreads() {
+    return readAheadThreads;
+  }
+
+  public void setReadAheadThreads(int readAheadThreads) {
+    this.readAheadThreads = readAheadThreads;
+  }
+
+  public long getReadAheadTimeout() {
+    return readAheadTimeout;
+  }
+
+  public void setReadAheadTimeout(long readAheadTimeout) {
+    this.readAheadTimeout = readAheadTimeout;
+  }
+
+  public long getSmallBlockReadThreshold() {
+    return smallBlockReadThreshold;
+  }
+
+  public void setSmallBlockReadThreshold(long smallBlockReadThreshold) {
+    this.smallBlockReadThreshold = smallBlockReadThreshold;
+  }
+
   public void setFsDefaultBucketLayout(String bucketLayout) {
     if (!bucketLayout.isEmpty()) {
       this.fsDefaultBucketLayout = bucketLayout;
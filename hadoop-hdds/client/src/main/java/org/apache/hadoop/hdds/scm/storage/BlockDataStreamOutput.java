@@ -187,7 +187,7 @@ public BlockDataStreamOutput(
     failedServers = new ArrayList<>(0);
     ioException = new AtomicReference<>(null);
     checksum = new Checksum(config.getChecksumType(),
-        config.getBytesPerChecksum());
+        config.getBytesPerChecksum(), config.isChecksumParallel());
     metrics = XceiverClientManager.getXceiverClientMetrics();
   }
 
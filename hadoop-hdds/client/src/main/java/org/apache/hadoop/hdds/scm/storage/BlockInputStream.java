@@ -21,9 +21,11 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -35,6 +37,8 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetBlockResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetSmallFileResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
@@ -45,9 +49,13 @@
 import org.apache.hadoop.hdds.security.exception.SCMSecurityException;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.io.retry.RetryPolicy;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
 import org.apache.hadoop.security.token.Token;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.thirdparty.io.grpc.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,10 +115,30 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private final Function<BlockID, BlockLocationInfo> refreshFunction;
 
+  // Read-ahead settings, null if disabled
+  private final ReadAhead readAhead;
+  // Block position where the last read ended, to detect sequential reads
+  private long lastReadEnd = -1;
+  // Number of consecutive reads that started where the previous one ended
+  private int sequentialReads;
+  // Whether reading ahead from the start of the block was already requested
+  private boolean readAheadFromStartRequested;
+
+  // Blocks up to this length are read along with their chunk list, 0 if
+  // disabled
+  private final long smallBlockReadThreshold;
+  // Data of each chunk read by getChunkInfos(), null if not read yet
+  private List<ByteBuffer[]> smallBlockData;
+  private final List<Validator> smallBlockValidators
+      = ContainerProtocolCalls.toValidatorList(
+          (request, response) -> validateSmallBlock(response));
+
+  @SuppressWarnings("parameternumber")
   public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
       Token<OzoneBlockTokenIdentifier> token, boolean verifyChecksum,
       XceiverClientFactory xceiverClientFactory,
-      Function<BlockID, BlockLocationInfo> refreshFunction) {
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      ReadAhead readAhead, long smallBlockReadThreshold) {
     this.blockID = blockId;
     this.length = blockLen;
     this.pipeline = pipeline;
@@ -118,6 +146,16 @@ public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
     this.verifyChecksum = verifyChecksum;
     this.xceiverClientFactory = xceiverClientFactory;
     this.refreshFunction = refreshFunction;
+    this.readAhead = readAhead;
+    this.smallBlockReadThreshold = smallBlockReadThreshold;
+  }
+
+  public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token, boolean verifyChecksum,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction) {
+    this(blockId, blockLen, pipeline, token, verifyChecksum,
+        xceiverClientFactory, refreshFunction, null, 0);
   }
 
   public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
@@ -182,6 +220,12 @@ public synchronized void initialize() throws IOException {
         chunkOffsets[i] = tempOffset;
         tempOffset += chunks.get(i).getLen();
       }
+      if (smallBlockData != null) {
+        for (int i = 0; i < chunks.size(); i++) {
+          chunkStreams.get(i).preload(smallBlockData.get(i));
+        }
+        smallBlockData = null;
+      }
 
       initialized = true;
       this.chunkIndex = 0;
@@ -251,15 +295,106 @@ protected List<ChunkInfo> getChunkInfos() throws IOException {
       if (replicaIndex > 0) {
         blkIDBuilder.setReplicaIndex(replicaIndex);
       }
+      ByteString smallBlock = null;
+      if (length > 0 && length <= smallBlockReadThreshold) {
+        final GetSmallFileResponseProto smallFile = ContainerProtocolCalls
+            .readSmallFile(xceiverClient, smallBlockValidators,
+                blkIDBuilder.build(), token);
+        smallBlock = getData(smallFile.getData());
+        if (smallFile.hasBlock()) {
+          final List<ChunkInfo> chunks = smallFile.getBlock().getChunksList();
+          smallBlockData = splitSmallBlock(chunks, smallBlock);
+          return chunks;
+        }
+        LOG.debug("No chunk list returned with the data of block {}", blockID);
+      }
       GetBlockResponseProto response = ContainerProtocolCalls
           .getBlock(xceiverClient, VALIDATORS, blkIDBuilder.build(), token);
 
-      return response.getBlockData().getChunksList();
+      final List<ChunkInfo> chunks = response.getBlockData().getChunksList();
+      if (smallBlock != null) {
+        // only the chunk list was missing, the data already read is reused
+        // unless it does not match the chunks
+        try {
+          verifySmallBlock(chunks, smallBlock);
+          smallBlockData = splitSmallBlock(chunks, smallBlock);
+        } catch (IOException e) {
+          LOG.debug("Data read for block {} does not match its chunks, " +
+              "reading the chunks instead", blockID, e);
+        }
+      }
+      return chunks;
     } finally {
       releaseClient();
     }
   }
 
+  /**
+   * Splits the data of the whole block into the data of each chunk.
+   */
+  private static List<ByteBuffer[]> splitSmallBlock(List<ChunkInfo> chunks,
+      ByteString data) {
+    final List<ByteBuffer[]> chunkData = new ArrayList<>(chunks.size());
+    long offset = 0;
+    for (ChunkInfo chunk : chunks) {
+      chunkData.add(data.substring((int) offset,
+              (int) (offset + chunk.getLen()))
+          .asReadOnlyByteBufferList().toArray(new ByteBuffer[0]));
+      offset += chunk.getLen();
+    }
+    return chunkData;
+  }
+
+  private void validateSmallBlock(ContainerCommandResponseProto response)
+      throws IOException {
+    if (!response.hasGetSmallFile()) {
+      throw new IllegalArgumentException(
+          "Not GetSmallFile: response=" + response);
+    }
+    final GetSmallFileResponseProto r = response.getGetSmallFile();
+    if (!r.hasBlock()) {
+      return;
+    }
+    verifySmallBlock(r.getBlock().getChunksList(), getData(r.getData()));
+  }
+
+  /**
+   * Verifies the data of the whole block against its chunks.
+   */
+  private void verifySmallBlock(List<ChunkInfo> chunks, ByteString data)
+      throws IOException {
+    long chunksLen = 0;
+    for (int i = 0; i < chunks.size(); i++) {
+      final ChunkInfo c = chunks.get(i);
+      if (c.getLen() <= 0) {
+        throw new IOException("Failed to get chunkInfo["
+            + i + "]: len == " + c.getLen());
+      }
+      chunksLen += c.getLen();
+    }
+    if (chunksLen != data.size()) {
+      // Bytes read should be equal to the length of the chunks.
+      throw new OzoneChecksumException(String.format(
+          "Inconsistent read for block=%s len=%d bytesRead=%d",
+          blockID, chunksLen, data.size()));
+    }
+
+    if (verifyChecksum) {
+      long offset = 0;
+      for (ChunkInfo c : chunks) {
+        Checksum.verifyChecksum(
+            data.substring((int) offset, (int) (offset + c.getLen())),
+            ChecksumData.getFromProtoBuf(c.getChecksumData()), 0);
+        offset += c.getLen();
+      }
+    }
+  }
+
+  private static ByteString getData(ReadChunkResponseProto readChunk) {
+    return readChunk.hasData() ? readChunk.getData()
+        : ByteString.copyFrom(readChunk.getDataBuffers().getBuffersList());
+  }
+
   private static final List<Validator> VALIDATORS
       = ContainerProtocolCalls.toValidatorList(
           (request, response) -> validate(response));
@@ -309,6 +444,9 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     }
 
     checkOpen();
+    if (readAhead != null && initialized) {
+      trackSequentialReads();
+    }
     int totalReadLen = 0;
     int len = strategy.getTargetLength();
     while (len > 0) {
@@ -369,9 +507,99 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
         chunkIndex += 1;
       }
     }
+    if (readAhead != null && initialized) {
+      lastReadEnd = getPos();
+      if (sequentialReads >= ReadAhead.SEQUENTIAL_READS) {
+        readAhead(chunkIndex + 1, readAhead.getSize());
+      }
+    }
     return totalReadLen;
   }
 
+  /**
+   * Counts the reads continuing the previous one.  Any other read ends the
+   * sequence, and the chunks read ahead for it are discarded, except the
+   * one at the new position.
+   */
+  private void trackSequentialReads() {
+    if (getPos() == lastReadEnd) {
+      sequentialReads++;
+    } else {
+      sequentialReads = 0;
+      for (int i = 0; i < chunkStreams.size(); i++) {
+        if (i != chunkIndex) {
+          chunkStreams.get(i).cancelReadAhead();
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads ahead whole chunks starting at the given one, as many as fit into
+   * the given number of bytes.
+   */
+  private void readAhead(int firstChunkIndex, long maxBytes) {
+    long bytes = 0;
+    for (int i = firstChunkIndex; i < chunkStreams.size(); i++) {
+      final ChunkInputStream stream = chunkStreams.get(i);
+      bytes += stream.getLength();
+      if (bytes > maxBytes || !stream.readAhead(readAhead)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * @return the number of bytes a sequential reader of this block wants to
+   *         have read ahead beyond its end, 0 if the reader is not
+   *         sequential or far enough from the end.
+   */
+  public synchronized long getReadAheadBeyondEnd() {
+    if (readAhead == null || !initialized
+        || sequentialReads < ReadAhead.SEQUENTIAL_READS) {
+      return 0;
+    }
+    return Math.max(0, getPos() + readAhead.getSize() - length);
+  }
+
+  /**
+   * Asynchronously initializes this stream and reads ahead its first chunks,
+   * for a sequential reader about to continue from the previous block of
+   * the key.
+   * @param maxBytes number of bytes to read ahead
+   */
+  public synchronized void readAheadFromStart(long maxBytes) {
+    if (readAhead == null || readAheadFromStartRequested || getPos() != 0) {
+      return;
+    }
+    readAheadFromStartRequested = true;
+    try {
+      readAhead.getExecutor().execute(() -> initializeAndReadAhead(maxBytes));
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Cannot read ahead block {}", blockID, e);
+    }
+  }
+
+  private synchronized void initializeAndReadAhead(long maxBytes) {
+    if (xceiverClientFactory == null || getPos() != 0) {
+      // closed, or the reader went elsewhere in the meantime
+      return;
+    }
+    try {
+      initialize();
+    } catch (IOException e) {
+      // the reader will initialize the stream itself and handle the failure
+      LOG.debug("Failed to initialize block {} for read-ahead", blockID, e);
+      return;
+    }
+    if (initialized) {
+      readAhead(0, maxBytes);
+      // the reader continues the sequence of the previous block
+      lastReadEnd = 0;
+      sequentialReads = ReadAhead.SEQUENTIAL_READS;
+    }
+  }
+
   /**
    * Seeks the BlockInputStream to the specified position. If the stream is
    * not initialized, save the seeked position via blockPosition. Otherwise,
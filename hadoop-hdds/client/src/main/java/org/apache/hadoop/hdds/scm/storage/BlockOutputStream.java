@@ -180,7 +180,7 @@ public BlockOutputStream(
     failedServers = new ArrayList<>(0);
     ioException = new AtomicReference<>(null);
     checksum = new Checksum(config.getChecksumType(),
-        config.getBytesPerChecksum());
+        config.getBytesPerChecksum(), config.isChecksumParallel());
     this.clientMetrics = clientMetrics;
     this.pipeline = pipeline;
   }
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.util.Time;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of chunk buffers shared by the output streams of a client JVM.
+ * <p>
+ * Buffers are pooled per size class (buffer size and increment), so a stream
+ * opened after another one was closed reuses its buffers instead of
+ * allocating new ones.  This avoids churning large arrays in the heap when
+ * many keys are written concurrently.
+ * <p>
+ * The bytes lent out are limited by the capacity of the arena.  A stream
+ * that needs a buffer beyond that waits for other streams to return theirs,
+ * but only up to a maximum time: buffers are returned by the writing threads
+ * themselves, so waiting indefinitely could deadlock.  After that the buffer
+ * is allocated anyway and counted as over capacity.
+ * <p>
+ * A {@link BufferPool} that is garbage collected without being cleared is
+ * reported as a leak and the capacity it held is given back.
+ */
+public final class BufferArena {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BufferArena.class);
+
+  private static BufferArena instance;
+
+  private final long capacity;
+  private final long maxWaitMillis;
+  private final BufferArenaMetrics metrics;
+
+  /** Free buffers by size class, see {@link #sizeClass(int, int)}. */
+  private final Map<Long, Deque<ChunkBuffer>> freeBuffers =
+      new ConcurrentHashMap<>();
+  private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+  private final ReferenceQueue<BufferPool> collected = new ReferenceQueue<>();
+
+  /** Bytes of the buffers lent to pools. */
+  private long leasedBytes;
+  /** Bytes of the buffers held in {@link #freeBuffers}. */
+  private long pooledBytes;
+
+  /**
+   * @return the arena of this JVM, created with the settings of the first
+   *         config that enables it; null if the config disables it.
+   */
+  public static synchronized BufferArena getInstance(
+      OzoneClientConfig config) {
+    if (config.getBufferArenaSize() <= 0) {
+      return null;
+    }
+    if (instance == null) {
+      instance = new BufferArena(config.getBufferArenaSize(),
+          config.getBufferArenaMaxWait(), BufferArenaMetrics.create());
+      LOG.info("Created client buffer arena of {} bytes", instance.capacity);
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  BufferArena(long capacity, long maxWaitMillis, BufferArenaMetrics metrics) {
+    this.capacity = capacity;
+    this.maxWaitMillis = maxWaitMillis;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Registers a pool borrowing from this arena.  The pool must return all
+   * its buffers and {@link #close(Lease)} the lease when it is cleared.
+   */
+  Lease newLease(BufferPool pool) {
+    final Lease lease = new Lease(pool, collected);
+    leases.add(lease);
+    return lease;
+  }
+
+  /**
+   * Lends a buffer, waiting for capacity up to the configured maximum time.
+   */
+  ChunkBuffer acquire(Lease lease, int bufferSize, int increment) {
+    reclaimLeaked();
+    reserve(lease, bufferSize);
+
+    final Deque<ChunkBuffer> free = freeBuffers.get(
+        sizeClass(bufferSize, increment));
+    final ChunkBuffer reused = free != null ? free.pollFirst() : null;
+    if (reused != null) {
+      synchronized (this) {
+        pooledBytes -= bufferSize;
+        metrics.setPooledBytes(pooledBytes);
+      }
+      metrics.incNumReused();
+      return reused;
+    }
+    metrics.incNumAllocated();
+    return ChunkBuffer.allocate(bufferSize, increment);
+  }
+
+  /**
+   * Takes back a buffer.  Buffers still holding data may be referenced by
+   * requests in flight, so those are not reused.
+   */
+  void release(Lease lease, ChunkBuffer buffer, int bufferSize,
+      int increment) {
+    final boolean reusable = buffer.position() == 0;
+    synchronized (this) {
+      unreserve(lease, bufferSize);
+      if (!reusable || pooledBytes + bufferSize > capacity) {
+        return;
+      }
+      pooledBytes += bufferSize;
+      metrics.setPooledBytes(pooledBytes);
+    }
+    buffer.clear();
+    freeBuffers.computeIfAbsent(sizeClass(bufferSize, increment),
+        k -> new ConcurrentLinkedDeque<>()).addFirst(buffer);
+  }
+
+  /** Ends the lease of a pool, after it returned all its buffers. */
+  void close(Lease lease) {
+    leases.remove(lease);
+    lease.clear();
+    synchronized (this) {
+      if (lease.bytes > 0) {
+        // not expected, but do not lose the capacity
+        unreserve(lease, lease.bytes);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  synchronized long getLeasedBytes() {
+    return leasedBytes;
+  }
+
+  @VisibleForTesting
+  synchronized long getPooledBytes() {
+    return pooledBytes;
+  }
+
+  @VisibleForTesting
+  BufferArenaMetrics getMetrics() {
+    return metrics;
+  }
+
+  private synchronized void reserve(Lease lease, int bytes) {
+    if (leasedBytes + bytes > capacity) {
+      final long start = Time.monotonicNow();
+      final long deadline = start + maxWaitMillis;
+      try {
+        for (long now = start; leasedBytes + bytes > capacity
+            && now < deadline; now = Time.monotonicNow()) {
+          wait(deadline - now);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      metrics.addWaitTime(Time.monotonicNow() - start);
+      if (leasedBytes + bytes > capacity) {
+        metrics.incNumOverCapacity();
+        LOG.debug("Buffer arena is full ({} of {} bytes leased), " +
+            "allocating {} bytes over capacity", leasedBytes, capacity, bytes);
+      }
+    }
+    leasedBytes += bytes;
+    lease.bytes += bytes;
+    metrics.setLeasedBytes(leasedBytes);
+  }
+
+  private synchronized void unreserve(Lease lease, long bytes) {
+    leasedBytes -= bytes;
+    lease.bytes -= bytes;
+    metrics.setLeasedBytes(leasedBytes);
+    notifyAll();
+  }
+
+  /** Gives back the capacity held by pools that were not cleared. */
+  private void reclaimLeaked() {
+    for (Reference<? extends BufferPool> ref = collected.poll(); ref != null;
+         ref = collected.poll()) {
+      final Lease lease = (Lease) ref;
+      if (!leases.remove(lease)) {
+        continue;
+      }
+      synchronized (this) {
+        if (lease.bytes > 0) {
+          LOG.warn("Output stream was not closed, reclaiming {} bytes of " +
+              "its buffers", lease.bytes);
+          metrics.incNumLeaked();
+          unreserve(lease, lease.bytes);
+        }
+      }
+    }
+  }
+
+  private static long sizeClass(int bufferSize, int increment) {
+    return ((long) bufferSize << 32) | (increment & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Tracks the bytes lent to a {@link BufferPool}, and notices when the pool
+   * is garbage collected.  Guarded by the arena.
+   */
+  static final class Lease extends PhantomReference<BufferPool> {
+    private long bytes;
+
+    private Lease(BufferPool pool, ReferenceQueue<BufferPool> queue) {
+      super(pool, queue);
+    }
+  }
+}
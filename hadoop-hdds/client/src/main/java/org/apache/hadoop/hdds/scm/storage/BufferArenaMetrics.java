@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Occupancy and contention of the client {@link BufferArena}.
+ */
+@Metrics(about = "Client Buffer Arena Metrics", context = OzoneConsts.OZONE)
+public final class BufferArenaMetrics {
+
+  private static final String SOURCE_NAME =
+      BufferArenaMetrics.class.getSimpleName();
+
+  @Metric("bytes of the buffers lent to output streams")
+  private MutableGaugeLong leasedBytes;
+  @Metric("bytes of the free buffers kept for reuse")
+  private MutableGaugeLong pooledBytes;
+  @Metric("number of buffers allocated")
+  private MutableCounterLong numAllocated;
+  @Metric("number of buffers reused")
+  private MutableCounterLong numReused;
+  @Metric("number of buffers lent beyond the capacity after waiting")
+  private MutableCounterLong numOverCapacity;
+  @Metric("number of output streams dropped without returning buffers")
+  private MutableCounterLong numLeaked;
+  @Metric("time in milliseconds spent waiting for capacity")
+  private MutableRate waitTime;
+
+  BufferArenaMetrics() {
+  }
+
+  static BufferArenaMetrics create() {
+    return DefaultMetricsSystem.instance().register(SOURCE_NAME,
+        "Client Buffer Arena Metrics", new BufferArenaMetrics());
+  }
+
+  void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+  }
+
+  void setLeasedBytes(long bytes) {
+    leasedBytes.set(bytes);
+  }
+
+  void setPooledBytes(long bytes) {
+    pooledBytes.set(bytes);
+  }
+
+  void incNumAllocated() {
+    numAllocated.incr();
+  }
+
+  void incNumReused() {
+    numReused.incr();
+  }
+
+  void incNumOverCapacity() {
+    numOverCapacity.incr();
+  }
+
+  void incNumLeaked() {
+    numLeaked.incr();
+  }
+
+  void addWaitTime(long millis) {
+    waitTime.add(millis);
+  }
+
+  public long getLeasedBytes() {
+    return leasedBytes.value();
+  }
+
+  public long getPooledBytes() {
+    return pooledBytes.value();
+  }
+
+  public long getNumAllocated() {
+    return numAllocated.value();
+  }
+
+  public long getNumReused() {
+    return numReused.value();
+  }
+
+  public long getNumOverCapacity() {
+    return numOverCapacity.value();
+  }
+
+  public long getNumLeaked() {
+    return numLeaked.value();
+  }
+}
@@ -43,6 +43,10 @@ public class BufferPool {
   private final int bufferSize;
   private final int capacity;
   private final Function<ByteBuffer, ByteString> byteStringConversion;
+  private final BufferArena arena;
+  private BufferArena.Lease lease;
+  /** The increment of each buffer in bufferList, to return it to arena. */
+  private final List<Integer> increments;
 
   public static BufferPool empty() {
     return EMPTY;
@@ -55,11 +59,23 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, null);
+  }
+
+  /**
+   * @param arena the arena to borrow the buffers from, or null to allocate
+   *              them for this pool only
+   */
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion,
+      BufferArena arena) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     bufferList = capacity == 0 ? emptyList() : new ArrayList<>(capacity);
     currentBufferIndex = -1;
     this.byteStringConversion = byteStringConversion;
+    this.arena = capacity == 0 ? null : arena;
+    increments = this.arena == null ? emptyList() : new ArrayList<>(capacity);
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -90,12 +106,23 @@ public ChunkBuffer allocateBuffer(int increment) {
     if (currentBufferIndex < bufferList.size()) {
       return getBuffer(currentBufferIndex);
     } else {
-      final ChunkBuffer newBuffer = ChunkBuffer.allocate(bufferSize, increment);
+      final ChunkBuffer newBuffer = newBuffer(increment);
       bufferList.add(newBuffer);
       return newBuffer;
     }
   }
 
+  private ChunkBuffer newBuffer(int increment) {
+    if (arena == null) {
+      return ChunkBuffer.allocate(bufferSize, increment);
+    }
+    if (lease == null) {
+      lease = arena.newLease(this);
+    }
+    increments.add(increment);
+    return arena.acquire(lease, bufferSize, increment);
+  }
+
   void releaseBuffer(ChunkBuffer chunkBuffer) {
     Preconditions.assertTrue(!bufferList.isEmpty(), "empty buffer list");
     Preconditions.assertSame(bufferList.get(0), chunkBuffer,
@@ -107,10 +134,22 @@ void releaseBuffer(ChunkBuffer chunkBuffer) {
     final ChunkBuffer buffer = bufferList.remove(0);
     buffer.clear();
     bufferList.add(buffer);
+    if (arena != null) {
+      increments.add(increments.remove(0));
+    }
     currentBufferIndex--;
   }
 
   public void clearBufferPool() {
+    if (lease != null) {
+      for (int i = 0; i < bufferList.size(); i++) {
+        arena.release(lease, bufferList.get(i), bufferSize,
+            increments.get(i));
+      }
+      increments.clear();
+      arena.close(lease);
+      lease = null;
+    }
     bufferList.clear();
     currentBufferIndex = -1;
   }
@@ -43,9 +43,16 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -102,6 +109,11 @@ public class ChunkInputStream extends InputStream
 
   private final Token<? extends TokenIdentifier> token;
 
+  // The whole chunk being read ahead of the reader, see readAhead()
+  private CompletableFuture<ByteBuffer[]> readAheadData;
+  private ReadAheadMetrics readAheadMetrics;
+  private long readAheadTimeout;
+
   private static final int EOF = -1;
 
   ChunkInputStream(ChunkInfo chunkInfo, BlockID blockId,
@@ -281,6 +293,7 @@ public boolean seekToNewSource(long targetPos) {
 
   @Override
   public synchronized void close() {
+    cancelReadAhead();
     releaseBuffers();
     releaseClient();
   }
@@ -365,6 +378,16 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
     // successful read in adjustBufferPosition()
     storePosition();
 
+    if (readAheadData != null) {
+      final ByteBuffer[] wholeChunk = takeReadAheadData();
+      if (wholeChunk != null) {
+        setBuffers(wholeChunk, length);
+        bufferOffsetWrtChunkData = 0;
+        adjustBufferPosition(startByteIndex);
+        return;
+      }
+    }
+
     long adjustedBuffersOffset, adjustedBuffersLen;
     if (verifyChecksum) {
       // Adjust the chunk offset and length to include required checksum
@@ -401,8 +424,12 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
 
   private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
       throws IOException {
-    buffers = readChunk(readChunkInfo);
-    buffersSize = readChunkInfo.getLen();
+    setBuffers(readChunk(readChunkInfo), readChunkInfo.getLen());
+  }
+
+  private void setBuffers(ByteBuffer[] data, long dataSize) {
+    buffers = data;
+    buffersSize = dataSize;
 
     bufferOffsets = new long[buffers.length];
     int tempOffset = 0;
@@ -416,6 +443,103 @@ private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
     allocated = true;
   }
 
+  /**
+   * Starts reading the whole chunk asynchronously, so that the next read of
+   * this stream finds the data without waiting for the datanode.  Nothing
+   * is done if the chunk already has data buffered.
+   * @return true if the chunk is being read ahead
+   */
+  synchronized boolean readAhead(ReadAhead settings) {
+    if (readAheadData != null) {
+      return true;
+    }
+    if (buffersAllocated() || length == 0) {
+      return false;
+    }
+    try {
+      acquireClient();
+      readAheadData = CompletableFuture.supplyAsync(() -> {
+        try {
+          return readChunk(chunkInfo);
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+      }, settings.getExecutor());
+    } catch (IOException | RejectedExecutionException e) {
+      LOG.debug("Cannot read ahead chunk {}", getChunkName(), e);
+      return false;
+    }
+    readAheadMetrics = settings.getReadAheadMetrics();
+    readAheadTimeout = settings.getTimeout();
+    readAheadMetrics.incNumChunksReadAhead(length);
+    return true;
+  }
+
+  /**
+   * Provides the data of the whole chunk, already read along with the
+   * block, so that the next read of this stream does not go to the datanode.
+   */
+  synchronized void preload(ByteBuffer[] data) {
+    cancelReadAhead();
+    readAheadData = CompletableFuture.completedFuture(data);
+    readAheadMetrics = null;
+  }
+
+  /**
+   * Discards the data read ahead, if it was not used yet.  A request in
+   * flight cannot be withdrawn, only its response is dropped.
+   */
+  synchronized void cancelReadAhead() {
+    if (readAheadData != null) {
+      readAheadData.cancel(false);
+      readAheadData = null;
+      if (readAheadMetrics != null) {
+        readAheadMetrics.incBytesReadAheadWasted(length);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  synchronized boolean isReadingAhead() {
+    return readAheadData != null;
+  }
+
+  /**
+   * Waits for the chunk read ahead, at most for the read-ahead timeout.
+   * @return the data of the whole chunk, or null if it could not be read in
+   *         time, in which case the caller reads it again and handles the
+   *         failure.
+   */
+  private ByteBuffer[] takeReadAheadData() throws IOException {
+    final CompletableFuture<ByteBuffer[]> future = readAheadData;
+    readAheadData = null;
+    try {
+      final ByteBuffer[] data = readAheadMetrics != null
+          ? future.get(readAheadTimeout, TimeUnit.MILLISECONDS)
+          : future.get();
+      if (readAheadMetrics != null) {
+        readAheadMetrics.incBytesReadAheadUsed(length);
+      }
+      return data;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+          "Interrupted while reading ahead chunk " + getChunkName());
+    } catch (ExecutionException e) {
+      LOG.debug("Failed to read ahead chunk {}", getChunkName(), e.getCause());
+      if (readAheadMetrics != null) {
+        readAheadMetrics.incNumReadAheadFailed();
+      }
+      return null;
+    } catch (TimeoutException e) {
+      LOG.debug("Timed out waiting {} ms for chunk {} read ahead",
+          readAheadTimeout, getChunkName());
+      future.cancel(false);
+      readAheadMetrics.incNumReadAheadFailed();
+      return null;
+    }
+  }
+
   /**
    * Send RPC call to get the chunk from the container.
    */
@@ -726,6 +850,7 @@ protected long getChunkPosition() {
 
   @Override
   public synchronized void unbuffer() {
+    cancelReadAhead();
     storePosition();
     releaseBuffers();
     releaseClient();
@@ -20,13 +20,24 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.fs.FSExceptionMessages;
+import org.apache.hadoop.io.IOUtils;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * A stream for accessing multipart streams.
@@ -173,6 +184,99 @@ public synchronized void seek(long pos) throws IOException {
     prevPartIndex = partIndex;
   }
 
+  /**
+   * Reads ranges of the stream, each into the remaining space of its
+   * buffer.  The parts covered by the ranges are read in parallel by the
+   * executor, the ranges of one part in order by the same task, so each part
+   * is read by a single thread.  The position of the stream is left
+   * unchanged.
+   *
+   * @param offsets position of the first byte of each range in the stream
+   * @param buffers buffer of each range, filled from position to limit
+   * @param executor runs the reads of the parts
+   */
+  public synchronized void readFully(long[] offsets, ByteBuffer[] buffers,
+      Executor executor) throws IOException {
+    Preconditions.checkArgument(offsets.length == buffers.length);
+    checkOpen();
+
+    // Split the ranges at part boundaries: (offset in part, buffer slice)
+    final Map<Integer, List<Pair<Long, ByteBuffer>>> reads = new TreeMap<>();
+    for (int i = 0; i < offsets.length; i++) {
+      long offset = offsets[i];
+      final ByteBuffer buffer = buffers[i];
+      if (offset < 0 || offset + buffer.remaining() > length) {
+        throw new EOFException("EOF encountered reading " + buffer.remaining()
+            + " bytes at pos: " + offset + " for key: " + key);
+      }
+      int index = Arrays.binarySearch(partOffsets, offset);
+      if (index < 0) {
+        index = -index - 2;
+      }
+      for (int position = buffer.position(); position < buffer.limit();
+           index++) {
+        final long partEnd =
+            partOffsets[index] + partStreams.get(index).getLength();
+        final int n = (int) Math.min(buffer.limit() - position,
+            partEnd - offset);
+        if (n > 0) {
+          final ByteBuffer slice = buffer.duplicate();
+          slice.position(position);
+          slice.limit(position + n);
+          reads.computeIfAbsent(index, k -> new ArrayList<>())
+              .add(Pair.of(offset - partOffsets[index], slice));
+          position += n;
+          offset += n;
+        }
+      }
+    }
+
+    final long pos = getPos();
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (Map.Entry<Integer, List<Pair<Long, ByteBuffer>>> e
+        : reads.entrySet()) {
+      final PartInputStream part = partStreams.get(e.getKey());
+      futures.add(CompletableFuture.runAsync(() -> {
+        try {
+          readFully(part, e.getValue());
+        } catch (IOException ex) {
+          throw new CompletionException(ex);
+        }
+      }, executor));
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+          .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted reading key " + key);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException ? (IOException) e.getCause()
+          : new IOException("Failed to read key " + key, e.getCause());
+    } finally {
+      seek(pos);
+    }
+    for (ByteBuffer buffer : buffers) {
+      buffer.position(buffer.limit());
+    }
+  }
+
+  private static void readFully(PartInputStream part,
+      List<Pair<Long, ByteBuffer>> ranges) throws IOException {
+    for (Pair<Long, ByteBuffer> range : ranges) {
+      part.seek(range.getLeft());
+      final ByteBuffer buffer = range.getRight();
+      if (buffer.hasArray()) {
+        IOUtils.readFully((InputStream) part, buffer.array(),
+            buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      } else {
+        final byte[] data = new byte[buffer.remaining()];
+        IOUtils.readFully((InputStream) part, data, 0, data.length);
+        buffer.put(data);
+      }
+    }
+  }
+
   @Override
   public synchronized long getPos() throws IOException {
     return length == 0 ? 0 :
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Read-ahead settings shared by the input streams of a client.
+ * <p>
+ * A {@link BlockInputStream} that sees consecutive reads each starting where
+ * the previous one ended fetches the whole chunks following the current one
+ * asynchronously, as many as fit into the read-ahead size, so the reader
+ * does not wait for a datanode round trip at each chunk boundary.  A read
+ * elsewhere discards the chunks read ahead.  Isolated reads at arbitrary
+ * positions, like those of Parquet or ORC footers, never trigger it.
+ */
+public final class ReadAhead {
+
+  /**
+   * Number of reads continuing the previous one, after which a stream
+   * starts reading ahead.
+   */
+  static final int SEQUENTIAL_READS = 2;
+
+  private static ReadAheadMetrics metrics;
+
+  private final long size;
+  private final long timeout;
+  private final Supplier<? extends Executor> executorSupplier;
+  private final ReadAheadMetrics readAheadMetrics;
+
+  /**
+   * @param executorSupplier supplies the executor fetching the chunks, only
+   *                         called once a stream reads ahead
+   * @return the read-ahead settings of the config, null if it disables
+   *         read-ahead
+   */
+  public static ReadAhead create(OzoneClientConfig config,
+      Supplier<? extends Executor> executorSupplier) {
+    if (config.getReadAheadSize() <= 0) {
+      return null;
+    }
+    return new ReadAhead(config.getReadAheadSize(),
+        config.getReadAheadTimeout(), executorSupplier, getMetrics());
+  }
+
+  private static synchronized ReadAheadMetrics getMetrics() {
+    if (metrics == null) {
+      metrics = ReadAheadMetrics.create();
+    }
+    return metrics;
+  }
+
+  @VisibleForTesting
+  ReadAhead(long size, long timeout,
+      Supplier<? extends Executor> executorSupplier,
+      ReadAheadMetrics metrics) {
+    this.size = size;
+    this.timeout = timeout;
+    this.executorSupplier = executorSupplier;
+    this.readAheadMetrics = metrics;
+  }
+
+  /** @return maximum number of bytes a stream reads ahead. */
+  long getSize() {
+    return size;
+  }
+
+  /**
+   * @return maximum milliseconds a reader waits for a chunk read ahead
+   *         before reading it again itself.
+   */
+  long getTimeout() {
+    return timeout;
+  }
+
+  Executor getExecutor() {
+    return executorSupplier.get();
+  }
+
+  ReadAheadMetrics getReadAheadMetrics() {
+    return readAheadMetrics;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Effectiveness of the read-ahead of client input streams, see
+ * {@link ReadAhead}.
+ */
+@Metrics(about = "Client Read-Ahead Metrics", context = OzoneConsts.OZONE)
+public final class ReadAheadMetrics {
+
+  private static final String SOURCE_NAME =
+      ReadAheadMetrics.class.getSimpleName();
+
+  @Metric("number of chunks read ahead")
+  private MutableCounterLong numChunksReadAhead;
+  @Metric("bytes of the chunks read ahead")
+  private MutableCounterLong bytesReadAhead;
+  @Metric("bytes read ahead that were used by the reader")
+  private MutableCounterLong bytesReadAheadUsed;
+  @Metric("bytes read ahead that were discarded after a seek or close")
+  private MutableCounterLong bytesReadAheadWasted;
+  @Metric("number of chunks that could not be read ahead")
+  private MutableCounterLong numReadAheadFailed;
+
+  ReadAheadMetrics() {
+  }
+
+  static ReadAheadMetrics create() {
+    return DefaultMetricsSystem.instance().register(SOURCE_NAME,
+        "Client Read-Ahead Metrics", new ReadAheadMetrics());
+  }
+
+  void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+  }
+
+  void incNumChunksReadAhead(long bytes) {
+    numChunksReadAhead.incr();
+    bytesReadAhead.incr(bytes);
+  }
+
+  void incBytesReadAheadUsed(long bytes) {
+    bytesReadAheadUsed.incr(bytes);
+  }
+
+  void incBytesReadAheadWasted(long bytes) {
+    bytesReadAheadWasted.incr(bytes);
+  }
+
+  void incNumReadAheadFailed() {
+    numReadAheadFailed.incr();
+  }
+
+  public long getNumChunksReadAhead() {
+    return numChunksReadAhead.value();
+  }
+
+  public long getBytesReadAhead() {
+    return bytesReadAhead.value();
+  }
+
+  public long getBytesReadAheadUsed() {
+    return bytesReadAheadUsed.value();
+  }
+
+  public long getBytesReadAheadWasted() {
+    return bytesReadAheadWasted.value();
+  }
+
+  public long getNumReadAheadFailed() {
+    return numReadAheadFailed.value();
+  }
+}
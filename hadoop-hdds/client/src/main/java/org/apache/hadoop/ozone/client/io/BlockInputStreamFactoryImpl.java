@@ -26,6 +26,7 @@
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
+import org.apache.hadoop.hdds.scm.storage.ReadAhead;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.io.ElasticByteBufferPool;
@@ -42,12 +43,28 @@
 public class BlockInputStreamFactoryImpl implements BlockInputStreamFactory {
 
   private ECBlockInputStreamFactory ecBlockStreamFactory;
+  private final ReadAhead readAhead;
+  private final long smallBlockReadThreshold;
 
   public static BlockInputStreamFactory getInstance(
       ByteBufferPool byteBufferPool,
       Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+    return getInstance(byteBufferPool, ecReconstructExecutorSupplier, null,
+        0);
+  }
+
+  /**
+   * @param readAhead read-ahead settings of the replicated block streams,
+   *                  null to disable read-ahead
+   * @param smallBlockReadThreshold replicated blocks up to this length are
+   *                  read with a single request, 0 to disable it
+   */
+  public static BlockInputStreamFactory getInstance(
+      ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ReadAhead readAhead, long smallBlockReadThreshold) {
     return new BlockInputStreamFactoryImpl(byteBufferPool,
-        ecReconstructExecutorSupplier);
+        ecReconstructExecutorSupplier, readAhead, smallBlockReadThreshold);
   }
 
   public BlockInputStreamFactoryImpl() {
@@ -56,6 +73,14 @@ public BlockInputStreamFactoryImpl() {
 
   public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
       Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+    this(byteBufferPool, ecReconstructExecutorSupplier, null, 0);
+  }
+
+  public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ReadAhead readAhead, long smallBlockReadThreshold) {
+    this.readAhead = readAhead;
+    this.smallBlockReadThreshold = smallBlockReadThreshold;
     this.ecBlockStreamFactory =
         ECBlockInputStreamFactoryImpl.getInstance(this, byteBufferPool,
             ecReconstructExecutorSupplier);
@@ -85,7 +110,8 @@ public BlockExtendedInputStream create(ReplicationConfig repConfig,
           ecBlockStreamFactory);
     } else {
       return new BlockInputStream(blockInfo.getBlockID(), blockInfo.getLength(),
-          pipeline, token, verifyChecksum, xceiverFactory, refreshFunction);
+          pipeline, token, verifyChecksum, xceiverFactory, refreshFunction,
+          readAhead, smallBlockReadThreshold);
     }
   }
 
@@ -23,7 +23,17 @@
 import org.apache.hadoop.hdds.client.ContainerBlockID;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.BlockData;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DataBuffers;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetBlockResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetSmallFileResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.scm.XceiverClientReply;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
@@ -33,6 +43,7 @@
 import org.apache.hadoop.ozone.common.Checksum;
 
 import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.thirdparty.io.grpc.Status;
 import org.apache.ratis.thirdparty.io.grpc.StatusException;
 import org.junit.Assert;
@@ -42,6 +53,7 @@
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.stubbing.OngoingStubbing;
 
@@ -49,12 +61,15 @@
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -458,4 +473,238 @@ private static Stream<Arguments> exceptionsTriggersRefresh() {
             new StatusException(Status.UNAVAILABLE))))
     );
   }
+
+  @Test
+  public void testReadAheadOfSequentialReads() throws Exception {
+    final ReadAheadMetrics metrics = ReadAheadMetrics.create();
+    try {
+      final BlockInputStream subject = newReadAheadStream(metrics);
+      final byte[] b = new byte[10];
+
+      // the third read continuing the previous one reads chunk 1 and 2 ahead
+      for (int i = 0; i < ReadAhead.SEQUENTIAL_READS; i++) {
+        subject.read(b, 0, b.length);
+        Assertions.assertFalse(isReadingAhead(subject, 1));
+      }
+      subject.read(b, 0, b.length);
+      Assertions.assertTrue(isReadingAhead(subject, 1));
+      Assertions.assertTrue(isReadingAhead(subject, 2));
+      Assertions.assertFalse(isReadingAhead(subject, 3));
+      Assertions.assertEquals(2, metrics.getNumChunksReadAhead());
+
+      // the rest of the block is read ahead of the reader
+      final byte[] rest = new byte[blockSize - 30];
+      for (int off = 0; off < rest.length; off += b.length) {
+        subject.read(rest, off, Math.min(b.length, rest.length - off));
+      }
+      matchWithInputData(rest, 30, rest.length);
+      Assertions.assertEquals(4, metrics.getNumChunksReadAhead());
+      Assertions.assertEquals(metrics.getBytesReadAhead(),
+          metrics.getBytesReadAheadUsed());
+      Assertions.assertEquals(0, metrics.getBytesReadAheadWasted());
+      subject.close();
+    } finally {
+      metrics.unregister();
+    }
+  }
+
+  @Test
+  public void testSeekDiscardsReadAhead() throws Exception {
+    final ReadAheadMetrics metrics = ReadAheadMetrics.create();
+    try {
+      final BlockInputStream subject = newReadAheadStream(metrics);
+      final byte[] b = new byte[10];
+      for (int i = 0; i <= ReadAhead.SEQUENTIAL_READS; i++) {
+        subject.read(b, 0, b.length);
+      }
+      Assertions.assertTrue(isReadingAhead(subject, 2));
+
+      // the chunk at the new position is still used
+      subject.seek(2 * CHUNK_SIZE + 5);
+      subject.read(b, 0, b.length);
+      matchWithInputData(b, 2 * CHUNK_SIZE + 5, b.length);
+      Assertions.assertFalse(isReadingAhead(subject, 1));
+      Assertions.assertEquals(CHUNK_SIZE, metrics.getBytesReadAheadWasted());
+      Assertions.assertEquals(CHUNK_SIZE, metrics.getBytesReadAheadUsed());
+      subject.close();
+    } finally {
+      metrics.unregister();
+    }
+  }
+
+  @Test
+  public void testRandomReadsDoNotReadAhead() throws Exception {
+    final ReadAheadMetrics metrics = ReadAheadMetrics.create();
+    try {
+      final BlockInputStream subject = newReadAheadStream(metrics);
+
+      // like a reader of a columnar file: footer length, footer, columns
+      final byte[] b = new byte[8];
+      subject.seek(blockSize - 8);
+      subject.read(b, 0, b.length);
+      subject.seek(blockSize - 40);
+      subject.read(b, 0, b.length);
+      subject.seek(0);
+      subject.read(b, 0, b.length);
+      subject.seek(CHUNK_SIZE);
+      subject.read(b, 0, b.length);
+      matchWithInputData(b, CHUNK_SIZE, b.length);
+
+      Assertions.assertEquals(0, metrics.getNumChunksReadAhead());
+      subject.close();
+    } finally {
+      metrics.unregister();
+    }
+  }
+
+  @Test
+  public void testReadAheadTimeoutFallsBackToSyncRead() throws Exception {
+    final ReadAheadMetrics metrics = ReadAheadMetrics.create();
+    try {
+      // the chunks read ahead never arrive
+      final List<Runnable> pending = new ArrayList<>();
+      final BlockInputStream subject =
+          newReadAheadStream(metrics, 10, pending::add);
+      final byte[] b = new byte[10];
+      for (int i = 0; i <= ReadAhead.SEQUENTIAL_READS; i++) {
+        subject.read(b, 0, b.length);
+      }
+      Assertions.assertTrue(isReadingAhead(subject, 1));
+      Assertions.assertEquals(2, pending.size());
+
+      subject.seek(CHUNK_SIZE);
+      subject.read(b, 0, b.length);
+      matchWithInputData(b, CHUNK_SIZE, b.length);
+      Assertions.assertFalse(isReadingAhead(subject, 1));
+      Assertions.assertEquals(1, metrics.getNumReadAheadFailed());
+      Assertions.assertEquals(0, metrics.getBytesReadAheadUsed());
+      subject.close();
+    } finally {
+      metrics.unregister();
+    }
+  }
+
+  @Test
+  public void testSmallBlockReadInSingleRequest() throws Exception {
+    final XceiverClientSpi client = mock(XceiverClientSpi.class);
+    final ContainerCommandResponseProto response =
+        smallFileResponse(true).build();
+    final List<Type> commands = sendCommands(client, response, null);
+
+    final BlockInputStream subject = newSmallBlockStream(client);
+    final byte[] b = new byte[blockSize];
+    Assertions.assertEquals(blockSize, subject.read(b, 0, blockSize));
+    matchWithInputData(b, 0, blockSize);
+    subject.close();
+
+    Assertions.assertEquals(Collections.singletonList(Type.GetSmallFile),
+        commands);
+  }
+
+  @Test
+  public void testSmallBlockReadFallsBackToGetBlock() throws Exception {
+    // datanodes not returning the chunk list along with the data
+    final XceiverClientSpi client = mock(XceiverClientSpi.class);
+    final ContainerCommandResponseProto response =
+        smallFileResponse(false).build();
+    final ContainerCommandResponseProto getBlock =
+        ContainerCommandResponseProto.newBuilder()
+            .setCmdType(Type.GetBlock)
+            .setResult(Result.SUCCESS)
+            .setGetBlock(GetBlockResponseProto.newBuilder()
+                .setBlockData(blockDataProto()))
+            .build();
+    final List<Type> commands = sendCommands(client, response, getBlock);
+
+    final BlockInputStream subject = newSmallBlockStream(client);
+    final byte[] b = new byte[blockSize];
+    Assertions.assertEquals(blockSize, subject.read(b, 0, blockSize));
+    matchWithInputData(b, 0, blockSize);
+    subject.close();
+
+    // the data already read is used, only the chunk list is read again
+    Assertions.assertEquals(Arrays.asList(Type.GetSmallFile, Type.GetBlock),
+        commands);
+  }
+
+  private BlockInputStream newSmallBlockStream(XceiverClientSpi client)
+      throws IOException {
+    final Pipeline pipeline = MockPipeline.createSingleNodePipeline();
+    when(client.getPipeline()).thenReturn(pipeline);
+    final XceiverClientFactory clientFactory =
+        mock(XceiverClientFactory.class);
+    when(clientFactory.acquireClientForReadData(any())).thenReturn(client);
+    return new BlockInputStream(new BlockID(new ContainerBlockID(1, 1)),
+        blockSize, pipeline, null, true, clientFactory, refreshFunction, null,
+        blockSize);
+  }
+
+  /**
+   * Makes the client answer GetSmallFile and GetBlock requests with the
+   * given responses, running the validators of the caller.
+   * @return the types of the commands sent
+   */
+  private static List<Type> sendCommands(XceiverClientSpi client,
+      ContainerCommandResponseProto smallFile,
+      ContainerCommandResponseProto getBlock) throws Exception {
+    final List<Type> commands = new ArrayList<>();
+    final ArgumentCaptor<ContainerCommandRequestProto> request =
+        ArgumentCaptor.forClass(ContainerCommandRequestProto.class);
+    when(client.sendCommand(any(), any())).thenCallRealMethod();
+    when(client.sendCommandAsync(request.capture())).thenAnswer(invocation -> {
+      final Type type = request.getValue().getCmdType();
+      commands.add(type);
+      return new XceiverClientReply(CompletableFuture.completedFuture(
+          type == Type.GetSmallFile ? smallFile : getBlock));
+    });
+    return commands;
+  }
+
+  private ContainerCommandResponseProto.Builder smallFileResponse(
+      boolean withBlock) {
+    final List<ByteString> buffers = new ArrayList<>();
+    for (ChunkInfo chunk : chunks) {
+      buffers.add(ByteString.copyFrom(chunkDataMap.get(chunk.getChunkName())));
+    }
+    final GetSmallFileResponseProto.Builder smallFile =
+        GetSmallFileResponseProto.newBuilder()
+            .setData(ReadChunkResponseProto.newBuilder()
+                .setBlockID(blockDataProto().getBlockID())
+                .setChunkData(chunks.get(chunks.size() - 1))
+                .setDataBuffers(DataBuffers.newBuilder()
+                    .addAllBuffers(buffers)));
+    if (withBlock) {
+      smallFile.setBlock(blockDataProto());
+    }
+    return ContainerCommandResponseProto.newBuilder()
+        .setCmdType(Type.GetSmallFile)
+        .setResult(Result.SUCCESS)
+        .setGetSmallFile(smallFile);
+  }
+
+  private BlockData blockDataProto() {
+    return BlockData.newBuilder()
+        .setBlockID(new BlockID(new ContainerBlockID(1, 1))
+            .getDatanodeBlockIDProtobuf())
+        .addAllChunks(chunks)
+        .build();
+  }
+
+  private BlockInputStream newReadAheadStream(ReadAheadMetrics metrics) {
+    // read ahead in the calling thread, to make the tests deterministic
+    return newReadAheadStream(metrics, 30_000, Runnable::run);
+  }
+
+  private BlockInputStream newReadAheadStream(ReadAheadMetrics metrics,
+      long timeout, Executor executor) {
+    final ReadAhead readAhead =
+        new ReadAhead(2 * CHUNK_SIZE, timeout, () -> executor, metrics);
+    return new DummyBlockInputStream(
+        new BlockID(new ContainerBlockID(1, 1)), blockSize, null, null,
+        false, null, refreshFunction, chunks, chunkDataMap, readAhead);
+  }
+
+  private static boolean isReadingAhead(BlockInputStream stream, int index) {
+    return stream.getChunkStreams().get(index).isReadingAhead();
+  }
 }
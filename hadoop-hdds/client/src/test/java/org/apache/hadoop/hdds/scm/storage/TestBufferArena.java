@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test for {@link BufferArena}.
+ */
+class TestBufferArena {
+
+  private static final int BUFFER_SIZE = 1024;
+
+  private BufferArenaMetrics metrics;
+
+  @BeforeEach
+  void setup() {
+    metrics = BufferArenaMetrics.create();
+  }
+
+  @AfterEach
+  void cleanup() {
+    metrics.unregister();
+  }
+
+  @Test
+  void testBuffersOfClearedPoolAreReused() {
+    final BufferArena arena = newArena(4, 1000);
+
+    final BufferPool first = newPool(arena, 2);
+    final ChunkBuffer buffer = first.allocateBuffer(0);
+    assertEquals(BUFFER_SIZE, arena.getLeasedBytes());
+
+    first.clearBufferPool();
+    assertEquals(0, arena.getLeasedBytes());
+    assertEquals(BUFFER_SIZE, arena.getPooledBytes());
+
+    final BufferPool second = newPool(arena, 2);
+    assertSame(buffer, second.allocateBuffer(0));
+    assertEquals(1, metrics.getNumAllocated());
+    assertEquals(1, metrics.getNumReused());
+    assertEquals(0, arena.getPooledBytes());
+    second.clearBufferPool();
+  }
+
+  @Test
+  void testBuffersWithDataAreNotReused() {
+    final BufferArena arena = newArena(4, 1000);
+
+    final BufferPool first = newPool(arena, 1);
+    final ChunkBuffer buffer = first.allocateBuffer(0);
+    buffer.put((byte) 1);
+    first.clearBufferPool();
+    assertEquals(0, arena.getLeasedBytes());
+    assertEquals(0, arena.getPooledBytes());
+
+    final BufferPool second = newPool(arena, 1);
+    assertNotSame(buffer, second.allocateBuffer(0));
+    second.clearBufferPool();
+  }
+
+  @Test
+  void testAllocatesOverCapacityAfterWaiting() {
+    final BufferArena arena = newArena(1, 10);
+
+    final BufferPool first = newPool(arena, 1);
+    first.allocateBuffer(0);
+    final BufferPool second = newPool(arena, 1);
+    second.allocateBuffer(0);
+
+    assertEquals(2 * BUFFER_SIZE, arena.getLeasedBytes());
+    assertEquals(1, metrics.getNumOverCapacity());
+
+    first.clearBufferPool();
+    second.clearBufferPool();
+    assertEquals(0, arena.getLeasedBytes());
+    assertEquals(BUFFER_SIZE, arena.getPooledBytes());
+  }
+
+  @Test
+  void testWaitsForCapacity() throws Exception {
+    final BufferArena arena = newArena(1, TimeUnit.MINUTES.toMillis(1));
+
+    final BufferPool first = newPool(arena, 1);
+    final ChunkBuffer buffer = first.allocateBuffer(0);
+
+    final BufferPool second = newPool(arena, 1);
+    final CompletableFuture<ChunkBuffer> waiting =
+        CompletableFuture.supplyAsync(() -> second.allocateBuffer(0));
+
+    first.clearBufferPool();
+    assertSame(buffer, waiting.get(10, TimeUnit.SECONDS));
+    assertEquals(0, metrics.getNumOverCapacity());
+    second.clearBufferPool();
+  }
+
+  private BufferArena newArena(int buffers, long maxWaitMillis) {
+    return new BufferArena((long) buffers * BUFFER_SIZE, maxWaitMillis,
+        metrics);
+  }
+
+  private static BufferPool newPool(BufferArena arena, int capacity) {
+    return new BufferPool(BUFFER_SIZE, capacity,
+        ByteStringConversion.createByteBufferConversion(false), arena);
+  }
+}
@@ -31,6 +31,8 @@
 import org.apache.hadoop.hdds.utils.db.Proto2Codec;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import static java.lang.Math.max;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -48,6 +50,17 @@ public final class ContainerInfo implements Comparable<ContainerInfo> {
       ContainerInfo::fromProtobuf,
       ContainerInfo::getProtobuf);
 
+  /**
+   * SCM keeps every container in memory, and most of them share the owner,
+   * the replication config and the pipeline with many others.  Interning
+   * these when decoding keeps a single copy of each value.
+   */
+  private static final Interner<String> OWNERS = Interners.newWeakInterner();
+  private static final Interner<ReplicationConfig> REPLICATION_CONFIGS =
+      Interners.newWeakInterner();
+  private static final Interner<PipelineID> PIPELINE_IDS =
+      Interners.newWeakInterner();
+
   public static Codec<ContainerInfo> getCodec() {
     return CODEC;
   }
@@ -119,14 +132,14 @@ private ContainerInfo(
 
   public static ContainerInfo fromProtobuf(HddsProtos.ContainerInfoProto info) {
     ContainerInfo.Builder builder = new ContainerInfo.Builder();
-    final ReplicationConfig config = ReplicationConfig
-        .fromProto(info.getReplicationType(), info.getReplicationFactor(),
-            info.getEcReplicationConfig());
+    final ReplicationConfig config = REPLICATION_CONFIGS.intern(
+        ReplicationConfig.fromProto(info.getReplicationType(),
+            info.getReplicationFactor(), info.getEcReplicationConfig()));
     builder.setUsedBytes(info.getUsedBytes())
         .setNumberOfKeys(info.getNumberOfKeys())
         .setState(info.getState())
         .setStateEnterTime(info.getStateEnterTime())
-        .setOwner(info.getOwner())
+        .setOwner(OWNERS.intern(info.getOwner()))
         .setContainerID(info.getContainerID())
         .setDeleteTransactionId(info.getDeleteTransactionId())
         .setReplicationConfig(config)
@@ -134,7 +147,8 @@ public static ContainerInfo fromProtobuf(HddsProtos.ContainerInfoProto info) {
         .build();
 
     if (info.hasPipelineID()) {
-      builder.setPipelineID(PipelineID.getFromProtobuf(info.getPipelineID()));
+      builder.setPipelineID(PIPELINE_IDS.intern(
+          PipelineID.getFromProtobuf(info.getPipelineID())));
     }
     return builder.build();
 
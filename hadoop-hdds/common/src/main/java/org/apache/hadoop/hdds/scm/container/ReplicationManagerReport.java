@@ -138,6 +138,31 @@ public void setComplete() {
     reportTimeStamp = System.currentTimeMillis();
   }
 
+  /**
+   * Adds the stats and samples of another report to this one.  Samples are
+   * still limited to {@link #SAMPLE_LIMIT} containers per stat.
+   * @param other report of a subset of the containers
+   */
+  public void merge(ReplicationManagerReport other) {
+    for (Map.Entry<String, LongAdder> e : other.stats.entrySet()) {
+      getStatAndEnsurePresent(e.getKey()).add(e.getValue().sum());
+    }
+    for (Map.Entry<String, List<ContainerID>> e
+        : other.containerSample.entrySet()) {
+      final List<ContainerID> list = containerSample
+          .computeIfAbsent(e.getKey(), k -> new ArrayList<>());
+      final List<ContainerID> sample = other.getSample(e.getKey());
+      synchronized (list) {
+        for (ContainerID container : sample) {
+          if (list.size() >= SAMPLE_LIMIT) {
+            break;
+          }
+          list.add(container);
+        }
+      }
+    }
+  }
+
   /**
    * The epoch time in milli-seconds when this report was completed.
    * @return epoch time in milli-seconds.
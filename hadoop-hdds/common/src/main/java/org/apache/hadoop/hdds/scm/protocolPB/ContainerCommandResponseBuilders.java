@@ -231,6 +231,21 @@ public static ContainerCommandResponseProto getPutFileResponseSuccess(
   public static ContainerCommandResponseProto getGetSmallFileResponseSuccess(
       ContainerCommandRequestProto request, List<ByteString> dataBuffers,
       ChunkInfo info) {
+    return getGetSmallFileResponseSuccess(request, dataBuffers, info, null);
+  }
+
+  /**
+   * Gets a response to the read small file call, including the chunks of
+   * the block so that the client can verify the data without a GetBlock.
+   * @param request - Msg
+   * @param dataBuffers  - Data
+   * @param info  - Info of the last chunk
+   * @param block - Block data, may be null
+   * @return    Response.
+   */
+  public static ContainerCommandResponseProto getGetSmallFileResponseSuccess(
+      ContainerCommandRequestProto request, List<ByteString> dataBuffers,
+      ChunkInfo info, BlockData block) {
 
     Preconditions.checkNotNull(request);
 
@@ -261,6 +276,9 @@ public static ContainerCommandResponseProto getGetSmallFileResponseSuccess(
 
     GetSmallFileResponseProto.Builder getSmallFile =
         GetSmallFileResponseProto.newBuilder().setData(readChunk);
+    if (block != null) {
+      getSmallFile.setBlock(block);
+    }
 
     return getSuccessResponseBuilder(request)
         .setCmdType(Type.GetSmallFile)
@@ -684,6 +684,42 @@ public static GetSmallFileResponseProto readSmallFile(XceiverClientSpi client,
     return response.getGetSmallFile();
   }
 
+  /**
+   * Reads all chunks of a block together with its block data, trying each
+   * datanode of the pipeline until one succeeds.
+   *
+   * @param xceiverClient client to perform call
+   * @param validators functions to validate the response
+   * @param datanodeBlockID blockID to identify container
+   * @param token a token for this block (may be null)
+   * @return GetSmallFileResponseProto
+   * @throws IOException if there is an I/O error while performing the call
+   */
+  public static GetSmallFileResponseProto readSmallFile(
+      XceiverClientSpi xceiverClient, List<Validator> validators,
+      DatanodeBlockID datanodeBlockID,
+      Token<? extends TokenIdentifier> token) throws IOException {
+    GetSmallFileRequestProto.Builder getSmallFile = GetSmallFileRequestProto
+        .newBuilder()
+        .setBlock(GetBlockRequestProto.newBuilder()
+            .setBlockID(datanodeBlockID))
+        .setReadChunkVersion(ContainerProtos.ReadChunkVersion.V1);
+    ContainerCommandRequestProto.Builder builder = ContainerCommandRequestProto
+        .newBuilder()
+        .setCmdType(Type.GetSmallFile)
+        .setContainerID(datanodeBlockID.getContainerID())
+        .setGetSmallFile(getSmallFile);
+    if (token != null) {
+      builder.setEncodedToken(token.encodeToUrlString());
+    }
+
+    return tryEachDatanode(xceiverClient.getPipeline(),
+        d -> xceiverClient.sendCommand(builder
+            .setDatanodeUuid(d.getUuidString()).build(), validators)
+            .getGetSmallFile(),
+        d -> toErrorMessage(datanodeBlockID, d));
+  }
+
   /**
    * Validates a response from a container protocol call.  Any non-successful
    * return code is mapped to a corresponding exception and thrown.
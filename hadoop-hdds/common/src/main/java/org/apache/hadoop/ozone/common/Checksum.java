@@ -22,6 +22,9 @@
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -44,6 +47,28 @@
 public class Checksum {
   public static final Logger LOG = LoggerFactory.getLogger(Checksum.class);
 
+  /**
+   * Minimum amount of data for which the checksums are computed in parallel,
+   * below this the overhead of handing off the work outweighs the gain.
+   */
+  static final int PARALLEL_MIN_BYTES = 1024 * 1024;
+
+  /**
+   * Pool shared by all {@link Checksum} instances of the JVM for computing the
+   * checksums of large chunks in parallel.  Created on first use.
+   */
+  private static final class ParallelPool {
+    private static final int PARALLELISM =
+        Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM,
+        pool -> {
+          final ForkJoinWorkerThread thread =
+              ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("ChecksumComputer-" + thread.getPoolIndex());
+          return thread;
+        }, null, false);
+  }
+
   private static Function<ByteBuffer, ByteString> newMessageDigestFunction(
       String algorithm) {
     final MessageDigest md;
@@ -101,6 +126,7 @@ Function<ByteBuffer, ByteString> newChecksumFunction() {
 
   private final ChecksumType checksumType;
   private final int bytesPerChecksum;
+  private final boolean allowParallel;
 
   /**
    * Constructs a Checksum object.
@@ -108,8 +134,21 @@ Function<ByteBuffer, ByteString> newChecksumFunction() {
    * @param bytesPerChecksum number of bytes of data per checksum
    */
   public Checksum(ChecksumType type, int bytesPerChecksum) {
+    this(type, bytesPerChecksum, false);
+  }
+
+  /**
+   * Constructs a Checksum object.
+   * @param type type of Checksum
+   * @param bytesPerChecksum number of bytes of data per checksum
+   * @param allowParallel whether the checksums of large data may be computed
+   *                      in parallel using a pool shared within the JVM
+   */
+  public Checksum(ChecksumType type, int bytesPerChecksum,
+      boolean allowParallel) {
     this.checksumType = type;
     this.bytesPerChecksum = bytesPerChecksum;
+    this.allowParallel = allowParallel;
   }
 
   /**
@@ -165,9 +204,11 @@ public ChecksumData computeChecksum(ChunkBuffer data)
       return new ChecksumData(checksumType, bytesPerChecksum);
     }
 
+    final Algorithm algorithm;
     final Function<ByteBuffer, ByteString> function;
     try {
-      function = Algorithm.valueOf(checksumType).newChecksumFunction();
+      algorithm = Algorithm.valueOf(checksumType);
+      function = algorithm.newChecksumFunction();
     } catch (Exception e) {
       throw new OzoneChecksumException(checksumType);
     }
@@ -175,13 +216,67 @@ public ChecksumData computeChecksum(ChunkBuffer data)
     // Checksum is computed for each bytesPerChecksum number of bytes of data
     // starting at offset 0. The last checksum might be computed for the
     // remaining data with length less than bytesPerChecksum.
+    final boolean parallel = allowParallel && ParallelPool.PARALLELISM > 1
+        && data.remaining() >= PARALLEL_MIN_BYTES
+        && data.remaining() > bytesPerChecksum;
     final List<ByteString> checksumList = new ArrayList<>();
+    if (!parallel) {
+      for (ByteBuffer b : data.iterate(bytesPerChecksum)) {
+        checksumList.add(computeChecksum(b, function, bytesPerChecksum));
+      }
+      return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
+    }
+
+    final List<ByteBuffer> slices = new ArrayList<>();
     for (ByteBuffer b : data.iterate(bytesPerChecksum)) {
-      checksumList.add(computeChecksum(b, function, bytesPerChecksum));
+      slices.add(b);
+    }
+    final ByteString[] checksums = new ByteString[slices.size()];
+    computeChecksumsInParallel(slices, algorithm, function, checksums);
+    for (ByteString c : checksums) {
+      checksumList.add(c);
     }
     return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
   }
 
+  /**
+   * Splits the slices into contiguous ranges, one per worker of the shared
+   * pool, and computes their checksums.  The first range is computed by the
+   * calling thread.  Each range uses its own checksum function, since the
+   * functions are not thread safe.
+   */
+  private void computeChecksumsInParallel(List<ByteBuffer> slices,
+      Algorithm algorithm, Function<ByteBuffer, ByteString> function,
+      ByteString[] checksums) throws OzoneChecksumException {
+    final int n = slices.size();
+    final int tasks = Math.min(n, ParallelPool.PARALLELISM);
+    final List<ForkJoinTask<?>> submitted = new ArrayList<>(tasks - 1);
+    for (int t = 1; t < tasks; t++) {
+      final int from = (int) ((long) n * t / tasks);
+      final int to = (int) ((long) n * (t + 1) / tasks);
+      submitted.add(ParallelPool.POOL.submit(() -> computeChecksums(
+          slices, from, to, algorithm.newChecksumFunction(), checksums)));
+    }
+    computeChecksums(slices, 0, n / tasks, function, checksums);
+
+    try {
+      for (ForkJoinTask<?> task : submitted) {
+        task.join();
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Failed to compute {} checksums in parallel", checksumType, e);
+      throw new OzoneChecksumException("Failed to compute " + checksumType
+          + " checksums: " + e);
+    }
+  }
+
+  private void computeChecksums(List<ByteBuffer> slices, int from, int to,
+      Function<ByteBuffer, ByteString> function, ByteString[] checksums) {
+    for (int i = from; i < to; i++) {
+      checksums[i] = computeChecksum(slices.get(i), function, bytesPerChecksum);
+    }
+  }
+
   /**
    * Compute checksum using the algorithm for the data upto the max length.
    * @param data input data
@@ -57,6 +57,7 @@ public class ChunkBufferImplWithByteBufferList implements ChunkBuffer {
   }
 
   private void findCurrent() {
+    limitPrecedingCurrent = 0;
     boolean found = false;
     for (int i = 0; i < buffers.size(); i++) {
       final ByteBuffer buf = buffers.get(i);
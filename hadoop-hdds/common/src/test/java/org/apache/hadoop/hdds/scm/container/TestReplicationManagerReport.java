@@ -170,6 +170,37 @@ public void testSamplesAreLimited() {
     }
   }
 
+  @Test
+  public void testReportsCanBeMerged() {
+    ReplicationManagerReport other = new ReplicationManagerReport();
+    for (int i = 0; i < ReplicationManagerReport.SAMPLE_LIMIT; i++) {
+      report.incrementAndSample(
+          ReplicationManagerReport.HealthState.UNDER_REPLICATED,
+          new ContainerID(i));
+      other.incrementAndSample(
+          ReplicationManagerReport.HealthState.UNDER_REPLICATED,
+          new ContainerID(i + ReplicationManagerReport.SAMPLE_LIMIT));
+    }
+    other.incrementAndSample(
+        ReplicationManagerReport.HealthState.OVER_REPLICATED,
+        new ContainerID(1000));
+    other.increment(HddsProtos.LifeCycleState.CLOSED);
+
+    report.merge(other);
+
+    assertEquals(ReplicationManagerReport.SAMPLE_LIMIT * 2, report.getStat(
+        ReplicationManagerReport.HealthState.UNDER_REPLICATED));
+    assertEquals(1, report.getStat(
+        ReplicationManagerReport.HealthState.OVER_REPLICATED));
+    assertEquals(1, report.getStat(HddsProtos.LifeCycleState.CLOSED));
+    List<ContainerID> sample =
+        report.getSample(ReplicationManagerReport.HealthState.UNDER_REPLICATED);
+    assertEquals(ReplicationManagerReport.SAMPLE_LIMIT, sample.size());
+    assertEquals(new ContainerID(0), sample.get(0));
+    assertEquals(new ContainerID(1000), report.getSample(
+        ReplicationManagerReport.HealthState.OVER_REPLICATED).get(0));
+  }
+
   @Test
   public void testSerializeToProtoAndBack() {
     report.setTimestamp(12345);
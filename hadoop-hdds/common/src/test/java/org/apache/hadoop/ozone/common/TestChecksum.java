@@ -18,9 +18,16 @@
 package org.apache.hadoop.ozone.common;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -95,4 +102,37 @@ public void testChecksumMismatchForDifferentChecksumTypes() {
     Assertions.assertNotEquals(checksum1, checksum2,
         "Checksums should not match for different checksum types");
   }
+
+  /**
+   * Tests that checksums computed in parallel match the sequentially
+   * computed ones for each type of {@link ChunkBuffer}.
+   */
+  @ParameterizedTest
+  @EnumSource(ContainerProtos.ChecksumType.class)
+  public void testParallelChecksumMatchesSequential(
+      ContainerProtos.ChecksumType type) throws Exception {
+    final int bytesPerChecksum = 16 * 1024;
+    final int dataLen = Checksum.PARALLEL_MIN_BYTES * 2 + 100;
+    final byte[] data = RandomUtils.nextBytes(dataLen);
+
+    final ChecksumData expected = new Checksum(type, bytesPerChecksum)
+        .computeChecksum(data);
+    final Checksum parallel = new Checksum(type, bytesPerChecksum, true);
+
+    Assertions.assertEquals(expected,
+        parallel.computeChecksum(ByteBuffer.wrap(data)));
+
+    final List<ByteBuffer> buffers = new ArrayList<>();
+    for (int off = 0; off < dataLen; off += bytesPerChecksum) {
+      buffers.add(ByteBuffer.wrap(data, off,
+          Math.min(bytesPerChecksum, dataLen - off)).slice());
+    }
+    Assertions.assertEquals(expected,
+        parallel.computeChecksum(ChunkBuffer.wrap(buffers)));
+
+    final ChunkBuffer incremental =
+        ChunkBuffer.allocate(dataLen, bytesPerChecksum);
+    incremental.put(data).rewind();
+    Assertions.assertEquals(expected, parallel.computeChecksum(incremental));
+  }
 }
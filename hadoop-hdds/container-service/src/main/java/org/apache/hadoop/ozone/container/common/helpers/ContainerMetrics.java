@@ -48,6 +48,14 @@
 public class ContainerMetrics {
   public static final String STORAGE_CONTAINER_METRICS =
       "StorageContainerMetrics";
+
+  /**
+   * Container operations that hold the container write lock.
+   */
+  public enum LockedOp {
+    MARK_FOR_CLOSE, QUASI_CLOSE, CLOSE, MARK_UNHEALTHY, DELETE
+  }
+
   @Metric private MutableCounterLong numOps;
   @Metric private MutableCounterLong containerDeleteFailedNonEmpty;
   @Metric private MutableCounterLong containerDeleteFailedBlockCountNotZero;
@@ -57,6 +65,8 @@ public class ContainerMetrics {
   private MutableCounterLong[] opsBytesArray;
   private MutableRate[] opsLatency;
   private MutableQuantiles[][] opsLatQuantiles;
+  private MutableRate[] lockWaitNanos;
+  private MutableRate[] lockHoldNanos;
   private MetricsRegistry registry = null;
 
   public ContainerMetrics(int[] intervals) {
@@ -88,6 +98,18 @@ public ContainerMetrics(int[] intervals) {
             "latency of Container ops", "ops", "latency", interval);
       }
     }
+
+    final LockedOp[] lockedOps = LockedOp.values();
+    this.lockWaitNanos = new MutableRate[lockedOps.length];
+    this.lockHoldNanos = new MutableRate[lockedOps.length];
+    for (LockedOp op : lockedOps) {
+      lockWaitNanos[op.ordinal()] = registry.newRate(
+          "lockWaitNanos" + op,
+          "time waited for the container write lock by " + op);
+      lockHoldNanos[op.ordinal()] = registry.newRate(
+          "lockHoldNanos" + op,
+          "time the container write lock was held by " + op);
+    }
   }
 
   public static ContainerMetrics create(ConfigurationSource conf) {
@@ -122,6 +144,22 @@ public void incContainerOpsLatencies(ContainerProtos.Type type,
     }
   }
 
+  public void addContainerLockWaitTime(LockedOp op, long nanos) {
+    lockWaitNanos[op.ordinal()].add(nanos);
+  }
+
+  public void addContainerLockHoldTime(LockedOp op, long nanos) {
+    lockHoldNanos[op.ordinal()].add(nanos);
+  }
+
+  public long getContainerLockWaitCount(LockedOp op) {
+    return lockWaitNanos[op.ordinal()].lastStat().numSamples();
+  }
+
+  public long getContainerLockHoldCount(LockedOp op) {
+    return lockHoldNanos[op.ordinal()].lastStat().numSamples();
+  }
+
   public void incContainerBytesStats(ContainerProtos.Type type, long bytes) {
     opsBytesArray[type.ordinal()].incr(bytes);
   }
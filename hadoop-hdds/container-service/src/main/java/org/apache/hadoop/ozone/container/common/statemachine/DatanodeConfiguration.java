@@ -114,6 +114,129 @@ public class DatanodeConfiguration {
   )
   private int numReadThreadPerVolume = 10;
 
+  public static final String CONTAINER_LOAD_THREADS_PER_VOLUME_KEY =
+      "hdds.datanode.container.load.threads.per.volume";
+  static final int CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT = 4;
+
+  /**
+   * Number of threads per volume used to load containers at startup.
+   */
+  @Config(key = "container.load.threads.per.volume",
+      type = ConfigType.INT,
+      defaultValue = "4",
+      tags = {DATANODE},
+      description = "Number of threads per volume that Datanode will use " +
+          "to read container files and metadata at startup."
+  )
+  private int containerLoadThreadsPerVolume =
+      CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+
+  public static final String READ_CHANNEL_CACHE_SIZE_KEY =
+      "hdds.datanode.read.channel.cache.size";
+  static final int READ_CHANNEL_CACHE_SIZE_DEFAULT = 256;
+  public static final String READ_CHANNEL_CACHE_IDLE_TIMEOUT_KEY =
+      "hdds.datanode.read.channel.cache.idle.timeout";
+  static final long READ_CHANNEL_CACHE_IDLE_TIMEOUT_DEFAULT =
+      Duration.ofMinutes(1).toMillis();
+
+  /**
+   * Maximum number of block/chunk files per volume kept open for reading.
+   */
+  @Config(key = "read.channel.cache.size",
+      type = ConfigType.INT,
+      defaultValue = "256",
+      tags = {DATANODE},
+      description = "Maximum number of chunk files per volume that are kept " +
+          "open for reading. Cached files are read with positional reads " +
+          "without file locking. Set to 0 to open the file for every read."
+  )
+  private int readChannelCacheSize = READ_CHANNEL_CACHE_SIZE_DEFAULT;
+
+  @Config(key = "read.channel.cache.idle.timeout",
+      type = ConfigType.TIME,
+      defaultValue = "1m",
+      tags = {DATANODE},
+      description = "Time after which a chunk file that has not been read " +
+          "is closed and removed from the read channel cache. Unit could be " +
+          "defined with postfix (ns,ms,s,m,h,d)."
+  )
+  private long readChannelCacheIdleTimeout =
+      READ_CHANNEL_CACHE_IDLE_TIMEOUT_DEFAULT;
+
+  public static final String PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_KEY =
+      "hdds.datanode.put.block.group.commit.max.batch";
+  static final int PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_DEFAULT = 1;
+  public static final String PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_KEY =
+      "hdds.datanode.put.block.group.commit.max.delay";
+  static final long PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT = 0;
+
+  /**
+   * Maximum number of PutBlock operations committed to a container DB in a
+   * single batch.
+   */
+  @Config(key = "put.block.group.commit.max.batch",
+      type = ConfigType.INT,
+      defaultValue = "1",
+      tags = {DATANODE},
+      description = "Maximum number of concurrent PutBlock operations whose " +
+          "metadata updates are merged into a single write batch of the " +
+          "container DB. Operations arriving while a batch of the same DB " +
+          "is being committed join the next batch. Set to 1 to commit each " +
+          "PutBlock separately."
+  )
+  private int putBlockGroupCommitMaxBatch =
+      PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_DEFAULT;
+
+  @Config(key = "put.block.group.commit.max.delay",
+      type = ConfigType.TIME,
+      defaultValue = "0ms",
+      tags = {DATANODE},
+      description = "Maximum time a PutBlock waits for other operations to " +
+          "join its batch before the batch is committed, in addition to " +
+          "waiting for the batch of the same DB already being committed. " +
+          "Bounds the latency added by group commit. Only used if " +
+          "hdds.datanode.put.block.group.commit.max.batch is greater than 1. " +
+          "Unit could be defined with postfix (ns,ms,s,m,h,d)."
+  )
+  private long putBlockGroupCommitMaxDelay =
+      PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT;
+
+  public static final String EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_KEY =
+      "hdds.datanode.ec.reconstruction.block.group.threads";
+  static final int EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_DEFAULT = 1;
+  public static final String EC_RECONSTRUCTION_BUFFER_LIMIT_KEY =
+      "hdds.datanode.ec.reconstruction.buffer.limit";
+  static final long EC_RECONSTRUCTION_BUFFER_LIMIT_DEFAULT = 256L << 20;
+
+  /**
+   * Number of block groups of EC containers reconstructed concurrently.
+   */
+  @Config(key = "ec.reconstruction.block.group.threads",
+      type = ConfigType.INT,
+      defaultValue = "1",
+      tags = {DATANODE},
+      description = "Number of threads that reconstruct block groups of EC " +
+          "containers. Each thread reads, decodes and writes a block group, " +
+          "so several block groups of the same container are reconstructed " +
+          "concurrently. Set to 1 to reconstruct the block groups of a " +
+          "container one after the other."
+  )
+  private int ecReconstructionBlockGroupThreads =
+      EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_DEFAULT;
+
+  @Config(key = "ec.reconstruction.buffer.limit",
+      type = ConfigType.SIZE,
+      defaultValue = "256MB",
+      tags = {DATANODE},
+      description = "Maximum size of the buffers held by block groups being " +
+          "reconstructed concurrently, estimated as one chunk per replica " +
+          "of each block group. Only used if " +
+          "hdds.datanode.ec.reconstruction.block.group.threads is greater " +
+          "than 1."
+  )
+  private long ecReconstructionBufferLimit =
+      EC_RECONSTRUCTION_BUFFER_LIMIT_DEFAULT;
+
   static final int CONTAINER_DELETE_THREADS_DEFAULT = 2;
   static final int BLOCK_DELETE_THREADS_DEFAULT = 5;
 
@@ -479,6 +602,60 @@ public void validate() {
       containerDeleteThreads = CONTAINER_DELETE_THREADS_DEFAULT;
     }
 
+    if (containerLoadThreadsPerVolume < 1) {
+      LOG.warn(CONTAINER_LOAD_THREADS_PER_VOLUME_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          containerLoadThreadsPerVolume,
+          CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT);
+      containerLoadThreadsPerVolume = CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+    }
+
+    if (readChannelCacheSize < 0) {
+      LOG.warn(READ_CHANNEL_CACHE_SIZE_KEY +
+              " must not be negative and was set to {}. Defaulting to {}",
+          readChannelCacheSize, READ_CHANNEL_CACHE_SIZE_DEFAULT);
+      readChannelCacheSize = READ_CHANNEL_CACHE_SIZE_DEFAULT;
+    }
+
+    if (putBlockGroupCommitMaxBatch < 1) {
+      LOG.warn(PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          putBlockGroupCommitMaxBatch,
+          PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_DEFAULT);
+      putBlockGroupCommitMaxBatch = PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_DEFAULT;
+    }
+
+    if (putBlockGroupCommitMaxDelay < 0) {
+      LOG.warn(PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_KEY +
+              " must not be negative and was set to {}. Defaulting to {}",
+          putBlockGroupCommitMaxDelay,
+          PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT);
+      putBlockGroupCommitMaxDelay = PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT;
+    }
+
+    if (ecReconstructionBlockGroupThreads < 1) {
+      LOG.warn(EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          ecReconstructionBlockGroupThreads,
+          EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_DEFAULT);
+      ecReconstructionBlockGroupThreads =
+          EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_DEFAULT;
+    }
+
+    if (ecReconstructionBufferLimit <= 0) {
+      LOG.warn(EC_RECONSTRUCTION_BUFFER_LIMIT_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          ecReconstructionBufferLimit, EC_RECONSTRUCTION_BUFFER_LIMIT_DEFAULT);
+      ecReconstructionBufferLimit = EC_RECONSTRUCTION_BUFFER_LIMIT_DEFAULT;
+    }
+
+    if (readChannelCacheIdleTimeout <= 0) {
+      LOG.warn(READ_CHANNEL_CACHE_IDLE_TIMEOUT_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          readChannelCacheIdleTimeout, READ_CHANNEL_CACHE_IDLE_TIMEOUT_DEFAULT);
+      readChannelCacheIdleTimeout = READ_CHANNEL_CACHE_IDLE_TIMEOUT_DEFAULT;
+    }
+
     if (periodicDiskCheckIntervalMinutes < 1) {
       LOG.warn(PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY +
               " must be greater than zero and was set to {}. Defaulting to {}",
@@ -714,6 +891,14 @@ public int getNumReadThreadPerVolume() {
     return numReadThreadPerVolume;
   }
 
+  public void setContainerLoadThreadsPerVolume(int threads) {
+    this.containerLoadThreadsPerVolume = threads;
+  }
+
+  public int getContainerLoadThreadsPerVolume() {
+    return containerLoadThreadsPerVolume;
+  }
+
   public boolean getContainerSchemaV3Enabled() {
     return this.containerSchemaV3Enabled;
   }
@@ -793,4 +978,52 @@ public int getAutoCompactionSmallSstFileNum() {
   public void setAutoCompactionSmallSstFileNum(int num) {
     this.autoCompactionSmallSstFileNum = num;
   }
+
+  public int getReadChannelCacheSize() {
+    return readChannelCacheSize;
+  }
+
+  public void setReadChannelCacheSize(int size) {
+    this.readChannelCacheSize = size;
+  }
+
+  public Duration getReadChannelCacheIdleTimeout() {
+    return Duration.ofMillis(readChannelCacheIdleTimeout);
+  }
+
+  public void setReadChannelCacheIdleTimeout(Duration duration) {
+    this.readChannelCacheIdleTimeout = duration.toMillis();
+  }
+
+  public int getPutBlockGroupCommitMaxBatch() {
+    return putBlockGroupCommitMaxBatch;
+  }
+
+  public void setPutBlockGroupCommitMaxBatch(int maxBatch) {
+    this.putBlockGroupCommitMaxBatch = maxBatch;
+  }
+
+  public Duration getPutBlockGroupCommitMaxDelay() {
+    return Duration.ofMillis(putBlockGroupCommitMaxDelay);
+  }
+
+  public void setPutBlockGroupCommitMaxDelay(Duration duration) {
+    this.putBlockGroupCommitMaxDelay = duration.toMillis();
+  }
+
+  public int getEcReconstructionBlockGroupThreads() {
+    return ecReconstructionBlockGroupThreads;
+  }
+
+  public void setEcReconstructionBlockGroupThreads(int threads) {
+    this.ecReconstructionBlockGroupThreads = threads;
+  }
+
+  public long getEcReconstructionBufferLimit() {
+    return ecReconstructionBufferLimit;
+  }
+
+  public void setEcReconstructionBufferLimit(long limit) {
+    this.ecReconstructionBufferLimit = limit;
+  }
 }
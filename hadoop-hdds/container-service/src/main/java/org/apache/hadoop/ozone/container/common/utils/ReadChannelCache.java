@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of read-only {@link FileChannel}s for the chunk files of a
+ * single volume.
+ * <p>
+ * Channels are shared by concurrent readers and only used with positional
+ * reads, so no file lock or per-path exclusion is needed. Each cached channel
+ * is reference counted: eviction drops the reference held by the cache and
+ * the channel is closed once the last in-flight read releases it.
+ * <p>
+ * Writers keep using their own channels (see FilePerBlockStrategy), data
+ * written through them is visible to readers of the same file via the page
+ * cache.
+ * <p>
+ * Idle channels are closed by a periodic cleanup as well, so that files of
+ * a volume which is no longer read do not stay open until the next access.
+ */
+public final class ReadChannelCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ReadChannelCache.class);
+
+  /** Number of attempts when a shared channel is closed under a reader. */
+  private static final int MAX_ATTEMPTS = 3;
+
+  /** Runs the periodic cleanup of the caches of all volumes. */
+  private static final ScheduledExecutorService CLEANER =
+      Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("ReadChannelCacheCleaner")
+          .setDaemon(true)
+          .build());
+
+  private final Cache<Path, CachedChannel> channels;
+  private final VolumeIOStats stats;
+  private final ScheduledFuture<?> cleanup;
+
+  public ReadChannelCache(int maxOpenFiles, Duration idleTimeout,
+      VolumeIOStats stats) {
+    this.stats = stats;
+    this.channels = CacheBuilder.newBuilder()
+        .maximumSize(maxOpenFiles)
+        .expireAfterAccess(idleTimeout)
+        .removalListener(this::onRemoval)
+        .build();
+    long period = Math.max(1, idleTimeout.toMillis() / 2);
+    this.cleanup = CLEANER.scheduleWithFixedDelay(channels::cleanUp,
+        period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Reads from {@code path} starting at {@code offset} until all buffers are
+   * full or the end of the file is reached.
+   *
+   * @return the number of bytes read
+   */
+  public long read(Path path, ByteBuffer[] buffers, long offset)
+      throws IOException {
+    return apply(path, channel -> channel.read(buffers, offset));
+  }
+
+  /**
+   * Maps {@code len} bytes of {@code path} starting at {@code offset} into
+   * memory, or less if the file ends before.  The mapping stays valid after
+   * the channel is closed.
+   */
+  public MappedByteBuffer map(Path path, long offset, int len)
+      throws IOException {
+    return apply(path, channel -> channel.map(offset, len));
+  }
+
+  /**
+   * Maps {@code len} bytes of {@code channel} starting at {@code offset}
+   * into memory, or less if the file ends before.
+   */
+  public static MappedByteBuffer map(FileChannel channel, long offset,
+      int len) throws IOException {
+    // accessing a mapping beyond the end of the file is undefined
+    final long available = Math.max(0, channel.size() - offset);
+    return channel.map(FileChannel.MapMode.READ_ONLY, offset,
+        Math.min(len, available));
+  }
+
+  private <T> T apply(Path path, ChannelFunction<T> function)
+      throws IOException {
+    for (int attempt = 1;; attempt++) {
+      final CachedChannel channel = acquire(path);
+      try {
+        return function.apply(channel);
+      } catch (ClosedChannelException e) {
+        // Another reader was interrupted while using the shared channel,
+        // which closes it for everyone.  Drop it and retry with a new one,
+        // unless it was this thread that got interrupted.
+        channels.asMap().remove(path, channel);
+        if (e instanceof ClosedByInterruptException
+            || Thread.currentThread().isInterrupted()
+            || attempt >= MAX_ATTEMPTS) {
+          throw e;
+        }
+        LOG.debug("Channel for {} closed concurrently, retrying", path);
+      } finally {
+        channel.release();
+      }
+    }
+  }
+
+  /**
+   * Drops the cached channel for {@code path}, if any.  Should be called
+   * before the file is deleted or replaced.
+   */
+  public void invalidate(Path path) {
+    channels.invalidate(path);
+  }
+
+  /**
+   * Drops the cached channels of all files under {@code directory}.  Should
+   * be called before a container is deleted or moved away.
+   */
+  public void invalidateAll(Path directory) {
+    channels.invalidateAll(channels.asMap().keySet().stream()
+        .filter(path -> path.startsWith(directory))
+        .collect(Collectors.toList()));
+  }
+
+  /** Closes all channels not in use, the rest are closed on release. */
+  public void close() {
+    cleanup.cancel(false);
+    channels.invalidateAll();
+    channels.cleanUp();
+  }
+
+  @VisibleForTesting
+  public long size() {
+    return channels.size();
+  }
+
+  private CachedChannel acquire(Path path) throws IOException {
+    for (;;) {
+      CachedChannel cached = channels.getIfPresent(path);
+      if (cached != null) {
+        if (cached.retain()) {
+          if (stats != null) {
+            stats.incReadChannelCacheHits();
+          }
+          return cached;
+        }
+        // lost the race with eviction
+        channels.asMap().remove(path, cached);
+        continue;
+      }
+
+      if (stats != null) {
+        stats.incReadChannelCacheMisses();
+      }
+      CachedChannel opened = new CachedChannel(path,
+          FileChannel.open(path, StandardOpenOption.READ));
+      CachedChannel existing = channels.asMap().putIfAbsent(path, opened);
+      if (existing == null) {
+        if (opened.retain()) {
+          return opened;
+        }
+      } else {
+        // another reader opened the same file concurrently
+        opened.release();
+        if (existing.retain()) {
+          return existing;
+        }
+      }
+    }
+  }
+
+  private void onRemoval(RemovalNotification<Path, CachedChannel> event) {
+    if (event.wasEvicted() && stats != null) {
+      stats.incReadChannelCacheEvictions();
+    }
+    CachedChannel channel = event.getValue();
+    if (channel != null) {
+      channel.release();
+    }
+  }
+
+  /**
+   * A channel with a reference count.  The cache holds one reference for as
+   * long as the channel is cached, each in-flight read holds another.
+   */
+  private static final class CachedChannel {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private CachedChannel(Path path, FileChannel channel) {
+      this.path = path;
+      this.channel = channel;
+    }
+
+    /** @return false if the channel is already closed */
+    boolean retain() {
+      for (;;) {
+        int current = references.get();
+        if (current <= 0) {
+          return false;
+        }
+        if (references.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        try {
+          channel.close();
+          LOG.debug("Closed read channel for {}", path);
+        } catch (IOException e) {
+          LOG.warn("Failed to close read channel for {}", path, e);
+        }
+      }
+    }
+
+    long read(ByteBuffer[] buffers, long offset) throws IOException {
+      long position = offset;
+      for (ByteBuffer buffer : buffers) {
+        while (buffer.hasRemaining()) {
+          int n = channel.read(buffer, position);
+          if (n < 0) {
+            return position - offset;
+          }
+          position += n;
+        }
+      }
+      return position - offset;
+    }
+
+    MappedByteBuffer map(long offset, int len) throws IOException {
+      return ReadChannelCache.map(channel, offset, len);
+    }
+  }
+
+  /** An operation on a cached channel. */
+  @FunctionalInterface
+  private interface ChannelFunction<T> {
+    T apply(CachedChannel channel) throws IOException;
+  }
+}
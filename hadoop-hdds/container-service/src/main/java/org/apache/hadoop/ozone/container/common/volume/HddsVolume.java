@@ -35,6 +35,7 @@
 import org.apache.hadoop.ozone.container.common.utils.DatanodeStoreCache;
 import org.apache.hadoop.ozone.container.common.utils.HddsVolumeUtil;
 import org.apache.hadoop.ozone.container.common.utils.RawDB;
+import org.apache.hadoop.ozone.container.common.utils.ReadChannelCache;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures;
 import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures.SchemaV3;
@@ -78,6 +79,8 @@ public class HddsVolume extends StorageVolume {
 
   private final VolumeIOStats volumeIOStats;
   private final VolumeInfoMetrics volumeInfoMetrics;
+  // null if the volume failed or the cache is disabled
+  private final ReadChannelCache readChannelCache;
 
   private final AtomicLong committedBytes; // till Open containers become full
 
@@ -122,6 +125,8 @@ private HddsVolume(Builder b) throws IOException {
       this.volumeInfoMetrics =
           new VolumeInfoMetrics(b.getVolumeRootStr(), this);
       this.committedBytes = new AtomicLong(0);
+      this.readChannelCache = createReadChannelCache(
+          getConf().getObject(DatanodeConfiguration.class), volumeIOStats);
 
       LOG.info("Creating HddsVolume: {} of storage type : {} capacity : {}",
           getStorageDir(), b.getStorageType(),
@@ -135,10 +140,21 @@ private HddsVolume(Builder b) throws IOException {
       volumeIOStats = null;
       volumeInfoMetrics = new VolumeInfoMetrics(b.getVolumeRootStr(), this);
       committedBytes = null;
+      readChannelCache = null;
     }
 
   }
 
+  private static ReadChannelCache createReadChannelCache(
+      DatanodeConfiguration conf, VolumeIOStats stats) {
+    int size = conf.getReadChannelCacheSize();
+    if (size <= 0) {
+      return null;
+    }
+    return new ReadChannelCache(size, conf.getReadChannelCacheIdleTimeout(),
+        stats);
+  }
+
   @Override
   public void createWorkingDir(String dirName, MutableVolumeSet dbVolumeSet)
       throws IOException {
@@ -175,9 +191,21 @@ public VolumeInfoMetrics getVolumeInfoStats() {
     return volumeInfoMetrics;
   }
 
+  /**
+   * @return cache of channels used to read chunk files on this volume, or
+   * null if the cache is disabled
+   */
+  @Nullable
+  public ReadChannelCache getReadChannelCache() {
+    return readChannelCache;
+  }
+
   @Override
   public void failVolume() {
     super.failVolume();
+    if (readChannelCache != null) {
+      readChannelCache.close();
+    }
     if (volumeIOStats != null) {
       volumeIOStats.unregister();
     }
@@ -187,6 +215,9 @@ public void failVolume() {
   @Override
   public void shutdown() {
     super.shutdown();
+    if (readChannelCache != null) {
+      readChannelCache.close();
+    }
     if (volumeIOStats != null) {
       volumeIOStats.unregister();
     }
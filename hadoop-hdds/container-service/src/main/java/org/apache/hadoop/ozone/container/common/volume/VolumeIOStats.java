@@ -35,6 +35,9 @@ public class VolumeIOStats {
   private @Metric MutableCounterLong writeOpCount;
   private @Metric MutableCounterLong readTime;
   private @Metric MutableCounterLong writeTime;
+  private @Metric MutableCounterLong readChannelCacheHits;
+  private @Metric MutableCounterLong readChannelCacheMisses;
+  private @Metric MutableCounterLong readChannelCacheEvictions;
 
   @Deprecated
   public VolumeIOStats() {
@@ -110,6 +113,27 @@ public void incWriteTime(long time) {
     writeTime.incr(time);
   }
 
+  /**
+   * Increment the number of chunk reads served by a cached channel.
+   */
+  public void incReadChannelCacheHits() {
+    readChannelCacheHits.incr();
+  }
+
+  /**
+   * Increment the number of chunk reads that had to open a channel.
+   */
+  public void incReadChannelCacheMisses() {
+    readChannelCacheMisses.incr();
+  }
+
+  /**
+   * Increment the number of read channels evicted due to size or idleness.
+   */
+  public void incReadChannelCacheEvictions() {
+    readChannelCacheEvictions.incr();
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -158,6 +182,30 @@ public long getWriteTime() {
     return writeTime.value();
   }
 
+  /**
+   * Returns number of chunk reads served by a cached channel.
+   * @return long
+   */
+  public long getReadChannelCacheHits() {
+    return readChannelCacheHits.value();
+  }
+
+  /**
+   * Returns number of chunk reads that had to open a channel.
+   * @return long
+   */
+  public long getReadChannelCacheMisses() {
+    return readChannelCacheMisses.value();
+  }
+
+  /**
+   * Returns number of read channels evicted from the cache.
+   * @return long
+   */
+  public long getReadChannelCacheEvictions() {
+    return readChannelCacheEvictions.value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
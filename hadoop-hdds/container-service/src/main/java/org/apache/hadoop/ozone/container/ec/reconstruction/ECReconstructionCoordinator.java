@@ -21,6 +21,7 @@
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
@@ -47,6 +48,7 @@
 import org.apache.hadoop.ozone.client.io.ECBlockInputStreamProxy;
 import org.apache.hadoop.ozone.client.io.ECBlockReconstructedStripeInputStream;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
 import org.apache.hadoop.security.token.Token;
 import org.slf4j.Logger;
@@ -54,6 +56,7 @@
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -66,11 +69,18 @@
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static org.apache.hadoop.ozone.container.ec.reconstruction.TokenHelper.encode;
@@ -91,6 +101,11 @@
  * -        use ECBlockOutputStream.write to write decoded chunks to TargetDNs
  * -    PutBlock
  * - Close RECOVERING containers in TargetDNs
+ * <p>
+ * If hdds.datanode.ec.reconstruction.block.group.threads is greater than 1,
+ * several blocks of a container are reconstructed concurrently, as long as
+ * the buffers they hold, estimated as one chunk per replica, fit in
+ * hdds.datanode.ec.reconstruction.buffer.limit.
  */
 public class ECReconstructionCoordinator implements Closeable {
 
@@ -105,6 +120,11 @@ public class ECReconstructionCoordinator implements Closeable {
 
   private final ExecutorService ecReconstructExecutor;
 
+  // null if block groups are reconstructed one after the other
+  private final ExecutorService blockGroupExecutor;
+  private final int bufferLimit;
+  private final Semaphore bufferPermits;
+
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final TokenHelper tokenHelper;
   private final ContainerClientMetrics clientMetrics;
@@ -128,6 +148,19 @@ public ECReconstructionCoordinator(
             new ThreadPoolExecutor.CallerRunsPolicy());
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
         .getInstance(byteBufferPool, () -> ecReconstructExecutor);
+    DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    int blockGroupThreads = dnConf.getEcReconstructionBlockGroupThreads();
+    this.blockGroupExecutor = blockGroupThreads > 1
+        ? Executors.newFixedThreadPool(blockGroupThreads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("ec-reconstruct-block-group-TID-%d")
+                .setDaemon(true)
+                .build())
+        : null;
+    this.bufferLimit = (int) Math.min(
+        dnConf.getEcReconstructionBufferLimit(), Integer.MAX_VALUE);
+    this.bufferPermits = new Semaphore(bufferLimit);
     tokenHelper = new TokenHelper(new SecurityConfig(conf), secretKeyClient);
     this.clientMetrics = ContainerClientMetrics.acquire();
     this.metrics = metrics;
@@ -164,12 +197,19 @@ public void reconstructECContainerGroup(long containerID,
       }
 
       // 2. Reconstruct and transfer to targets
-      for (Map.Entry<Long, BlockLocationInfo> blockLocationInfoEntry
-          : blockLocationInfoMap.entrySet()) {
-        Long key = blockLocationInfoEntry.getKey();
-        BlockLocationInfo blockLocationInfo = blockLocationInfoEntry.getValue();
-        reconstructECBlockGroup(blockLocationInfo, repConfig,
-            targetNodeMap, blockDataMap.get(key));
+      long start = System.nanoTime();
+      if (blockGroupExecutor == null) {
+        for (Map.Entry<Long, BlockLocationInfo> blockLocationInfoEntry
+            : blockLocationInfoMap.entrySet()) {
+          Long key = blockLocationInfoEntry.getKey();
+          BlockLocationInfo blockLocationInfo =
+              blockLocationInfoEntry.getValue();
+          reconstructECBlockGroup(blockLocationInfo, repConfig,
+              targetNodeMap, blockDataMap.get(key));
+        }
+      } else {
+        reconstructECBlockGroupsConcurrently(blockLocationInfoMap,
+            repConfig, targetNodeMap, blockDataMap);
       }
 
       // 3. Close containers
@@ -180,6 +220,9 @@ public void reconstructECContainerGroup(long containerID,
       }
       metrics.incReconstructionTotal();
       metrics.incBlockGroupReconstructionTotal(blockLocationInfoMap.size());
+      metrics.addContainerReconstruction(blockLocationInfoMap.values()
+              .stream().mapToLong(BlockLocationInfo::getLength).sum(),
+          System.nanoTime() - start);
     } catch (Exception e) {
       // Any exception let's delete the recovering containers.
       metrics.incReconstructionFailsTotal();
@@ -212,6 +255,141 @@ public void reconstructECContainerGroup(long containerID,
 
   }
 
+  /**
+   * Reconstructs the block groups on the block group executor, blocking
+   * while the buffers of the block groups in progress exceed the limit.
+   * Stops at the first failure, after the block groups in progress end.
+   * If interrupted, cancels the block groups, and waits for those in
+   * progress to end before throwing.
+   */
+  private void reconstructECBlockGroupsConcurrently(
+      SortedMap<Long, BlockLocationInfo> blockLocationInfoMap,
+      ECReplicationConfig repConfig,
+      SortedMap<Integer, DatanodeDetails> targetNodeMap,
+      SortedMap<Long, BlockData[]> blockDataMap) throws IOException {
+    // one chunk for each source read and each target written
+    final int buffers = (int) Math.min(bufferLimit,
+        (long) repConfig.getRequiredNodes() * repConfig.getEcChunkSize());
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    final List<BlockGroupTask> tasks = new ArrayList<>();
+    try {
+      for (Map.Entry<Long, BlockLocationInfo> entry
+          : blockLocationInfoMap.entrySet()) {
+        if (failure.get() != null) {
+          break;
+        }
+        bufferPermits.acquire(buffers);
+        metrics.incReconstructionBytesInFlight(buffers);
+        final BlockGroupTask task = new BlockGroupTask(buffers, () -> {
+          try {
+            if (failure.get() == null) {
+              reconstructECBlockGroup(entry.getValue(), repConfig,
+                  targetNodeMap, blockDataMap.get(entry.getKey()));
+            }
+          } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+          }
+        });
+        try {
+          task.submit(blockGroupExecutor);
+        } catch (RejectedExecutionException e) {
+          releaseBuffers(buffers);
+          throw e;
+        }
+        tasks.add(task);
+      }
+      for (BlockGroupTask task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException e) {
+      // block groups not started yet are skipped
+      failure.compareAndSet(null, e);
+      for (BlockGroupTask task : tasks) {
+        task.cancel();
+      }
+      for (BlockGroupTask task : tasks) {
+        task.awaitUninterruptibly();
+      }
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+          "Interrupted while reconstructing block groups");
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    }
+
+    final Exception e = failure.get();
+    if (e instanceof IOException) {
+      throw (IOException) e;
+    } else if (e != null) {
+      throw (RuntimeException) e;
+    }
+  }
+
+  /**
+   * A block group reconstructed on the block group executor, which holds
+   * buffer permits until it ends, or until it is cancelled before it
+   * starts.
+   */
+  private final class BlockGroupTask implements Runnable {
+    private final int buffers;
+    private final Runnable reconstruction;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CountDownLatch ended = new CountDownLatch(1);
+    private Future<?> future;
+
+    private BlockGroupTask(int buffers, Runnable reconstruction) {
+      this.buffers = buffers;
+      this.reconstruction = reconstruction;
+    }
+
+    private void submit(ExecutorService executor) {
+      future = executor.submit(this);
+    }
+
+    @Override
+    public void run() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        reconstruction.run();
+      } finally {
+        end();
+      }
+    }
+
+    private void get() throws InterruptedException, ExecutionException {
+      future.get();
+    }
+
+    /**
+     * Skips the block group if it has not started yet, otherwise
+     * interrupts it.
+     */
+    private void cancel() {
+      if (started.compareAndSet(false, true)) {
+        future.cancel(false);
+        end();
+      } else {
+        future.cancel(true);
+      }
+    }
+
+    private void awaitUninterruptibly() {
+      Uninterruptibles.awaitUninterruptibly(ended);
+    }
+
+    private void end() {
+      releaseBuffers(buffers);
+      ended.countDown();
+    }
+  }
+
+  private void releaseBuffers(int buffers) {
+    metrics.decReconstructionBytesInFlight(buffers);
+    bufferPermits.release(buffers);
+  }
+
   private ECBlockOutputStream getECBlockOutputStream(
       BlockLocationInfo blockLocationInfo, DatanodeDetails datanodeDetails,
       ECReplicationConfig repConfig, int replicaIndex,
@@ -285,6 +463,7 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
         sis.setRecoveryIndexes(toReconstructIndexes.stream().map(i -> (i - 1))
             .collect(Collectors.toSet()));
         long length = safeBlockGroupLength;
+        long written = 0;
         while (length > 0) {
           int readLen;
           try {
@@ -311,11 +490,15 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
                 blockDataGroup);
             throw e;
           }
-          // TODO: can be submitted in parallel
+          // Send the chunks to all targets before waiting for any of them.
+          List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>>
+              futures = new ArrayList<>(bufs.length);
+          for (int i = 0; i < bufs.length; i++) {
+            written += bufs[i].remaining();
+            futures.add(targetBlockStreams[i].write(bufs[i]));
+          }
           for (int i = 0; i < bufs.length; i++) {
-            CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
-                future = targetBlockStreams[i].write(bufs[i]);
-            checkFailures(targetBlockStreams[i], future);
+            checkFailures(targetBlockStreams[i], futures.get(i));
             bufs[i].clear();
           }
           length -= readLen;
@@ -324,9 +507,12 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
         for (ECBlockOutputStream targetStream : targetBlockStreams) {
           targetStream.executePutBlock(true, true,
               blockLocationInfo.getLength(), blockDataGroup);
+        }
+        for (ECBlockOutputStream targetStream : targetBlockStreams) {
           checkFailures(targetStream,
               targetStream.getCurrentPutBlkResponseFuture());
         }
+        metrics.incReconstructedBytesTotal(written);
       } finally {
         for (ByteBuffer buf : bufs) {
           byteBufferPool.putBuffer(buf);
@@ -445,6 +631,9 @@ SortedMap<Long, BlockLocationInfo> calcBlockLocationInfoMap(long containerID,
 
   @Override
   public void close() throws IOException {
+    if (blockGroupExecutor != null) {
+      blockGroupExecutor.shutdownNow();
+    }
     if (containerOperationClient != null) {
       containerOperationClient.close();
     }
@@ -23,6 +23,8 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableStat;
 import org.apache.hadoop.ozone.OzoneConsts;
 
 /**
@@ -39,6 +41,14 @@ public final class ECReconstructionMetrics {
   private @Metric MutableCounterLong blockGroupReconstructionFailsTotal;
   private @Metric MutableCounterLong reconstructionTotal;
   private @Metric MutableCounterLong reconstructionFailsTotal;
+  private @Metric MutableCounterLong reconstructedBytesTotal;
+  @Metric(about = "Bytes of block groups reconstructed per second, "
+      + "per container", sampleName = "Containers",
+      valueName = "BytesPerSec")
+  private MutableStat containerReconstructionThroughput;
+  @Metric(about = "Estimated bytes of buffers held by block groups being "
+      + "reconstructed")
+  private MutableGaugeLong reconstructionBytesInFlight;
 
   private ECReconstructionMetrics() {
   }
@@ -70,10 +80,44 @@ public void incReconstructionFailsTotal() {
     reconstructionFailsTotal.incr();
   }
 
+  public void incReconstructedBytesTotal(long bytes) {
+    reconstructedBytesTotal.incr(bytes);
+  }
+
+  /**
+   * Records the throughput of a successful container reconstruction.
+   * @param bytes total length of the reconstructed block groups
+   * @param nanos time taken to reconstruct them
+   */
+  public void addContainerReconstruction(long bytes, long nanos) {
+    containerReconstructionThroughput.add(
+        (long) (bytes * 1_000_000_000.0 / Math.max(nanos, 1)));
+  }
+
+  public void incReconstructionBytesInFlight(long bytes) {
+    reconstructionBytesInFlight.incr(bytes);
+  }
+
+  public void decReconstructionBytesInFlight(long bytes) {
+    reconstructionBytesInFlight.decr(bytes);
+  }
+
+  public long getReconstructedBytesTotal() {
+    return reconstructedBytesTotal.value();
+  }
+
+  public long getReconstructionBytesInFlight() {
+    return reconstructionBytesInFlight.value();
+  }
+
   public long getReconstructionTotal() {
     return reconstructionTotal.value();
   }
 
+  public long getReconstructionFailsTotal() {
+    return reconstructionFailsTotal.value();
+  }
+
   public long getBlockGroupReconstructionTotal() {
     return blockGroupReconstructionTotal.value();
   }
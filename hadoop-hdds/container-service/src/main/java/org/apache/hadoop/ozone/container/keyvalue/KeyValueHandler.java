@@ -62,6 +62,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics.LockedOp;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerUtils;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
@@ -88,6 +89,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures;
+import org.apache.hadoop.util.Time;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -753,14 +755,12 @@ ContainerCommandResponseProto handleReadChunk(
   @VisibleForTesting
   void checkContainerIsHealthy(KeyValueContainer kvContainer, BlockID blockID,
       Type cmd) {
-    kvContainer.readLock();
-    try {
-      if (kvContainer.getContainerData().getState() == State.UNHEALTHY) {
-        LOG.warn("{} request {} for UNHEALTHY container {} replica", cmd,
-            blockID, kvContainer.getContainerData().getContainerID());
-      }
-    } finally {
-      kvContainer.readUnlock();
+    // ContainerData#getState is synchronized, so the container lock is not
+    // needed here.  Taking it would make every read queue up behind
+    // close/unhealthy transitions holding the write lock.
+    if (kvContainer.getContainerData().getState() == State.UNHEALTHY) {
+      LOG.warn("{} request {} for UNHEALTHY container {} replica", cmd,
+          blockID, kvContainer.getContainerData().getContainerID());
     }
   }
 
@@ -958,7 +958,7 @@ ContainerCommandResponseProto handleGetSmallFile(
       metrics.incContainerBytesStats(Type.GetSmallFile,
           BufferUtils.getBuffersLen(dataBuffers));
       return getGetSmallFileResponseSuccess(request, dataBuffers,
-          chunkInfoProto);
+          chunkInfoProto, responseData.getProtoBufMessage());
     } catch (StorageContainerException e) {
       return ContainerUtils.logAndReturnError(LOG, e, request);
     } catch (IOException ex) {
@@ -1056,7 +1056,7 @@ public void exportContainer(final Container container,
   @Override
   public void markContainerForClose(Container container)
       throws IOException {
-    container.writeLock();
+    final long lockedAt = writeLock(container, LockedOp.MARK_FOR_CLOSE);
     try {
       ContainerProtos.ContainerDataProto.State state =
           container.getContainerState();
@@ -1072,14 +1072,14 @@ public void markContainerForClose(Container container)
         sendICR(container);
       }
     } finally {
-      container.writeUnlock();
+      writeUnlock(container, LockedOp.MARK_FOR_CLOSE, lockedAt);
     }
   }
 
   @Override
   public void markContainerUnhealthy(Container container, ScanResult reason)
       throws StorageContainerException {
-    container.writeLock();
+    final long lockedAt = writeLock(container, LockedOp.MARK_UNHEALTHY);
     try {
       long containerID = container.getContainerData().getContainerID();
       if (container.getContainerState() == State.UNHEALTHY) {
@@ -1110,14 +1110,14 @@ public void markContainerUnhealthy(Container container, ScanResult reason)
         sendICR(container);
       }
     } finally {
-      container.writeUnlock();
+      writeUnlock(container, LockedOp.MARK_UNHEALTHY, lockedAt);
     }
   }
 
   @Override
   public void quasiCloseContainer(Container container, String reason)
       throws IOException {
-    container.writeLock();
+    final long lockedAt = writeLock(container, LockedOp.QUASI_CLOSE);
     try {
       final State state = container.getContainerState();
       // Quasi close call is idempotent.
@@ -1137,14 +1137,14 @@ public void quasiCloseContainer(Container container, String reason)
       ContainerLogger.logQuasiClosed(container.getContainerData(), reason);
       sendICR(container);
     } finally {
-      container.writeUnlock();
+      writeUnlock(container, LockedOp.QUASI_CLOSE, lockedAt);
     }
   }
 
   @Override
   public void closeContainer(Container container)
       throws IOException {
-    container.writeLock();
+    final long lockedAt = writeLock(container, LockedOp.CLOSE);
     try {
       final State state = container.getContainerState();
       // Close call is idempotent.
@@ -1170,7 +1170,7 @@ public void closeContainer(Container container)
       ContainerLogger.logClosed(container.getContainerData());
       sendICR(container);
     } finally {
-      container.writeUnlock();
+      writeUnlock(container, LockedOp.CLOSE, lockedAt);
     }
   }
 
@@ -1299,9 +1299,33 @@ private boolean logBlocksFoundOnDisk(Container container) throws IOException {
     return notEmpty;
   }
 
+  /**
+   * Acquires the write lock of the container and records the time spent
+   * waiting for it.
+   * @return the time the lock was acquired, for {@link #writeUnlock}
+   */
+  private long writeLock(Container container, LockedOp op) {
+    final long start = Time.monotonicNowNanos();
+    container.writeLock();
+    final long acquired = Time.monotonicNowNanos();
+    if (metrics != null) {
+      metrics.addContainerLockWaitTime(op, acquired - start);
+    }
+    return acquired;
+  }
+
+  private void writeUnlock(Container container, LockedOp op,
+      long acquired) {
+    final long held = Time.monotonicNowNanos() - acquired;
+    container.writeUnlock();
+    if (metrics != null) {
+      metrics.addContainerLockHoldTime(op, held);
+    }
+  }
+
   private void deleteInternal(Container container, boolean force)
       throws StorageContainerException {
-    container.writeLock();
+    final long lockedAt = writeLock(container, LockedOp.DELETE);
     try {
       if (container.getContainerData().getVolume().isFailed()) {
         // if the  volume in which the container resides fails
@@ -1383,7 +1407,7 @@ private void deleteInternal(Container container, boolean force)
       triggerVolumeScanAndThrowException(container, errorMsg,
           CONTAINER_INTERNAL_ERROR);
     } finally {
-      container.writeUnlock();
+      writeUnlock(container, LockedOp.DELETE, lockedAt);
     }
     // Avoid holding write locks for disk operations
     container.delete();
@@ -24,6 +24,8 @@
 import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.NoSuchFileException;
@@ -43,6 +45,7 @@
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.utils.ReadChannelCache;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.util.Time;
 
@@ -197,19 +200,27 @@ public static void readData(File file, ByteBuffer[] buffers,
     final long startTime = Time.monotonicNow();
     final long bytesRead;
 
+    final ReadChannelCache channels = volume != null
+        ? volume.getReadChannelCache() : null;
     try {
-      bytesRead = processFileExclusively(path, () -> {
-        try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES);
-             FileLock ignored = channel.lock(offset, len, true)) {
-
-          return channel.position(offset).read(buffers);
-        } catch (IOException e) {
-          onFailure(volume);
-          throw new UncheckedIOException(e);
-        }
-      });
+      if (channels != null) {
+        bytesRead = readFromCachedChannel(channels, path, buffers, offset);
+      } else {
+        bytesRead = processFileExclusively(path, () -> {
+          try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES);
+               FileLock ignored = channel.lock(offset, len, true)) {
+
+            return channel.position(offset).read(buffers);
+          } catch (IOException e) {
+            onFailure(volume);
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
     } catch (UncheckedIOException e) {
-      onFailure(volume);
+      if (!(e.getCause() instanceof InterruptedIOException)) {
+        onFailure(volume);
+      }
       throw wrapInStorageContainerException(e.getCause());
     } catch (InterruptedException e) {
       throw wrapInStorageContainerException(e);
@@ -233,6 +244,100 @@ public static void readData(File file, ByteBuffer[] buffers,
     }
   }
 
+  /**
+   * Maps a region of an existing chunk file into memory.  The region is
+   * returned as a list of read-only buffers of at most {@code bufferCapacity}
+   * bytes each, ready to be read.  The file must not be modified while the
+   * buffers are in use, which is only guaranteed for closed containers.
+   *
+   * @param file file where data lives
+   * @param offset position of the region in the file
+   * @param len length of the region
+   * @param bufferCapacity maximum size of each returned buffer
+   * @param volume for statistics and checker
+   */
+  public static ByteBuffer[] readMappedData(File file, long offset, int len,
+      long bufferCapacity, HddsVolume volume)
+      throws StorageContainerException {
+
+    final Path path = file.toPath();
+    final long startTime = Time.monotonicNow();
+    final ReadChannelCache channels = volume != null
+        ? volume.getReadChannelCache() : null;
+    final MappedByteBuffer mapped;
+    try {
+      if (channels != null) {
+        mapped = channels.map(path, offset, len);
+      } else {
+        try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES)) {
+          mapped = ReadChannelCache.map(channel, offset, len);
+        }
+      }
+    } catch (IOException e) {
+      if (!(e instanceof ClosedByInterruptException)) {
+        onFailure(volume);
+      }
+      throw wrapInStorageContainerException(e);
+    }
+    validateReadSize(len, mapped.capacity());
+
+    final int capacity = (int) Math.min(len, bufferCapacity);
+    final int count = (len + capacity - 1) / capacity;
+    final ByteBuffer[] buffers = new ByteBuffer[count];
+    for (int i = 0; i < count; i++) {
+      final int start = i * capacity;
+      final ByteBuffer duplicate = mapped.duplicate();
+      duplicate.position(start);
+      duplicate.limit(Math.min(len, start + capacity));
+      buffers[i] = duplicate.slice().asReadOnlyBuffer();
+    }
+
+    long endTime = Time.monotonicNow();
+    if (volume != null) {
+      volume.getVolumeIOStats().incReadTime(endTime - startTime);
+      volume.getVolumeIOStats().incReadOpCount();
+      volume.getVolumeIOStats().incReadBytes(len);
+    }
+
+    LOG.debug("Mapped {} bytes starting at offset {} from {}",
+        len, offset, file);
+
+    return buffers;
+  }
+
+  private static long readFromCachedChannel(ReadChannelCache channels,
+      Path path, ByteBuffer[] buffers, long offset) {
+    try {
+      return channels.read(path, buffers, offset);
+    } catch (ClosedByInterruptException e) {
+      throw new UncheckedIOException(new InterruptedIOException(
+          "Interrupted while reading file " + path));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Drops the cached read channel of a chunk file that is about to be
+   * deleted or replaced.
+   */
+  public static void invalidateReadChannel(File file, HddsVolume volume) {
+    if (volume != null && volume.getReadChannelCache() != null) {
+      volume.getReadChannelCache().invalidate(file.toPath());
+    }
+  }
+
+  /**
+   * Drops the cached read channels of all chunk files of a container that
+   * is about to be deleted.
+   */
+  public static void invalidateReadChannels(File chunksDir,
+      HddsVolume volume) {
+    if (volume != null && volume.getReadChannelCache() != null) {
+      volume.getReadChannelCache().invalidateAll(chunksDir.toPath());
+    }
+  }
+
   /**
    * Validates chunk data and returns a file object to Chunk File that we are
    * expected to write data to.
@@ -139,6 +139,8 @@ public static void removeContainer(
       throws IOException {
     Preconditions.checkNotNull(containerData);
     KeyValueContainerUtil.removeContainerDB(containerData, conf);
+    ChunkUtils.invalidateReadChannels(
+        new File(containerData.getChunksPath()), containerData.getVolume());
     KeyValueContainerUtil.moveToDeletedContainerDir(containerData,
         containerData.getVolume());
   }
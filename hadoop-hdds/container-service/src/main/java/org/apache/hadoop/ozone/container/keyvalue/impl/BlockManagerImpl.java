@@ -32,10 +32,13 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
+import org.apache.hadoop.ozone.container.metadata.DatanodeStore;
+import org.apache.ratis.util.function.CheckedConsumer;
 
 import com.google.common.base.Preconditions;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.BCSID_MISMATCH;
@@ -60,6 +63,9 @@ public class BlockManagerImpl implements BlockManager {
 
   // Default Read Buffer capacity when Checksum is not present
   private final long defaultReadBufferCapacity;
+  private final long readMappedBufferThreshold;
+  // Merges concurrent PutBlock updates of a DB, null if disabled
+  private final PutBlockGroupCommit groupCommit;
 
   /**
    * Constructs a Block Manager.
@@ -73,6 +79,16 @@ public BlockManagerImpl(ConfigurationSource conf) {
         ScmConfigKeys.OZONE_CHUNK_READ_BUFFER_DEFAULT_SIZE_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_BUFFER_DEFAULT_SIZE_DEFAULT,
         StorageUnit.BYTES);
+    this.readMappedBufferThreshold = (long) config.getStorageSize(
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_DEFAULT,
+        StorageUnit.BYTES);
+    final DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
+    this.groupCommit = dnConf.getPutBlockGroupCommitMaxBatch() > 1
+        ? new PutBlockGroupCommit(dnConf.getPutBlockGroupCommitMaxBatch(),
+            dnConf.getPutBlockGroupCommitMaxDelay().toNanos())
+        : null;
   }
 
   /**
@@ -104,12 +120,19 @@ public long putBlock(Container container, BlockData data,
         (KeyValueContainer) container,
         data,
         config,
-        endOfBlock);
+        endOfBlock,
+        groupCommit);
   }
 
   public static long persistPutBlock(KeyValueContainer container,
       BlockData data, ConfigurationSource config, boolean endOfBlock)
       throws IOException {
+    return persistPutBlock(container, data, config, endOfBlock, null);
+  }
+
+  private static long persistPutBlock(KeyValueContainer container,
+      BlockData data, ConfigurationSource config, boolean endOfBlock,
+      PutBlockGroupCommit groupCommit) throws IOException {
     Preconditions.checkNotNull(data, "BlockData cannot be null for put " +
         "operation.");
     Preconditions.checkState(data.getContainerID() >= 0, "Container Id " +
@@ -147,61 +170,45 @@ public static long persistPutBlock(KeyValueContainer container,
       // for this block in the DB or not.
       long localID = data.getLocalID();
       boolean isBlockInCache = container.isBlockInPendingPutBlockCache(localID);
-      boolean incrBlockCount = false;
-
-      // update the blockData as well as BlockCommitSequenceId here
-      try (BatchOperation batch = db.getStore().getBatchHandler()
-          .initBatchOperation()) {
-
-        // If the block does not exist in the pendingPutBlockCache of the
-        // container, then check the DB to ascertain if it exists or not.
-        // If block exists in cache, blockCount should not be incremented.
-        if (!isBlockInCache) {
-          if (db.getStore().getBlockDataTable().get(
-              containerData.getBlockKey(localID)) == null) {
-            // Block does not exist in DB => blockCount needs to be
-            // incremented when the block is added into DB.
-            incrBlockCount = true;
-          }
-        }
 
-        db.getStore().getBlockDataTable().putWithBatch(
-            batch, containerData.getBlockKey(localID), data);
-        if (bcsId != 0) {
-          db.getStore().getMetadataTable().putWithBatch(
-              batch, containerData.getBcsIdKey(), bcsId);
+      // If the block does not exist in the pendingPutBlockCache of the
+      // container, then check the DB to ascertain if it exists or not.
+      // If block exists in cache, blockCount should not be incremented.
+      // Block does not exist in DB => blockCount needs to be
+      // incremented when the block is added into DB.
+      final boolean incrBlockCount = !isBlockInCache
+          && db.getStore().getBlockDataTable().get(
+              containerData.getBlockKey(localID)) == null;
+
+      final CheckedConsumer<BatchOperation, IOException> putBlockData =
+          batch -> db.getStore().getBlockDataTable().putWithBatch(
+              batch, containerData.getBlockKey(localID), data);
+
+      if (groupCommit != null) {
+        // the container metadata is written and the block count is
+        // incremented along with the batch
+        groupCommit.commit(db.getStore(), containerData, bcsId,
+            incrBlockCount, putBlockData);
+      } else {
+        // update the blockData as well as BlockCommitSequenceId here
+        try (BatchOperation batch = db.getStore().getBatchHandler()
+            .initBatchOperation()) {
+          putBlockData.accept(batch);
+          putContainerMetadata(db.getStore(), batch, containerData, bcsId,
+              incrBlockCount ? 1 : 0);
+          db.getStore().getBatchHandler().commitBatchOperation(batch);
         }
 
-        // Set Bytes used, this bytes used will be updated for every write and
-        // only get committed for every put block. In this way, when datanode
-        // is up, for computation of disk space by container only committed
-        // block length is used, And also on restart the blocks committed to DB
-        // is only used to compute the bytes used. This is done to keep the
-        // current behavior and avoid DB write during write chunk operation.
-        db.getStore().getMetadataTable().putWithBatch(
-            batch, containerData.getBytesUsedKey(),
-            containerData.getBytesUsed());
-
-        // Set Block Count for a container.
+        // Increment block count in-memory after the DB update.
         if (incrBlockCount) {
-          db.getStore().getMetadataTable().putWithBatch(
-              batch, containerData.getBlockCountKey(),
-              containerData.getBlockCount() + 1);
+          containerData.incrBlockCount();
         }
-
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
       }
 
       if (bcsId != 0) {
         container.updateBlockCommitSequenceId(bcsId);
       }
 
-      // Increment block count and add block to pendingPutBlockCache
-      // in-memory after the DB update.
-      if (incrBlockCount) {
-        containerData.incrBlockCount();
-      }
-
       // If the Block is not in PendingPutBlockCache (and it is not endOfBlock),
       // add it there so that subsequent putBlock calls for this block do not
       // have to read the DB to check for block existence
@@ -222,6 +229,37 @@ public static long persistPutBlock(KeyValueContainer container,
     }
   }
 
+  /**
+   * Puts the container metadata updated by PutBlock into a batch.
+   * @param bcsId the new bcsId of the container, 0 to keep it
+   * @param newBlocks number of blocks added to the container by the batch
+   */
+  static void putContainerMetadata(DatanodeStore store, BatchOperation batch,
+      KeyValueContainerData containerData, long bcsId, long newBlocks)
+      throws IOException {
+    if (bcsId != 0) {
+      store.getMetadataTable().putWithBatch(
+          batch, containerData.getBcsIdKey(), bcsId);
+    }
+
+    // Set Bytes used, this bytes used will be updated for every write and
+    // only get committed for every put block. In this way, when datanode
+    // is up, for computation of disk space by container only committed
+    // block length is used, And also on restart the blocks committed to DB
+    // is only used to compute the bytes used. This is done to keep the
+    // current behavior and avoid DB write during write chunk operation.
+    store.getMetadataTable().putWithBatch(
+        batch, containerData.getBytesUsedKey(),
+        containerData.getBytesUsed());
+
+    // Set Block Count for a container.
+    if (newBlocks > 0) {
+      store.getMetadataTable().putWithBatch(
+          batch, containerData.getBlockCountKey(),
+          containerData.getBlockCount() + newBlocks);
+    }
+  }
+
   /**
    * Gets an existing block.
    *
@@ -291,6 +329,11 @@ public long getDefaultReadBufferCapacity() {
     return defaultReadBufferCapacity;
   }
 
+  @Override
+  public long getReadMappedBufferThreshold() {
+    return readMappedBufferThreshold;
+  }
+
   /**
    * Deletes an existing block.
    */
@@ -76,6 +76,7 @@ public class FilePerBlockStrategy implements ChunkManager {
   private final boolean doSyncWrite;
   private final OpenFiles files = new OpenFiles();
   private final long defaultReadBufferCapacity;
+  private final long readMappedBufferThreshold;
   private final VolumeSet volumeSet;
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager,
@@ -83,6 +84,8 @@ public FilePerBlockStrategy(boolean sync, BlockManager manager,
     doSyncWrite = sync;
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
+    this.readMappedBufferThreshold = manager == null ? 0 :
+        manager.getReadMappedBufferThreshold();
     this.volumeSet = volSet;
   }
 
@@ -194,6 +197,11 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
     long bufferCapacity =  ChunkManager.getBufferCapacityForChunkRead(info,
         defaultReadBufferCapacity);
 
+    if (shouldMapForRead(containerData, len)) {
+      return ChunkBuffer.wrap(Lists.newArrayList(ChunkUtils.readMappedData(
+          chunkFile, offset, len, bufferCapacity, volume)));
+    }
+
     ByteBuffer[] dataBuffers = BufferUtils.assignByteBuffers(len,
         bufferCapacity);
 
@@ -202,6 +210,17 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
     return ChunkBuffer.wrap(Lists.newArrayList(dataBuffers));
   }
 
+  /**
+   * Block files of closed containers are no longer modified, so large reads
+   * can be served from a memory-mapped region instead of heap buffers.
+   */
+  private boolean shouldMapForRead(KeyValueContainerData containerData,
+      long len) {
+    return readMappedBufferThreshold > 0
+        && len >= readMappedBufferThreshold
+        && (containerData.isClosed() || containerData.isQuasiClosed());
+  }
+
   @Override
   public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
       throws StorageContainerException {
@@ -250,6 +269,8 @@ private void deleteChunk(Container container, BlockID blockID,
       checkFullDelete(info, file);
     }
 
+    ChunkUtils.invalidateReadChannel(file,
+        ((KeyValueContainerData) container.getContainerData()).getVolume());
     FileUtil.fullyDelete(file);
     LOG.info("Deleted block file: {}", file);
   }
@@ -139,6 +139,7 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
           // the data to be written here which should be efficient and
           // it matches we can safely return without rewriting.
           LOG.warn("ChunkFile already exists {}. Deleting it.", chunkFile);
+          ChunkUtils.invalidateReadChannel(chunkFile, volume);
           FileUtil.fullyDelete(chunkFile);
         }
         if (tmpChunkFile.exists()) {
@@ -170,6 +171,7 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
         }
         // While committing a chunk , just rename the tmp chunk file which has
         // the same term and log index appended as the current transaction
+        ChunkUtils.invalidateReadChannel(chunkFile, volume);
         commitChunk(tmpChunkFile, chunkFile);
         // Increment container stats here, as we commit the data.
         containerData.updateWriteStats(len, isOverwrite);
@@ -318,6 +320,8 @@ public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
         // file length is offset + real chunk length; see HDDS-3644
         || info.getLen() + info.getOffset() == chunkFileSize;
     if (allowed) {
+      ChunkUtils.invalidateReadChannel(chunkFile,
+          kvContainer.getContainerData().getVolume());
       FileUtil.fullyDelete(chunkFile);
       LOG.info("Deleted chunk file {} (size {}) for chunk {}",
           chunkFile, chunkFileSize, info);
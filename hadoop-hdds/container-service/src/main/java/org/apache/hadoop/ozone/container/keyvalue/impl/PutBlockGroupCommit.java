@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.metadata.DatanodeStore;
+import org.apache.ratis.util.function.CheckedConsumer;
+
+/**
+ * Merges the DB updates of concurrent PutBlock operations on the same
+ * container DB into a single write batch.
+ * <p>
+ * The first operation of a batch leads it.  If no other batch of the DB is
+ * being committed and no other operation joined, it commits right away, so
+ * a single writer is not delayed.  Otherwise it waits for the previous
+ * batch, and then until its batch is full or the maximum delay has passed,
+ * and commits the batch for all operations that joined it.  Operations
+ * arriving while a batch is being committed join the next one, so under
+ * load the batches grow by themselves.
+ * <p>
+ * The container metadata (block count, bytes used and bcsId) is computed
+ * when the batch is committed, once for each container in the batch, and
+ * the in-memory block count is updated along with the commit.
+ * <p>
+ * All operations of a batch wait for its commit, so a PutBlock is
+ * visible to readers when it returns, and fails if its batch fails.
+ */
+final class PutBlockGroupCommit {
+
+  private final int maxBatchSize;
+  private final long maxDelayNanos;
+
+  /** Batches of each DB.  Weak keys, the stores are owned by the caches. */
+  private final Map<DatanodeStore, Group> groups =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  PutBlockGroupCommit(int maxBatchSize, long maxDelayNanos) {
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayNanos = maxDelayNanos;
+  }
+
+  /**
+   * Adds the updates of an operation to the current batch of the DB, and
+   * waits until the batch is committed.
+   * @param store the DB to update; the caller must hold a reference to it
+   *              until this method returns
+   * @param containerData the container of the block
+   * @param bcsId bcsId of the operation, 0 if none
+   * @param newBlock whether the operation adds a block to the container
+   * @param update puts the block data into the given batch
+   * @throws IOException if the batch could not be committed
+   */
+  void commit(DatanodeStore store, KeyValueContainerData containerData,
+      long bcsId, boolean newBlock,
+      CheckedConsumer<BatchOperation, IOException> update)
+      throws IOException {
+    final Group group = groups.computeIfAbsent(store, s -> new Group());
+    final long deadline = System.nanoTime() + maxDelayNanos;
+    final Batch batch;
+    final boolean leader;
+    synchronized (group) {
+      if (group.open == null) {
+        group.open = new Batch(
+            store.getBatchHandler().initBatchOperation());
+        leader = true;
+      } else {
+        leader = false;
+      }
+      batch = group.open;
+      try {
+        update.accept(batch.operation);
+        batch.add(containerData, bcsId, newBlock);
+      } catch (IOException e) {
+        // the batch may hold a part of the updates, so drop it
+        batch.failure = e;
+      }
+      if (++batch.size >= maxBatchSize || batch.failure != null) {
+        group.open = null;
+        group.notifyAll();
+      }
+    }
+
+    if (leader) {
+      commitBatch(store, group, batch, deadline);
+    } else {
+      awaitCommit(group, batch);
+    }
+    if (batch.failure != null) {
+      throw leader ? batch.failure
+          : new IOException("Failed to commit batch", batch.failure);
+    }
+  }
+
+  private void commitBatch(DatanodeStore store, Group group, Batch batch,
+      long deadline) {
+    boolean interrupted = false;
+    synchronized (group) {
+      // other operations are pending if a batch is being committed, or if
+      // they already joined this one
+      final boolean pending = group.committing || batch.size > 1;
+      for (long now = System.nanoTime(); group.committing
+          || (pending && group.open == batch && now < deadline);
+          now = System.nanoTime()) {
+        try {
+          if (group.committing) {
+            group.wait();
+          } else {
+            TimeUnit.NANOSECONDS.timedWait(group, deadline - now);
+          }
+        } catch (InterruptedException e) {
+          // the updates of the other operations are in the batch
+          interrupted = true;
+        }
+      }
+      if (group.open == batch) {
+        group.open = null;
+      }
+      group.committing = true;
+    }
+
+    try (BatchOperation operation = batch.operation) {
+      if (batch.failure == null) {
+        for (Map.Entry<KeyValueContainerData, ContainerUpdate> e
+            : batch.containers.entrySet()) {
+          final ContainerUpdate container = e.getValue();
+          BlockManagerImpl.putContainerMetadata(store, operation,
+              e.getKey(), container.bcsId, container.newBlocks);
+        }
+        store.getBatchHandler().commitBatchOperation(operation);
+        for (Map.Entry<KeyValueContainerData, ContainerUpdate> e
+            : batch.containers.entrySet()) {
+          for (long i = 0; i < e.getValue().newBlocks; i++) {
+            e.getKey().incrBlockCount();
+          }
+        }
+      }
+    } catch (IOException e) {
+      batch.failure = e;
+    } finally {
+      synchronized (group) {
+        group.committing = false;
+        batch.committed = true;
+        group.notifyAll();
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void awaitCommit(Group group, Batch batch) {
+    boolean interrupted = false;
+    synchronized (group) {
+      while (!batch.committed) {
+        try {
+          group.wait();
+        } catch (InterruptedException e) {
+          // the updates are in the batch, so its outcome is needed
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Batches of a DB, guarded by itself. */
+  private static final class Group {
+    /** The batch accepting updates, null if none. */
+    private Batch open;
+    /** Whether a batch of this DB is being committed. */
+    private boolean committing;
+  }
+
+  /**
+   * Updates of the operations committed together.  Guarded by the group,
+   * except that the leader commits and sets the failure before marking the
+   * batch committed.
+   */
+  private static final class Batch {
+    private final BatchOperation operation;
+    private final Map<KeyValueContainerData, ContainerUpdate> containers =
+        new LinkedHashMap<>();
+    private int size;
+    private IOException failure;
+    private boolean committed;
+
+    private Batch(BatchOperation operation) {
+      this.operation = operation;
+    }
+
+    private void add(KeyValueContainerData containerData, long bcsId,
+        boolean newBlock) {
+      final ContainerUpdate update = containers.computeIfAbsent(
+          containerData, c -> new ContainerUpdate());
+      update.bcsId = Math.max(update.bcsId, bcsId);
+      if (newBlock) {
+        update.newBlocks++;
+      }
+    }
+  }
+
+  /** Container metadata changes of the operations of a batch. */
+  private static final class ContainerUpdate {
+    private long bcsId;
+    private long newBlocks;
+  }
+}
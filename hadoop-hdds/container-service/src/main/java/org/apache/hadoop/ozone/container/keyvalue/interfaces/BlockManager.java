@@ -92,6 +92,12 @@ long getCommittedBlockLength(Container container, BlockID blockID)
 
   long getDefaultReadBufferCapacity();
 
+  /**
+   * @return minimum length of a chunk read on a closed container that is
+   * served from a memory-mapped buffer, non-positive if disabled
+   */
+  long getReadMappedBufferThreshold();
+
   /**
    * Shutdown ContainerManager.
    */
@@ -116,12 +116,11 @@ public DatanodeSchemaThreeDBDefinition(String dbPath,
         dbProfile.getColumnFamilyOptions(config);
     // Use prefix seek to mitigating seek overhead.
     // See: https://github.com/facebook/rocksdb/wiki/Prefix-Seek
-    cfOptions.useFixedLengthPrefixExtractor(getContainerKeyPrefixLength());
-
-    BLOCK_DATA.setCfOptions(cfOptions);
-    METADATA.setCfOptions(cfOptions);
-    DELETED_BLOCKS.setCfOptions(cfOptions);
-    DELETE_TRANSACTION.setCfOptions(cfOptions);
+    final int prefixLength = getContainerKeyPrefixLength();
+    for (DBColumnFamilyDefinition<?, ?> cf : COLUMN_FAMILIES.values()) {
+      cf.setCfOptions(cfOptions);
+      cf.setFixedLengthPrefix(prefixLength);
+    }
   }
 
   @Override
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+
+/**
+ * This class captures the progress of loading containers from disk at
+ * datanode startup.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Datanode container load metrics", context = "dfs")
+public final class ContainerLoadMetrics {
+
+  private static final String SOURCE_NAME =
+      ContainerLoadMetrics.class.getSimpleName();
+
+  @Metric("number of containers loaded from disk")
+  private MutableCounterLong numContainersLoaded;
+  @Metric("number of containers that could not be loaded")
+  private MutableCounterLong numContainersFailed;
+  @Metric("number of recovering and deleted containers not loaded")
+  private MutableCounterLong numContainersSkipped;
+  @Metric("number of volumes whose containers are still being loaded")
+  private MutableGaugeInt numVolumesLoading;
+  @Metric("time taken to load the containers of all volumes in milliseconds")
+  private MutableGaugeLong loadTimeMs;
+
+  private ContainerLoadMetrics() {
+  }
+
+  public static ContainerLoadMetrics create() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(SOURCE_NAME, "Datanode container load metrics",
+        new ContainerLoadMetrics());
+  }
+
+  public void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+  }
+
+  public void incNumContainersLoaded() {
+    numContainersLoaded.incr();
+  }
+
+  public long getNumContainersLoaded() {
+    return numContainersLoaded.value();
+  }
+
+  public void incNumContainersFailed() {
+    numContainersFailed.incr();
+  }
+
+  public long getNumContainersFailed() {
+    return numContainersFailed.value();
+  }
+
+  public void incNumContainersSkipped() {
+    numContainersSkipped.incr();
+  }
+
+  public long getNumContainersSkipped() {
+    return numContainersSkipped.value();
+  }
+
+  public void incNumVolumesLoading() {
+    numVolumesLoading.incr();
+  }
+
+  public void decNumVolumesLoading() {
+    numVolumesLoading.decr();
+  }
+
+  public int getNumVolumesLoading() {
+    return numVolumesLoading.value();
+  }
+
+  public void setLoadTimeMs(long millis) {
+    loadTimeMs.set(millis);
+  }
+
+  public long getLoadTimeMs() {
+    return loadTimeMs.value();
+  }
+}
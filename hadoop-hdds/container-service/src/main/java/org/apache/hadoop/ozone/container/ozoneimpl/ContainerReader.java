@@ -20,11 +20,15 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.ozone.common.Storage;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerUtils;
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
@@ -78,27 +82,51 @@ public class ContainerReader implements Runnable {
   private final File hddsVolumeDir;
   private final MutableVolumeSet volumeSet;
   private final boolean shouldDeleteRecovering;
+  private final int numThreads;
+  private final ContainerLoadMetrics metrics;
 
   public ContainerReader(
       MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
       ConfigurationSource conf, boolean shouldDeleteRecovering) {
+    this(volSet, volume, cset, conf, shouldDeleteRecovering, 1, null);
+  }
+
+  /**
+   * @param numThreads number of threads loading containers of the volume
+   *                   concurrently
+   * @param metrics to report loading progress to, may be null
+   */
+  public ContainerReader(
+      MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
+      ConfigurationSource conf, boolean shouldDeleteRecovering,
+      int numThreads, ContainerLoadMetrics metrics) {
     Preconditions.checkNotNull(volume);
+    Preconditions.checkArgument(numThreads > 0);
     this.hddsVolume = volume;
     this.hddsVolumeDir = hddsVolume.getHddsRootDir();
     this.containerSet = cset;
     this.config = conf;
     this.volumeSet = volSet;
     this.shouldDeleteRecovering = shouldDeleteRecovering;
+    this.numThreads = numThreads;
+    this.metrics = metrics;
   }
 
   @Override
   public void run() {
+    if (metrics != null) {
+      metrics.incNumVolumesLoading();
+    }
     try {
       readVolume(hddsVolumeDir);
     } catch (Throwable t) {
       LOG.error("Caught an exception during reading container files" +
           " from Volume {} {}", hddsVolumeDir, t);
       volumeSet.failVolume(hddsVolumeDir.getPath());
+    } finally {
+      if (metrics != null) {
+        metrics.decNumVolumesLoading();
+      }
     }
   }
 
@@ -144,31 +172,17 @@ public void readVolume(File hddsVolumeRootDir) {
         }
       }
 
-      LOG.info("Start to verify containers on volume {}", hddsVolumeRootDir);
+      LOG.info("Start to verify containers on volume {} with {} threads",
+          hddsVolumeRootDir, numThreads);
       File currentDir = new File(idDir, Storage.STORAGE_DIR_CURRENT);
       File[] containerTopDirs = currentDir.listFiles();
       if (containerTopDirs != null) {
-        for (File containerTopDir : containerTopDirs) {
-          if (containerTopDir.isDirectory()) {
-            File[] containerDirs = containerTopDir.listFiles();
-            if (containerDirs != null) {
-              for (File containerDir : containerDirs) {
-                try {
-                  File containerFile = ContainerUtils.getContainerFile(
-                      containerDir);
-                  long containerID =
-                      ContainerUtils.getContainerID(containerDir);
-                  if (containerFile.exists()) {
-                    verifyContainerFile(containerID, containerFile);
-                  } else {
-                    LOG.error("Missing .container file for ContainerID: {}",
-                        containerDir.getName());
-                  }
-                } catch (Throwable e) {
-                  LOG.error("Failed to load container from {}",
-                      containerDir.getAbsolutePath(), e);
-                }
-              }
+        if (numThreads > 1) {
+          loadContainersConcurrently(hddsVolumeRootDir, containerTopDirs);
+        } else {
+          for (File containerTopDir : containerTopDirs) {
+            for (File containerDir : listContainerDirs(containerTopDir)) {
+              loadContainer(containerDir);
             }
           }
         }
@@ -177,20 +191,80 @@ public void readVolume(File hddsVolumeRootDir) {
     LOG.info("Finish verifying containers on volume {}", hddsVolumeRootDir);
   }
 
-  private void verifyContainerFile(long containerID,
-                                   File containerFile) {
+  private void loadContainersConcurrently(File hddsVolumeRootDir,
+      File[] containerTopDirs) {
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads,
+        new ThreadFactoryBuilder()
+            .setNameFormat("ContainerReader-" + hddsVolumeRootDir + "-%d")
+            .setDaemon(true)
+            .build());
+    try {
+      for (File containerTopDir : containerTopDirs) {
+        for (File containerDir : listContainerDirs(containerTopDir)) {
+          executor.execute(() -> loadContainer(containerDir));
+        }
+      }
+      executor.shutdown();
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.info("Still loading containers on volume {}, {} loaded so far",
+            hddsVolumeRootDir, metrics != null
+                ? metrics.getNumContainersLoaded() : "unknown");
+      }
+    } catch (InterruptedException e) {
+      LOG.warn("Interrupted while loading containers on volume {}",
+          hddsVolumeRootDir);
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static File[] listContainerDirs(File containerTopDir) {
+    if (containerTopDir.isDirectory()) {
+      File[] containerDirs = containerTopDir.listFiles();
+      if (containerDirs != null) {
+        return containerDirs;
+      }
+    }
+    return new File[0];
+  }
+
+  private void loadContainer(File containerDir) {
+    boolean loaded = false;
+    try {
+      File containerFile = ContainerUtils.getContainerFile(containerDir);
+      long containerID = ContainerUtils.getContainerID(containerDir);
+      if (containerFile.exists()) {
+        loaded = verifyContainerFile(containerID, containerFile);
+      } else {
+        LOG.error("Missing .container file for ContainerID: {}",
+            containerDir.getName());
+      }
+    } catch (Throwable e) {
+      LOG.error("Failed to load container from {}",
+          containerDir.getAbsolutePath(), e);
+    }
+    if (!loaded && metrics != null) {
+      metrics.incNumContainersFailed();
+    }
+  }
+
+  private boolean verifyContainerFile(long containerID,
+                                      File containerFile) {
     try {
       ContainerData containerData = ContainerDataYaml.readContainerFile(
           containerFile);
       if (containerID != containerData.getContainerID()) {
         LOG.error("Invalid ContainerID in file {}. " +
             "Skipping loading of this container.", containerFile);
-        return;
+        return false;
       }
       verifyAndFixupContainerData(containerData);
+      return true;
     } catch (IOException ex) {
       LOG.error("Failed to parse ContainerFile for ContainerID: {}",
           containerID, ex);
+      return false;
     }
   }
 
@@ -219,13 +293,22 @@ public void verifyAndFixupContainerData(ContainerData containerData)
             LOG.info("Delete recovering container {}.",
                 kvContainer.getContainerData().getContainerID());
           }
+          if (metrics != null) {
+            metrics.incNumContainersSkipped();
+          }
           return;
         }
         if (kvContainer.getContainerState() == DELETED) {
           cleanupContainer(hddsVolume, kvContainer);
+          if (metrics != null) {
+            metrics.incNumContainersSkipped();
+          }
           return;
         }
         containerSet.addContainer(kvContainer);
+        if (metrics != null) {
+          metrics.incNumContainersLoaded();
+        }
       } else {
         throw new StorageContainerException("Container File is corrupted. " +
             "ContainerType is KeyValueContainer but cast to " +
@@ -120,6 +120,7 @@ public class OzoneContainer {
 
 
   private final ContainerMetrics metrics;
+  private final ContainerLoadMetrics loadMetrics;
 
   enum InitializingStatus {
     UNINITIALIZED, INITIALIZING, INITIALIZED
@@ -164,6 +165,7 @@ public OzoneContainer(
     containerSet = new ContainerSet(recoveringContainerTimeout);
     metadataScanner = null;
 
+    loadMetrics = ContainerLoadMetrics.create();
     buildContainerSet();
     metrics = ContainerMetrics.create(conf);
     handlers = Maps.newHashMap();
@@ -285,6 +287,8 @@ private void buildContainerSet() {
         .iterator();
     ArrayList<Thread> volumeThreads = new ArrayList<>();
     long startTime = System.currentTimeMillis();
+    int threadsPerVolume = config.getObject(DatanodeConfiguration.class)
+        .getContainerLoadThreadsPerVolume();
 
     // Load container inspectors that may be triggered at startup based on
     // system properties set. These can inspect and possibly repair
@@ -293,7 +297,8 @@ private void buildContainerSet() {
     while (volumeSetIterator.hasNext()) {
       StorageVolume volume = volumeSetIterator.next();
       Thread thread = new Thread(new ContainerReader(volumeSet,
-          (HddsVolume) volume, containerSet, config, true));
+          (HddsVolume) volume, containerSet, config, true,
+          threadsPerVolume, loadMetrics));
       thread.start();
       volumeThreads.add(thread);
     }
@@ -311,8 +316,11 @@ private void buildContainerSet() {
     // inspectors so they are not hit during normal datanode execution.
     ContainerInspectorUtil.unload();
 
-    LOG.info("Build ContainerSet costs {}s",
-        (System.currentTimeMillis() - startTime) / 1000);
+    long elapsed = System.currentTimeMillis() - startTime;
+    loadMetrics.setLoadTimeMs(elapsed);
+    LOG.info("Build ContainerSet costs {}s, loaded {} containers, {} failed",
+        elapsed / 1000, loadMetrics.getNumContainersLoaded(),
+        loadMetrics.getNumContainersFailed());
   }
 
   /**
@@ -464,6 +472,7 @@ public void stop() {
     blockDeletingService.shutdown();
     recoveringContainerScrubbingService.shutdown();
     ContainerMetrics.remove();
+    loadMetrics.unregister();
   }
 
   public void handleVolumeFailures() {
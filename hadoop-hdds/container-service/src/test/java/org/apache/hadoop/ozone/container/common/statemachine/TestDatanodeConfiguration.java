@@ -28,6 +28,10 @@
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.DISK_CHECK_MIN_GAP_DEFAULT;
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.DISK_CHECK_TIMEOUT_DEFAULT;
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.DISK_CHECK_TIMEOUT_KEY;
+import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_DEFAULT;
+import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_KEY;
+import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.EC_RECONSTRUCTION_BUFFER_LIMIT_DEFAULT;
+import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.EC_RECONSTRUCTION_BUFFER_LIMIT_KEY;
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.FAILED_DB_VOLUMES_TOLERATED_KEY;
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY;
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.PERIODIC_DISK_CHECK_INTERVAL_MINUTES_DEFAULT;
@@ -106,6 +110,8 @@ public void overridesInvalidValues() {
         invalidDiskCheckMinGap, TimeUnit.MINUTES);
     conf.setTimeDuration(DISK_CHECK_TIMEOUT_KEY,
         invalidDiskCheckTimeout, TimeUnit.MINUTES);
+    conf.setInt(EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_KEY, 0);
+    conf.set(EC_RECONSTRUCTION_BUFFER_LIMIT_KEY, "0B");
 
     // WHEN
     DatanodeConfiguration subject = conf.getObject(DatanodeConfiguration.class);
@@ -125,6 +131,10 @@ public void overridesInvalidValues() {
         subject.getDiskCheckMinGap().toMillis());
     assertEquals(DISK_CHECK_TIMEOUT_DEFAULT,
         subject.getDiskCheckTimeout().toMillis());
+    assertEquals(EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_DEFAULT,
+        subject.getEcReconstructionBlockGroupThreads());
+    assertEquals(EC_RECONSTRUCTION_BUFFER_LIMIT_DEFAULT,
+        subject.getEcReconstructionBufferLimit());
   }
 
   @Test
@@ -150,6 +160,10 @@ public void isCreatedWitDefaultValues() {
         subject.getDiskCheckMinGap().toMillis());
     assertEquals(DISK_CHECK_TIMEOUT_DEFAULT,
         subject.getDiskCheckTimeout().toMillis());
+    assertEquals(EC_RECONSTRUCTION_BLOCK_GROUP_THREADS_DEFAULT,
+        subject.getEcReconstructionBlockGroupThreads());
+    assertEquals(EC_RECONSTRUCTION_BUFFER_LIMIT_DEFAULT,
+        subject.getEcReconstructionBufferLimit());
   }
 
 }
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.utils;
+
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link ReadChannelCache}.
+ */
+public class TestReadChannelCache {
+
+  private static final byte[] DATA = "0123456789".getBytes(UTF_8);
+
+  @TempDir
+  private Path dir;
+
+  private VolumeIOStats stats;
+  private ReadChannelCache cache;
+
+  @BeforeEach
+  void setup() {
+    stats = new VolumeIOStats(TestReadChannelCache.class.getSimpleName(),
+        dir.toString());
+    cache = new ReadChannelCache(2, Duration.ofMinutes(1), stats);
+  }
+
+  @AfterEach
+  void cleanup() {
+    cache.close();
+    stats.unregister();
+  }
+
+  @Test
+  void readsAtOffsetIntoMultipleBuffers() throws Exception {
+    Path file = createFile("block");
+    ByteBuffer[] buffers = {ByteBuffer.allocate(3), ByteBuffer.allocate(4)};
+
+    assertEquals(7, cache.read(file, buffers, 2));
+
+    assertEquals("234", new String(buffers[0].array(), UTF_8));
+    assertEquals("5678", new String(buffers[1].array(), UTF_8));
+  }
+
+  @Test
+  void reusesChannel() throws Exception {
+    Path file = createFile("block");
+
+    cache.read(file, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0);
+    cache.read(file, new ByteBuffer[] {ByteBuffer.allocate(1)}, 5);
+
+    assertEquals(1, stats.getReadChannelCacheMisses());
+    assertEquals(1, stats.getReadChannelCacheHits());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void shortReadAtEndOfFile() throws Exception {
+    Path file = createFile("block");
+    ByteBuffer[] buffers = {ByteBuffer.allocate(8)};
+
+    assertEquals(2, cache.read(file, buffers, 8));
+  }
+
+  @Test
+  void evictsWhenFull() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      Path file = createFile("block" + i);
+      cache.read(file, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0);
+    }
+
+    assertEquals(3, stats.getReadChannelCacheMisses());
+    assertEquals(1, stats.getReadChannelCacheEvictions());
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void invalidatedFileIsReopened() throws Exception {
+    Path file = createFile("block");
+    cache.read(file, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0);
+
+    cache.invalidate(file);
+    Files.delete(file);
+
+    assertEquals(0, cache.size());
+    assertThrows(NoSuchFileException.class,
+        () -> cache.read(file, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0));
+  }
+
+  @Test
+  void invalidatesAllFilesOfDirectory() throws Exception {
+    Files.createDirectory(dir.resolve("container1"));
+    Path deleted = createFile("container1/block");
+    Path kept = createFile("block");
+    cache.read(deleted, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0);
+    cache.read(kept, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0);
+
+    cache.invalidateAll(dir.resolve("container1"));
+
+    assertEquals(1, cache.size());
+    cache.read(kept, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0);
+    assertEquals(1, stats.getReadChannelCacheHits());
+  }
+
+  @Test
+  void closesIdleChannelsWithoutAccess() throws Exception {
+    ReadChannelCache expiring =
+        new ReadChannelCache(2, Duration.ofMillis(100), stats);
+    try {
+      Path file = createFile("block");
+      expiring.read(file, new ByteBuffer[] {ByteBuffer.allocate(1)}, 0);
+
+      GenericTestUtils.waitFor(() -> expiring.size() == 0, 50, 10000);
+      assertEquals(1, stats.getReadChannelCacheEvictions());
+    } finally {
+      expiring.close();
+    }
+  }
+
+  private Path createFile(String name) throws Exception {
+    return Files.write(dir.resolve(name), DATA);
+  }
+}
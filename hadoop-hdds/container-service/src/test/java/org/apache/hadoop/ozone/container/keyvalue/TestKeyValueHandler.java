@@ -20,16 +20,23 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
@@ -39,6 +46,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.security.token.TokenVerifier;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics.LockedOp;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.impl.HddsDispatcher;
@@ -451,6 +459,77 @@ public void testDeleteContainer() throws IOException {
     }
   }
 
+  @Test
+  public void testDataPathDoesNotWaitForContainerLock() throws Exception {
+    final String testDir = tempDir.newFolder().getAbsolutePath();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final long containerID = 1L;
+      final String clusterId = UUID.randomUUID().toString();
+      final String datanodeId = UUID.randomUUID().toString();
+      final ConfigurationSource conf = new OzoneConfiguration();
+      final ContainerSet containerSet = new ContainerSet(1000);
+      final MutableVolumeSet volumeSet = Mockito.mock(MutableVolumeSet.class);
+
+      HddsVolume hddsVolume = new HddsVolume.Builder(testDir).conf(conf)
+          .clusterID(clusterId).datanodeUuid(datanodeId)
+          .volumeSet(volumeSet)
+          .build();
+      hddsVolume.format(clusterId);
+      hddsVolume.createWorkingDir(clusterId, null);
+      hddsVolume.createTmpDirs(clusterId);
+      Mockito.when(volumeSet.getVolumesList())
+          .thenReturn(Collections.singletonList(hddsVolume));
+
+      final ContainerMetrics metrics = new ContainerMetrics(new int[0]);
+      final KeyValueHandler kvHandler = new KeyValueHandler(conf,
+          datanodeId, containerSet, volumeSet, metrics, c -> { });
+      kvHandler.setClusterID(clusterId);
+      kvHandler.handleCreateContainer(
+          createContainerRequest(datanodeId, containerID), null);
+      final KeyValueContainer container =
+          (KeyValueContainer) containerSet.getContainer(containerID);
+
+      // a state transition holds the write lock in another thread
+      final CountDownLatch locked = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      Future<?> holder = executor.submit(() -> {
+        container.writeLock();
+        try {
+          locked.countDown();
+          release.await();
+        } finally {
+          container.writeUnlock();
+        }
+        return null;
+      });
+      Assert.assertTrue(locked.await(10, TimeUnit.SECONDS));
+      try {
+        // fails instead of hanging if the check waits for the lock
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> kvHandler.checkContainerIsHealthy(container,
+                new BlockID(containerID, 1L),
+                ContainerProtos.Type.ReadChunk));
+      } finally {
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+      }
+
+      kvHandler.markContainerForClose(container);
+      Assert.assertEquals(ContainerProtos.ContainerDataProto.State.CLOSING,
+          container.getContainerState());
+      Assert.assertEquals(1,
+          metrics.getContainerLockWaitCount(LockedOp.MARK_FOR_CLOSE));
+      Assert.assertEquals(1,
+          metrics.getContainerLockHoldCount(LockedOp.MARK_FOR_CLOSE));
+      Assert.assertEquals(0,
+          metrics.getContainerLockHoldCount(LockedOp.CLOSE));
+    } finally {
+      executor.shutdownNow();
+      FileUtils.deleteDirectory(new File(testDir));
+    }
+  }
+
   private static ContainerCommandRequestProto createContainerRequest(
       String datanodeId, long containerID) {
     return ContainerCommandRequestProto.newBuilder()
@@ -26,6 +26,8 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.RoundRobinVolumeChoosingPolicy;
@@ -44,9 +46,12 @@
 import org.junit.runners.Parameterized;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -225,4 +230,111 @@ public void testListBlock() throws Exception {
     assertNotNull(listBlockData);
     assertTrue(listBlockData.size() == 10);
   }
+
+  @Test
+  public void testConcurrentPutBlocksWithGroupCommit() throws Exception {
+    final DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
+    dnConf.setPutBlockGroupCommitMaxBatch(4);
+    dnConf.setPutBlockGroupCommitMaxDelay(Duration.ofMillis(10));
+    config.setFromObject(dnConf);
+    blockManager = new BlockManagerImpl(config);
+
+    // containers on the same volume share the DB with schema V3
+    final KeyValueContainerData otherData = new KeyValueContainerData(2L,
+        layout, (long) StorageUnit.GB.toBytes(5),
+        UUID.randomUUID().toString(), keyValueContainerData.getOriginNodeId());
+    final KeyValueContainer other = new KeyValueContainer(otherData, config);
+    other.create(volumeSet, volumeChoosingPolicy, scmId);
+
+    final int blocks = 10;
+    final CompletableFuture<Void> first = CompletableFuture.runAsync(
+        () -> putBlocks(keyValueContainer, blocks));
+    final CompletableFuture<Void> second = CompletableFuture.runAsync(
+        () -> putBlocks(other, blocks));
+    first.get();
+    second.get();
+
+    for (KeyValueContainer container : new KeyValueContainer[] {
+        keyValueContainer, other}) {
+      final long containerID = container.getContainerData().getContainerID();
+      assertEquals(blocks, container.getContainerData().getBlockCount());
+      assertEquals(blocks,
+          container.getContainerData().getBlockCommitSequenceId());
+      for (long i = 1; i <= blocks; i++) {
+        assertEquals(i, blockManager.getBlock(container,
+            new BlockID(containerID, i)).getBlockCommitSequenceId());
+      }
+    }
+  }
+
+  @Test
+  public void testSinglePutBlockIsNotDelayed() throws Exception {
+    final DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
+    dnConf.setPutBlockGroupCommitMaxBatch(4);
+    dnConf.setPutBlockGroupCommitMaxDelay(Duration.ofMinutes(1));
+    config.setFromObject(dnConf);
+    blockManager = new BlockManagerImpl(config);
+
+    final long start = System.nanoTime();
+    putBlocks(keyValueContainer, 2);
+    // no other PutBlock is pending, so the batches are committed at once
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+    assertEquals(2, keyValueContainerData.getBlockCount());
+  }
+
+  @Test
+  public void testGroupCommitCountsBlocksOfBatch() throws Exception {
+    final DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
+    dnConf.setPutBlockGroupCommitMaxBatch(8);
+    dnConf.setPutBlockGroupCommitMaxDelay(Duration.ofMillis(100));
+    config.setFromObject(dnConf);
+    blockManager = new BlockManagerImpl(config);
+
+    // writers of the same container end up in the same batches
+    final int writers = 8;
+    final int blocks = 10;
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int w = 0; w < writers; w++) {
+      final long firstLocalID = w * 100L;
+      futures.add(CompletableFuture.runAsync(() -> {
+        try {
+          for (long i = 1; i <= blocks; i++) {
+            final BlockData data = new BlockData(new BlockID(
+                keyValueContainerData.getContainerID(), firstLocalID + i));
+            data.setChunks(new ArrayList<>());
+            blockManager.putBlock(keyValueContainer, data);
+          }
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      }));
+    }
+    for (CompletableFuture<Void> future : futures) {
+      future.get();
+    }
+
+    assertEquals(writers * blocks, keyValueContainerData.getBlockCount());
+    try (DBHandle db = BlockUtils.getDB(keyValueContainerData, config)) {
+      assertEquals(Long.valueOf(writers * blocks),
+          db.getStore().getMetadataTable().get(
+              keyValueContainerData.getBlockCountKey()));
+    }
+  }
+
+  private void putBlocks(KeyValueContainer container, int count) {
+    final long containerID = container.getContainerData().getContainerID();
+    try {
+      for (long i = 1; i <= count; i++) {
+        final BlockData data = new BlockData(new BlockID(containerID, i));
+        data.setChunks(new ArrayList<>());
+        data.setBlockCommitSequenceId(i);
+        blockManager.putBlock(container, data);
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
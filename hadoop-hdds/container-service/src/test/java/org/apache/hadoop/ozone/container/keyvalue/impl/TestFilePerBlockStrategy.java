@@ -19,6 +19,8 @@
 
 import org.apache.commons.codec.binary.Hex;
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
@@ -26,6 +28,7 @@
 import org.apache.hadoop.ozone.container.ContainerTestHelper;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.ozone.container.common.utils.ReadChannelCache;
 import org.apache.hadoop.ozone.container.keyvalue.ContainerLayoutTestInfo;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
@@ -34,9 +37,13 @@
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 
+import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.getChunk;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.setDataChecksum;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -138,6 +145,81 @@ public void testPartialRead() throws Exception {
         readData2.rewind().toByteString());
   }
 
+  @Test
+  public void testMappedReadOfClosedContainer() throws Exception {
+    final int datalen = 1024;
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setStorageSize(OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY,
+        datalen, StorageUnit.BYTES);
+    ChunkManager subject =
+        new FilePerBlockStrategy(true, new BlockManagerImpl(conf), null);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    setDataChecksum(info, data);
+    DispatcherContext ctx = getDispatcherContext();
+    subject.writeChunk(container, blockID, info, data, ctx);
+
+    // open container is read into heap buffers
+    ChunkBuffer heapData = subject.readChunk(container, blockID, info, ctx);
+    assertFalse(heapData.asByteBufferList().get(0).isDirect());
+
+    container.getContainerData().setState(
+        ContainerProtos.ContainerDataProto.State.CLOSED);
+    ChunkBuffer mappedData = subject.readChunk(container, blockID, info, ctx);
+    assertTrue(mappedData.asByteBufferList().get(0).isDirect());
+    assertEquals(data.rewind().toByteString(),
+        mappedData.rewind().toByteString());
+
+    // reads below the threshold are not mapped
+    ChunkInfo small = getChunk(blockID.getLocalID(), 0, 0, datalen / 2);
+    ChunkBuffer smallData = subject.readChunk(container, blockID, small, ctx);
+    assertFalse(smallData.asByteBufferList().get(0).isDirect());
+  }
+
+  @Test
+  public void testMappedReadAfterDelete() throws Exception {
+    final int datalen = 1024;
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setStorageSize(OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY,
+        datalen, StorageUnit.BYTES);
+    ChunkManager subject =
+        new FilePerBlockStrategy(true, new BlockManagerImpl(conf), null);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    setDataChecksum(info, data);
+    DispatcherContext ctx = getDispatcherContext();
+    subject.writeChunk(container, blockID, info, data, ctx);
+    container.getContainerData().setState(
+        ContainerProtos.ContainerDataProto.State.CLOSED);
+
+    // mapped reads share the cached read channel
+    ReadChannelCache channels = getHddsVolume().getReadChannelCache();
+    long misses = getHddsVolume().getVolumeIOStats()
+        .getReadChannelCacheMisses();
+    subject.readChunk(container, blockID, info, ctx);
+    ChunkBuffer mappedData = subject.readChunk(container, blockID, info, ctx);
+    assertEquals(misses + 1, getHddsVolume().getVolumeIOStats()
+        .getReadChannelCacheMisses());
+    assertEquals(1, channels.size());
+
+    subject.deleteChunk(container, blockID, info);
+
+    assertEquals(0, channels.size());
+    StorageContainerException e = assertThrows(
+        StorageContainerException.class,
+        () -> subject.readChunk(container, blockID, info, ctx));
+    assertEquals(ContainerProtos.Result.UNABLE_TO_FIND_CHUNK, e.getResult());
+    // data already handed out stays readable
+    assertEquals(data.rewind().toByteString(),
+        mappedData.rewind().toByteString());
+  }
+
   @Override
   protected ContainerLayoutTestInfo getStrategy() {
     return ContainerLayoutTestInfo.FILE_PER_BLOCK;
@@ -19,6 +19,8 @@
 package org.apache.hadoop.ozone.container.keyvalue.impl;
 
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
@@ -31,9 +33,12 @@
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -126,4 +131,54 @@ public void deletesChunkFileWithLengthIncludingOffset() throws Exception {
     assertFalse(file.exists());
   }
 
+  @Test
+  public void readAfterOverwriteReturnsNewData() throws Exception {
+    ChunkManager chunkManager = createTestSubject();
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo chunkInfo = getChunkInfo();
+    chunkManager.writeChunk(container, blockID, chunkInfo, getData(),
+        getDispatcherContext());
+    assertEquals("testing write chunks", readChunk(chunkManager, chunkInfo));
+
+    // Rewrite the committed chunk, as a reapplied Ratis log entry does.
+    ByteBuffer newData = ByteBuffer.wrap(
+        "TESTING WRITE CHUNKS".getBytes(UTF_8));
+    chunkManager.writeChunk(container, blockID, chunkInfo, newData,
+        new DispatcherContext.Builder()
+            .setStage(DispatcherContext.WriteChunkStage.WRITE_DATA).build());
+    newData.rewind();
+    chunkManager.writeChunk(container, blockID, chunkInfo, newData,
+        new DispatcherContext.Builder()
+            .setStage(DispatcherContext.WriteChunkStage.COMMIT_DATA).build());
+
+    assertEquals("TESTING WRITE CHUNKS", readChunk(chunkManager, chunkInfo));
+  }
+
+  @Test
+  public void readAfterDeleteFails() throws Exception {
+    ChunkManager chunkManager = createTestSubject();
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo chunkInfo = getChunkInfo();
+    chunkManager.writeChunk(container, blockID, chunkInfo, getData(),
+        getDispatcherContext());
+    readChunk(chunkManager, chunkInfo);
+
+    chunkManager.deleteChunk(container, blockID, chunkInfo);
+
+    StorageContainerException e = assertThrows(
+        StorageContainerException.class,
+        () -> readChunk(chunkManager, chunkInfo));
+    assertEquals(ContainerProtos.Result.UNABLE_TO_FIND_CHUNK, e.getResult());
+    assertEquals(0, getHddsVolume().getReadChannelCache().size());
+  }
+
+  private String readChunk(ChunkManager chunkManager, ChunkInfo chunkInfo)
+      throws Exception {
+    ChunkBuffer buffer = chunkManager.readChunk(getKeyValueContainer(),
+        getBlockID(), chunkInfo, getDispatcherContext());
+    return UTF_8.decode(buffer.toByteString().asReadOnlyByteBuffer())
+        .toString();
+  }
 }
@@ -56,6 +56,7 @@
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -261,6 +262,49 @@ public void testContainerReader() throws Exception {
     }
   }
 
+  @Test
+  public void testContainerReaderWithMultipleThreads() throws Exception {
+    int containerCount = 20;
+    for (int i = 2; i < containerCount; i++) {
+      KeyValueContainerData keyValueContainerData = new KeyValueContainerData(
+          i, layout, (long) StorageUnit.GB.toBytes(5),
+          UUID.randomUUID().toString(), datanodeId.toString());
+      KeyValueContainer keyValueContainer =
+          new KeyValueContainer(keyValueContainerData, conf);
+      keyValueContainer.create(volumeSet, volumeChoosingPolicy, clusterId);
+    }
+    // recovering and deleted containers are not loaded
+    for (ContainerProtos.ContainerDataProto.State state
+        : Arrays.asList(RECOVERING, DELETED)) {
+      KeyValueContainerData keyValueContainerData = new KeyValueContainerData(
+          containerCount + state.getNumber(), layout,
+          (long) StorageUnit.GB.toBytes(5), UUID.randomUUID().toString(),
+          datanodeId.toString());
+      keyValueContainerData.setState(state);
+      new KeyValueContainer(keyValueContainerData, conf)
+          .create(volumeSet, volumeChoosingPolicy, clusterId);
+    }
+
+    ContainerLoadMetrics metrics = ContainerLoadMetrics.create();
+    try {
+      ContainerReader containerReader = new ContainerReader(volumeSet,
+          hddsVolume, containerSet, conf, true, 4, metrics);
+      Thread thread = new Thread(containerReader);
+      thread.start();
+      thread.join();
+
+      Assert.assertEquals(containerCount, containerSet.containerCount());
+      Assert.assertEquals(containerCount, metrics.getNumContainersLoaded());
+      Assert.assertEquals(0, metrics.getNumContainersFailed());
+      Assert.assertEquals(2, metrics.getNumContainersSkipped());
+      Assert.assertEquals(0, metrics.getNumVolumesLoading());
+      Assert.assertEquals(blockCount, ((KeyValueContainerData)
+          containerSet.getContainer(0).getContainerData()).getBlockCount());
+    } finally {
+      metrics.unregister();
+    }
+  }
+
   @Test
   public void testContainerReaderWithLoadException() throws Exception {
     MutableVolumeSet volumeSet1;
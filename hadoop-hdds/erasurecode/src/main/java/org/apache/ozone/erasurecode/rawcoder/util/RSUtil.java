@@ -36,6 +36,12 @@ private RSUtil() {
   public static final GaloisField GF = GaloisField.getInstance();
   public static final int PRIMITIVE_ROOT = 2;
 
+  /**
+   * Number of bytes of each unit processed at once by encodeData. An input
+   * block and the output blocks of the widest schemas fit in the L1 cache.
+   */
+  private static final int BLOCK_SIZE = 4096;
+
   public static int[] getPrimitivePower(int numDataUnits, int numParityUnits) {
     int[] primitivePower = new int[numDataUnits + numParityUnits];
     // compute powers of the primitive root
@@ -81,108 +87,109 @@ public static void genCauchyMatrix(byte[] a, int m, int k) {
    * decoding because, in this implementation, encoding and decoding are
    * unified.
    *
-   * The algorithm is ported from Intel ISA-L library for compatible. It
-   * leverages Java auto-vectorization support for performance.
+   * The algorithm is ported from Intel ISA-L library for compatible. The
+   * data is processed in blocks of {@link #BLOCK_SIZE} bytes, so that the
+   * output blocks stay in the CPU cache while all inputs are applied to
+   * them, and each input block is read from memory only once.
    */
   public static void encodeData(byte[] gfTables, int dataLen, byte[][] inputs,
       int[] inputOffsets, byte[][] outputs,
       int[] outputOffsets) {
-    int numInputs = inputs.length;
-    int numOutputs = outputs.length;
-    int l, i, j, iPos, oPos;
-    byte[] input, output;
-    byte s;
-    final int times = dataLen / 8;
-    final int extra = dataLen - dataLen % 8;
-    byte[] tableLine;
-
-    for (l = 0; l < numOutputs; l++) {
-      output = outputs[l];
-
-      for (j = 0; j < numInputs; j++) {
-        input = inputs[j];
-        iPos = inputOffsets[j];
-        oPos = outputOffsets[l];
-
-        s = gfTables[j * 32 + l * numInputs * 32 + 1];
-        tableLine = GF256.gfMulTab()[s & 0xff];
-
-        /**
-         * Purely for performance, assuming we can use 8 bytes in the SIMD
-         * instruction. Subject to be improved.
-         */
-        for (i = 0; i < times; i++, iPos += 8, oPos += 8) {
-          output[oPos + 0] ^= tableLine[0xff & input[iPos + 0]];
-          output[oPos + 1] ^= tableLine[0xff & input[iPos + 1]];
-          output[oPos + 2] ^= tableLine[0xff & input[iPos + 2]];
-          output[oPos + 3] ^= tableLine[0xff & input[iPos + 3]];
-          output[oPos + 4] ^= tableLine[0xff & input[iPos + 4]];
-          output[oPos + 5] ^= tableLine[0xff & input[iPos + 5]];
-          output[oPos + 6] ^= tableLine[0xff & input[iPos + 6]];
-          output[oPos + 7] ^= tableLine[0xff & input[iPos + 7]];
-        }
-
-        /**
-         * For the left bytes, do it one by one.
-         */
-        for (i = extra; i < dataLen; i++, iPos++, oPos++) {
-          output[oPos] ^= tableLine[0xff & input[iPos]];
+    final int numInputs = inputs.length;
+    final int numOutputs = outputs.length;
+    final byte[][][] tableLines = getTableLines(gfTables, numInputs,
+        numOutputs);
+
+    for (int from = 0; from < dataLen; from += BLOCK_SIZE) {
+      final int len = Math.min(BLOCK_SIZE, dataLen - from);
+      for (int j = 0; j < numInputs; j++) {
+        final byte[] input = inputs[j];
+        final int iPos = inputOffsets[j] + from;
+        for (int l = 0; l < numOutputs; l++) {
+          final byte[] tableLine = tableLines[l][j];
+          if (tableLine != null) {
+            mulAdd(tableLine, input, iPos, outputs[l],
+                outputOffsets[l] + from, len);
+          }
         }
       }
     }
   }
 
   /**
-   * See above. Try to use the byte[] version when possible.
+   * See above. Try to use the byte[] version when possible. Each block is
+   * copied to a byte array with bulk operations, which are much faster than
+   * accessing (direct) buffers a single byte at a time.
    */
   public static void encodeData(byte[] gfTables, ByteBuffer[] inputs,
       ByteBuffer[] outputs) {
-    int numInputs = inputs.length;
-    int numOutputs = outputs.length;
-    int dataLen = inputs[0].remaining();
-    int l, i, j, iPos, oPos;
-    ByteBuffer input, output;
-    byte s;
-    final int times = dataLen / 8;
-    final int extra = dataLen - dataLen % 8;
-    byte[] tableLine;
-
-    for (l = 0; l < numOutputs; l++) {
-      output = outputs[l];
-
-      for (j = 0; j < numInputs; j++) {
-        input = inputs[j];
-        iPos = input.position();
-        oPos = output.position();
-
-        s = gfTables[j * 32 + l * numInputs * 32 + 1];
-        tableLine = GF256.gfMulTab()[s & 0xff];
-
-        for (i = 0; i < times; i++, iPos += 8, oPos += 8) {
-          output.put(oPos + 0, (byte) (output.get(oPos + 0) ^
-              tableLine[0xff & input.get(iPos + 0)]));
-          output.put(oPos + 1, (byte) (output.get(oPos + 1) ^
-              tableLine[0xff & input.get(iPos + 1)]));
-          output.put(oPos + 2, (byte) (output.get(oPos + 2) ^
-              tableLine[0xff & input.get(iPos + 2)]));
-          output.put(oPos + 3, (byte) (output.get(oPos + 3) ^
-              tableLine[0xff & input.get(iPos + 3)]));
-          output.put(oPos + 4, (byte) (output.get(oPos + 4) ^
-              tableLine[0xff & input.get(iPos + 4)]));
-          output.put(oPos + 5, (byte) (output.get(oPos + 5) ^
-              tableLine[0xff & input.get(iPos + 5)]));
-          output.put(oPos + 6, (byte) (output.get(oPos + 6) ^
-              tableLine[0xff & input.get(iPos + 6)]));
-          output.put(oPos + 7, (byte) (output.get(oPos + 7) ^
-              tableLine[0xff & input.get(iPos + 7)]));
+    final int numInputs = inputs.length;
+    final int numOutputs = outputs.length;
+    final int dataLen = inputs[0].remaining();
+    final byte[][][] tableLines = getTableLines(gfTables, numInputs,
+        numOutputs);
+
+    // duplicates keep the positions of the buffers of the caller
+    final ByteBuffer[] in = new ByteBuffer[numInputs];
+    for (int j = 0; j < numInputs; j++) {
+      in[j] = inputs[j].duplicate();
+    }
+    final ByteBuffer[] out = new ByteBuffer[numOutputs];
+    final byte[][] outBlocks = new byte[numOutputs][];
+    for (int l = 0; l < numOutputs; l++) {
+      out[l] = outputs[l].duplicate();
+      outBlocks[l] = new byte[Math.min(BLOCK_SIZE, dataLen)];
+    }
+    final byte[] inBlock = new byte[Math.min(BLOCK_SIZE, dataLen)];
+
+    for (int from = 0; from < dataLen; from += BLOCK_SIZE) {
+      final int len = Math.min(BLOCK_SIZE, dataLen - from);
+      for (int l = 0; l < numOutputs; l++) {
+        out[l].mark();
+        out[l].get(outBlocks[l], 0, len);
+      }
+      for (int j = 0; j < numInputs; j++) {
+        in[j].get(inBlock, 0, len);
+        for (int l = 0; l < numOutputs; l++) {
+          final byte[] tableLine = tableLines[l][j];
+          if (tableLine != null) {
+            mulAdd(tableLine, inBlock, 0, outBlocks[l], 0, len);
+          }
         }
+      }
+      for (int l = 0; l < numOutputs; l++) {
+        out[l].reset();
+        out[l].put(outBlocks[l], 0, len);
+      }
+    }
+  }
 
-        for (i = extra; i < dataLen; i++, iPos++, oPos++) {
-          output.put(oPos, (byte) (output.get(oPos) ^
-              tableLine[0xff & input.get(iPos)]));
+  /**
+   * Returns the multiplication table of the coefficient of each input for
+   * each output, or null for a zero coefficient, which adds nothing.
+   */
+  private static byte[][][] getTableLines(byte[] gfTables, int numInputs,
+      int numOutputs) {
+    final byte[][][] tableLines = new byte[numOutputs][numInputs][];
+    for (int l = 0; l < numOutputs; l++) {
+      for (int j = 0; j < numInputs; j++) {
+        final byte s = gfTables[j * 32 + l * numInputs * 32 + 1];
+        if (s != 0) {
+          tableLines[l][j] = GF256.gfMulTab()[s & 0xff];
         }
       }
     }
+    return tableLines;
   }
 
+  /**
+   * output[oPos, oPos + len) ^= coefficient * input[iPos, iPos + len).
+   */
+  private static void mulAdd(byte[] tableLine, byte[] input, int iPos,
+      byte[] output, int oPos, int len) {
+    final int end = iPos + len;
+    for (; iPos < end; iPos++, oPos++) {
+      output[oPos] ^= tableLine[0xff & input[iPos]];
+    }
+  }
 }
@@ -41,8 +41,8 @@
  * The tool launches multiple threads to encode/decode certain amount of data,
  * and measures the total throughput. It only focuses on performance and doesn't
  * validate correctness of the encoded/decoded results.
- * User can specify the data size each thread processes, as well as the chunk
- * size to use for the coder.
+ * User can specify the data size each thread processes, the chunk size and
+ * the EC schema (rs-3-2, rs-6-3 or rs-10-4) to use for the coder.
  * Different coders are supported. User can specify the coder by a coder index.
  * The coder is shared among all the threads.
  */
@@ -55,17 +55,18 @@ private RawErasureCoderBenchmark() {
   // target size of input data buffer
   private static final int TARGET_BUFFER_SIZE_MB = 126;
 
-  private static final int MAX_CHUNK_SIZE =
-      TARGET_BUFFER_SIZE_MB / BenchData.NUM_DATA_UNITS * 1024;
+  private static final String DEFAULT_SCHEMA = "rs-6-3";
 
   private static final List<RawErasureCoderFactory> CODER_MAKERS =
       Collections.unmodifiableList(
           Arrays.asList(new DummyRawErasureCoderFactory(),
-              new RSRawErasureCoderFactory()));
+              new RSRawErasureCoderFactory(),
+              new NativeRSRawErasureCoderFactory()));
 
   enum CODER {
     DUMMY_CODER("Dummy coder"),
-    RS_CODER("Reed-Solomon Java coder");
+    RS_CODER("Reed-Solomon Java coder"),
+    NATIVE_RS_CODER("Reed-Solomon native coder (ISA-L)");
 
     private final String name;
 
@@ -98,7 +99,7 @@ private static void usage(String message) {
     }
     System.out.println(
         "Usage: RawErasureCoderBenchmark <encode/decode> <coderIndex> " +
-            "[numThreads] [dataSize-in-MB] [chunkSize-in-KB]");
+            "[numThreads] [dataSize-in-MB] [chunkSize-in-KB] [schema]");
     printAvailableCoders();
     System.exit(1);
   }
@@ -110,6 +111,7 @@ public static void main(String[] args) throws Exception {
     int dataSizeMB = 10240;
     int chunkSizeKB = 1024;
     int numThreads = 1;
+    String schema = DEFAULT_SCHEMA;
 
     if (args.length > 1) {
       opType = args[0];
@@ -158,16 +160,40 @@ public static void main(String[] args) throws Exception {
         if (chunkSizeKB <= 0) {
           usage("Chunk size should be positive.");
         }
-        if (chunkSizeKB > MAX_CHUNK_SIZE) {
-          usage("Chunk size should be no larger than " + MAX_CHUNK_SIZE);
-        }
       } catch (NumberFormatException e) {
         usage("Malformed chunk size, " + e.getMessage());
       }
     }
 
+    if (args.length > 5) {
+      schema = args[5];
+    }
+    ECReplicationConfig options = null;
+    try {
+      options = new ECReplicationConfig(schema + "-" + chunkSizeKB + "k");
+    } catch (IllegalArgumentException e) {
+      usage("Malformed schema, " + e.getMessage());
+    }
+    final int maxChunkSizeKB = maxChunkSizeKB(options);
+    if (chunkSizeKB > maxChunkSizeKB) {
+      usage("Chunk size should be no larger than " + maxChunkSizeKB);
+    }
+
     performBench(opType, CODER.values()[coderIndex],
-        numThreads, dataSizeMB, chunkSizeKB);
+        numThreads, dataSizeMB, chunkSizeKB, options);
+  }
+
+  private static int maxChunkSizeKB(ECReplicationConfig options) {
+    return TARGET_BUFFER_SIZE_MB / options.getData() * 1024;
+  }
+
+  /**
+   * Performs benchmark with the default rs-6-3 schema.
+   */
+  public static void performBench(String opType, CODER coder,
+      int numThreads, int dataSizeMB, int chunkSizeKB) throws Exception {
+    performBench(opType, coder, numThreads, dataSizeMB, chunkSizeKB,
+        new ECReplicationConfig(DEFAULT_SCHEMA + "-" + chunkSizeKB + "k"));
   }
 
   /**
@@ -178,10 +204,18 @@ public static void main(String[] args) throws Exception {
    * @param numThreads  Number of threads to launch concurrently
    * @param dataSizeMB  Total test data size in MB
    * @param chunkSizeKB Chunk size in KB
+   * @param options     The EC schema
    */
   public static void performBench(String opType, CODER coder,
-      int numThreads, int dataSizeMB, int chunkSizeKB) throws Exception {
-    BenchData.configure(dataSizeMB, chunkSizeKB);
+      int numThreads, int dataSizeMB, int chunkSizeKB,
+      ECReplicationConfig options) throws Exception {
+    if (coder == CODER.NATIVE_RS_CODER
+        && !ErasureCodeNative.isNativeCodeLoaded()) {
+      System.out.println(coder + " skipped, native code is not loaded: " +
+          ErasureCodeNative.getLoadingFailureReason());
+      return;
+    }
+    BenchData.configure(dataSizeMB, chunkSizeKB, options);
 
     RawErasureEncoder encoder = null;
     RawErasureDecoder decoder = null;
@@ -215,7 +249,8 @@ public static void performBench(String opType, CODER coder,
       DecimalFormat df = new DecimalFormat("#.##");
       System.out.println(coder + " " + opType + " " +
           df.format(totalDataSize) + "MB data, with chunk size " +
-          BenchData.chunkSize / 1024 + "KB");
+          BenchData.chunkSize / 1024 + "KB, schema " +
+          BenchData.options.getReplication());
       System.out.println("Total time: " + df.format(duration / 1000.0) + " s.");
       System.out.println("Total throughput: " + df.format(
           totalDataSize / duration * 1000.0) + " MB/s");
@@ -237,25 +272,25 @@ public static void performBench(String opType, CODER coder,
 
   private static RawErasureEncoder getRawEncoder(int index) throws IOException {
     RawErasureEncoder encoder =
-        CODER_MAKERS.get(index).createEncoder(BenchData.OPTIONS);
+        CODER_MAKERS.get(index).createEncoder(BenchData.options);
     final boolean isDirect = encoder.preferDirectBuffer();
     encoder.encode(
-        getBufferForInit(BenchData.NUM_DATA_UNITS, 1, isDirect),
-        getBufferForInit(BenchData.NUM_PARITY_UNITS, 1, isDirect));
+        getBufferForInit(BenchData.numDataUnits, 1, isDirect),
+        getBufferForInit(BenchData.numParityUnits, 1, isDirect));
     return encoder;
   }
 
   private static RawErasureDecoder getRawDecoder(int index) throws IOException {
     RawErasureDecoder decoder =
-        CODER_MAKERS.get(index).createDecoder(BenchData.OPTIONS);
+        CODER_MAKERS.get(index).createDecoder(BenchData.options);
     final boolean isDirect = decoder.preferDirectBuffer();
     ByteBuffer[] inputs = getBufferForInit(
-        BenchData.NUM_ALL_UNITS, 1, isDirect);
-    for (int erasedIndex : BenchData.ERASED_INDEXES) {
+        BenchData.numAllUnits, 1, isDirect);
+    for (int erasedIndex : BenchData.erasedIndexes) {
       inputs[erasedIndex] = null;
     }
-    decoder.decode(inputs, BenchData.ERASED_INDEXES,
-        getBufferForInit(BenchData.ERASED_INDEXES.length, 1, isDirect));
+    decoder.decode(inputs, BenchData.erasedIndexes,
+        getBufferForInit(BenchData.erasedIndexes.length, 1, isDirect));
     return decoder;
   }
 
@@ -302,28 +337,38 @@ private static ByteBuffer genTestData(boolean useDirectBuffer, int sizeKB) {
   }
 
   private static class BenchData {
-    public static final ECReplicationConfig OPTIONS =
-        new ECReplicationConfig(6, 3);
-    public static final int NUM_DATA_UNITS = OPTIONS.getData();
-    public static final int NUM_PARITY_UNITS = OPTIONS.getParity();
-    public static final int NUM_ALL_UNITS = OPTIONS.getData() +
-        OPTIONS.getParity();
+    private static ECReplicationConfig options;
+    private static int numDataUnits;
+    private static int numParityUnits;
+    private static int numAllUnits;
+    // all parity units are erased for decoding
+    private static int[] erasedIndexes;
     private static int chunkSize;
     private static long totalDataSizeKB;
     private static int bufferSizeKB;
 
-    private static final int[] ERASED_INDEXES = new int[]{6, 7, 8};
-    private final ByteBuffer[] inputs = new ByteBuffer[NUM_DATA_UNITS];
-    private ByteBuffer[] outputs = new ByteBuffer[NUM_PARITY_UNITS];
-    private ByteBuffer[] decodeInputs = new ByteBuffer[NUM_ALL_UNITS];
-
-    public static void configure(int dataSizeMB, int chunkSizeKB) {
+    private final ByteBuffer[] inputs = new ByteBuffer[numDataUnits];
+    private ByteBuffer[] outputs = new ByteBuffer[numParityUnits];
+    private ByteBuffer[] decodeInputs = new ByteBuffer[numAllUnits];
+
+    public static void configure(int dataSizeMB, int chunkSizeKB,
+        ECReplicationConfig ecOptions) {
+      Preconditions.checkArgument(
+          chunkSizeKB <= maxChunkSizeKB(ecOptions));
+      options = ecOptions;
+      numDataUnits = options.getData();
+      numParityUnits = options.getParity();
+      numAllUnits = numDataUnits + numParityUnits;
+      erasedIndexes = new int[numParityUnits];
+      for (int i = 0; i < numParityUnits; i++) {
+        erasedIndexes[i] = numDataUnits + i;
+      }
       chunkSize = chunkSizeKB * 1024;
       // buffer size needs to be a multiple of (numDataUnits * chunkSize)
       int round = (int) Math.round(
-          TARGET_BUFFER_SIZE_MB * 1024.0 / NUM_DATA_UNITS / chunkSizeKB);
+          TARGET_BUFFER_SIZE_MB * 1024.0 / numDataUnits / chunkSizeKB);
       Preconditions.checkArgument(round > 0);
-      bufferSizeKB = NUM_DATA_UNITS * chunkSizeKB * round;
+      bufferSizeKB = numDataUnits * chunkSizeKB * round;
       System.out.println("Using " + bufferSizeKB / 1024 + "MB buffer.");
 
       round = (int) Math.round(
@@ -342,7 +387,7 @@ public static void configure(int dataSizeMB, int chunkSizeKB) {
     }
 
     public void prepareDecInput() {
-      System.arraycopy(inputs, 0, decodeInputs, 0, NUM_DATA_UNITS);
+      System.arraycopy(inputs, 0, decodeInputs, 0, numDataUnits);
     }
 
     public void encode(RawErasureEncoder encoder) throws IOException {
@@ -350,7 +395,7 @@ public void encode(RawErasureEncoder encoder) throws IOException {
     }
 
     public void decode(RawErasureDecoder decoder) throws IOException {
-      decoder.decode(decodeInputs, ERASED_INDEXES, outputs);
+      decoder.decode(decodeInputs, erasedIndexes, outputs);
     }
   }
 
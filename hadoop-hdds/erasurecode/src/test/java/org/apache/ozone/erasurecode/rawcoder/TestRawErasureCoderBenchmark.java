@@ -17,6 +17,7 @@
  */
 package org.apache.ozone.erasurecode.rawcoder;
 
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -42,4 +43,24 @@ public void testRSCoder() throws Exception {
         RawErasureCoderBenchmark.CODER.RS_CODER, 4, 135, 20);
   }
 
+  @Test
+  public void testRSCoderSchemas() throws Exception {
+    for (String schema : new String[] {"rs-3-2", "rs-10-4"}) {
+      ECReplicationConfig options = new ECReplicationConfig(schema + "-64k");
+      RawErasureCoderBenchmark.performBench("encode",
+          RawErasureCoderBenchmark.CODER.RS_CODER, 2, 100, 64, options);
+      RawErasureCoderBenchmark.performBench("decode",
+          RawErasureCoderBenchmark.CODER.RS_CODER, 2, 100, 64, options);
+    }
+  }
+
+  @Test
+  public void testNativeRSCoder() throws Exception {
+    // skipped by the benchmark if ISA-L is not available
+    RawErasureCoderBenchmark.performBench("encode",
+        RawErasureCoderBenchmark.CODER.NATIVE_RS_CODER, 2, 100, 64);
+    RawErasureCoderBenchmark.performBench("decode",
+        RawErasureCoderBenchmark.CODER.NATIVE_RS_CODER, 2, 100, 64);
+  }
+
 }
@@ -87,6 +87,18 @@ List<AllocatedBlock> allocateBlock(long size, int numBlocks,
       ReplicationConfig replicationConfig, String owner,
       ExcludeList excludeList) throws IOException;
 
+  /**
+   * Same as {@link #allocateBlock(long, int, ReplicationConfig, String,
+   * ExcludeList)}, but SCM allocates the blocks together, in as few
+   * containers as the block size allows.  Used to pre-allocate blocks.
+   */
+  default List<AllocatedBlock> allocateBlockBatch(long size, int numBlocks,
+      ReplicationConfig replicationConfig, String owner,
+      ExcludeList excludeList) throws IOException {
+    return allocateBlock(size, numBlocks, replicationConfig, owner,
+        excludeList);
+  }
+
   /**
    * Delete blocks for a set of object keys.
    *
@@ -150,6 +150,25 @@ public List<AllocatedBlock> allocateBlock(
       long size, int num,
       ReplicationConfig replicationConfig,
       String owner, ExcludeList excludeList
+  ) throws IOException {
+    return allocateBlock(size, num, replicationConfig, owner, excludeList,
+        false);
+  }
+
+  @Override
+  public List<AllocatedBlock> allocateBlockBatch(
+      long size, int num,
+      ReplicationConfig replicationConfig,
+      String owner, ExcludeList excludeList
+  ) throws IOException {
+    return allocateBlock(size, num, replicationConfig, owner, excludeList,
+        true);
+  }
+
+  private List<AllocatedBlock> allocateBlock(
+      long size, int num,
+      ReplicationConfig replicationConfig,
+      String owner, ExcludeList excludeList, boolean batch
   ) throws IOException {
     Preconditions.checkArgument(size > 0, "block size must be greater than 0");
 
@@ -160,6 +179,9 @@ public List<AllocatedBlock> allocateBlock(
             .setType(replicationConfig.getReplicationType())
             .setOwner(owner)
             .setExcludeList(excludeList.getProtoBuf());
+    if (batch) {
+      requestBuilder.setBatch(true);
+    }
 
     switch (replicationConfig.getReplicationType()) {
     case STAND_ALONE:
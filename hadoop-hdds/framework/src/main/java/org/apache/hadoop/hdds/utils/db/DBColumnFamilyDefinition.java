@@ -18,6 +18,7 @@
  */
 package org.apache.hadoop.hdds.utils.db;
 
+import com.google.common.base.Preconditions;
 import org.apache.hadoop.hdds.utils.CollectionUtils;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 
@@ -34,6 +35,9 @@
  * @param <VALUE> they type of the value.
  */
 public class DBColumnFamilyDefinition<KEY, VALUE> {
+  /** Fraction of the write buffer used for the prefix bloom filter. */
+  private static final double MEMTABLE_PREFIX_BLOOM_SIZE_RATIO = 0.02;
+
   public static Map<String, DBColumnFamilyDefinition<?, ?>> newUnmodifiableMap(
       DBColumnFamilyDefinition<?, ?>... families) {
     return newUnmodifiableMap(Collections.emptyMap(), families);
@@ -64,6 +68,10 @@
 
   private ManagedColumnFamilyOptions cfOptions;
 
+  private int prefixLength;
+
+  private boolean cappedPrefix;
+
   public DBColumnFamilyDefinition(
       String tableName,
       Class<KEY> keyType,
@@ -109,4 +117,56 @@ public ManagedColumnFamilyOptions getCfOptions() {
   public void setCfOptions(ManagedColumnFamilyOptions cfOptions) {
     this.cfOptions = cfOptions;
   }
+
+  /**
+   * Declare that the keys of this column family start with a prefix of the
+   * given length, e.g. an encoded container ID.  The prefixes are added to
+   * the bloom filters, and iterators over a prefix only read the SST files
+   * which may contain it.
+   *
+   * @see <a href="https://github.com/facebook/rocksdb/wiki/Prefix-Seek">
+   *   Prefix Seek</a>
+   */
+  public DBColumnFamilyDefinition<KEY, VALUE> setFixedLengthPrefix(
+      int length) {
+    return setPrefix(length, false);
+  }
+
+  /**
+   * Same as {@link #setFixedLengthPrefix(int)}, except that keys shorter
+   * than the given length are their own prefix.
+   */
+  public DBColumnFamilyDefinition<KEY, VALUE> setCappedPrefix(int length) {
+    return setPrefix(length, true);
+  }
+
+  private DBColumnFamilyDefinition<KEY, VALUE> setPrefix(int length,
+      boolean capped) {
+    Preconditions.checkArgument(length > 0, "length = %s <= 0", length);
+    this.prefixLength = length;
+    this.cappedPrefix = capped;
+    return this;
+  }
+
+  /**
+   * @return the length of the key prefix, or 0 if it is not declared.
+   */
+  public int getPrefixLength() {
+    return prefixLength;
+  }
+
+  /**
+   * Set the prefix extractor of the given options as declared.
+   */
+  void applyPrefix(ManagedColumnFamilyOptions options) {
+    if (prefixLength <= 0) {
+      return;
+    }
+    if (cappedPrefix) {
+      options.useCappedPrefixExtractor(prefixLength);
+    } else {
+      options.useFixedLengthPrefixExtractor(prefixLength);
+    }
+    options.setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_SIZE_RATIO);
+  }
 }
@@ -90,6 +90,9 @@ public final class DBStoreBuilder {
   // added with. Value will be null if the column family was not added with
   // any options. On build, this will be replaced with defaultCfOptions.
   private Map<String, ManagedColumnFamilyOptions> cfOptions;
+  // Tables with a declared key prefix, set on their options on build.
+  private final Map<String, DBColumnFamilyDefinition<?, ?>> prefixedTables =
+      new HashMap<>();
   private ConfigurationSource configuration;
   private final CodecRegistry.Builder registry = CodecRegistry.newBuilder();
   private String rocksDbStat;
@@ -177,7 +180,7 @@ private void applyDBDefinition(DBDefinition definition) {
     for (DBColumnFamilyDefinition columnFamily :
         definition.getColumnFamilies()) {
 
-      addTable(columnFamily.getName(), columnFamily.getCfOptions());
+      addTable(columnFamily);
       addCodec(columnFamily.getKeyType(), columnFamily.getKeyCodec());
       addCodec(columnFamily.getValueType(), columnFamily.getValueCodec());
     }
@@ -249,6 +252,16 @@ public DBStoreBuilder addTable(String tableName,
     return this;
   }
 
+  /**
+   * Add a table with the options and the key prefix of its definition.
+   */
+  public DBStoreBuilder addTable(DBColumnFamilyDefinition<?, ?> definition) {
+    if (definition.getPrefixLength() > 0) {
+      prefixedTables.put(definition.getName(), definition);
+    }
+    return addTable(definition.getName(), definition.getCfOptions());
+  }
+
   public <T> DBStoreBuilder addCodec(Class<T> type, Codec<T> codec) {
     registry.addCodec(type, codec);
     return this;
@@ -322,13 +335,20 @@ private Set<TableConfig> makeTableConfigs() {
       String name = entry.getKey();
       ManagedColumnFamilyOptions options = entry.getValue();
 
+      final DBColumnFamilyDefinition<?, ?> prefixed = prefixedTables.get(name);
+
       if (options == null) {
         LOG.debug("using default column family options for table: {}", name);
-        tableConfigs.add(new TableConfig(name,
-                getCfOptions(rocksDbCfWriteBufferSize)));
-      } else {
-        tableConfigs.add(new TableConfig(name, options));
+        options = getCfOptions(rocksDbCfWriteBufferSize);
+        if (prefixed != null && options == defaultCfOptions) {
+          // the default options are shared with the other tables
+          options = new ManagedColumnFamilyOptions(options);
+        }
+      }
+      if (prefixed != null) {
+        prefixed.applyPrefix(options);
       }
+      tableConfigs.add(new TableConfig(name, options));
     }
 
     return tableConfigs;
@@ -54,6 +54,8 @@ public static synchronized RDBMetrics create() {
   private @Metric MutableCounterLong numDBKeyMayExistMisses;
 
   private @Metric MutableCounterLong numDBKeyGets;
+  private @Metric MutableCounterLong numDBKeyMultiGets;
+  private @Metric MutableCounterLong numDBKeyMultiGetKeys;
   private @Metric MutableCounterLong numDBKeyGetIfExistChecks;
   private @Metric MutableCounterLong numDBKeyGetIfExistMisses;
   private @Metric MutableCounterLong numDBKeyGetIfExistGets;
@@ -69,6 +71,19 @@ public void incNumDBKeyGets() {
     this.numDBKeyGets.incr();
   }
 
+  public long getNumDBKeyMultiGets() {
+    return numDBKeyMultiGets.value();
+  }
+
+  public long getNumDBKeyMultiGetKeys() {
+    return numDBKeyMultiGetKeys.value();
+  }
+
+  public void incNumDBKeyMultiGets(int keys) {
+    this.numDBKeyMultiGets.incr();
+    this.numDBKeyMultiGetKeys.incr(keys);
+  }
+
   public long getNumDBKeyGetIfExistGets() {
     return numDBKeyGetIfExistGets.value();
   }
@@ -130,6 +130,12 @@ public byte[] get(byte[] key) throws IOException {
     return db.get(family, key);
   }
 
+  @Override
+  public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
+    rdbMetrics.incNumDBKeyMultiGets(keys.size());
+    return db.multiGet(family, keys);
+  }
+
   Integer get(ByteBuffer key, ByteBuffer outValue) throws IOException {
     return db.get(family, key, outValue);
   }
@@ -223,14 +229,16 @@ public TableIterator<byte[], KeyValue<byte[], byte[]>> iterator()
   @Override
   public TableIterator<byte[], KeyValue<byte[], byte[]>> iterator(byte[] prefix)
       throws IOException {
-    return new RDBStoreByteArrayIterator(db.newIterator(family, false), this,
-        prefix);
+    final int prefixLength = prefix == null ? 0 : prefix.length;
+    return new RDBStoreByteArrayIterator(
+        db.newIterator(family, false, prefixLength), this, prefix);
   }
 
   TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>> iterator(
       CodecBuffer prefix) throws IOException {
-    return new RDBStoreCodecBufferIterator(db.newIterator(family, false),
-        this, prefix);
+    final int prefixLength = prefix == null ? 0 : prefix.readableBytes();
+    return new RDBStoreCodecBufferIterator(
+        db.newIterator(family, false, prefixLength), this, prefix);
   }
 
   @Override
@@ -156,8 +156,9 @@ static RocksDatabase open(File dbFile, ManagedDBOptions dbOptions,
       dbNameToCfHandleMap.put(db.get().getName(), handles);
       // init a column family map.
       AtomicLong counter = new AtomicLong(0);
-      for (ColumnFamilyHandle h : handles) {
-        final ColumnFamily f = new ColumnFamily(h, counter);
+      for (int i = 0; i < handles.size(); i++) {
+        final ColumnFamily f = new ColumnFamily(handles.get(i), counter,
+            getPrefixLength(descriptors.get(i)));
         columnFamilies.put(f.getName(), f);
       }
       return new RocksDatabase(dbFile, db, dbOptions, writeOptions,
@@ -168,6 +169,12 @@ static RocksDatabase open(File dbFile, ManagedDBOptions dbOptions,
     }
   }
 
+  private static int getPrefixLength(ColumnFamilyDescriptor d) {
+    return d.getOptions() instanceof ManagedColumnFamilyOptions
+        ? ((ManagedColumnFamilyOptions) d.getOptions()).getPrefixLength()
+        : 0;
+  }
+
   private static void close(ColumnFamilyDescriptor d) {
     ManagedColumnFamilyOptions options =
         (ManagedColumnFamilyOptions) d.getOptions();
@@ -264,14 +271,21 @@ public static final class ColumnFamily {
     private AtomicLong counter;
     private final String name;
     private final ColumnFamilyHandle handle;
+    private final int prefixLength;
     private AtomicBoolean isClosed = new AtomicBoolean(false);
 
     public ColumnFamily(ColumnFamilyHandle handle, AtomicLong counter)
         throws RocksDBException {
+      this(handle, counter, 0);
+    }
+
+    ColumnFamily(ColumnFamilyHandle handle, AtomicLong counter,
+        int prefixLength) throws RocksDBException {
       this.nameBytes = handle.getName();
       this.counter = counter;
       this.name = bytes2String(nameBytes);
       this.handle = handle;
+      this.prefixLength = prefixLength;
       LOG.debug("new ColumnFamily for {}", name);
     }
 
@@ -292,6 +306,13 @@ public int getID() {
       return getHandle().getID();
     }
 
+    /**
+     * @return the length of the prefix extractor, or 0 if there is none.
+     */
+    public int getPrefixLength() {
+      return prefixLength;
+    }
+
     public void batchDelete(ManagedWriteBatch writeBatch, byte[] key)
         throws IOException {
       assertClosed();
@@ -721,6 +742,32 @@ byte[] get(ColumnFamily family, byte[] key) throws IOException {
     }
   }
 
+  /**
+   * Get the values mapped to the given keys with a single MultiGet call.
+   *
+   * @param family the table to get from.
+   * @param keys the keys to get.
+   * @return the values in the order of the keys, null for keys not found.
+   * @see org.rocksdb.RocksDB#multiGetAsList(org.rocksdb.ReadOptions, List,
+   *                                         List)
+   */
+  List<byte[]> multiGet(ColumnFamily family, List<byte[]> keys)
+      throws IOException {
+    assertClose();
+    try (ManagedReadOptions options = new ManagedReadOptions()) {
+      counter.incrementAndGet();
+      return db.get().multiGetAsList(options,
+          Collections.nCopies(keys.size(), family.getHandle()), keys);
+    } catch (RocksDBException e) {
+      closeOnError(e, true);
+      final String message = "multiGet " + keys.size() + " keys from "
+          + family;
+      throw toIOException(this, message, e);
+    } finally {
+      counter.decrementAndGet();
+    }
+  }
+
   /**
    * Get the value mapped to the given key.
    *
@@ -853,10 +900,30 @@ public ManagedRocksIterator newIterator(ColumnFamily family)
 
   public ManagedRocksIterator newIterator(ColumnFamily family,
       boolean fillCache) throws IOException {
+    return newIterator(family, fillCache, 0);
+  }
+
+  /**
+   * Create an iterator over the keys starting with a prefix of the given
+   * length.  If the column family has a prefix extractor no longer than that,
+   * the iterator only reads the SST files which may contain the prefix, and
+   * stops at the end of it.  Otherwise, it iterates in total order.
+   *
+   * @param prefixLength the length of the prefix, or 0 for no prefix
+   */
+  public ManagedRocksIterator newIterator(ColumnFamily family,
+      boolean fillCache, int prefixLength) throws IOException {
     assertClose();
     try (ManagedReadOptions readOptions = new ManagedReadOptions()) {
       counter.incrementAndGet();
       readOptions.setFillCache(fillCache);
+      if (family.getPrefixLength() > 0) {
+        if (prefixLength >= family.getPrefixLength()) {
+          readOptions.setPrefixSameAsStart(true);
+        } else {
+          readOptions.setTotalOrderSeek(true);
+        }
+      }
       return managed(db.get().newIterator(family.getHandle(), readOptions));
     } finally {
       counter.decrementAndGet();
@@ -21,6 +21,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -84,6 +85,21 @@ void putWithBatch(BatchOperation batch, KEY key, VALUE value)
    */
   VALUE get(KEY key) throws IOException;
 
+  /**
+   * Returns the values mapped to the given keys, like {@link #get(Object)}
+   * for each key, but may look up the keys in a single call.
+   *
+   * @param keys metadata keys
+   * @return the values in the order of the keys, null for keys not found.
+   * @throws IOException on Failure
+   */
+  default List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    for (KEY key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
 
   /**
    * Skip checking cache and get the value mapped to the given key in byte
@@ -236,6 +252,15 @@ default void cleanupCache(List<Long> epochs) {
     throw new NotImplementedException("cacheIterator is not implemented");
   }
 
+  /**
+   * Return cache iterator for the entries with keys equal to or greater than
+   * the given key, in key order.
+   */
+  default Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>>
+      cacheIterator(KEY startKey) {
+    throw new NotImplementedException("cacheIterator is not implemented");
+  }
+
   /**
    * Create the metrics datasource that emits table cache metrics.
    */
@@ -229,6 +229,47 @@ public VALUE get(KEY key) throws IOException {
     }
   }
 
+  /**
+   * Get the values mapped to the given keys.
+   * <p>
+   * Like {@link #get(Object)}, the cache is checked first for each key, and
+   * the keys not in the cache are got from the RocksDB table with a single
+   * MultiGet.
+   *
+   * @param keys metadata keys
+   * @return the values in the order of the keys, null for keys not found.
+   * @throws IOException on Failure
+   */
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    // Positions and keys to get from the table.
+    final List<Integer> positions = new ArrayList<>();
+    final List<byte[]> tableKeys = new ArrayList<>();
+    for (KEY key : keys) {
+      final CacheResult<VALUE> cacheResult =
+          cache.lookup(new CacheKey<>(key));
+      if (cacheResult.getCacheStatus() == EXISTS) {
+        values.add(valueCodec.copyObject(
+            cacheResult.getValue().getCacheValue()));
+        continue;
+      }
+      if (cacheResult.getCacheStatus() != NOT_EXIST) {
+        positions.add(values.size());
+        tableKeys.add(encodeKey(key));
+      }
+      values.add(null);
+    }
+
+    if (!tableKeys.isEmpty()) {
+      final List<byte[]> tableValues = rawTable.multiGet(tableKeys);
+      for (int i = 0; i < positions.size(); i++) {
+        values.set(positions.get(i), decodeValue(tableValues.get(i)));
+      }
+    }
+    return values;
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
@@ -461,6 +502,12 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator() {
     return cache.iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator(
+      KEY startKey) {
+    return cache.iterator(startKey);
+  }
+
   @Override
   public TableCacheMetrics createCacheMetrics() {
     return TableCacheMetrics.create(cache, getName());
@@ -52,7 +52,7 @@
   public static final Logger LOG =
       LoggerFactory.getLogger(FullTableCache.class);
 
-  private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  private final NavigableMap<CacheKey<KEY>, CacheValue<VALUE>> cache;
   private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
   private final ExecutorService executorService;
 
@@ -134,6 +134,13 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
     return cache.entrySet().iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey) {
+    statsRecorder.recordIteration();
+    return cache.tailMap(new CacheKey<>(startKey)).entrySet().iterator();
+  }
+
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
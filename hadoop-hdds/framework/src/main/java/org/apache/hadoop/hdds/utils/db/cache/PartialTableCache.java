@@ -19,19 +19,24 @@
 
 package org.apache.hadoop.hdds.utils.db.cache;
 
+import java.util.AbstractMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience.Private;
 import org.apache.hadoop.hdds.annotation.InterfaceStability.Evolving;
@@ -53,6 +58,7 @@
       LoggerFactory.getLogger(PartialTableCache.class);
 
   private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  private final NavigableSet<CacheKey<KEY>> sortedKeys;
   private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
   private final ExecutorService executorService;
   private final CacheStatsRecorder statsRecorder;
@@ -60,8 +66,9 @@
 
   public PartialTableCache() {
     // We use concurrent Hash map for O(1) lookup for get API.
-    // During list operation for partial cache we anyway merge between DB and
-    // cache state. So entries in cache does not need to be in sorted order.
+    // The keys are also kept in a sorted set, so that list operations only
+    // visit the cache entries in the listed range. The set is updated
+    // within the compute of the key in the map, so both stay consistent.
 
     // And as concurrentHashMap computeIfPresent which is used by cleanup is
     // atomic operation, and ozone level locks like bucket/volume locks
@@ -73,6 +80,7 @@ public PartialTableCache() {
     // 2. During cleanup which removes entry, while request is updating cache
     // that should be guarded by concurrentHashMap guaranty.
     cache = new ConcurrentHashMap<>();
+    sortedKeys = new ConcurrentSkipListSet<>();
 
     epochEntries = new ConcurrentSkipListMap<>();
     // Created a singleThreadExecutor, so one cleanup will be running at a
@@ -98,7 +106,12 @@ public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
 
   @Override
   public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
-    cache.put(cacheKey, value);
+    cache.compute(cacheKey, (k, v) -> {
+      if (v == null) {
+        sortedKeys.add(k);
+      }
+      return value;
+    });
     epochEntries.computeIfAbsent(value.getEpoch(), v -> new HashSet<>())
             .add(cacheKey);
   }
@@ -119,6 +132,20 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
     return cache.entrySet().iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey) {
+    statsRecorder.recordIteration();
+    Iterator<CacheKey<KEY>> keys =
+        sortedKeys.tailSet(new CacheKey<>(startKey)).iterator();
+    // Skip the keys evicted after the iterator passed them in the set.
+    return Iterators.filter(Iterators.transform(keys, key -> {
+      CacheValue<VALUE> value = cache.get(key);
+      return value == null ? null
+          : new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }), Objects::nonNull);
+  }
+
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
@@ -147,6 +174,7 @@ public void evictCache(List<Long> epochs) {
                 LOG.debug("CacheKey {} with epoch {} is removed from cache",
                         k.getCacheKey(), currentEpoch);
               }
+              sortedKeys.remove(k);
               return null;
             }
             return v;
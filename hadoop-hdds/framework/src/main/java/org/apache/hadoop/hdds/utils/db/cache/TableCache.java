@@ -80,6 +80,16 @@
    */
   Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator();
 
+  /**
+   * Return an iterator for the cache entries with keys equal to or greater
+   * than the given key, in key order.  Listing a key range only visits the
+   * entries in the range, instead of the whole cache.
+   * @param startKey the first key to return, if it is in the cache.
+   * @return iterator of the cache entries from startKey.
+   */
+  Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey);
+
   /**
    * Check key exist in cache or not.
    *
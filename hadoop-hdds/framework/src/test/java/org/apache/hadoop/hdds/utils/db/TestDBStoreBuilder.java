@@ -21,6 +21,7 @@
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.HddsConfigKeys;
+import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
@@ -36,8 +37,10 @@
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Tests RDBStore creation.
@@ -286,4 +289,69 @@ public File getDBLocation(ConfigurationSource conf) {
       }
     }
   }
+
+  @Test
+  public void builderWithPrefixedTable(@TempDir Path tempDir)
+      throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    final DBColumnFamilyDefinition<String, Long> prefixedTable =
+        new DBColumnFamilyDefinition<>("prefixedTable", String.class,
+            StringCodec.get(), Long.class, LongCodec.get())
+            .setCappedPrefix(4);
+
+    try (DBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("SampleStore")
+        .setPath(tempDir)
+        .addTable(prefixedTable)
+        .addTable("plainTable")
+        .build()) {
+      for (RocksDatabase.ColumnFamily cf
+          : ((RDBStore) dbStore).getColumnFamilies()) {
+        Assertions.assertEquals(
+            cf.getName().equals("prefixedTable") ? 4 : 0,
+            cf.getPrefixLength(), cf.getName());
+      }
+
+      // spread the keys over several SST files
+      final Table<byte[], byte[]> table = dbStore.getTable("prefixedTable");
+      final String[] keys = {"aaab/1", "aaaa/2", "ab", "aaaa/1"};
+      for (String key : keys) {
+        table.put(StringUtils.string2Bytes(key), new byte[0]);
+        dbStore.flushDB();
+      }
+
+      Assertions.assertEquals(Arrays.asList("aaaa/1", "aaaa/2"),
+          keys(table.iterator(StringUtils.string2Bytes("aaaa"))));
+      Assertions.assertEquals(Arrays.asList("aaaa/2"),
+          keys(table.iterator(StringUtils.string2Bytes("aaaa/2"))));
+      // shorter than the prefix: in total order
+      Assertions.assertEquals(Arrays.asList("aaaa/1", "aaaa/2", "aaab/1"),
+          keys(table.iterator(StringUtils.string2Bytes("aaa"))));
+
+      try (TableIterator<byte[], ? extends Table.KeyValue<byte[], byte[]>>
+               i = table.iterator()) {
+        i.seek(StringUtils.string2Bytes("aaaa/2"));
+        final List<String> found = new ArrayList<>();
+        while (i.hasNext()) {
+          found.add(StringUtils.bytes2String(i.next().getKey()));
+        }
+        Assertions.assertEquals(Arrays.asList("aaaa/2", "aaab/1", "ab"),
+            found);
+      }
+    }
+  }
+
+  private static List<String> keys(
+      TableIterator<byte[], ? extends Table.KeyValue<byte[], byte[]>> i)
+      throws IOException {
+    try {
+      final List<String> keys = new ArrayList<>();
+      while (i.hasNext()) {
+        keys.add(StringUtils.bytes2String(i.next().getKey()));
+      }
+      return keys;
+    } finally {
+      i.close();
+    }
+  }
 }
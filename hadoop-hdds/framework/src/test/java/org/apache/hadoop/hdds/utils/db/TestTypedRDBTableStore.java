@@ -23,6 +23,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -355,6 +356,29 @@ public void testGetIfExist() throws Exception {
     }
   }
 
+  @Test
+  public void testMultiGet() throws Exception {
+    try (Table<String, String> testTable = createTypedTable(
+        "Eighth")) {
+      testTable.put("inDB", "db");
+      testTable.put("overridden", "db");
+      testTable.put("deleted", "db");
+      testTable.addCacheEntry(new CacheKey<>("overridden"),
+          CacheValue.get(1L, "cache"));
+      testTable.addCacheEntry(new CacheKey<>("deleted"),
+          CacheValue.get(1L));
+      testTable.addCacheEntry(new CacheKey<>("inCache"),
+          CacheValue.get(1L, "cache"));
+
+      Assertions.assertEquals(
+          Arrays.asList("db", "cache", null, "cache", null, "db"),
+          testTable.multiGet(Arrays.asList("inDB", "overridden", "deleted",
+              "inCache", "missing", "inDB")));
+      Assertions.assertEquals(Collections.emptyList(),
+          testTable.multiGet(Collections.emptyList()));
+    }
+  }
+
   @Test
   public void testIsExistCache() throws Exception {
     try (Table<String, String> testTable = createTypedTable(
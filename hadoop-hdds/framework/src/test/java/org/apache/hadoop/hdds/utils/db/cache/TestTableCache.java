@@ -20,6 +20,8 @@
 package org.apache.hadoop.hdds.utils.db.cache;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -563,6 +565,48 @@ public void testTableCacheStats(TableCache.CacheType cacheType) {
     verifyStats(tableCache, 3, 2, 2);
   }
 
+  @ParameterizedTest
+  @EnumSource(TableCache.CacheType.class)
+  public void testTableCacheRangeIterator(TableCache.CacheType cacheType) {
+
+    createTableCache(cacheType);
+
+    String[] keys = {"c", "b2", "a", "b1", "b3"};
+    for (int i = 0; i < keys.length; i++) {
+      tableCache.put(new CacheKey<>(keys[i]), CacheValue.get(i, keys[i]));
+    }
+    // Deleted key
+    tableCache.put(new CacheKey<>("b4"), CacheValue.get(5));
+
+    Assertions.assertEquals(Arrays.asList("b1", "b2", "b3", "b4", "c"),
+        iterateFrom("b"));
+    Assertions.assertEquals(Arrays.asList("b2", "b3", "b4", "c"),
+        iterateFrom("b2"));
+    Assertions.assertEquals(Collections.emptyList(), iterateFrom("d"));
+
+    tableCache.evictCache(Arrays.asList(1L, 5L));
+
+    if (cacheType == TableCache.CacheType.FULL_CACHE) {
+      // Full cache only evicts deleted keys.
+      Assertions.assertEquals(Arrays.asList("b1", "b2", "b3", "c"),
+          iterateFrom("b"));
+    } else {
+      Assertions.assertEquals(Arrays.asList("b1", "b3", "c"),
+          iterateFrom("b"));
+      // An evicted key is put again
+      tableCache.put(new CacheKey<>("b2"), CacheValue.get(6, "b2"));
+      Assertions.assertEquals(Arrays.asList("b1", "b2", "b3", "c"),
+          iterateFrom("b"));
+    }
+  }
+
+  private List<String> iterateFrom(String startKey) {
+    List<String> result = new ArrayList<>();
+    tableCache.iterator(startKey).forEachRemaining(
+        entry -> result.add(entry.getKey().getCacheKey()));
+    return result;
+  }
+
   private int writeToCache(int count, int startVal, long sleep)
       throws InterruptedException {
     int counter = 1;
@@ -35,8 +35,39 @@ public ManagedColumnFamilyOptions() {
    */
   private boolean reused = false;
 
+  /**
+   * Length of the prefix extractor, 0 if there is none.
+   */
+  private int prefixLength = 0;
+
   public ManagedColumnFamilyOptions(ColumnFamilyOptions columnFamilyOptions) {
     super(columnFamilyOptions);
+    if (columnFamilyOptions instanceof ManagedColumnFamilyOptions) {
+      this.prefixLength =
+          ((ManagedColumnFamilyOptions) columnFamilyOptions).prefixLength;
+    }
+  }
+
+  @Override
+  public ManagedColumnFamilyOptions useFixedLengthPrefixExtractor(int n) {
+    super.useFixedLengthPrefixExtractor(n);
+    this.prefixLength = n;
+    return this;
+  }
+
+  @Override
+  public ManagedColumnFamilyOptions useCappedPrefixExtractor(int n) {
+    super.useCappedPrefixExtractor(n);
+    this.prefixLength = n;
+    return this;
+  }
+
+  /**
+   * @return the length of the fixed or capped prefix extractor,
+   *         or 0 if there is none.
+   */
+  public int getPrefixLength() {
+    return prefixLength;
   }
 
   @Override
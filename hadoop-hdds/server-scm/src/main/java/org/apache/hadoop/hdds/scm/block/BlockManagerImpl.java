@@ -20,6 +20,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -36,6 +37,7 @@
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.ha.SequenceIdGenerator;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineManager;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineNotFoundException;
 import org.apache.hadoop.hdds.scm.pipeline.WritableContainerFactory;
@@ -175,6 +177,41 @@ public AllocatedBlock allocateBlock(final long size,
     return null;
   }
 
+  @Override
+  public List<AllocatedBlock> allocateBlocks(final long size, final int num,
+      ReplicationConfig replicationConfig, String owner,
+      ExcludeList excludeList) throws IOException {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Size : {} , num : {}, replicationConfig: {}", size, num,
+          replicationConfig);
+    }
+    if (scm.getScmContext().isInSafeMode()) {
+      throw new SCMException("SafeModePrecheck failed for allocateBlock",
+          SCMException.ResultCodes.SAFE_MODE_EXCEPTION);
+    }
+    if (size < 0 || size > containerSize) {
+      LOG.warn("Invalid block size requested : {}", size);
+      throw new SCMException("Unsupported block size: " + size,
+          INVALID_BLOCK_SIZE);
+    }
+
+    // each block is placed as a single allocation would place it, so that
+    // the batch is spread over the open containers and pipelines
+    final List<ContainerInfo> containers = new ArrayList<>(num);
+    while (containers.size() < num) {
+      final ContainerInfo containerInfo = writableContainerFactory
+          .getContainer(size, replicationConfig, owner, excludeList);
+      if (containerInfo == null) {
+        LOG.error("Unable to allocate {} blocks for the size: {}, " +
+            "replicationConfig: {}", num - containers.size(), size,
+            replicationConfig);
+        break;
+      }
+      containers.add(containerInfo);
+    }
+    return newBlocks(containers);
+  }
+
   /**
    * newBlock - returns a new block assigned to a container.
    *
@@ -203,6 +240,46 @@ private AllocatedBlock newBlock(ContainerInfo containerInfo)
     }
   }
 
+  /**
+   * Returns a new block in each of the given containers, with IDs taken at
+   * once.  Containers whose pipeline is gone get no block.
+   */
+  private List<AllocatedBlock> newBlocks(List<ContainerInfo> containers)
+      throws SCMException {
+    final List<AllocatedBlock> blocks = new ArrayList<>(containers.size());
+    if (containers.isEmpty()) {
+      return blocks;
+    }
+    final Map<PipelineID, Pipeline> pipelines = new HashMap<>();
+    final Iterator<Long> localIDs =
+        sequenceIdGen.getNextIds(LOCAL_ID, containers.size()).iterator();
+    for (ContainerInfo containerInfo : containers) {
+      final long localID = localIDs.next();
+      Pipeline pipeline = pipelines.get(containerInfo.getPipelineID());
+      if (pipeline == null) {
+        try {
+          pipeline = pipelineManager.getPipeline(
+              containerInfo.getPipelineID());
+        } catch (PipelineNotFoundException ex) {
+          LOG.error("Pipeline Machine count is zero.", ex);
+          continue;
+        }
+        pipelines.put(pipeline.getId(), pipeline);
+      }
+      final long containerID = containerInfo.getContainerID();
+      blocks.add(new AllocatedBlock.Builder()
+          .setContainerBlockID(new ContainerBlockID(containerID, localID))
+          .setPipeline(pipeline)
+          .build());
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("New block allocated : {} Container ID: {}", localID,
+            containerID);
+      }
+      pipelineManager.incNumBlocksAllocatedMetric(pipeline.getId());
+    }
+    return blocks;
+  }
+
   /**
    * Deletes a list of blocks in an atomic operation. Internally, SCM writes
    * these blocks into a
@@ -371,11 +371,16 @@ private void updateContainerReplica(final DatanodeDetails datanodeDetails,
                                       final ContainerReplicaProto replicaProto)
       throws ContainerNotFoundException, ContainerReplicaNotFoundException {
 
+    UUID originNodeId = UUID.fromString(replicaProto.getOriginNodeId());
+    if (originNodeId.equals(datanodeDetails.getUuid())) {
+      // share the UUID of the datanode, the replica is kept in memory
+      originNodeId = datanodeDetails.getUuid();
+    }
     final ContainerReplica replica = ContainerReplica.newBuilder()
         .setContainerID(containerId)
         .setContainerState(replicaProto.getState())
         .setDatanodeDetails(datanodeDetails)
-        .setOriginNodeId(UUID.fromString(replicaProto.getOriginNodeId()))
+        .setOriginNodeId(originNodeId)
         .setSequenceId(replicaProto.getBlockCommitSequenceId())
         .setKeyCount(replicaProto.getKeyCount())
         .setReplicaIndex(replicaProto.getReplicaIndex())
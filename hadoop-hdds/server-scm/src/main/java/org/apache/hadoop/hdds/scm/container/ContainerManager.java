@@ -22,6 +22,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
@@ -159,6 +160,16 @@ void updateContainerReplica(ContainerID containerID, ContainerReplica replica)
   void removeContainerReplica(ContainerID containerID, ContainerReplica replica)
       throws ContainerNotFoundException, ContainerReplicaNotFoundException;
 
+  /**
+   * Registers a listener called with the ID of a container whose state
+   * changed, or whose replicas were added, removed or changed their state.
+   * It is called by the thread changing the container, so it must return
+   * quickly.
+   *
+   * @param listener the listener
+   */
+  void registerContainerChangeListener(Consumer<ContainerID> listener);
+
   /**
    * Update deleteTransactionId according to deleteTransactionMap.
    *
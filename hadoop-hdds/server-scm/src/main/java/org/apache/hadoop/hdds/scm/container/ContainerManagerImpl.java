@@ -28,6 +28,8 @@
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -83,6 +85,9 @@ public class ContainerManagerImpl implements ContainerManager {
 
   private final int numContainerPerVolume;
 
+  private final List<Consumer<ContainerID>> changeListeners =
+      new CopyOnWriteArrayList<>();
+
   @SuppressWarnings("java:S2245") // no need for secure random
   private final Random random = new Random();
 
@@ -281,6 +286,7 @@ public void updateContainerState(final ContainerID cid,
     try {
       if (containerExist(cid)) {
         containerStateManager.updateContainerState(protoId, event);
+        notifyContainerChanged(cid);
       } else {
         throwContainerNotFoundException(cid);
       }
@@ -302,7 +308,9 @@ public void updateContainerReplica(final ContainerID cid,
                                      final ContainerReplica replica)
       throws ContainerNotFoundException {
     if (containerExist(cid)) {
-      containerStateManager.updateContainerReplica(cid, replica);
+      if (containerStateManager.updateContainerReplica(cid, replica)) {
+        notifyContainerChanged(cid);
+      }
     } else {
       throwContainerNotFoundException(cid);
     }
@@ -313,12 +321,26 @@ public void removeContainerReplica(final ContainerID cid,
                                      final ContainerReplica replica)
       throws ContainerNotFoundException, ContainerReplicaNotFoundException {
     if (containerExist(cid)) {
-      containerStateManager.removeContainerReplica(cid, replica);
+      if (containerStateManager.removeContainerReplica(cid, replica)) {
+        notifyContainerChanged(cid);
+      }
     } else {
       throwContainerNotFoundException(cid);
     }
   }
 
+  @Override
+  public void registerContainerChangeListener(
+      final Consumer<ContainerID> listener) {
+    changeListeners.add(listener);
+  }
+
+  private void notifyContainerChanged(final ContainerID cid) {
+    for (Consumer<ContainerID> listener : changeListeners) {
+      listener.accept(cid);
+    }
+  }
+
   @Override
   public void updateDeleteTransactionId(
       final Map<ContainerID, Long> deleteTransactionMap) throws IOException {
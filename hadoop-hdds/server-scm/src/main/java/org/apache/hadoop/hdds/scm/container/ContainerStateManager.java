@@ -125,16 +125,17 @@ public interface ContainerStateManager {
   Set<ContainerReplica> getContainerReplicas(ContainerID id);
 
   /**
-   *
+   * @return true if the replica is new, or its state, index or emptiness
+   *         changed
    */
-  void updateContainerReplica(ContainerID id,
-                              ContainerReplica replica);
+  boolean updateContainerReplica(ContainerID id,
+                                 ContainerReplica replica);
 
   /**
-   *
+   * @return true if the replica was removed
    */
-  void removeContainerReplica(ContainerID id,
-                              ContainerReplica replica);
+  boolean removeContainerReplica(ContainerID id,
+                                 ContainerReplica replica);
 
   /**
    *
@@ -380,25 +380,27 @@ public Set<ContainerReplica> getContainerReplicas(final ContainerID id) {
   }
 
   @Override
-  public void updateContainerReplica(final ContainerID id,
-                                     final ContainerReplica replica) {
+  public boolean updateContainerReplica(final ContainerID id,
+                                        final ContainerReplica replica) {
     try (AutoCloseableLock ignored = writeLock(id)) {
-      containers.updateContainerReplica(id, replica);
+      final boolean changed = containers.updateContainerReplica(id, replica);
       // Clear any pending additions for this replica as we have now seen it.
       containerReplicaPendingOps.completeAddReplica(id,
           replica.getDatanodeDetails(), replica.getReplicaIndex());
+      return changed;
     }
   }
 
   @Override
-  public void removeContainerReplica(final ContainerID id,
-                                     final ContainerReplica replica) {
+  public boolean removeContainerReplica(final ContainerID id,
+                                        final ContainerReplica replica) {
     try (AutoCloseableLock ignored = writeLock(id)) {
-      containers.removeContainerReplica(id, replica);
+      final boolean removed = containers.removeContainerReplica(id, replica);
       // Remove any pending delete replication operations for the deleted
       // replica.
       containerReplicaPendingOps.completeDeleteReplica(id,
           replica.getDatanodeDetails(), replica.getReplicaIndex());
+      return removed;
     }
   }
 
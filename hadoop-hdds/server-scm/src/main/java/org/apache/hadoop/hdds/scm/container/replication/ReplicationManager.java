@@ -19,6 +19,7 @@
 package org.apache.hadoop.hdds.scm.container.replication;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.HddsConfigKeys;
@@ -80,11 +81,16 @@
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
@@ -198,6 +204,24 @@ public class ReplicationManager implements SCMService {
   private final UnderReplicatedProcessor underReplicatedProcessor;
   private final OverReplicatedProcessor overReplicatedProcessor;
   private final HealthCheck containerCheckChain;
+  /**
+   * Checks the health of containers in shards, null if they are checked by
+   * the ReplicationMonitor thread.  Guarded by this.
+   */
+  private ExecutorService containerCheckExecutor;
+
+  /**
+   * Containers changed since they were last checked, with the time they
+   * first changed.  Only tracked if incremental processing is enabled and
+   * this SCM is running RM.
+   */
+  private final Map<ContainerID, Long> changedContainers =
+      new ConcurrentHashMap<>();
+  private volatile boolean trackChanges;
+  /** Forces the next pass to process all containers. */
+  private volatile boolean fullPassRequired = true;
+  /** Start of the last pass over all containers, guarded by this. */
+  private long lastFullPassMillis;
 
   /**
    * Constructs ReplicationManager instance with the given configuration.
@@ -279,6 +303,12 @@ public ReplicationManager(final ConfigurationSource conf,
         .addNext(new ClosedWithUnhealthyReplicasHandler(this))
         .addNext(ecMisReplicationCheckHandler)
         .addNext(new RatisUnhealthyReplicationCheckHandler());
+    if (rmConf.isIncremental()) {
+      containerManager.registerContainerChangeListener(
+          this::notifyContainerChanged);
+      replicaPendingOps.registerSubscriber(
+          (op, containerID, timedOut) -> notifyContainerChanged(containerID));
+    }
     start();
   }
 
@@ -294,6 +324,13 @@ public synchronized void start() {
         legacyReplicationManager.setMetrics(metrics);
       }
       containerReplicaPendingOps.setReplicationMetrics(metrics);
+      if (rmConf.getContainerCheckThreads() > 1) {
+        containerCheckExecutor = Executors.newFixedThreadPool(
+            rmConf.getContainerCheckThreads(), new ThreadFactoryBuilder()
+                .setNameFormat("ContainerCheck-%d")
+                .setDaemon(true)
+                .build());
+      }
       startSubServices();
     } else {
       LOG.info("Replication Monitor Thread is already running.");
@@ -329,6 +366,10 @@ public synchronized void stop() {
       }
       metrics.unRegister();
       replicationMonitor.interrupt();
+      if (containerCheckExecutor != null) {
+        containerCheckExecutor.shutdownNow();
+        containerCheckExecutor = null;
+      }
     } else {
       LOG.info("Replication Monitor Thread is not running.");
     }
@@ -367,10 +408,16 @@ public synchronized void processAll() {
       return;
     }
     final long start = clock.millis();
+    // containers changed from now on are checked again by the next
+    // incremental pass, the ones changed before are checked below
+    changedContainers.clear();
     final List<ContainerInfo> containers =
         containerManager.getContainers();
     ReplicationManagerReport report = new ReplicationManagerReport();
     ReplicationQueue newRepQueue = new ReplicationQueue();
+    final ExecutorService executor = containerCheckExecutor;
+    final List<ContainerInfo> toCheck = executor == null
+        ? null : new ArrayList<>(containers.size());
     for (ContainerInfo c : containers) {
       if (!shouldRun()) {
         break;
@@ -380,19 +427,160 @@ public synchronized void processAll() {
         legacyReplicationManager.processContainer(c, report);
         continue;
       }
-      try {
-        processContainer(c, newRepQueue, report);
-        // TODO - send any commands contained in the health result
-      } catch (ContainerNotFoundException e) {
-        LOG.error("Container {} not found", c.getContainerID(), e);
+      if (toCheck != null) {
+        toCheck.add(c);
+      } else {
+        checkContainer(c, newRepQueue, report);
       }
     }
+    if (toCheck != null) {
+      checkContainers(executor, toCheck, newRepQueue, report);
+    }
     report.setComplete();
     replicationQueue.set(newRepQueue);
     this.containerReport = report;
+    lastFullPassMillis = start;
+    fullPassRequired = false;
+    final long elapsed = clock.millis() - start;
+    metrics.addFullPassTime(elapsed);
     LOG.info("Replication Monitor Thread took {} milliseconds for" +
-            " processing {} containers.", clock.millis() - start,
-        containers.size());
+            " processing {} containers.", elapsed, containers.size());
+  }
+
+  /**
+   * Checks the containers in shards, one per container check thread, and
+   * waits for all of them.  Each container is checked by a single thread, so
+   * the commands sent for a container keep their order.
+   */
+  private void checkContainers(ExecutorService executor,
+      List<ContainerInfo> containers, ReplicationQueue repQueue,
+      ReplicationManagerReport report) {
+    final int threads = rmConf.getContainerCheckThreads();
+    final int shardSize = (containers.size() + threads - 1) / threads;
+    final List<Future<ReplicationManagerReport>> shards =
+        new ArrayList<>(threads);
+    for (int from = 0; from < containers.size(); from += shardSize) {
+      final List<ContainerInfo> shard = containers.subList(from,
+          Math.min(from + shardSize, containers.size()));
+      shards.add(executor.submit(() -> {
+        final ReplicationManagerReport shardReport =
+            new ReplicationManagerReport();
+        for (ContainerInfo c : shard) {
+          if (!shouldRun()) {
+            break;
+          }
+          checkContainer(c, repQueue, shardReport);
+        }
+        return shardReport;
+      }));
+    }
+    try {
+      for (Future<ReplicationManagerReport> shard : shards) {
+        report.merge(shard.get());
+      }
+    } catch (InterruptedException e) {
+      shards.forEach(shard -> shard.cancel(true));
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      shards.forEach(shard -> shard.cancel(true));
+      throw new IllegalStateException("Failed to check containers",
+          e.getCause());
+    }
+  }
+
+  private void checkContainer(ContainerInfo c, ReplicationQueue repQueue,
+      ReplicationManagerReport report) {
+    try {
+      processContainer(c, repQueue, report);
+      // TODO - send any commands contained in the health result
+    } catch (ContainerNotFoundException e) {
+      LOG.error("Container {} not found", c.getContainerID(), e);
+    }
+  }
+
+  /**
+   * Process the containers changed since they were last checked, and wait
+   * for the processing to complete.  Their health results are added to the
+   * current replication queue, the container report is left to the next
+   * pass over all containers.
+   */
+  public synchronized void processChangedContainers() {
+    if (!shouldRun()) {
+      return;
+    }
+    final long start = clock.millis();
+    // only the queue is updated, the report is discarded
+    final ReplicationManagerReport report = new ReplicationManagerReport();
+    final ReplicationQueue repQueue = replicationQueue.get();
+    int processed = 0;
+    for (Iterator<Map.Entry<ContainerID, Long>> i =
+         changedContainers.entrySet().iterator(); i.hasNext();) {
+      if (!shouldRun()) {
+        break;
+      }
+      final Map.Entry<ContainerID, Long> entry = i.next();
+      // removed before checking, so that a later change adds it back
+      i.remove();
+      final ContainerID containerID = entry.getKey();
+      try {
+        final ContainerInfo c = containerManager.getContainer(containerID);
+        metrics.addContainerChangeDetectionTime(
+            clock.millis() - entry.getValue());
+        if (rmConf.isLegacyEnabled() && !isEC(c.getReplicationConfig())) {
+          legacyReplicationManager.processContainer(c, report);
+        } else {
+          processContainer(c, repQueue, report);
+        }
+        processed++;
+      } catch (ContainerNotFoundException e) {
+        LOG.debug("Changed container {} not found", containerID);
+      }
+    }
+    metrics.incrChangedContainersProcessedTotal(processed);
+    metrics.addIncrementalPassTime(clock.millis() - start);
+    if (processed > 0) {
+      LOG.debug("Replication Monitor Thread took {} milliseconds for" +
+          " processing {} changed containers.", clock.millis() - start,
+          processed);
+    }
+  }
+
+  /**
+   * Notifies that a container, or one of its replicas or pending replica
+   * operations, changed.  In incremental mode it is checked by the next
+   * incremental pass.
+   * @param containerID the changed container
+   */
+  public void notifyContainerChanged(ContainerID containerID) {
+    if (trackChanges) {
+      changedContainers.putIfAbsent(containerID, clock.millis());
+    }
+  }
+
+  /**
+   * Notifies that the health or operational state of a datanode changed.
+   * In incremental mode all its containers are checked by the next
+   * incremental pass.
+   * @param datanode the changed datanode
+   */
+  public void notifyDatanodeChanged(DatanodeDetails datanode) {
+    if (!trackChanges) {
+      return;
+    }
+    try {
+      for (ContainerID containerID : nodeManager.getContainers(datanode)) {
+        notifyContainerChanged(containerID);
+      }
+    } catch (NodeNotFoundException e) {
+      LOG.warn("Unable to find datanode {} in nodeManager.", datanode);
+    }
+  }
+
+  /**
+   * @return the number of containers waiting for the next incremental pass
+   */
+  public int getChangedContainerCount() {
+    return changedContainers.size();
   }
 
   public void sendCloseContainerEvent(ContainerID containerID) {
@@ -913,8 +1101,18 @@ public ReplicationManagerReport getContainerReport() {
   private synchronized void run() {
     try {
       while (running) {
-        processAll();
-        wait(rmConf.getInterval().toMillis());
+        final long interval = rmConf.getInterval().toMillis();
+        if (!rmConf.isIncremental()) {
+          processAll();
+          wait(interval);
+        } else if (fullPassRequired
+            || clock.millis() - lastFullPassMillis >= interval) {
+          processAll();
+          wait(rmConf.getIncrementalInterval().toMillis());
+        } else {
+          processChangedContainers();
+          wait(rmConf.getIncrementalInterval().toMillis());
+        }
       }
     } catch (Throwable t) {
       if (t instanceof InterruptedException) {
@@ -1103,6 +1301,42 @@ public void setEnableLegacy(boolean enableLegacy) {
     )
     private long overReplicatedInterval = Duration.ofSeconds(30).toMillis();
 
+    /**
+     * The frequency in which changed containers are processed, 0 to
+     * process all containers each time.
+     */
+    @Config(key = "incremental.interval",
+        type = ConfigType.TIME,
+        defaultValue = "0s",
+        tags = {SCM, OZONE},
+        description = "If positive, the replication monitor thread only " +
+            "checks the containers changed since their last check at this " +
+            "interval: containers whose state, replicas or pending replica " +
+            "operations changed, and the containers of datanodes which " +
+            "changed their health or operational state. All containers are " +
+            "still checked every hdds.scm.replication.thread.interval, " +
+            "which can then be raised. If 0, all containers are checked " +
+            "each time."
+    )
+    private long incrementalInterval = 0;
+
+    /**
+     * The number of threads checking the health of containers.
+     */
+    @Config(key = "container.check.threads",
+        type = ConfigType.INT,
+        defaultValue = "1",
+        tags = {SCM, OZONE},
+        description = "The number of threads checking the health of the " +
+            "containers when the replication monitor thread processes all " +
+            "containers. The containers are split into this many shards, " +
+            "each checked by one thread. Each container is checked by a " +
+            "single thread, so the commands for a container are still sent " +
+            "in order. If 1, containers are checked by the replication " +
+            "monitor thread itself."
+    )
+    private int containerCheckThreads = 1;
+
     /**
      * Timeout for container replication & deletion command issued by
      * ReplicationManager.
@@ -1296,6 +1530,26 @@ public Duration getInterval() {
       return Duration.ofMillis(interval);
     }
 
+    public boolean isIncremental() {
+      return incrementalInterval > 0;
+    }
+
+    public Duration getIncrementalInterval() {
+      return Duration.ofMillis(incrementalInterval);
+    }
+
+    public void setIncrementalInterval(Duration duration) {
+      this.incrementalInterval = duration.toMillis();
+    }
+
+    public int getContainerCheckThreads() {
+      return containerCheckThreads;
+    }
+
+    public void setContainerCheckThreads(int threads) {
+      this.containerCheckThreads = threads;
+    }
+
     public Duration getUnderReplicatedInterval() {
       return Duration.ofMillis(underReplicatedInterval);
     }
@@ -1355,6 +1609,10 @@ public void validate() {
             "inflight.limit.factor is set to " + inflightReplicationLimitFactor
                 + " and must be <= 1");
       }
+      if (containerCheckThreads < 1) {
+        throw new IllegalArgumentException("container.check.threads: "
+            + containerCheckThreads + " must be >= 1");
+      }
     }
   }
 
@@ -1377,6 +1635,9 @@ public void notifyStatusChanged() {
           // state.
           containerReplicaPendingOps.clear();
           serviceStatus = ServiceStatus.RUNNING;
+          // changes were not tracked while not running RM
+          fullPassRequired = true;
+          trackChanges = rmConf.isIncremental();
         }
         if (rmConf.isLegacyEnabled()) {
           //now, as the current scm is leader and it`s state is up-to-date,
@@ -1385,6 +1646,8 @@ public void notifyStatusChanged() {
         }
       } else {
         serviceStatus = ServiceStatus.PAUSING;
+        trackChanges = false;
+        changedContainers.clear();
       }
     } finally {
       serviceLock.unlock();
@@ -88,6 +88,10 @@ public final class ReplicationManagerMetrics implements MetricsSource {
       "OverReplicatedQueueSize",
       "Number of containers currently in the over replicated queue");
 
+  private static final MetricsInfo CHANGED_CONTAINERS = Interns.info(
+      "ChangedContainers",
+      "Number of changed containers waiting for the next incremental pass");
+
   // Setup metric names and descriptions for Container Lifecycle states
   private static final Map<LifeCycleState, MetricsInfo> LIFECYCLE_STATE_METRICS
       = Collections.unmodifiableMap(
@@ -227,6 +231,17 @@ public final class ReplicationManagerMetrics implements MetricsSource {
       + "to the pending commands on all source datanodes")
   private MutableCounterLong replicateContainerCmdsDeferredTotal;
 
+  @Metric("Time elapsed for processing all containers")
+  private MutableRate fullPassTime;
+
+  @Metric("Time elapsed for processing the changed containers")
+  private MutableRate incrementalPassTime;
+
+  @Metric("Time from a container change until it is processed")
+  private MutableRate containerChangeDetectionTime;
+
+  @Metric("Number of changed containers processed by incremental passes.")
+  private MutableCounterLong changedContainersProcessedTotal;
 
   public ReplicationManagerMetrics(ReplicationManager manager) {
     this.registry = new MetricsRegistry(METRICS_SOURCE_NAME);
@@ -266,6 +281,10 @@ public void getMetrics(MetricsCollector collector, boolean all) {
               replicationManager.getQueue().underReplicatedQueueSize())
           .addGauge(OVER_REPLICATED_QUEUE,
               replicationManager.getQueue().overReplicatedQueueSize());
+      if (replicationManager.getConfig().isIncremental()) {
+        builder.addGauge(CHANGED_CONTAINERS,
+            replicationManager.getChangedContainerCount());
+      }
     }
 
     ReplicationManagerReport report = replicationManager.getContainerReport();
@@ -312,6 +331,12 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     partialReplicationTotal.snapshot(builder, all);
     ecPartialReplicationForMisReplicationTotal.snapshot(builder, all);
     partialReplicationForMisReplicationTotal.snapshot(builder, all);
+    fullPassTime.snapshot(builder, all);
+    if (replicationManager.getConfig().isIncremental()) {
+      incrementalPassTime.snapshot(builder, all);
+      containerChangeDetectionTime.snapshot(builder, all);
+      changedContainersProcessedTotal.snapshot(builder, all);
+    }
   }
 
   public void unRegister() {
@@ -609,4 +634,23 @@ public long getPartialReplicationForMisReplicationTotal() {
     return this.partialReplicationForMisReplicationTotal.value();
   }
 
+  public void addFullPassTime(long millis) {
+    this.fullPassTime.add(millis);
+  }
+
+  public void addIncrementalPassTime(long millis) {
+    this.incrementalPassTime.add(millis);
+  }
+
+  public void addContainerChangeDetectionTime(long millis) {
+    this.containerChangeDetectionTime.add(millis);
+  }
+
+  public void incrChangedContainersProcessedTotal(long count) {
+    this.changedContainersProcessedTotal.incr(count);
+  }
+
+  public long getChangedContainersProcessedTotal() {
+    return this.changedContainersProcessedTotal.value();
+  }
 }
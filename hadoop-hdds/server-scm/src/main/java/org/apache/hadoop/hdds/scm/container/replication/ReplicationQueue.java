@@ -18,30 +18,41 @@
 package org.apache.hadoop.hdds.scm.container.replication;
 
 import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 
-import com.google.common.collect.Queues;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
 
 /**
  * Object to encapsulate the under and over replication queues used by
- * replicationManager.
+ * replicationManager.  The queues are filled by the health check workers
+ * and drained by the replication processors concurrently.  A container is
+ * queued at most once in each queue, so a container checked again by an
+ * incremental pass while it is still queued is not processed twice.
  */
 public class ReplicationQueue {
 
+  private static final int INITIAL_CAPACITY = 11;
+
   private final Queue<ContainerHealthResult.UnderReplicatedHealthResult>
       underRepQueue;
   private final Queue<ContainerHealthResult.OverReplicatedHealthResult>
       overRepQueue;
+  private final Set<ContainerID> underRepContainers =
+      ConcurrentHashMap.newKeySet();
+  private final Set<ContainerID> overRepContainers =
+      ConcurrentHashMap.newKeySet();
 
   public ReplicationQueue() {
-    underRepQueue = Queues.synchronizedQueue(new PriorityQueue<>(
+    underRepQueue = new PriorityBlockingQueue<>(INITIAL_CAPACITY,
         Comparator.comparing(ContainerHealthResult
             .UnderReplicatedHealthResult::getWeightedRedundancy)
         .thenComparing(ContainerHealthResult
-            .UnderReplicatedHealthResult::getRequeueCount)));
-    overRepQueue = Queues.synchronizedQueue(new LinkedList<>());
+            .UnderReplicatedHealthResult::getRequeueCount));
+    overRepQueue = new LinkedBlockingQueue<>();
   }
 
   /**
@@ -59,13 +70,20 @@ public ReplicationQueue() {
    */
   public void enqueue(ContainerHealthResult.UnderReplicatedHealthResult
       underReplicatedHealthResult) {
+    if (!underRepContainers.add(
+        underReplicatedHealthResult.getContainerInfo().containerID())) {
+      return;
+    }
     underReplicatedHealthResult.incrementRequeueCount();
     underRepQueue.add(underReplicatedHealthResult);
   }
 
   public void enqueue(ContainerHealthResult.OverReplicatedHealthResult
       overReplicatedHealthResult) {
-    overRepQueue.add(overReplicatedHealthResult);
+    if (overRepContainers.add(
+        overReplicatedHealthResult.getContainerInfo().containerID())) {
+      overRepQueue.add(overReplicatedHealthResult);
+    }
   }
 
   /**
@@ -76,7 +94,12 @@ public void enqueue(ContainerHealthResult.OverReplicatedHealthResult
    */
   public ContainerHealthResult.UnderReplicatedHealthResult
       dequeueUnderReplicatedContainer() {
-    return underRepQueue.poll();
+    final ContainerHealthResult.UnderReplicatedHealthResult result =
+        underRepQueue.poll();
+    if (result != null) {
+      underRepContainers.remove(result.getContainerInfo().containerID());
+    }
+    return result;
   }
 
   /**
@@ -87,7 +110,12 @@ public void enqueue(ContainerHealthResult.OverReplicatedHealthResult
    */
   public ContainerHealthResult.OverReplicatedHealthResult
       dequeueOverReplicatedContainer() {
-    return overRepQueue.poll();
+    final ContainerHealthResult.OverReplicatedHealthResult result =
+        overRepQueue.poll();
+    if (result != null) {
+      overRepContainers.remove(result.getContainerInfo().containerID());
+    }
+    return result;
   }
 
   public int underReplicatedQueueSize() {
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerReplica;
+
+/**
+ * Keeps the {@link ContainerInfo} and the replica set of every container in
+ * an open addressing hash table keyed by the primitive container ID.
+ * <p>
+ * Two {@link java.util.concurrent.ConcurrentHashMap}s keyed by ContainerID
+ * cost a node object per container in each map, which adds up to several
+ * GB once SCM tracks tens of millions of containers. Here each container
+ * takes one long and two references in flat arrays.
+ * <p>
+ * Updates are serialized by a {@link StampedLock}. Lookups are optimistic
+ * and only take the read lock if they overlap with an update.
+ */
+final class CompactContainerMap {
+
+  /** Must be a power of two. */
+  private static final int INITIAL_CAPACITY = 1024;
+  /** Marks a free slot, container IDs are never negative. */
+  private static final long FREE = -1;
+
+  private static final int INFO = 0;
+  private static final int REPLICAS = 1;
+
+  private final StampedLock lock = new StampedLock();
+  private Table table = new Table(INITIAL_CAPACITY);
+  private int size;
+
+  /**
+   * Adds the container with no replicas, unless it is already present.
+   *
+   * @return true if the container was added
+   */
+  boolean add(ContainerInfo info) {
+    final long id = info.getContainerID();
+    Preconditions.checkArgument(id >= 0, "Invalid container ID %s", id);
+    final long stamp = lock.writeLock();
+    try {
+      if (table.find(id) >= 0) {
+        return false;
+      }
+      if ((size + 1) * 4L > table.capacity() * 3L) {
+        table = table.resize(table.capacity() * 2);
+      }
+      final int slot = table.insert(id);
+      table.set(slot, INFO, info);
+      table.set(slot, REPLICAS, Collections.emptySet());
+      size++;
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Replaces the info of a container which is already present.
+   *
+   * @return the previous info, or null if the container is not present
+   */
+  ContainerInfo replace(ContainerInfo info) {
+    return (ContainerInfo) update(info.getContainerID(), INFO, info);
+  }
+
+  /**
+   * Replaces the replicas of a container which is already present.
+   *
+   * @return false if the container is not present
+   */
+  boolean setReplicas(long id, Set<ContainerReplica> replicas) {
+    return update(id, REPLICAS, replicas) != null;
+  }
+
+  /**
+   * Removes the container and its replicas.
+   *
+   * @return the info of the removed container, or null if it is not present
+   */
+  ContainerInfo remove(long id) {
+    final long stamp = lock.writeLock();
+    try {
+      final int slot = table.find(id);
+      if (slot < 0) {
+        return null;
+      }
+      final ContainerInfo info = (ContainerInfo) table.get(slot, INFO);
+      table.delete(slot);
+      size--;
+      return info;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  boolean contains(long id) {
+    return getInfo(id) != null;
+  }
+
+  ContainerInfo getInfo(long id) {
+    return (ContainerInfo) read(id, INFO);
+  }
+
+  @SuppressWarnings("unchecked")
+  Set<ContainerReplica> getReplicas(long id) {
+    return (Set<ContainerReplica>) read(id, REPLICAS);
+  }
+
+  int size() {
+    final long stamp = lock.readLock();
+    try {
+      return size;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Calls the action for the info of each container, holding the read lock.
+   */
+  void forEachInfo(Consumer<ContainerInfo> action) {
+    final long stamp = lock.readLock();
+    try {
+      final Table t = table;
+      for (int slot = 0; slot < t.capacity(); slot++) {
+        if (t.ids[slot] != FREE) {
+          action.accept((ContainerInfo) t.get(slot, INFO));
+        }
+      }
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private Object update(long id, int field, Object value) {
+    final long stamp = lock.writeLock();
+    try {
+      final int slot = table.find(id);
+      if (slot < 0) {
+        return null;
+      }
+      final Object previous = table.get(slot, field);
+      table.set(slot, field, value);
+      return previous;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  private Object read(long id, int field) {
+    long stamp = lock.tryOptimisticRead();
+    Table t = table;
+    int slot = t.find(id);
+    Object value = slot < 0 ? null : t.get(slot, field);
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      try {
+        t = table;
+        slot = t.find(id);
+        value = slot < 0 ? null : t.get(slot, field);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Linear probing hash table. A container in slot i keeps its info in
+   * values[2 * i] and its replicas in values[2 * i + 1].
+   * <p>
+   * Optimistic readers may see a table while it is modified, so lookups
+   * are bounded by the capacity and never fail on inconsistent content.
+   */
+  private static final class Table {
+    private final long[] ids;
+    private final Object[] values;
+    private final int mask;
+
+    Table(int capacity) {
+      ids = new long[capacity];
+      Arrays.fill(ids, FREE);
+      values = new Object[2 * capacity];
+      mask = capacity - 1;
+    }
+
+    int capacity() {
+      return ids.length;
+    }
+
+    int home(long id) {
+      final long h = id * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    int find(long id) {
+      int slot = home(id);
+      for (int probes = 0; probes < ids.length; probes++) {
+        final long current = ids[slot];
+        if (current == id) {
+          return slot;
+        }
+        if (current == FREE) {
+          return -1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    /** Claims a free slot for an ID which is not present. */
+    int insert(long id) {
+      int slot = home(id);
+      while (ids[slot] != FREE) {
+        slot = (slot + 1) & mask;
+      }
+      ids[slot] = id;
+      return slot;
+    }
+
+    /**
+     * Frees the slot, moving back the entries of the same probe sequence
+     * so no tombstones are needed.
+     */
+    void delete(int slot) {
+      int free = slot;
+      for (int i = (free + 1) & mask; ids[i] != FREE; i = (i + 1) & mask) {
+        final int home = home(ids[i]);
+        // entry i may move to the free slot unless its home lies
+        // cyclically in (free, i]
+        final boolean stays = free <= i
+            ? free < home && home <= i
+            : free < home || home <= i;
+        if (!stays) {
+          ids[free] = ids[i];
+          values[2 * free] = values[2 * i];
+          values[2 * free + 1] = values[2 * i + 1];
+          free = i;
+        }
+      }
+      ids[free] = FREE;
+      values[2 * free] = null;
+      values[2 * free + 1] = null;
+    }
+
+    Object get(int slot, int field) {
+      return values[2 * slot + field];
+    }
+
+    void set(int slot, int field, Object value) {
+      values[2 * slot + field] = value;
+    }
+
+    Table resize(int capacity) {
+      final Table resized = new Table(capacity);
+      for (int i = 0; i < ids.length; i++) {
+        if (ids[i] != FREE) {
+          final int slot = resized.insert(ids[i]);
+          resized.values[2 * slot] = values[2 * i];
+          resized.values[2 * slot + 1] = values[2 * i + 1];
+        }
+      }
+      return resized;
+    }
+  }
+}
@@ -88,8 +88,7 @@ public class ContainerStateMap {
   private final ContainerAttribute<String> ownerMap;
   private final ContainerAttribute<ReplicationConfig> repConfigMap;
   private final ContainerAttribute<ReplicationType> typeMap;
-  private final Map<ContainerID, ContainerInfo> containerMap;
-  private final Map<ContainerID, Set<ContainerReplica>> replicaMap;
+  private final CompactContainerMap containerMap;
   private final Map<ContainerQueryKey, NavigableSet<ContainerID>> resultCache;
 
   /**
@@ -100,8 +99,7 @@ public ContainerStateMap() {
     this.ownerMap = new ContainerAttribute<>();
     this.repConfigMap = new ContainerAttribute<>();
     this.typeMap = new ContainerAttribute<>();
-    this.containerMap = new ConcurrentHashMap<>();
-    this.replicaMap = new ConcurrentHashMap<>();
+    this.containerMap = new CompactContainerMap();
     this.resultCache = new ConcurrentHashMap<>();
   }
 
@@ -115,13 +113,11 @@ public void addContainer(final ContainerInfo info)
       throws SCMException {
     Preconditions.checkNotNull(info, "Container Info cannot be null");
     final ContainerID id = info.containerID();
-    if (!contains(id)) {
-      containerMap.put(id, info);
+    if (containerMap.add(info)) {
       lifeCycleStateMap.insert(info.getState(), id);
       ownerMap.insert(info.getOwner(), id);
       repConfigMap.insert(info.getReplicationConfig(), id);
       typeMap.insert(info.getReplicationType(), id);
-      replicaMap.put(id, Collections.emptySet());
 
       // Flush the cache of this container type, will be added later when
       // get container queries are executed.
@@ -131,7 +127,7 @@ public void addContainer(final ContainerInfo info)
   }
 
   public boolean contains(final ContainerID id) {
-    return containerMap.containsKey(id);
+    return containerMap.contains(id.getId());
   }
 
   /**
@@ -141,15 +137,14 @@ public boolean contains(final ContainerID id) {
    */
   public void removeContainer(final ContainerID id) {
     Preconditions.checkNotNull(id, "ContainerID cannot be null");
-    if (contains(id)) {
-      // Should we revert back to the original state if any of the below
-      // remove operation fails?
-      final ContainerInfo info = containerMap.remove(id);
+    // Should we revert back to the original state if any of the below
+    // remove operation fails?
+    final ContainerInfo info = containerMap.remove(id.getId());
+    if (info != null) {
       lifeCycleStateMap.remove(info.getState(), id);
       ownerMap.remove(info.getOwner(), id);
       repConfigMap.remove(info.getReplicationConfig(), id);
       typeMap.remove(info.getReplicationType(), id);
-      replicaMap.remove(id);
       // Flush the cache of this container type.
       flushCache(info);
       LOG.trace("Container {} removed from ContainerStateMap.", id);
@@ -163,7 +158,7 @@ public void removeContainer(final ContainerID id) {
    * @return container info, if found else null.
    */
   public ContainerInfo getContainerInfo(final ContainerID containerID) {
-    return containerMap.get(containerID);
+    return containerMap.getInfo(containerID.getId());
   }
 
   /**
@@ -173,47 +168,71 @@ public ContainerInfo getContainerInfo(final ContainerID containerID) {
   public Set<ContainerReplica> getContainerReplicas(
       final ContainerID containerID) {
     Preconditions.checkNotNull(containerID);
-    return replicaMap.get(containerID);
+    return containerMap.getReplicas(containerID.getId());
   }
 
   /**
    * Adds given datanodes as nodes where replica for given containerId exist.
    * Logs a debug entry if a datanode is already added as replica for given
    * ContainerId.
+   *
+   * @return true if the replica is new, or its state, index or emptiness
+   *         changed
    */
-  public void updateContainerReplica(final ContainerID containerID,
+  public boolean updateContainerReplica(final ContainerID containerID,
       final ContainerReplica replica) {
     Preconditions.checkNotNull(containerID);
     if (contains(containerID)) {
       final Set<ContainerReplica> newSet = createNewReplicaSet(containerID);
+      final ContainerReplica previous = find(newSet, replica);
       newSet.remove(replica);
       newSet.add(replica);
       replaceReplicaSet(containerID, newSet);
+      return previous == null
+          || previous.getState() != replica.getState()
+          || previous.getReplicaIndex() != replica.getReplicaIndex()
+          || previous.isEmpty() != replica.isEmpty();
     }
+    return false;
   }
 
   /**
    * Remove a container Replica for given DataNode.
+   *
+   * @return true if the replica was removed
    */
-  public void removeContainerReplica(final ContainerID containerID,
+  public boolean removeContainerReplica(final ContainerID containerID,
       final ContainerReplica replica) {
     Preconditions.checkNotNull(containerID);
     Preconditions.checkNotNull(replica);
     if (contains(containerID)) {
       final Set<ContainerReplica> newSet = createNewReplicaSet(containerID);
-      newSet.remove(replica);
+      final boolean removed = newSet.remove(replica);
       replaceReplicaSet(containerID, newSet);
+      return removed;
+    }
+    return false;
+  }
+
+  private static ContainerReplica find(Set<ContainerReplica> replicas,
+      ContainerReplica replica) {
+    for (ContainerReplica r : replicas) {
+      if (r.equals(replica)) {
+        return r;
+      }
     }
+    return null;
   }
 
   private Set<ContainerReplica> createNewReplicaSet(ContainerID containerID) {
-    Set<ContainerReplica> existingSet = replicaMap.get(containerID);
+    Set<ContainerReplica> existingSet = getContainerReplicas(containerID);
     return existingSet == null ? new HashSet<>() : new HashSet<>(existingSet);
   }
 
   private void replaceReplicaSet(ContainerID containerID,
       Set<ContainerReplica> newSet) {
-    replicaMap.put(containerID, Collections.unmodifiableSet(newSet));
+    // ImmutableSet takes a fraction of the heap of a wrapped HashSet
+    containerMap.setReplicas(containerID.getId(), ImmutableSet.copyOf(newSet));
   }
 
   /**
@@ -223,10 +242,9 @@ private void replaceReplicaSet(ContainerID containerID,
   public void updateContainerInfo(final ContainerInfo info) {
     Preconditions.checkNotNull(info);
     final ContainerID id = info.containerID();
-    if (contains(id)) {
-      final ContainerInfo currentInfo = containerMap.get(id);
+    final ContainerInfo currentInfo = containerMap.replace(info);
+    if (currentInfo != null) {
       flushCache(info, currentInfo);
-      containerMap.put(id, info);
     }
   }
 
@@ -252,7 +270,7 @@ public void updateState(ContainerID containerID, LifeCycleState currentState,
       return;
     }
     // TODO: Simplify this logic.
-    final ContainerInfo currentInfo = containerMap.get(containerID);
+    final ContainerInfo currentInfo = getContainerInfo(containerID);
     try {
       currentInfo.setState(newState);
 
@@ -296,7 +314,9 @@ public void updateState(ContainerID containerID, LifeCycleState currentState,
   }
 
   public Set<ContainerID> getAllContainerIDs() {
-    return ImmutableSet.copyOf(containerMap.keySet());
+    final ImmutableSet.Builder<ContainerID> ids = ImmutableSet.builder();
+    containerMap.forEachInfo(info -> ids.add(info.containerID()));
+    return ids.build();
   }
 
   /**
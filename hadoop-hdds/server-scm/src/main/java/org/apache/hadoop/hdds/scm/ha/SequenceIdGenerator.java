@@ -38,7 +38,9 @@
 import java.math.BigInteger;
 import java.security.cert.X509Certificate;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -118,40 +120,62 @@ public StateManager createStateManager(SCMHAManager scmhaManager,
   public long getNextId(String sequenceIdName) throws SCMException {
     lock.lock();
     try {
-      Batch batch = sequenceIdToBatchMap.computeIfAbsent(
-          sequenceIdName, key -> new Batch());
+      return getNextIdLocked(sequenceIdName);
+    } finally {
+      lock.unlock();
+    }
+  }
 
-      if (batch.nextId <= batch.lastId) {
-        return batch.nextId++;
+  /**
+   * @param sequenceIdName : name of the sequenceId
+   * @param count : number of ids
+   * @return : the next ids of this sequenceId, taken at once.
+   */
+  public List<Long> getNextIds(String sequenceIdName, int count)
+      throws SCMException {
+    final List<Long> ids = new ArrayList<>(count);
+    lock.lock();
+    try {
+      for (int i = 0; i < count; i++) {
+        ids.add(getNextIdLocked(sequenceIdName));
       }
+      return ids;
+    } finally {
+      lock.unlock();
+    }
+  }
 
-      Preconditions.checkArgument(batch.nextId == batch.lastId + 1);
-      while (true) {
-        Long prevLastId = batch.lastId;
-        batch.nextId = prevLastId + 1;
-
-        Preconditions.checkArgument(Long.MAX_VALUE - batch.lastId >= batchSize);
-        long nextLastId = batch.lastId +
-            (sequenceIdName.equals(ROOT_CERTIFICATE_ID) ? 1 : batchSize);
-
-        if (stateManager.allocateBatch(sequenceIdName,
-            prevLastId, nextLastId)) {
-          batch.lastId = nextLastId;
-          LOG.info("Allocate a batch for {}, change lastId from {} to {}.",
-              sequenceIdName, prevLastId, batch.lastId);
-          break;
-        }
-
-        // reload lastId from RocksDB.
-        batch.lastId = stateManager.getLastId(sequenceIdName);
-      }
+  private long getNextIdLocked(String sequenceIdName) throws SCMException {
+    Batch batch = sequenceIdToBatchMap.computeIfAbsent(
+        sequenceIdName, key -> new Batch());
 
-      Preconditions.checkArgument(batch.nextId <= batch.lastId);
+    if (batch.nextId <= batch.lastId) {
       return batch.nextId++;
+    }
 
-    } finally {
-      lock.unlock();
+    Preconditions.checkArgument(batch.nextId == batch.lastId + 1);
+    while (true) {
+      Long prevLastId = batch.lastId;
+      batch.nextId = prevLastId + 1;
+
+      Preconditions.checkArgument(Long.MAX_VALUE - batch.lastId >= batchSize);
+      long nextLastId = batch.lastId +
+          (sequenceIdName.equals(ROOT_CERTIFICATE_ID) ? 1 : batchSize);
+
+      if (stateManager.allocateBatch(sequenceIdName,
+          prevLastId, nextLastId)) {
+        batch.lastId = nextLastId;
+        LOG.info("Allocate a batch for {}, change lastId from {} to {}.",
+            sequenceIdName, prevLastId, batch.lastId);
+        break;
+      }
+
+      // reload lastId from RocksDB.
+      batch.lastId = stateManager.getLastId(sequenceIdName);
     }
+
+    Preconditions.checkArgument(batch.nextId <= batch.lastId);
+    return batch.nextId++;
   }
 
   /**
@@ -29,6 +29,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Command Queue is queue of commands for the datanode.
@@ -37,18 +39,20 @@
  * datanodes into this queue. These commands will be sent in the order in which
  * they were queued.
  *
- * Note this class is not thread safe, and accesses must be protected by a lock.
+ * Note the commands of a datanode are not thread safe, and accesses must be
+ * protected by a lock for that datanode.  Commands for different datanodes
+ * can be queued and taken concurrently.
  */
 public class CommandQueue {
   private final Map<UUID, Commands> commandMap;
-  private long commandsInQueue;
+  private final AtomicLong commandsInQueue;
 
   /**
    * Returns number of commands in queue.
    * @return Command Count.
    */
   public long getCommandsInQueue() {
-    return commandsInQueue;
+    return commandsInQueue.get();
   }
 
   /**
@@ -57,8 +61,8 @@ public long getCommandsInQueue() {
    * time period.
    */
   public CommandQueue() {
-    commandMap = new HashMap<>();
-    commandsInQueue = 0;
+    commandMap = new ConcurrentHashMap<>();
+    commandsInQueue = new AtomicLong();
   }
 
   /**
@@ -67,7 +71,7 @@ public CommandQueue() {
   @VisibleForTesting
   public void clear() {
     commandMap.clear();
-    commandsInQueue = 0;
+    commandsInQueue.set(0);
   }
 
   /**
@@ -84,9 +88,9 @@ List<SCMCommand> getCommand(final UUID datanodeUuid) {
     List<SCMCommand> cmdList = null;
     if (cmds != null) {
       cmdList = cmds.getCommands();
-      commandsInQueue -= cmdList.size() > 0 ? cmdList.size() : 0;
+      final long remaining = commandsInQueue.addAndGet(-cmdList.size());
       // A post condition really.
-      Preconditions.checkState(commandsInQueue >= 0);
+      Preconditions.checkState(remaining >= 0);
     }
     return cmds == null ? Collections.emptyList() : cmdList;
   }
@@ -138,7 +142,7 @@ public Map<SCMCommandProto.Type, Integer> getDatanodeCommandSummary(
   public void addCommand(final UUID datanodeUuid, final SCMCommand
       command) {
     commandMap.computeIfAbsent(datanodeUuid, s -> new Commands()).add(command);
-    commandsInQueue++;
+    commandsInQueue.incrementAndGet();
   }
 
   /**
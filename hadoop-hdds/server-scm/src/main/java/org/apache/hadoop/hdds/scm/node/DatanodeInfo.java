@@ -57,7 +57,7 @@ public class DatanodeInfo extends DatanodeDetails {
 
   private List<StorageReportProto> storageReports;
   private List<MetadataStorageReportProto> metadataStorageReports;
-  private LayoutVersionProto lastKnownLayoutVersion;
+  private volatile LayoutVersionProto lastKnownLayoutVersion;
   private final Map<SCMCommandProto.Type, Integer> commandCounts;
 
   private NodeStatus nodeStatus;
@@ -97,12 +97,8 @@ public void updateLastHeartbeatTime() {
    */
   @VisibleForTesting
   public void updateLastHeartbeatTime(long milliSecondsSinceEpoch) {
-    try {
-      lock.writeLock().lock();
-      lastHeartbeatTime = milliSecondsSinceEpoch;
-    } finally {
-      lock.writeLock().unlock();
-    }
+    // a single volatile field, no need to lock on each heartbeat
+    lastHeartbeatTime = milliSecondsSinceEpoch;
   }
 
   /**
@@ -112,6 +108,13 @@ public void updateLastKnownLayoutVersion(LayoutVersionProto version) {
     if (version == null) {
       return;
     }
+    final LayoutVersionProto last = lastKnownLayoutVersion;
+    if (last.getMetadataLayoutVersion() == version.getMetadataLayoutVersion()
+        && last.getSoftwareLayoutVersion()
+        == version.getSoftwareLayoutVersion()) {
+      // unchanged in almost every heartbeat
+      return;
+    }
     try {
       lock.writeLock().lock();
       lastKnownLayoutVersion = toLayoutVersionProto(
@@ -128,12 +131,7 @@ public void updateLastKnownLayoutVersion(LayoutVersionProto version) {
    * @return last heartbeat time.
    */
   public long getLastHeartbeatTime() {
-    try {
-      lock.readLock().lock();
-      return lastHeartbeatTime;
-    } finally {
-      lock.readLock().unlock();
-    }
+    return lastHeartbeatTime;
   }
 
   /**
@@ -20,6 +20,8 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hdds.DFSConfigKeysLegacy;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
@@ -85,8 +87,11 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.stream.Collectors;
 
 import static org.apache.hadoop.hdds.protocol.DatanodeDetails.Port.Name.HTTP;
@@ -130,12 +135,22 @@ public class SCMNodeManager implements NodeManager {
   private final HDDSLayoutVersionManager scmLayoutVersionManager;
   private final EventPublisher scmNodeEventPublisher;
   private final SCMContext scmContext;
+  /**
+   * Applies node reports if they are coalesced, null otherwise.
+   */
+  private final ExecutorService nodeReportExecutor;
+  /**
+   * Latest node report of each node, not applied yet.
+   */
+  private final Map<UUID, NodeReportProto> pendingNodeReports =
+      new ConcurrentHashMap<>();
 
   /**
    * Lock used to synchronize some operation in Node manager to ensure a
-   * consistent view of the node state.
+   * consistent view of the node state.  Striped by datanode, since all of
+   * them access the state of a single node.
    */
-  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Striped<ReadWriteLock> lock = Striped.readWriteLock(64);
   private final String opeState = "OPSTATE";
   private final String comState = "COMSTATE";
   /**
@@ -176,6 +191,16 @@ public SCMNodeManager(OzoneConfiguration conf,
     String dnLimit = conf.get(ScmConfigKeys.OZONE_DATANODE_PIPELINE_LIMIT);
     this.heavyNodeCriteria = dnLimit == null ? 0 : Integer.parseInt(dnLimit);
     this.scmContext = scmContext;
+    if (conf.getBoolean(ScmConfigKeys.OZONE_SCM_NODE_REPORT_COALESCE,
+        ScmConfigKeys.OZONE_SCM_NODE_REPORT_COALESCE_DEFAULT)) {
+      this.nodeReportExecutor = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("NodeReportProcessor")
+              .setDaemon(true)
+              .build());
+    } else {
+      this.nodeReportExecutor = null;
+    }
   }
 
   private void registerMXBean() {
@@ -309,6 +334,9 @@ public void setNodeOperationalState(DatanodeDetails datanodeDetails,
    */
   @Override
   public void close() throws IOException {
+    if (nodeReportExecutor != null) {
+      nodeReportExecutor.shutdownNow();
+    }
     unregisterMXBean();
     metrics.unRegister();
     nodeStateManager.close();
@@ -401,7 +429,7 @@ public RegisteredCommand register(
         Preconditions.checkState(dn.getParent() != null);
         addToDnsToUuidMap(dnsName, datanodeDetails.getUuid());
         // Updating Node Report, as registration is successful
-        processNodeReport(datanodeDetails, nodeReport);
+        applyNodeReport(datanodeDetails, nodeReport);
         LOG.info("Registered Data node : {}", datanodeDetails.toDebugString());
         scmNodeEventPublisher.fireEvent(SCMEvents.NEW_NODE, datanodeDetails);
       } catch (NodeAlreadyExistsException e) {
@@ -438,7 +466,7 @@ public RegisteredCommand register(
           nodeStateManager.updateNode(datanodeDetails, layoutInfo);
           DatanodeDetails dn = nodeStateManager.getNode(datanodeDetails);
           Preconditions.checkState(dn.getParent() != null);
-          processNodeReport(datanodeDetails, nodeReport);
+          applyNodeReport(datanodeDetails, nodeReport);
           LOG.info("Updated Datanode to: {}", dn);
           scmNodeEventPublisher
                   .fireEvent(SCMEvents.NODE_ADDRESS_UPDATE, dn);
@@ -509,7 +537,7 @@ public List<SCMCommand> processHeartbeat(DatanodeDetails datanodeDetails,
       LOG.error("SCM trying to process heartbeat from an " +
           "unregistered node {}. Ignoring the heartbeat.", datanodeDetails);
     }
-    writeLock().lock();
+    writeLock(datanodeDetails.getUuid()).lock();
     try {
       Map<SCMCommandProto.Type, Integer> summary =
           commandQueue.getDatanodeCommandSummary(datanodeDetails.getUuid());
@@ -520,7 +548,7 @@ public List<SCMCommand> processHeartbeat(DatanodeDetails datanodeDetails,
       }
       return commands;
     } finally {
-      writeLock().unlock();
+      writeLock(datanodeDetails.getUuid()).unlock();
     }
   }
 
@@ -621,6 +649,31 @@ public void processNodeReport(DatanodeDetails datanodeDetails,
           datanodeDetails.getHostName(),
           nodeReport.toString().replaceAll("\n", "\\\\n"));
     }
+    if (nodeReportExecutor != null && nodeReport != null) {
+      // only the first pending report of a node schedules a task, which
+      // applies the latest report of the node
+      if (pendingNodeReports.put(datanodeDetails.getUuid(), nodeReport)
+          == null) {
+        nodeReportExecutor.execute(
+            () -> applyPendingNodeReport(datanodeDetails));
+      } else {
+        metrics.incNumNodeReportSuperseded();
+      }
+      return;
+    }
+    applyNodeReport(datanodeDetails, nodeReport);
+  }
+
+  private void applyPendingNodeReport(DatanodeDetails datanodeDetails) {
+    final NodeReportProto nodeReport =
+        pendingNodeReports.remove(datanodeDetails.getUuid());
+    if (nodeReport != null) {
+      applyNodeReport(datanodeDetails, nodeReport);
+    }
+  }
+
+  private void applyNodeReport(DatanodeDetails datanodeDetails,
+      NodeReportProto nodeReport) {
     try {
       DatanodeInfo datanodeInfo = nodeStateManager.getNode(datanodeDetails);
       if (nodeReport != null) {
@@ -753,12 +806,12 @@ private void processNodeCommandQueueReport(DatanodeDetails datanodeDetails,
   @Override
   public int getNodeQueuedCommandCount(DatanodeDetails datanodeDetails,
       SCMCommandProto.Type cmdType) throws NodeNotFoundException {
-    readLock().lock();
+    readLock(datanodeDetails.getUuid()).lock();
     try {
       DatanodeInfo datanodeInfo = nodeStateManager.getNode(datanodeDetails);
       return datanodeInfo.getCommandCount(cmdType);
     } finally {
-      readLock().unlock();
+      readLock(datanodeDetails.getUuid()).unlock();
     }
   }
 
@@ -771,11 +824,11 @@ public int getNodeQueuedCommandCount(DatanodeDetails datanodeDetails,
    */
   @Override
   public int getCommandQueueCount(UUID dnID, SCMCommandProto.Type cmdType) {
-    readLock().lock();
+    readLock(dnID).lock();
     try {
       return commandQueue.getDatanodeCommandCount(dnID, cmdType);
     } finally {
-      readLock().unlock();
+      readLock(dnID).unlock();
     }
   }
 
@@ -794,7 +847,7 @@ public int getCommandQueueCount(UUID dnID, SCMCommandProto.Type cmdType) {
   @Override
   public int getTotalDatanodeCommandCount(DatanodeDetails datanodeDetails,
       SCMCommandProto.Type cmdType) throws NodeNotFoundException {
-    readLock().lock();
+    readLock(datanodeDetails.getUuid()).lock();
     try {
       int dnCount = getNodeQueuedCommandCount(datanodeDetails, cmdType);
       if (dnCount == -1) {
@@ -804,7 +857,7 @@ public int getTotalDatanodeCommandCount(DatanodeDetails datanodeDetails,
       }
       return getCommandQueueCount(datanodeDetails.getUuid(), cmdType) + dnCount;
     } finally {
-      readLock().unlock();
+      readLock(datanodeDetails.getUuid()).unlock();
     }
   }
 
@@ -828,14 +881,14 @@ public Map<SCMCommandProto.Type, Integer> getTotalDatanodeCommandCounts(
       DatanodeDetails datanodeDetails, SCMCommandProto.Type... cmdType)
       throws NodeNotFoundException {
     Map<SCMCommandProto.Type, Integer> counts = new HashMap<>();
-    readLock().lock();
+    readLock(datanodeDetails.getUuid()).lock();
     try {
       for (SCMCommandProto.Type type : cmdType) {
         counts.put(type, getTotalDatanodeCommandCount(datanodeDetails, type));
       }
       return counts;
     } finally {
-      readLock().unlock();
+      readLock(datanodeDetails.getUuid()).unlock();
     }
   }
 
@@ -1274,11 +1327,11 @@ public Set<ContainerID> getContainers(DatanodeDetails datanodeDetails)
 
   @Override
   public void addDatanodeCommand(UUID dnId, SCMCommand command) {
-    writeLock().lock();
+    writeLock(dnId).lock();
     try {
       this.commandQueue.addCommand(dnId, command);
     } finally {
-      writeLock().unlock();
+      writeLock(dnId).unlock();
     }
   }
 
@@ -1319,11 +1372,11 @@ public void onMessage(CommandForDatanode commandForDatanode,
   public List<SCMCommand> getCommandQueue(UUID dnID) {
     // Getting the queue actually clears it and returns the commands, so this
     // is a write operation and not a read as the method name suggests.
-    writeLock().lock();
+    writeLock(dnID).lock();
     try {
       return commandQueue.getCommand(dnID);
     } finally {
-      writeLock().unlock();
+      writeLock(dnID).unlock();
     }
   }
 
@@ -1440,6 +1493,16 @@ long getSkippedHealthChecks() {
     return nodeStateManager.getSkippedHealthChecks();
   }
 
+  /**
+   * Test utility to get the executor applying coalesced node reports.
+   *
+   * @return the node report executor, null if reports are not coalesced
+   */
+  @VisibleForTesting
+  ExecutorService getNodeReportExecutor() {
+    return nodeReportExecutor;
+  }
+
   /**
    * @return  HDDSLayoutVersionManager
    */
@@ -1455,11 +1518,11 @@ public void forceNodesToHealthyReadOnly() {
     nodeStateManager.forceNodesToHealthyReadOnly();
   }
 
-  private ReentrantReadWriteLock.WriteLock writeLock() {
-    return lock.writeLock();
+  private Lock writeLock(UUID datanodeID) {
+    return lock.get(datanodeID).writeLock();
   }
 
-  private ReentrantReadWriteLock.ReadLock readLock() {
-    return lock.readLock();
+  private Lock readLock(UUID datanodeID) {
+    return lock.get(datanodeID).readLock();
   }
 }
@@ -50,6 +50,7 @@ public final class SCMNodeMetrics implements MetricsSource {
   private @Metric MutableCounterLong numHBProcessingFailed;
   private @Metric MutableCounterLong numNodeReportProcessed;
   private @Metric MutableCounterLong numNodeReportProcessingFailed;
+  private @Metric MutableCounterLong numNodeReportSuperseded;
   private @Metric MutableCounterLong numNodeCommandQueueReportProcessed;
   private @Metric MutableCounterLong numNodeCommandQueueReportProcessingFailed;
   private @Metric String textMetric;
@@ -113,6 +114,14 @@ void incNumNodeReportProcessingFailed() {
     numNodeReportProcessingFailed.incr();
   }
 
+  /**
+   * Increments number of node reports dropped because a newer report from
+   * the same datanode arrived before they were processed.
+   */
+  void incNumNodeReportSuperseded() {
+    numNodeReportSuperseded.incr();
+  }
+
   /**
    * Increments number of Command Queue reports processed.
    */
@@ -25,10 +25,12 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 
+import com.google.common.util.concurrent.Striped;
+
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.NodeOperationalState;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.NodeState;
@@ -45,6 +47,9 @@
  * this class.
  */
 public class NodeStateMap {
+
+  private static final int LOCK_STRIPES = 64;
+
   /**
    * Node id to node info map.
    */
@@ -54,13 +59,18 @@ public class NodeStateMap {
    */
   private final ConcurrentHashMap<UUID, Set<ContainerID>> nodeToContainer;
 
-  private final ReadWriteLock lock;
+  /**
+   * Guards the state of each node, striped by node id so that nodes can be
+   * updated concurrently.  Operations on all nodes do not lock, they see a
+   * snapshot of the maps which may be inconsistent across nodes.
+   */
+  private final Striped<ReadWriteLock> lock;
 
   /**
    * Creates a new instance of NodeStateMap with no nodes.
    */
   public NodeStateMap() {
-    lock = new ReentrantReadWriteLock();
+    lock = Striped.readWriteLock(LOCK_STRIPES);
     nodeMap = new ConcurrentHashMap<>();
     nodeToContainer = new ConcurrentHashMap<>();
   }
@@ -78,17 +88,19 @@ public void addNode(DatanodeDetails datanodeDetails, NodeStatus nodeStatus,
                       LayoutVersionProto layoutInfo)
 
       throws NodeAlreadyExistsException {
-    lock.writeLock().lock();
+    final UUID id = datanodeDetails.getUuid();
+    final Lock writeLock = writeLock(id);
+    writeLock.lock();
     try {
-      UUID id = datanodeDetails.getUuid();
       if (nodeMap.containsKey(id)) {
         throw new NodeAlreadyExistsException("Node UUID: " + id);
       }
+      // nodes are looked up without locking, so add its containers first
+      nodeToContainer.put(id, new HashSet<>());
       nodeMap.put(id, new DatanodeInfo(datanodeDetails, nodeStatus,
           layoutInfo));
-      nodeToContainer.put(id, new HashSet<>());
     } finally {
-      lock.writeLock().unlock();
+      writeLock.unlock();
     }
   }
 
@@ -104,16 +116,17 @@ public void updateNode(DatanodeDetails datanodeDetails, NodeStatus nodeStatus,
                          LayoutVersionProto layoutInfo)
 
           throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final UUID id = datanodeDetails.getUuid();
+    final Lock writeLock = writeLock(id);
+    writeLock.lock();
     try {
-      UUID id = datanodeDetails.getUuid();
       if (!nodeMap.containsKey(id)) {
         throw new NodeNotFoundException("Node UUID: " + id);
       }
       nodeMap.put(id, new DatanodeInfo(datanodeDetails, nodeStatus,
               layoutInfo));
     } finally {
-      lock.writeLock().unlock();
+      writeLock.unlock();
     }
   }
 
@@ -127,8 +140,9 @@ public void updateNode(DatanodeDetails datanodeDetails, NodeStatus nodeStatus,
    */
   public NodeStatus updateNodeHealthState(UUID nodeId, NodeState newHealth)
       throws NodeNotFoundException {
+    final Lock writeLock = writeLock(nodeId);
+    writeLock.lock();
     try {
-      lock.writeLock().lock();
       DatanodeInfo dn = getNodeInfo(nodeId);
       NodeStatus oldStatus = dn.getNodeStatus();
       NodeStatus newStatus = new NodeStatus(
@@ -136,7 +150,7 @@ public NodeStatus updateNodeHealthState(UUID nodeId, NodeState newHealth)
       dn.setNodeStatus(newStatus);
       return newStatus;
     } finally {
-      lock.writeLock().unlock();
+      writeLock.unlock();
     }
   }
 
@@ -151,8 +165,9 @@ public NodeStatus updateNodeHealthState(UUID nodeId, NodeState newHealth)
   public NodeStatus updateNodeOperationalState(UUID nodeId,
       NodeOperationalState newOpState, long opStateExpiryEpochSeconds)
       throws NodeNotFoundException {
+    final Lock writeLock = writeLock(nodeId);
+    writeLock.lock();
     try {
-      lock.writeLock().lock();
       DatanodeInfo dn = getNodeInfo(nodeId);
       NodeStatus oldStatus = dn.getNodeStatus();
       NodeStatus newStatus = new NodeStatus(
@@ -160,7 +175,7 @@ public NodeStatus updateNodeOperationalState(UUID nodeId,
       dn.setNodeStatus(newStatus);
       return newStatus;
     } finally {
-      lock.writeLock().unlock();
+      writeLock.unlock();
     }
   }
 
@@ -174,13 +189,12 @@ public NodeStatus updateNodeOperationalState(UUID nodeId,
    * @throws NodeNotFoundException if the node is not present
    */
   public DatanodeInfo getNodeInfo(UUID uuid) throws NodeNotFoundException {
-    lock.readLock().lock();
-    try {
-      checkIfNodeExist(uuid);
-      return nodeMap.get(uuid);
-    } finally {
-      lock.readLock().unlock();
+    // called on each heartbeat, the node is replaced atomically
+    final DatanodeInfo dn = nodeMap.get(uuid);
+    if (dn == null) {
+      throw new NodeNotFoundException("Node UUID: " + uuid);
     }
+    return dn;
   }
 
   /**
@@ -208,12 +222,7 @@ public List<UUID> getNodes(NodeOperationalState opState, NodeState health) {
    * @return list of all the node ids
    */
   public List<UUID> getAllNodes() {
-    try {
-      lock.readLock().lock();
-      return new ArrayList<>(nodeMap.keySet());
-    } finally {
-      lock.readLock().unlock();
-    }
+    return new ArrayList<>(nodeMap.keySet());
   }
 
   /**
@@ -222,12 +231,7 @@ public List<UUID> getAllNodes() {
    * @return list of all the node ids
    */
   public List<DatanodeInfo> getAllDatanodeInfos() {
-    try {
-      lock.readLock().lock();
-      return new ArrayList<>(nodeMap.values());
-    } finally {
-      lock.readLock().unlock();
-    }
+    return new ArrayList<>(nodeMap.values());
   }
 
   /**
@@ -288,12 +292,7 @@ public int getNodeCount(NodeOperationalState opState, NodeState health) {
    * @return node count
    */
   public int getTotalNodeCount() {
-    lock.readLock().lock();
-    try {
-      return nodeMap.size();
-    } finally {
-      lock.readLock().unlock();
-    }
+    return nodeMap.size();
   }
 
   /**
@@ -306,17 +305,12 @@ public int getTotalNodeCount() {
    * @throws NodeNotFoundException if the node is not found
    */
   public NodeStatus getNodeStatus(UUID uuid) throws NodeNotFoundException {
-    lock.readLock().lock();
-    try {
-      DatanodeInfo dn = nodeMap.get(uuid);
-      if (dn == null) {
-        throw new NodeNotFoundException("Node not found in node map." +
-            " UUID: " + uuid);
-      }
-      return dn.getNodeStatus();
-    } finally {
-      lock.readLock().unlock();
+    DatanodeInfo dn = nodeMap.get(uuid);
+    if (dn == null) {
+      throw new NodeNotFoundException("Node not found in node map." +
+          " UUID: " + uuid);
     }
+    return dn.getNodeStatus();
   }
 
   /**
@@ -330,45 +324,49 @@ public NodeStatus getNodeStatus(UUID uuid) throws NodeNotFoundException {
   public void addContainer(final UUID uuid,
                            final ContainerID containerId)
       throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock writeLock = writeLock(uuid);
+    writeLock.lock();
     try {
       checkIfNodeExist(uuid);
       nodeToContainer.get(uuid).add(containerId);
     } finally {
-      lock.writeLock().unlock();
+      writeLock.unlock();
     }
   }
 
   public void setContainers(UUID uuid, Set<ContainerID> containers)
       throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock writeLock = writeLock(uuid);
+    writeLock.lock();
     try {
       checkIfNodeExist(uuid);
       nodeToContainer.put(uuid, containers);
     } finally {
-      lock.writeLock().unlock();
+      writeLock.unlock();
     }
   }
 
   public Set<ContainerID> getContainers(UUID uuid)
       throws NodeNotFoundException {
-    lock.readLock().lock();
+    final Lock readLock = lock.get(uuid).readLock();
+    readLock.lock();
     try {
       checkIfNodeExist(uuid);
       return new HashSet<>(nodeToContainer.get(uuid));
     } finally {
-      lock.readLock().unlock();
+      readLock.unlock();
     }
   }
 
   public void removeContainer(UUID uuid, ContainerID containerID) throws
       NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock writeLock = writeLock(uuid);
+    writeLock.lock();
     try {
       checkIfNodeExist(uuid);
       nodeToContainer.get(uuid).remove(containerID);
     } finally {
-      lock.writeLock().unlock();
+      writeLock.unlock();
     }
   }
 
@@ -393,6 +391,10 @@ public String toString() {
     return builder.toString();
   }
 
+  private Lock writeLock(UUID uuid) {
+    return lock.get(uuid).writeLock();
+  }
+
   /**
    * Throws NodeNotFoundException if the Node for given id doesn't exist.
    *
@@ -432,15 +434,10 @@ public List<DatanodeInfo> filterNodes(
    */
   private List<DatanodeInfo> filterNodes(Predicate<DatanodeInfo> filter) {
     List<DatanodeInfo> result = new LinkedList<>();
-    lock.readLock().lock();
-    try {
-      for (DatanodeInfo dn : nodeMap.values()) {
-        if (filter.test(dn)) {
-          result.add(dn);
-        }
+    for (DatanodeInfo dn : nodeMap.values()) {
+      if (filter.test(dn)) {
+        result.add(dn);
       }
-    } finally {
-      lock.readLock().unlock();
     }
     return result;
   }
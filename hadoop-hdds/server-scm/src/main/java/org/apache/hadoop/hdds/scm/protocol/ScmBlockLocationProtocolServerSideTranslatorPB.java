@@ -188,15 +188,17 @@ private Status exceptionToResponseStatus(IOException ex) {
   public AllocateScmBlockResponseProto allocateScmBlock(
       AllocateScmBlockRequestProto request, int clientVersion)
       throws IOException {
-    List<AllocatedBlock> allocatedBlocks =
-        impl.allocateBlock(request.getSize(),
-            request.getNumBlocks(),
-            ReplicationConfig.fromProto(
-                request.getType(),
-                request.getFactor(),
-                request.getEcReplicationConfig()),
-            request.getOwner(),
-            ExcludeList.getFromProtoBuf(request.getExcludeList()));
+    ReplicationConfig replicationConfig = ReplicationConfig.fromProto(
+        request.getType(),
+        request.getFactor(),
+        request.getEcReplicationConfig());
+    ExcludeList excludeList =
+        ExcludeList.getFromProtoBuf(request.getExcludeList());
+    List<AllocatedBlock> allocatedBlocks = request.getBatch()
+        ? impl.allocateBlockBatch(request.getSize(), request.getNumBlocks(),
+            replicationConfig, request.getOwner(), excludeList)
+        : impl.allocateBlock(request.getSize(), request.getNumBlocks(),
+            replicationConfig, request.getOwner(), excludeList);
 
     AllocateScmBlockResponseProto.Builder builder =
         AllocateScmBlockResponseProto.newBuilder();
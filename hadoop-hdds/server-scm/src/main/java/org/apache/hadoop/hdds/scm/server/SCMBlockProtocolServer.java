@@ -178,6 +178,25 @@ public List<AllocatedBlock> allocateBlock(
       long size, int num,
       ReplicationConfig replicationConfig,
       String owner, ExcludeList excludeList
+  ) throws IOException {
+    return allocateBlock(size, num, replicationConfig, owner, excludeList,
+        false);
+  }
+
+  @Override
+  public List<AllocatedBlock> allocateBlockBatch(
+      long size, int num,
+      ReplicationConfig replicationConfig,
+      String owner, ExcludeList excludeList
+  ) throws IOException {
+    return allocateBlock(size, num, replicationConfig, owner, excludeList,
+        true);
+  }
+
+  private List<AllocatedBlock> allocateBlock(
+      long size, int num,
+      ReplicationConfig replicationConfig,
+      String owner, ExcludeList excludeList, boolean batch
   ) throws IOException {
     scm.checkAdminAccess(getRemoteUser(), false);
     Map<String, String> auditMap = Maps.newHashMap();
@@ -185,18 +204,24 @@ public List<AllocatedBlock> allocateBlock(
     auditMap.put("num", String.valueOf(num));
     auditMap.put("replication", replicationConfig.toString());
     auditMap.put("owner", owner);
-    List<AllocatedBlock> blocks = new ArrayList<>(num);
 
     if (LOG.isDebugEnabled()) {
       LOG.debug("Allocating {} blocks of size {}, with {}",
           num, size, excludeList);
     }
     try {
-      for (int i = 0; i < num; i++) {
-        AllocatedBlock block = scm.getScmBlockManager()
-            .allocateBlock(size, replicationConfig, owner, excludeList);
-        if (block != null) {
-          blocks.add(block);
+      final List<AllocatedBlock> blocks;
+      if (batch) {
+        blocks = scm.getScmBlockManager()
+            .allocateBlocks(size, num, replicationConfig, owner, excludeList);
+      } else {
+        blocks = new ArrayList<>(num);
+        for (int i = 0; i < num; i++) {
+          AllocatedBlock block = scm.getScmBlockManager()
+              .allocateBlock(size, replicationConfig, owner, excludeList);
+          if (block != null) {
+            blocks.add(block);
+          }
         }
       }
 
@@ -48,6 +48,7 @@
 import org.apache.hadoop.hdds.scm.container.balancer.MoveManager;
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOps;
 import org.apache.hadoop.hdds.scm.container.replication.DatanodeCommandCountUpdatedHandler;
+import org.apache.hadoop.hdds.scm.container.replication.DatanodeStateChangedHandler;
 import org.apache.hadoop.hdds.scm.container.replication.LegacyReplicationManager;
 import org.apache.hadoop.hdds.scm.ha.SCMServiceException;
 import org.apache.hadoop.hdds.scm.security.CRLStatusReportHandler;
@@ -497,6 +498,14 @@ private void initializeEventHandlers() {
     eventQueue.addHandler(SCMEvents.NODE_REPORT, nodeReportHandler);
     eventQueue.addHandler(SCMEvents.DATANODE_COMMAND_COUNT_UPDATED,
         new DatanodeCommandCountUpdatedHandler(replicationManager));
+    DatanodeStateChangedHandler datanodeStateChangedHandler =
+        new DatanodeStateChangedHandler(replicationManager);
+    eventQueue.addHandler(SCMEvents.STALE_NODE, datanodeStateChangedHandler);
+    eventQueue.addHandler(SCMEvents.DEAD_NODE, datanodeStateChangedHandler);
+    eventQueue.addHandler(SCMEvents.HEALTHY_READONLY_NODE,
+        datanodeStateChangedHandler);
+    eventQueue.addHandler(SCMEvents.START_ADMIN_ON_NODE,
+        datanodeStateChangedHandler);
 
     // Use the same executor for both ICR and FCR.
     // The Executor maps the event to a thread for DN.
@@ -25,6 +25,10 @@
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -211,6 +215,32 @@ public void testAllocateBlock() throws Exception {
     Assertions.assertNotNull(block);
   }
 
+  @Test
+  public void testAllocateBlocks() throws Exception {
+    pipelineManager.createPipeline(replicationConfig);
+    HddsTestUtils.openAllRatisPipelines(pipelineManager);
+    int num = 2 * numContainerPerOwnerInPipeline;
+
+    List<AllocatedBlock> blocks = blockManager.allocateBlocks(
+        DEFAULT_BLOCK_SIZE, num, replicationConfig, OzoneConsts.OZONE,
+        new ExcludeList());
+
+    Assertions.assertEquals(num, blocks.size());
+    Set<Long> localIDs = new HashSet<>();
+    Map<Long, Integer> blocksPerContainer = new HashMap<>();
+    for (AllocatedBlock block : blocks) {
+      localIDs.add(block.getBlockID().getLocalID());
+      blocksPerContainer.merge(block.getBlockID().getContainerID(), 1,
+          Integer::sum);
+    }
+    Assertions.assertEquals(num, localIDs.size());
+    // the batch is spread over the open containers like single allocations
+    Assertions.assertTrue(blocksPerContainer.size() > 1);
+    Assertions.assertTrue(
+        Collections.max(blocksPerContainer.values()) -
+            Collections.min(blocksPerContainer.values()) <= 1);
+  }
+
   @Test
   public void testAllocateBlockWithExclusion() throws Exception {
     try {
@@ -54,6 +54,7 @@
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
+import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State.CLOSED;
 import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State.OPEN;
 
 
@@ -252,4 +253,37 @@ void testRemoveContainerReplicaInvokesPendingOp()
         .completeDeleteReplica(container.containerID(), dn, 0);
   }
 
+  @Test
+  void testReplicaChangesNotifyListener() throws Exception {
+    final List<ContainerID> changed = new ArrayList<>();
+    containerManager.registerContainerChangeListener(changed::add);
+    final ContainerInfo container = containerManager.allocateContainer(
+        RatisReplicationConfig.getInstance(
+            ReplicationFactor.THREE), "admin");
+    final ContainerID id = container.containerID();
+    DatanodeDetails dn = MockDatanodeDetails.randomDatanodeDetails();
+    ContainerReplica.ContainerReplicaBuilder replica =
+        ContainerReplica.newBuilder()
+            .setContainerState(OPEN)
+            .setReplicaIndex(0)
+            .setContainerID(id)
+            .setDatanodeDetails(dn)
+            .setSequenceId(1);
+
+    containerManager.updateContainerReplica(id, replica.build());
+    Assertions.assertEquals(1, changed.size());
+    // a report of the same replica is not a change
+    containerManager.updateContainerReplica(id,
+        replica.setSequenceId(2).build());
+    Assertions.assertEquals(1, changed.size());
+    containerManager.updateContainerReplica(id,
+        replica.setContainerState(CLOSED).build());
+    Assertions.assertEquals(2, changed.size());
+    containerManager.removeContainerReplica(id, replica.build());
+    Assertions.assertEquals(3, changed.size());
+    containerManager.updateContainerState(id,
+        HddsProtos.LifeCycleEvent.FINALIZE);
+    Assertions.assertEquals(4, changed.size());
+    Assertions.assertTrue(changed.stream().allMatch(id::equals));
+  }
 }
@@ -0,0 +1,313 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.container.replication;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleEvent;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.PlacementPolicy;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerManager;
+import org.apache.hadoop.hdds.scm.container.ContainerNotFoundException;
+import org.apache.hadoop.hdds.scm.container.ContainerReplica;
+import org.apache.hadoop.hdds.scm.container.ContainerStateManager;
+import org.apache.hadoop.hdds.scm.container.ReplicationManagerReport;
+import org.apache.hadoop.hdds.scm.container.SimpleMockNodeManager;
+import org.apache.hadoop.hdds.scm.container.replication.ReplicationManager.ReplicationManagerConfiguration;
+import org.apache.hadoop.hdds.scm.ha.SCMContext;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.server.events.Event;
+import org.apache.hadoop.hdds.server.events.EventPublisher;
+import org.apache.hadoop.hdds.utils.db.Table;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_SCM_WAIT_TIME_AFTER_SAFE_MODE_EXIT;
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.NodeOperationalState.IN_SERVICE;
+import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State.CLOSED;
+
+/**
+ * A benchmark tool to measure the time ReplicationManager takes to check all
+ * containers, depending on the number of container check threads.
+ * The containers are kept by a synthetic ContainerManager, so only the
+ * health checks are measured.  Every tenth container is under-replicated.
+ */
+public final class ReplicationManagerBenchmark {
+
+  private static final ReplicationConfig REPLICATION =
+      RatisReplicationConfig.getInstance(ReplicationFactor.THREE);
+  private static final int DATANODES = 100;
+  private static final int UNDER_REPLICATED_EVERY = 10;
+
+  private ReplicationManagerBenchmark() {
+    // prevent instantiation
+  }
+
+  private static void usage(String message) {
+    if (message != null) {
+      System.out.println(message);
+    }
+    System.out.println(
+        "Usage: ReplicationManagerBenchmark <numContainers> " +
+            "<threads>[,<threads>...] [numPasses]");
+    System.exit(1);
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      usage(null);
+    }
+    final int containers = Integer.parseInt(args[0]);
+    final int passes = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    if (containers <= 0 || passes <= 0) {
+      usage("Number of containers and passes must be positive");
+    }
+    final SyntheticContainerManager containerManager =
+        new SyntheticContainerManager(containers);
+    for (String threads : args[1].split(",")) {
+      performBench(containerManager, Integer.parseInt(threads), passes);
+    }
+  }
+
+  /**
+   * Checks all containers {@code passes} times, after a warm-up pass, and
+   * prints the average pass time.
+   * @return the report of the last pass
+   */
+  public static ReplicationManagerReport performBench(
+      ContainerManager containerManager, int threads, int passes)
+      throws IOException {
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(HDDS_SCM_WAIT_TIME_AFTER_SAFE_MODE_EXIT, "0s");
+    final ReplicationManagerConfiguration rmConf =
+        conf.getObject(ReplicationManagerConfiguration.class);
+    rmConf.setContainerCheckThreads(threads);
+    conf.setFromObject(rmConf);
+
+    final SimpleMockNodeManager nodeManager = new SimpleMockNodeManager();
+    final PlacementPolicy placementPolicy =
+        ReplicationTestUtil.getSimpleTestPlacementPolicy(nodeManager, conf);
+    final ReplicationManager replicationManager = new ReplicationManager(
+        conf, containerManager, placementPolicy, placementPolicy,
+        new NoOpEventPublisher(), SCMContext.emptyContext(), nodeManager,
+        Clock.systemUTC(), null,
+        new ContainerReplicaPendingOps(Clock.systemUTC())) {
+      @Override
+      protected void startSubServices() {
+        // only the health checks are measured
+      }
+    };
+    try {
+      replicationManager.notifyStatusChanged();
+      replicationManager.processAll();
+
+      final long start = System.nanoTime();
+      for (int i = 0; i < passes; i++) {
+        replicationManager.processAll();
+      }
+      final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+      System.out.printf("threads=%d containers=%d passes=%d " +
+              "avgPassMillis=%d underReplicated=%d%n",
+          threads, containerManager.getContainers().size(), passes,
+          elapsedMillis / passes,
+          replicationManager.getQueue().underReplicatedQueueSize());
+      return replicationManager.getContainerReport();
+    } finally {
+      replicationManager.getMetrics().unRegister();
+    }
+  }
+
+  /**
+   * Keeps closed containers and their replicas in memory.
+   */
+  static final class SyntheticContainerManager implements ContainerManager {
+
+    private final List<ContainerInfo> containers;
+    private final Map<ContainerID, Set<ContainerReplica>> replicas =
+        new ConcurrentHashMap<>();
+
+    SyntheticContainerManager(int count) {
+      final List<DatanodeDetails> datanodes = new ArrayList<>(DATANODES);
+      for (int i = 0; i < DATANODES; i++) {
+        datanodes.add(MockDatanodeDetails.randomDatanodeDetails());
+      }
+      containers = new ArrayList<>(count);
+      for (int i = 1; i <= count; i++) {
+        final ContainerInfo container = ReplicationTestUtil
+            .createContainerInfo(REPLICATION, i, LifeCycleState.CLOSED, 1, 1);
+        final int replicaCount = i % UNDER_REPLICATED_EVERY == 0
+            ? REPLICATION.getRequiredNodes() - 1
+            : REPLICATION.getRequiredNodes();
+        final Set<ContainerReplica> containerReplicas = new HashSet<>();
+        for (int r = 0; r < replicaCount; r++) {
+          final DatanodeDetails dn = datanodes.get((i + r) % DATANODES);
+          containerReplicas.add(ReplicationTestUtil.createContainerReplica(
+              container.containerID(), 0, IN_SERVICE, CLOSED, 1, 1, dn,
+              dn.getUuid()));
+        }
+        containers.add(container);
+        replicas.put(container.containerID(), containerReplicas);
+      }
+    }
+
+    @Override
+    public void reinitialize(Table<ContainerID, ContainerInfo> store) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ContainerInfo getContainer(ContainerID containerID)
+        throws ContainerNotFoundException {
+      final int index = (int) containerID.getId() - 1;
+      if (index < 0 || index >= containers.size()) {
+        throw new ContainerNotFoundException(containerID.toString());
+      }
+      return containers.get(index);
+    }
+
+    @Override
+    public List<ContainerInfo> getContainers(ContainerID startID, int count) {
+      final int from = (int) Math.min(
+          Math.max(startID.getId() - 1, 0), containers.size());
+      return new ArrayList<>(containers.subList(from,
+          (int) Math.min((long) from + count, containers.size())));
+    }
+
+    @Override
+    public List<ContainerInfo> getContainers(LifeCycleState state) {
+      return state == LifeCycleState.CLOSED
+          ? new ArrayList<>(containers) : new ArrayList<>();
+    }
+
+    @Override
+    public List<ContainerInfo> getContainers(ContainerID startID, int count,
+        LifeCycleState state) {
+      return state == LifeCycleState.CLOSED
+          ? getContainers(startID, count) : new ArrayList<>();
+    }
+
+    @Override
+    public int getContainerStateCount(LifeCycleState state) {
+      return getContainers(state).size();
+    }
+
+    @Override
+    public boolean containerExist(ContainerID id) {
+      return replicas.containsKey(id);
+    }
+
+    @Override
+    public ContainerInfo allocateContainer(
+        ReplicationConfig replicationConfig, String owner) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updateContainerState(ContainerID containerID,
+        LifeCycleEvent event) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<ContainerReplica> getContainerReplicas(ContainerID containerID)
+        throws ContainerNotFoundException {
+      final Set<ContainerReplica> containerReplicas =
+          replicas.get(containerID);
+      if (containerReplicas == null) {
+        throw new ContainerNotFoundException(containerID.toString());
+      }
+      return containerReplicas;
+    }
+
+    @Override
+    public void updateContainerReplica(ContainerID containerID,
+        ContainerReplica replica) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeContainerReplica(ContainerID containerID,
+        ContainerReplica replica) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void registerContainerChangeListener(
+        Consumer<ContainerID> listener) {
+      // containers do not change
+    }
+
+    @Override
+    public void updateDeleteTransactionId(
+        Map<ContainerID, Long> deleteTransactionMap) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ContainerInfo getMatchingContainer(long size, String owner,
+        Pipeline pipeline, Set<ContainerID> excludedContainerIDS) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void notifyContainerReportProcessing(boolean isFullReport,
+        boolean success) {
+      // no container reports
+    }
+
+    @Override
+    public void deleteContainer(ContainerID containerID) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ContainerStateManager getContainerStateManager() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+  }
+
+  /**
+   * Drops all events.
+   */
+  private static final class NoOpEventPublisher implements EventPublisher {
+    @Override
+    public <PAYLOAD, EVENT_TYPE extends Event<PAYLOAD>> void fireEvent(
+        EVENT_TYPE event, PAYLOAD payload) {
+      // no event handlers
+    }
+  }
+}
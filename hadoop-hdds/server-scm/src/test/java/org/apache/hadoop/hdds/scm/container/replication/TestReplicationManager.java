@@ -58,6 +58,7 @@
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -1508,6 +1509,61 @@ public void testExcludedNodes() throws NodeNotFoundException,
     assertEquals(0, excluded.size());
   }
 
+  @Test
+  public void testChangedContainersAreProcessedIncrementally()
+      throws IOException {
+    ReplicationManager.ReplicationManagerConfiguration config =
+        new ReplicationManager.ReplicationManagerConfiguration();
+    config.setIncrementalInterval(Duration.ofSeconds(10));
+    configuration.setFromObject(config);
+    replicationManager = createReplicationManager();
+    Mockito.verify(containerManager)
+        .registerContainerChangeListener(any());
+    enableProcessAll();
+    replicationManager.processAll();
+
+    ContainerInfo container = createContainerInfo(repConfig, 1,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(container, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+    Mockito.when(containerManager.getContainer(container.containerID()))
+        .thenReturn(container);
+
+    // unchanged containers are left to the next full pass
+    replicationManager.processChangedContainers();
+    ReplicationQueue queue = replicationManager.getQueue();
+    assertEquals(0, queue.underReplicatedQueueSize());
+
+    replicationManager.notifyContainerChanged(container.containerID());
+    assertEquals(1, replicationManager.getChangedContainerCount());
+    replicationManager.processChangedContainers();
+    assertEquals(0, replicationManager.getChangedContainerCount());
+    assertEquals(1, queue.underReplicatedQueueSize());
+    assertEquals(1, replicationManager.getMetrics()
+        .getChangedContainersProcessedTotal());
+
+    // a container still queued is not queued again
+    replicationManager.notifyContainerChanged(container.containerID());
+    replicationManager.processChangedContainers();
+    assertEquals(1, queue.underReplicatedQueueSize());
+    assertEquals(container,
+        queue.dequeueUnderReplicatedContainer().getContainerInfo());
+    replicationManager.notifyContainerChanged(container.containerID());
+    replicationManager.processChangedContainers();
+    assertEquals(1, queue.underReplicatedQueueSize());
+
+    // the timeout of a pending op is a change
+    containerReplicaPendingOps.scheduleAddReplica(container.containerID(),
+        MockDatanodeDetails.randomDatanodeDetails(), 5,
+        clock.millis() + 1000);
+    clock.fastForward(2000);
+    containerReplicaPendingOps.removeExpiredEntries();
+    assertEquals(1, replicationManager.getChangedContainerCount());
+
+    // a full pass checks all containers
+    replicationManager.processAll();
+    assertEquals(0, replicationManager.getChangedContainerCount());
+  }
+
   @Test
   public void testInflightReplicationLimit() throws IOException {
     int healthyNodes = 10;
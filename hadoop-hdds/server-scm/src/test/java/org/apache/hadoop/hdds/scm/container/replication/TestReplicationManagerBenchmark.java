@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.container.replication;
+
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.scm.container.ReplicationManagerReport;
+import org.apache.hadoop.hdds.scm.container.ReplicationManagerReport.HealthState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the ReplicationManager benchmark tool, and that the containers
+ * are checked the same way by one or more threads.
+ */
+public class TestReplicationManagerBenchmark {
+
+  @Test
+  public void testContainersCheckedByThreads() throws Exception {
+    ReplicationManagerBenchmark.SyntheticContainerManager containerManager =
+        new ReplicationManagerBenchmark.SyntheticContainerManager(1000);
+
+    for (int threads : new int[] {1, 3, 8}) {
+      ReplicationManagerReport report = ReplicationManagerBenchmark
+          .performBench(containerManager, threads, 2);
+      assertEquals(1000, report.getStat(LifeCycleState.CLOSED));
+      assertEquals(100, report.getStat(HealthState.UNDER_REPLICATED));
+      assertEquals(ReplicationManagerReport.SAMPLE_LIMIT,
+          report.getSample(HealthState.UNDER_REPLICATED).size());
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ContainerInfoProto;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerReplica;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+
+/**
+ * A tool to measure the heap used by ContainerStateMap per container.
+ * Containers are decoded from protobuf, as SCM does when loading them from
+ * the DB, and each gets three closed replicas.
+ * <p>
+ * Run with a heap large enough for the largest count, e.g.
+ * {@code -Xmx48g} for 50M containers.
+ */
+public final class ContainerStateMapFootprint {
+
+  private static final int DATANODES = 1000;
+  private static final int PIPELINES = 1000;
+  private static final int REPLICAS = 3;
+
+  private ContainerStateMapFootprint() {
+    // prevent instantiation
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      System.out.println(
+          "Usage: ContainerStateMapFootprint <numContainers>...");
+      System.exit(1);
+    }
+    for (String count : args) {
+      measure(Long.parseLong(count));
+    }
+  }
+
+  /**
+   * Fills a ContainerStateMap and prints the heap it takes.
+   * @return the number of bytes used per container
+   */
+  public static long measure(long containers)
+      throws SCMException, InvalidProtocolBufferException {
+    final List<DatanodeDetails> datanodes = new ArrayList<>(DATANODES);
+    for (int i = 0; i < DATANODES; i++) {
+      datanodes.add(MockDatanodeDetails.randomDatanodeDetails());
+    }
+    final List<PipelineID> pipelines = new ArrayList<>(PIPELINES);
+    for (int i = 0; i < PIPELINES; i++) {
+      pipelines.add(PipelineID.randomId());
+    }
+
+    final long before = usedHeap();
+    final ContainerStateMap map = new ContainerStateMap();
+    for (long id = 1; id <= containers; id++) {
+      final ContainerInfo info = decode(new ContainerInfo.Builder()
+          .setContainerID(id)
+          .setState(LifeCycleState.CLOSED)
+          .setOwner("om1")
+          .setPipelineID(pipelines.get((int) (id % PIPELINES)))
+          .setReplicationConfig(
+              RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+          .build());
+      map.addContainer(info);
+      for (int r = 0; r < REPLICAS; r++) {
+        final DatanodeDetails dn =
+            datanodes.get((int) ((id + r) % DATANODES));
+        map.updateContainerReplica(info.containerID(),
+            ContainerReplica.newBuilder()
+                .setContainerID(info.containerID())
+                .setContainerState(ContainerReplicaProto.State.CLOSED)
+                .setDatanodeDetails(dn)
+                .setOriginNodeId(dn.getUuid())
+                .setSequenceId(1)
+                .setKeyCount(1)
+                .setBytesUsed(1)
+                .build());
+      }
+    }
+    final long used = usedHeap() - before;
+    final long perContainer = used / containers;
+    System.out.printf("containers=%d heapBytes=%d bytesPerContainer=%d%n",
+        containers, used, perContainer);
+    // keep the map reachable until the heap is measured
+    if (!map.contains(ContainerID.valueOf(containers))) {
+      throw new IllegalStateException("Missing container " + containers);
+    }
+    return perContainer;
+  }
+
+  private static ContainerInfo decode(ContainerInfo info)
+      throws InvalidProtocolBufferException {
+    return ContainerInfo.fromProtobuf(ContainerInfoProto.parseFrom(
+        info.getProtobuf().toByteArray()));
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerReplica;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test CompactContainerMap against a HashMap.
+ */
+public class TestCompactContainerMap {
+
+  private static ContainerInfo newContainer(long id) {
+    return new ContainerInfo.Builder()
+        .setContainerID(id)
+        .setState(LifeCycleState.OPEN)
+        .setOwner("test")
+        .setPipelineID(PipelineID.randomId())
+        .setReplicationConfig(
+            RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .build();
+  }
+
+  @Test
+  public void testAddReplaceAndRemove() {
+    CompactContainerMap map = new CompactContainerMap();
+    ContainerInfo info = newContainer(7);
+    assertTrue(map.add(info));
+    assertFalse(map.add(newContainer(7)));
+    assertSame(info, map.getInfo(7));
+    assertEquals(Collections.emptySet(), map.getReplicas(7));
+
+    ContainerInfo updated = newContainer(7);
+    assertSame(info, map.replace(updated));
+    assertSame(updated, map.getInfo(7));
+    assertNull(map.replace(newContainer(8)));
+    assertFalse(map.contains(8));
+
+    Set<ContainerReplica> replicas = new HashSet<>();
+    assertTrue(map.setReplicas(7, replicas));
+    assertSame(replicas, map.getReplicas(7));
+    assertFalse(map.setReplicas(8, replicas));
+
+    assertSame(updated, map.remove(7));
+    assertNull(map.remove(7));
+    assertNull(map.getInfo(7));
+    assertNull(map.getReplicas(7));
+    assertEquals(0, map.size());
+  }
+
+  @Test
+  public void testManyContainers() {
+    CompactContainerMap map = new CompactContainerMap();
+    Map<Long, ContainerInfo> expected = new HashMap<>();
+    Random random = new Random(1);
+    for (int i = 0; i < 20000; i++) {
+      long id = random.nextInt(30000);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(id), map.remove(id));
+      } else {
+        ContainerInfo info = newContainer(id);
+        assertEquals(expected.putIfAbsent(id, info) == null, map.add(info));
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (long id = 0; id < 30000; id++) {
+      assertEquals(expected.get(id), map.getInfo(id));
+    }
+    List<ContainerInfo> all = new ArrayList<>();
+    map.forEachInfo(all::add);
+    assertEquals(new HashSet<>(expected.values()), new HashSet<>(all));
+  }
+}
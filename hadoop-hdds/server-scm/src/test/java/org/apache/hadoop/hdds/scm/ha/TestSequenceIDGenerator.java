@@ -17,6 +17,9 @@
 package org.apache.hadoop.hdds.scm.ha;
 
 import com.google.common.base.Preconditions;
+
+import java.util.List;
+
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.metadata.SCMMetadataStore;
@@ -124,6 +127,26 @@ public void testSequenceIDGenUponRatis() throws Exception {
     Assertions.assertEquals(203, sequenceIdGen.getNextId("otherKey"));
   }
 
+  @Test
+  public void testGetNextIds() throws Exception {
+    OzoneConfiguration conf = SCMTestUtils.getConf();
+    conf.setInt(OZONE_SCM_SEQUENCE_ID_BATCH_SIZE, 100);
+    SCMMetadataStore scmMetadataStore = new SCMMetadataStoreImpl(conf);
+    scmMetadataStore.start(conf);
+    SCMHAManager scmHAManager = SCMHAManagerStub.getInstance(true);
+    SequenceIdGenerator sequenceIdGen = new SequenceIdGenerator(
+        conf, scmHAManager, scmMetadataStore.getSequenceIdTable());
+
+    Assertions.assertEquals(1L, sequenceIdGen.getNextId("someKey"));
+    // the ids span the batches [1, 100] and [101, 200]
+    List<Long> ids = sequenceIdGen.getNextIds("someKey", 150);
+    Assertions.assertEquals(150, ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      Assertions.assertEquals(i + 2L, ids.get(i));
+    }
+    Assertions.assertEquals(152L, sequenceIdGen.getNextId("someKey"));
+  }
+
   @Test
   public void testSequenceIDGenUponRatisWhenCurrentScmIsNotALeader()
       throws Exception {
@@ -26,6 +26,7 @@
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -76,6 +77,7 @@
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
 import org.apache.hadoop.ozone.upgrade.LayoutVersionManager;
 import org.apache.hadoop.ozone.protocol.commands.SetNodeOperationalStateCommand;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
 import org.apache.hadoop.security.authentication.client.AuthenticationException;
 import org.apache.ozone.test.GenericTestUtils;
 import org.apache.hadoop.test.PathUtils;
@@ -111,6 +113,8 @@
 import static org.apache.hadoop.hdds.scm.events.SCMEvents.DATANODE_COMMAND_COUNT_UPDATED;
 import static org.apache.hadoop.hdds.scm.events.SCMEvents.NEW_NODE;
 import static org.apache.hadoop.ozone.container.upgrade.UpgradeUtils.toLayoutVersionProto;
+import static org.apache.hadoop.test.MetricsAsserts.getLongCounter;
+import static org.apache.hadoop.test.MetricsAsserts.getMetrics;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -1545,6 +1549,61 @@ public void testScmStatsFromNodeReport()
     }
   }
 
+  /**
+   * Test that node reports are applied asynchronously when coalescing is
+   * enabled, and that the latest report of a datanode wins.
+   */
+  @Test
+  public void testCoalescedNodeReports() throws Exception {
+    OzoneConfiguration conf = getConf();
+    conf.setBoolean(ScmConfigKeys.OZONE_SCM_NODE_REPORT_COALESCE, true);
+    final long capacity = 2000;
+    final int reports = 20;
+    try (SCMNodeManager nodeManager = createNodeManager(conf)) {
+      DatanodeDetails dn = MockDatanodeDetails.randomDatanodeDetails();
+      UUID dnId = dn.getUuid();
+      String storagePath = testDir.getAbsolutePath() + "/" + dnId;
+      nodeManager.register(dn, HddsTestUtils.createNodeReport(
+          Arrays.asList(HddsTestUtils.createStorageReport(dnId, storagePath,
+              capacity, 0, capacity, null)), emptyList()), null);
+      // the report sent on register is applied synchronously
+      assertEquals(capacity,
+          (long) nodeManager.getStats().getCapacity().get());
+
+      MetricsRecordBuilder before = getMetrics(SCMNodeMetrics.SOURCE_NAME);
+      long processed = getLongCounter("NumNodeReportProcessed", before);
+      long superseded = getLongCounter("NumNodeReportSuperseded", before);
+
+      // hold the executor, so that the reports pile up
+      CountDownLatch release = new CountDownLatch(1);
+      nodeManager.getNodeReportExecutor().execute(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      for (int used = 1; used <= reports; used++) {
+        nodeManager.processNodeReport(dn, HddsTestUtils.createNodeReport(
+            Arrays.asList(HddsTestUtils.createStorageReport(dnId,
+                storagePath, capacity, used, capacity - used, null)),
+            emptyList()));
+      }
+      release.countDown();
+      GenericTestUtils.waitFor(() -> nodeManager.getStats().getScmUsed()
+          .get() == reports, 100, 5000);
+      assertEquals(capacity - reports,
+          (long) nodeManager.getStats().getRemaining().get());
+
+      // only the latest report is applied
+      MetricsRecordBuilder metrics = getMetrics(SCMNodeMetrics.SOURCE_NAME);
+      assertEquals(superseded + reports - 1,
+          getLongCounter("NumNodeReportSuperseded", metrics));
+      assertEquals(processed + 1,
+          getLongCounter("NumNodeReportProcessed", metrics));
+    }
+  }
+
   /**
    * Test multiple nodes sending initial heartbeat with their node report
    * with multiple volumes.
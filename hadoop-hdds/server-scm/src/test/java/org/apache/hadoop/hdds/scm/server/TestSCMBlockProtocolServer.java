@@ -20,12 +20,16 @@
 
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
 import org.apache.hadoop.hdds.protocol.proto.ScmBlockLocationProtocolProtos;
+import org.apache.hadoop.hdds.protocol.proto.ScmBlockLocationProtocolProtos.AllocateScmBlockRequestProto;
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManagerStub;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
 import org.apache.hadoop.hdds.utils.ProtocolMessageMetrics;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocolServerSideTranslatorPB;
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.container.common.SCMTestUtils;
@@ -145,4 +149,33 @@ public void testSortDatanodes() throws Exception {
     resp.getNodeList().stream().forEach(
         node -> System.out.println(node.getNetworkName()));
   }
+
+  @Test
+  public void testAllocateBlockBatchOnlyIfRequested() throws Exception {
+    ScmBlockLocationProtocol impl =
+        Mockito.mock(ScmBlockLocationProtocol.class);
+    ScmBlockLocationProtocolServerSideTranslatorPB translator =
+        new ScmBlockLocationProtocolServerSideTranslatorPB(impl, scm,
+            Mockito.mock(ProtocolMessageMetrics.class));
+    AllocateScmBlockRequestProto request =
+        AllocateScmBlockRequestProto.newBuilder()
+            .setSize(1024)
+            .setNumBlocks(0)
+            .setType(ReplicationType.RATIS)
+            .setFactor(ReplicationFactor.THREE)
+            .setOwner("om")
+            .build();
+
+    translator.allocateScmBlock(request, ClientVersion.CURRENT_VERSION);
+    Mockito.verify(impl).allocateBlock(Mockito.eq(1024L), Mockito.eq(0),
+        Mockito.any(), Mockito.eq("om"), Mockito.any());
+    Mockito.verify(impl, Mockito.never()).allocateBlockBatch(
+        Mockito.anyLong(), Mockito.anyInt(), Mockito.any(), Mockito.any(),
+        Mockito.any());
+
+    translator.allocateScmBlock(request.toBuilder().setBatch(true).build(),
+        ClientVersion.CURRENT_VERSION);
+    Mockito.verify(impl).allocateBlockBatch(Mockito.eq(1024L),
+        Mockito.eq(0), Mockito.any(), Mockito.eq("om"), Mockito.any());
+  }
 }
@@ -31,6 +31,7 @@
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.hdds.scm.storage.BufferPool;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -112,7 +113,8 @@ public BlockOutputStreamEntryPool(
             (int) (config.getStreamBufferMaxSize() / config
                 .getStreamBufferSize()),
             ByteStringConversion
-                .createByteBufferConversion(unsafeByteBufferConversion));
+                .createByteBufferConversion(unsafeByteBufferConversion),
+            BufferArena.getInstance(config));
     this.clientMetrics = clientMetrics;
   }
 
@@ -23,12 +23,12 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -60,11 +60,18 @@
 /**
  * ECKeyOutputStream handles the EC writes by writing the data into underlying
  * block output streams chunk by chunk.
+ * <p>
+ * Full stripes are encoded and written to the datanodes by an executor,
+ * usually shared by all streams of the client.  Stripes of a stream are
+ * encoded one after the other and written in order, but the parity of a
+ * stripe is computed while the previous one is being written.  The number
+ * of stripes in flight is limited per stream and, optionally, per client.
  */
 public final class ECKeyOutputStream extends KeyOutputStream {
   private OzoneClientConfig config;
   private ECChunkBuffers ecChunkBufferCache;
-  private final BlockingQueue<ECChunkBuffers> ecStripeQueue;
+  private final Semaphore streamStripes;
+  private final Semaphore clientStripes;
   private int chunkIndex;
   private int ecChunkSize;
   private final int numDataBlks;
@@ -72,7 +79,10 @@ public final class ECKeyOutputStream extends KeyOutputStream {
   private final ByteBufferPool bufferPool;
   private final RawErasureEncoder encoder;
   private final ExecutorService flushExecutor;
-  private final Future<Boolean> flushFuture;
+  private final boolean ownFlushExecutor;
+  // only modified by the writer thread
+  private CompletableFuture<Void> encodeFuture;
+  private CompletableFuture<Void> flushFuture;
   private final AtomicLong flushCheckpoint;
 
   private enum StripeWriteStatus {
@@ -108,7 +118,7 @@ public List<OmKeyLocationInfo> getLocationInfoList() {
 
   @VisibleForTesting
   public void insertFlushCheckpoint(long version) throws IOException {
-    addStripeToQueue(new CheckpointDummyStripe(version));
+    flushFuture = flushFuture.thenRun(() -> flushCheckpoint.set(version));
   }
 
   @VisibleForTesting
@@ -130,7 +140,9 @@ private ECKeyOutputStream(Builder builder) {
     ecChunkBufferCache = new ECChunkBuffers(
         ecChunkSize, numDataBlks, numParityBlks, bufferPool);
     chunkIndex = 0;
-    ecStripeQueue = new ArrayBlockingQueue<>(config.getEcStripeQueueSize());
+    // a stripe taken from the queue for flushing is still in flight
+    streamStripes = new Semaphore(config.getEcStripeQueueSize() + 1);
+    clientStripes = builder.getInflightStripes();
     OmKeyInfo info = builder.getOpenHandler().getKeyInfo();
     blockOutputStreamEntryPool =
         new ECBlockOutputStreamEntryPool(config,
@@ -145,8 +157,11 @@ private ECKeyOutputStream(Builder builder) {
     this.writeOffset = 0;
     this.encoder = CodecUtil.createRawEncoderWithFallback(
         builder.getReplicationConfig());
-    this.flushExecutor = Executors.newSingleThreadExecutor();
-    this.flushFuture = this.flushExecutor.submit(this::flushStripeFromQueue);
+    this.ownFlushExecutor = builder.getFlushExecutor() == null;
+    this.flushExecutor = ownFlushExecutor
+        ? Executors.newFixedThreadPool(2) : builder.getFlushExecutor();
+    this.encodeFuture = CompletableFuture.completedFuture(null);
+    this.flushFuture = CompletableFuture.completedFuture(null);
     this.flushCheckpoint = new AtomicLong(0);
   }
 
@@ -300,9 +315,9 @@ protected boolean checkIfContainerToExclude(Throwable t) {
         && t instanceof ContainerNotOpenException;
   }
 
-  private void generateParityCells() throws IOException {
-    final ByteBuffer[] dataBuffers = ecChunkBufferCache.getDataBuffers();
-    final ByteBuffer[] parityBuffers = ecChunkBufferCache.getParityBuffers();
+  private void generateParityCells(ECChunkBuffers stripe) throws IOException {
+    final ByteBuffer[] dataBuffers = stripe.getDataBuffers();
+    final ByteBuffer[] parityBuffers = stripe.getParityBuffers();
 
     // parityCellSize = min(ecChunkSize, stripeSize)
     //                = min(cellSize, sum(dataBuffers positions))
@@ -381,7 +396,6 @@ private int handleWrite(byte[] b, int off, int len) throws IOException {
       // if this is last data cell in the stripe,
       // compute parity cells and write data
       if (chunkIndex == numDataBlks) {
-        generateParityCells();
         addStripeToQueue(ecChunkBufferCache);
         ecChunkBufferCache = new ECChunkBuffers(ecChunkSize,
             numDataBlks, numParityBlks, bufferPool);
@@ -493,11 +507,8 @@ public void close() throws IOException {
       if (!closing) {
         // If stripe buffer is not empty, encode and flush the stripe.
         if (ecChunkBufferCache.getFirstDataCell().position() > 0) {
-          generateParityCells();
           addStripeToQueue(ecChunkBufferCache);
         }
-        // Send EOF mark to flush thread.
-        addStripeToQueue(new EOFDummyStripe());
 
         // Wait for all the stripes to be written.
         flushFuture.get();
@@ -519,23 +530,85 @@ public void close() throws IOException {
     } catch (InterruptedException e) {
       throw new IOException("Flushing thread was interrupted", e);
     } finally {
-      flushExecutor.shutdownNow();
+      awaitStripeTasks();
+      if (ownFlushExecutor) {
+        flushExecutor.shutdownNow();
+      }
       closeCurrentStreamEntry();
       blockOutputStreamEntryPool.cleanup();
     }
   }
 
+  /**
+   * Waits for the stripe tasks already running on the executor, which is
+   * usually shared, so that none of them uses the stream entries after they
+   * are cleaned up.  Queued tasks of a closing stream skip their stripe.
+   */
+  private void awaitStripeTasks() {
+    try {
+      CompletableFuture.allOf(encodeFuture, flushFuture).get();
+    } catch (ExecutionException e) {
+      LOG.debug("Stripe write failed before close", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while waiting for stripe writes to finish", e);
+    }
+  }
+
+  /**
+   * Schedules the parity computation of the stripe after that of the
+   * previous stripe, and its write to the datanodes after that of the
+   * previous stripe.  Blocks while too many stripes are in flight.
+   */
   private void addStripeToQueue(ECChunkBuffers stripe) throws IOException {
+    acquire(streamStripes);
+    try {
+      if (clientStripes != null) {
+        acquire(clientStripes);
+      }
+    } catch (IOException | RuntimeException e) {
+      streamStripes.release();
+      throw e;
+    }
+
+    final CompletableFuture<Void> encoded = encodeFuture.thenRunAsync(
+        () -> run(() -> {
+          if (!closing) {
+            generateParityCells(stripe);
+          }
+        }), flushExecutor);
+    encodeFuture = encoded;
+    flushFuture = flushFuture.thenCombineAsync(encoded, (flushed, encode) -> {
+      run(() -> {
+        if (!closing) {
+          flushStripeToDatanodes(stripe);
+        }
+      });
+      return flushed;
+    }, flushExecutor).whenComplete((flushed, e) -> {
+      // a failed stripe may still be referenced by pending chunk writes
+      if (e == null) {
+        stripe.release();
+      }
+      if (clientStripes != null) {
+        clientStripes.release();
+      }
+      streamStripes.release();
+    });
+  }
+
+  /**
+   * Waits for a permit of the semaphore, failing as soon as a previous
+   * stripe could not be written.
+   */
+  private void acquire(Semaphore stripes) throws IOException {
     try {
-      do {
-        // If flushFuture is done, it means that the flush thread has
-        // encountered an exception. Call get() to throw that exception here.
-        if (flushFuture.isDone()) {
+      while (!stripes.tryAcquire(1, TimeUnit.SECONDS)) {
+        // If flushFuture failed, call get() to throw that exception here.
+        if (flushFuture.isCompletedExceptionally()) {
           flushFuture.get();
-          // We should never reach here.
-          throw new IOException("Flush thread has ended before stream close");
         }
-      } while (!ecStripeQueue.offer(stripe, 1, TimeUnit.SECONDS));
+      }
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new IOException("Interrupted while adding stripe to queue", e);
@@ -550,23 +623,17 @@ private void addStripeToQueue(ECChunkBuffers stripe) throws IOException {
     }
   }
 
-  private boolean flushStripeFromQueue() throws IOException {
+  private static void run(StripeTask task) {
     try {
-      ECChunkBuffers stripe = ecStripeQueue.take();
-      while (!closing && !(stripe instanceof EOFDummyStripe)) {
-        if (stripe instanceof CheckpointDummyStripe) {
-          flushCheckpoint.set(((CheckpointDummyStripe) stripe).version);
-        } else {
-          flushStripeToDatanodes(stripe);
-          stripe.release();
-        }
-        stripe = ecStripeQueue.take();
-      }
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new IOException("Interrupted while polling stripe from queue", e);
+      task.run();
+    } catch (IOException e) {
+      throw new CompletionException(e);
     }
-    return true;
+  }
+
+  @FunctionalInterface
+  private interface StripeTask {
+    void run() throws IOException;
   }
 
   private void flushStripeToDatanodes(ECChunkBuffers stripe)
@@ -609,6 +676,8 @@ public ExcludeList getExcludeList() {
   public static class Builder extends KeyOutputStream.Builder {
     private ECReplicationConfig replicationConfig;
     private ByteBufferPool byteBufferPool;
+    private ExecutorService flushExecutor;
+    private Semaphore inflightStripes;
 
     @Override
     public ECReplicationConfig getReplicationConfig() {
@@ -631,6 +700,33 @@ public ECKeyOutputStream.Builder setByteBufferPool(
       return this;
     }
 
+    public ExecutorService getFlushExecutor() {
+      return flushExecutor;
+    }
+
+    /**
+     * Sets the executor encoding and writing the stripes, which may be
+     * shared with other streams.  If not set, the stream creates its own.
+     */
+    public ECKeyOutputStream.Builder setFlushExecutor(
+        ExecutorService executor) {
+      this.flushExecutor = executor;
+      return this;
+    }
+
+    public Semaphore getInflightStripes() {
+      return inflightStripes;
+    }
+
+    /**
+     * Sets the permits for stripes in flight shared with other streams,
+     * one is held by each stripe from it is full until it is written.
+     */
+    public ECKeyOutputStream.Builder setInflightStripes(Semaphore stripes) {
+      this.inflightStripes = stripes;
+      return this;
+    }
+
     @Override
     public ECKeyOutputStream build() {
       return new ECKeyOutputStream(this);
@@ -651,30 +747,12 @@ private void checkNotClosed() throws IOException {
     }
   }
 
-  private static class EOFDummyStripe extends ECChunkBuffers {
-    EOFDummyStripe() {
-    }
-  }
-
-  private static class CheckpointDummyStripe extends ECChunkBuffers {
-    private final long version;
-    CheckpointDummyStripe(long version) {
-      super();
-      this.version = version;
-    }
-  }
-
   private static class ECChunkBuffers {
     private final ByteBuffer[] dataBuffers;
     private final ByteBuffer[] parityBuffers;
     private int cellSize;
     private ByteBufferPool byteBufferPool;
 
-    ECChunkBuffers() {
-      dataBuffers = null;
-      parityBuffers = null;
-    }
-
     ECChunkBuffers(int cellSize, int numData, int numParity,
         ByteBufferPool byteBufferPool) {
       this.cellSize = cellSize;
@@ -27,6 +27,7 @@
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
+import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
 import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
@@ -167,6 +168,32 @@ public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
     return lengthInputStreams;
   }
 
+  @Override
+  protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
+      throws IOException {
+    final int read = super.readWithStrategy(strategy);
+    readAheadNextBlock();
+    return read;
+  }
+
+  /**
+   * Lets the next block start reading ahead if a sequential reader of the
+   * current block wants data read ahead beyond its end.
+   */
+  private void readAheadNextBlock() {
+    final List<BlockExtendedInputStream> streams = getPartStreams();
+    final int index = getCurrentStreamIndex();
+    if (index + 1 < streams.size()
+        && streams.get(index) instanceof BlockInputStream
+        && streams.get(index + 1) instanceof BlockInputStream) {
+      final long bytes =
+          ((BlockInputStream) streams.get(index)).getReadAheadBeyondEnd();
+      if (bytes > 0) {
+        ((BlockInputStream) streams.get(index + 1)).readAheadFromStart(bytes);
+      }
+    }
+  }
+
   @Override
   protected int getNumBytesToRead(ByteReaderStrategy strategy,
                                   PartInputStream current) throws IOException {
@@ -402,6 +402,22 @@ void deleteKeys(String volumeName, String bucketName,
   void renameKey(String volumeName, String bucketName, String fromKeyName,
                  String toKeyName) throws IOException;
 
+  /**
+   * Copies an existing key in Ozone Manager, without reading or writing any
+   * data: the new key shares the blocks of the source key.
+   * Fails with {@code NOT_SUPPORTED_OPERATION} if the keys can't share their
+   * blocks, e.g. when a bucket is not an OBJECT_STORE bucket or the source
+   * key is encrypted.  Callers should copy the data instead.
+   * @param volumeName Name of the Volume
+   * @param srcBucketName Name of the Bucket of the source Key
+   * @param srcKeyName Name of the Key to be copied
+   * @param dstBucketName Name of the Bucket of the new Key
+   * @param dstKeyName Name of the new Key
+   * @throws IOException
+   */
+  void copyKey(String volumeName, String srcBucketName, String srcKeyName,
+      String dstBucketName, String dstKeyName) throws IOException;
+
   /**
    * Renames existing keys within a bucket.
    * @param volumeName Name of the Volume
@@ -39,6 +39,8 @@
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -100,6 +102,7 @@
 import org.apache.hadoop.ozone.client.io.KeyOutputStream;
 import org.apache.hadoop.ozone.client.io.LengthInputStream;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.apache.hadoop.hdds.scm.storage.ReadAhead;
 import org.apache.hadoop.ozone.client.io.OzoneCryptoInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneDataStreamOutput;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
@@ -192,6 +195,8 @@ public class RpcClient implements ClientProtocol {
   // we should have at least 1 core thread for each necessary chunk
   // for reconstruction.
   private static final int EC_RECONSTRUCT_STRIPE_READ_POOL_MIN_SIZE = 3;
+  // Chunks queued for read-ahead per thread, further ones are not read ahead
+  private static final int READ_AHEAD_QUEUE_SIZE_PER_THREAD = 16;
 
   private final ConfigurationSource conf;
   private final OzoneManagerClientProtocol ozoneManagerClient;
@@ -211,6 +216,9 @@ public class RpcClient implements ClientProtocol {
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private volatile ExecutorService ecReconstructExecutor;
+  private volatile ExecutorService readAheadExecutor;
+  private volatile ExecutorService ecStripeWriteExecutor;
+  private final Semaphore ecStripeInflightLimit;
   private final ContainerClientMetrics clientMetrics;
 
   /**
@@ -231,6 +239,9 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
     this.groupRights = aclConfig.getGroupDefaultRights();
 
     this.clientConfig = conf.getObject(OzoneClientConfig.class);
+    final int stripeLimit = clientConfig.getEcStripeInflightLimit();
+    this.ecStripeInflightLimit =
+        stripeLimit > 0 ? new Semaphore(stripeLimit) : null;
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -323,7 +334,9 @@ public void onRemoval(
         }).build();
     this.byteBufferPool = new ElasticByteBufferPool();
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
-        .getInstance(byteBufferPool, this::getECReconstructExecutor);
+        .getInstance(byteBufferPool, this::getECReconstructExecutor,
+            ReadAhead.create(clientConfig, this::getReadAheadExecutor),
+            clientConfig.getSmallBlockReadThreshold());
     this.clientMetrics = ContainerClientMetrics.acquire();
   }
 
@@ -1540,6 +1553,30 @@ public void renameKey(String volumeName, String bucketName,
     ozoneManagerClient.renameKey(keyArgs, toKeyName);
   }
 
+  @Override
+  public void copyKey(String volumeName, String srcBucketName,
+      String srcKeyName, String dstBucketName, String dstKeyName)
+      throws IOException {
+    verifyVolumeName(volumeName);
+    verifyBucketName(srcBucketName);
+    verifyBucketName(dstBucketName);
+    if (checkKeyNameEnabled) {
+      HddsClientUtils.verifyKeyName(dstKeyName);
+    }
+    HddsClientUtils.checkNotNull(srcKeyName, dstKeyName);
+    OmKeyArgs srcArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(srcBucketName)
+        .setKeyName(srcKeyName)
+        .build();
+    OmKeyArgs dstArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(dstBucketName)
+        .setKeyName(dstKeyName)
+        .build();
+    ozoneManagerClient.copyKey(srcArgs, dstArgs);
+  }
+
   @Override
   @Deprecated
   public void renameKeys(String volumeName, String bucketName,
@@ -1686,6 +1723,14 @@ public void close() throws IOException {
       ecReconstructExecutor.shutdownNow();
       ecReconstructExecutor = null;
     }
+    if (readAheadExecutor != null) {
+      readAheadExecutor.shutdownNow();
+      readAheadExecutor = null;
+    }
+    if (ecStripeWriteExecutor != null) {
+      ecStripeWriteExecutor.shutdownNow();
+      ecStripeWriteExecutor = null;
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
@@ -2266,7 +2311,9 @@ private KeyOutputStream.Builder createKeyOutputStream(
         HddsProtos.ReplicationType.EC) {
       builder = new ECKeyOutputStream.Builder()
           .setReplicationConfig((ECReplicationConfig) replicationConfig)
-          .setByteBufferPool(byteBufferPool);
+          .setByteBufferPool(byteBufferPool)
+          .setFlushExecutor(getECStripeWriteExecutor())
+          .setInflightStripes(ecStripeInflightLimit);
     } else {
       builder = new KeyOutputStream.Builder()
         .setReplicationConfig(replicationConfig);
@@ -2410,4 +2457,51 @@ public ExecutorService getECReconstructExecutor() {
     }
     return executor;
   }
+
+  public ExecutorService getReadAheadExecutor() {
+    ExecutorService executor = readAheadExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = readAheadExecutor;
+        if (executor == null) {
+          final int threads = clientConfig.getReadAheadThreads();
+          final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+              threads, threads, 60, TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(
+                  threads * READ_AHEAD_QUEUE_SIZE_PER_THREAD),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("read-ahead-TID-%d")
+                  .setDaemon(true)
+                  .build());
+          pool.allowCoreThreadTimeOut(true);
+          readAheadExecutor = pool;
+          executor = pool;
+        }
+      }
+    }
+    return executor;
+  }
+
+  public ExecutorService getECStripeWriteExecutor() {
+    ExecutorService executor = ecStripeWriteExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = ecStripeWriteExecutor;
+        if (executor == null) {
+          final int threads = clientConfig.getEcStripeWriteThreads();
+          final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+              threads, threads, 60, TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("ec-stripe-writer-TID-%d")
+                  .setDaemon(true)
+                  .build());
+          pool.allowCoreThreadTimeOut(true);
+          ecStripeWriteExecutor = pool;
+          executor = pool;
+        }
+      }
+    }
+    return executor;
+  }
 }
@@ -29,6 +29,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * State represents persisted data of one specific datanode.
@@ -46,10 +47,19 @@ public class MockDatanodeStorage {
 
   private IOException exception = null;
 
+  private volatile CountDownLatch writeLatch = null;
+
   public void setStorageFailed(IOException reason) {
     this.exception = reason;
   }
 
+  /**
+   * Chunk writes wait for the latch before they succeed or fail.
+   */
+  public void setWriteLatch(CountDownLatch latch) {
+    this.writeLatch = latch;
+  }
+
   public void putBlock(DatanodeBlockID blockID, BlockData blockData) {
     blocks.put(blockID, blockData);
     List<DatanodeBlockID> dnBlocks = containerBlocks
@@ -74,6 +84,15 @@ public List<BlockData> listBlock(long containerID) {
   public void writeChunk(
       DatanodeBlockID blockID,
       ChunkInfo chunkInfo, ByteString bytes) throws IOException {
+    final CountDownLatch latch = writeLatch;
+    if (latch != null) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
     if (exception != null) {
       throw exception;
     }
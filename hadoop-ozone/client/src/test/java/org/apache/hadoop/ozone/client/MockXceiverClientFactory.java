@@ -31,6 +31,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * Factory to create the mock datanode clients.
@@ -42,6 +43,17 @@
       new HashMap<>();
   private final Map<IOException, Set<DatanodeDetails>> pendingDNFailures =
       new HashMap<>();
+  private CountDownLatch writeLatch;
+
+  /**
+   * Holds the chunk writes of all datanodes until the latch is released.
+   */
+  public void blockWrites(CountDownLatch latch) {
+    writeLatch = latch;
+    for (MockDatanodeStorage dn : storage.values()) {
+      dn.setWriteLatch(latch);
+    }
+  }
 
   public void setFailedStorages(List<DatanodeDetails> failedStorages) {
     mockStorageFailure(failedStorages,
@@ -88,7 +100,7 @@ public XceiverClientSpi acquireClient(Pipeline pipeline)
     MockXceiverClientSpi mockXceiverClientSpi =
         new MockXceiverClientSpi(pipeline, storage
             .computeIfAbsent(pipeline.getFirstNode(),
-                r -> new MockDatanodeStorage()));
+                r -> newStorage()));
     // Incase if this node already set to mark as failed.
     for (IOException reason : pendingDNFailures.keySet()) {
       mockStorageFailure(reason);
@@ -107,7 +119,7 @@ public XceiverClientSpi acquireClientForReadData(Pipeline pipeline)
       throws IOException {
     return new MockXceiverClientSpi(pipeline, storage
         .computeIfAbsent(pipeline.getFirstNode(),
-            r -> new MockDatanodeStorage()));
+            r -> newStorage()));
   }
 
   @Override
@@ -116,6 +128,12 @@ public void releaseClientForReadData(XceiverClientSpi xceiverClient,
 
   }
 
+  private MockDatanodeStorage newStorage() {
+    MockDatanodeStorage dn = new MockDatanodeStorage();
+    dn.setWriteLatch(writeLatch);
+    return dn;
+  }
+
   /**
    * Returns data nodes details.
    */
@@ -28,6 +28,7 @@
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerNotOpenException;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
@@ -62,6 +63,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -270,6 +273,153 @@ public void test12ChunksInSingleWriteOp() throws IOException {
     testMultipleChunksInSingleWriteOp(12);
   }
 
+  @Test
+  public void testStripesWithClientInflightLimit() throws IOException {
+    client.close();
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setEcStripeInflightLimit(1);
+    conf.setFromObject(clientConfig);
+    createNewClient(conf, transportStub);
+    testMultipleChunksInSingleWriteOp(12);
+  }
+
+  @Test
+  public void testStreamsShareStripeExecutor() throws Exception {
+    createClientWithStripeWriteThreads(1);
+    OzoneBucket bucket = createBucket();
+    int numStripes = 4;
+    byte[][] keyData = {
+        getBytesWith(1, numStripes * inputSize),
+        getBytesWith(2, numStripes * inputSize)};
+    OzoneOutputStream[] outs = new OzoneOutputStream[keyData.length];
+    for (int k = 0; k < keyData.length; k++) {
+      outs[k] = createECKey(bucket, keyName + k, keyData[k].length);
+    }
+
+    // the stripes of both streams are written by the single thread
+    for (int i = 0; i < numStripes * dataBlocks; i++) {
+      for (int k = 0; k < keyData.length; k++) {
+        outs[k].write(keyData[k], i * chunkSize, chunkSize);
+      }
+    }
+    for (OzoneOutputStream out : outs) {
+      out.close();
+    }
+
+    for (int k = 0; k < keyData.length; k++) {
+      assertKeyContent(bucket, keyName + k, keyData[k]);
+    }
+    ThreadPoolExecutor executor = getStripeWriteExecutor();
+    Assert.assertEquals(1, executor.getLargestPoolSize());
+    // one encode and one write task per stripe
+    GenericTestUtils.waitFor(() -> executor.getCompletedTaskCount()
+        == 2L * numStripes * keyData.length, 10, 10000);
+  }
+
+  @Test
+  public void testStripeIsEncodedWhilePreviousIsWritten() throws Exception {
+    createClientWithStripeWriteThreads(2);
+    OzoneBucket bucket = createBucket();
+    byte[] data = getBytesWith(1, 2 * inputSize);
+    ThreadPoolExecutor executor = getStripeWriteExecutor();
+    CountDownLatch writes = new CountDownLatch(1);
+    ((MockXceiverClientFactory) factoryStub).blockWrites(writes);
+    try (OzoneOutputStream out = createECKey(bucket, keyName, data.length)) {
+      out.write(data, 0, inputSize);
+      // encoded, its write is held by the datanodes
+      GenericTestUtils.waitFor(() -> executor.getCompletedTaskCount() == 1
+          && executor.getActiveCount() == 1, 10, 10000);
+
+      out.write(data, inputSize, inputSize);
+      GenericTestUtils.waitFor(() -> executor.getCompletedTaskCount() == 2,
+          10, 10000);
+      // the parity of the second stripe is ready before the first stripe
+      // is written
+      Assert.assertEquals(1, writes.getCount());
+      writes.countDown();
+    } finally {
+      writes.countDown();
+    }
+    assertKeyContent(bucket, keyName, data);
+  }
+
+  @Test
+  public void testStripeOrderIsKeptOnFailure() throws Exception {
+    close();
+    OzoneConfiguration con = createConfiguration();
+    con.setInt(OzoneConfigKeys.OZONE_CLIENT_MAX_EC_STRIPE_WRITE_RETRIES, 3);
+    createNewClient(con, new MultiNodePipelineBlockAllocator(con,
+        dataBlocks + parityBlocks, 15));
+    OzoneBucket bucket = createBucket();
+    int numStripes = 3;
+    byte[] data = new byte[numStripes * inputSize];
+    for (int i = 0; i < numStripes * dataBlocks; i++) {
+      System.arraycopy(getBytesWith(i % 9 + 1, chunkSize), 0,
+          data, i * chunkSize, chunkSize);
+    }
+
+    List<HddsProtos.DatanodeDetailsProto> dns = allocator.getClusterDns();
+    CountDownLatch writes = new CountDownLatch(1);
+    MockXceiverClientFactory xceiverClientFactory =
+        (MockXceiverClientFactory) factoryStub;
+    xceiverClientFactory.blockWrites(writes);
+    try (OzoneOutputStream out = createECKey(bucket, keyName, data.length)) {
+      // all stripes are queued before the first one is written
+      out.write(data);
+
+      xceiverClientFactory.setFailedStorages(Arrays.asList(
+          DatanodeDetails.getFromProtoBuf(dns.get(3)),
+          DatanodeDetails.getFromProtoBuf(dns.get(4))));
+      writes.countDown();
+    } finally {
+      writes.countDown();
+    }
+
+    // the failed first stripe is rewritten to a new block group, before the
+    // stripes queued after it, so the last stripe needs a third group
+    Assert.assertNotNull(xceiverClientFactory.getStorages().get(
+        DatanodeDetails.getFromProtoBuf(
+            dns.get(2 * (dataBlocks + parityBlocks)))));
+    assertKeyContent(bucket, keyName, data);
+  }
+
+  private void createClientWithStripeWriteThreads(int threads)
+      throws IOException {
+    client.close();
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setEcStripeWriteThreads(threads);
+    conf.setFromObject(clientConfig);
+    createNewClient(conf, transportStub);
+  }
+
+  private ThreadPoolExecutor getStripeWriteExecutor() {
+    return (ThreadPoolExecutor) ((RpcClient) client.getProxy())
+        .getECStripeWriteExecutor();
+  }
+
+  private OzoneBucket createBucket() throws IOException {
+    store.createVolume(volumeName);
+    OzoneVolume volume = store.getVolume(volumeName);
+    volume.createBucket(bucketName);
+    return volume.getBucket(bucketName);
+  }
+
+  private OzoneOutputStream createECKey(OzoneBucket bucket, String key,
+      long size) throws IOException {
+    return bucket.createKey(key, size,
+        new ECReplicationConfig(dataBlocks, parityBlocks,
+            ECReplicationConfig.EcCodec.RS, chunkSize), new HashMap<>());
+  }
+
+  private void assertKeyContent(OzoneBucket bucket, String key,
+      byte[] expected) throws IOException {
+    try (OzoneInputStream is = bucket.readKey(key)) {
+      byte[] content = new byte[expected.length];
+      Assert.assertEquals(expected.length, is.read(content));
+      Assert.assertArrayEquals(expected, content);
+    }
+  }
+
   private void testMultipleChunksInSingleWriteOp(int numChunks)
           throws IOException {
     testMultipleChunksInSingleWriteOp(0, numChunks, numChunks);
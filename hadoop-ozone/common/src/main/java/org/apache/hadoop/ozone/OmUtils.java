@@ -280,6 +280,7 @@ public static boolean isReadOnly(
     case CreateKey:
     case RenameKey:
     case RenameKeys:
+    case CopyKey:
     case DeleteKey:
     case DeleteKeys:
     case CommitKey:
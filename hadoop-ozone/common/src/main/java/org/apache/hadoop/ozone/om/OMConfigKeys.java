@@ -429,6 +429,27 @@ private OMConfigKeys() {
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
 
+  /**
+   * Number of bucket partitions applying key requests concurrently in the
+   * OM state machine.  1 applies all requests on a single thread.
+   */
+  public static final String OZONE_OM_RATIS_APPLY_PARTITIONS =
+      "ozone.om.ratis.apply.partitions";
+  public static final int OZONE_OM_RATIS_APPLY_PARTITIONS_DEFAULT = 1;
+
+  /**
+   * Whether the double buffer serializes the next batch while the previous
+   * one is committed to RocksDB, and the target commit time of a batch.
+   */
+  public static final String OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH =
+      "ozone.om.double.buffer.pipelined.flush";
+  public static final boolean OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_DEFAULT =
+      false;
+  public static final String OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY =
+      "ozone.om.double.buffer.flush.target.latency";
+  public static final String
+      OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY_DEFAULT = "20ms";
+
   /**
    * This configuration shall be enabled to utilize the functionality of the
    * fine-grained KEY_PATH_LOCK.
@@ -489,6 +510,20 @@ private OMConfigKeys() {
   public static final TimeDuration OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT
       = TimeDuration.valueOf(360, TimeUnit.MINUTES);
 
+  /**
+   * Minimum number of blocks OM leases from SCM at once, 0 to allocate
+   * blocks for each request.
+   */
+  public static final String OZONE_OM_BLOCK_PREALLOCATION_BATCH_SIZE
+      = "ozone.om.block.preallocation.batch.size";
+  public static final int OZONE_OM_BLOCK_PREALLOCATION_BATCH_SIZE_DEFAULT = 0;
+
+  public static final String OZONE_OM_BLOCK_PREALLOCATION_LEASE_TIMEOUT
+      = "ozone.om.block.preallocation.lease.timeout";
+  public static final TimeDuration
+      OZONE_OM_BLOCK_PREALLOCATION_LEASE_TIMEOUT_DEFAULT
+      = TimeDuration.valueOf(30, TimeUnit.SECONDS);
+
   public static final String OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR
       = "ozone.om.enable.ofs.shared.tmp.dir";
   public static final boolean OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR_DEFAULT
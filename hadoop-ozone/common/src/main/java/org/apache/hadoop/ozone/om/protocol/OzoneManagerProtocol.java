@@ -321,6 +321,19 @@ default void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
   }
 
 
+  /**
+   * Copy an existing key by sharing its blocks with the new key, without
+   * reading or writing any data.
+   * @param srcArgs the args of the source key.
+   * @param dstArgs the args of the destination key.
+   * @throws IOException
+   */
+  default void copyKey(OmKeyArgs srcArgs, OmKeyArgs dstArgs)
+      throws IOException {
+    throw new UnsupportedOperationException("OzoneManager does not require " +
+        "this to be implemented, as write requests use a new approach.");
+  }
+
   /**
    * Rename existing keys within a bucket.
    * @param omRenameKeys Includes volume, bucket, and fromKey toKey name map
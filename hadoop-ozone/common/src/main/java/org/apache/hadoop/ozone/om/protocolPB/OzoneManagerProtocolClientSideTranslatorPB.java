@@ -83,6 +83,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CancelDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CheckVolumeAccessRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateDirectoryRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateFileRequest;
@@ -900,6 +901,31 @@ public void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
     handleError(submitRequest(omRequest));
   }
 
+  @Override
+  public void copyKey(OmKeyArgs srcArgs, OmKeyArgs dstArgs)
+      throws IOException {
+    KeyArgs srcKeyArgs = KeyArgs.newBuilder()
+        .setVolumeName(srcArgs.getVolumeName())
+        .setBucketName(srcArgs.getBucketName())
+        .setKeyName(srcArgs.getKeyName())
+        .build();
+    KeyArgs dstKeyArgs = KeyArgs.newBuilder()
+        .setVolumeName(dstArgs.getVolumeName())
+        .setBucketName(dstArgs.getBucketName())
+        .setKeyName(dstArgs.getKeyName())
+        .build();
+    CopyKeyRequest req = CopyKeyRequest.newBuilder()
+        .setSrcKeyArgs(srcKeyArgs)
+        .setDstKeyArgs(dstKeyArgs)
+        .build();
+
+    OMRequest omRequest = createOMRequest(Type.CopyKey)
+        .setCopyKeyRequest(req)
+        .build();
+
+    handleError(submitRequest(omRequest));
+  }
+
   /**
    * Deletes an existing key.
    *
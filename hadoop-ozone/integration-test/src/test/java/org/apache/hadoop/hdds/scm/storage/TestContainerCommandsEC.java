@@ -86,6 +86,7 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -538,6 +539,19 @@ void testECReconstructionWithPartialStripe()
     testECReconstructionCoordinator(ImmutableList.of(4, 5), 1);
   }
 
+  @ParameterizedTest
+  @MethodSource("recoverableMissingIndexesForConcurrentBlockGroups")
+  void testECReconstructionCoordinatorWithConcurrentBlockGroups(
+      List<Integer> missingIndexes) throws Exception {
+    testECReconstructionCoordinator(missingIndexes, 3, 3, 2);
+  }
+
+  static Stream<List<Integer>>
+      recoverableMissingIndexesForConcurrentBlockGroups() {
+    return Stream.of(ImmutableList.of(1), ImmutableList.of(5),
+        ImmutableList.of(2, 4));
+  }
+
 
   static Stream<List<Integer>> recoverableMissingIndexes() {
     return Stream
@@ -566,6 +580,18 @@ public void testECReconstructionCoordinatorWithMissingIndexes135() {
 
   private void testECReconstructionCoordinator(List<Integer> missingIndexes,
       int numInputChunks) throws Exception {
+    testECReconstructionCoordinator(missingIndexes, numInputChunks, 1, 1);
+  }
+
+  /**
+   * Writes keys of the given size to the same container, and reconstructs
+   * its missing replicas.
+   * @param numKeys number of keys, so block groups, in the container
+   * @param blockGroupThreads number of block groups reconstructed at once
+   */
+  private void testECReconstructionCoordinator(List<Integer> missingIndexes,
+      int numInputChunks, int numKeys, int blockGroupThreads)
+      throws Exception {
     ObjectStore objectStore = rpcClient.getObjectStore();
     String keyString = UUID.randomUUID().toString();
     String volumeName = UUID.randomUUID().toString();
@@ -575,13 +601,17 @@ private void testECReconstructionCoordinator(List<Integer> missingIndexes,
     OzoneVolume volume = objectStore.getVolume(volumeName);
     OzoneBucket bucket = volume.getBucket(bucketName);
     createKeyAndWriteData(keyString, bucket, numInputChunks);
+    for (int k = 1; k < numKeys; k++) {
+      createKeyAndWriteData(keyString + k, bucket, numInputChunks);
+    }
 
     try (
         XceiverClientManager xceiverClientManager =
             new XceiverClientManager(config);
         ECReconstructionCoordinator coordinator =
-            new ECReconstructionCoordinator(config, certClient, secretKeyClient,
-                 null, ECReconstructionMetrics.create())) {
+            new ECReconstructionCoordinator(
+                withBlockGroupThreads(blockGroupThreads), certClient,
+                secretKeyClient, null, ECReconstructionMetrics.create())) {
 
       ECReconstructionMetrics metrics =
           coordinator.getECReconstructionMetrics();
@@ -702,6 +732,7 @@ private void testECReconstructionCoordinator(List<Integer> missingIndexes,
           i++;
         }
         Assertions.assertEquals(metrics.getReconstructionTotal(), 1L);
+        Assertions.assertEquals(0L, metrics.getReconstructionBytesInFlight());
       }
     }
   }
@@ -721,9 +752,10 @@ private void createKeyAndWriteData(String keyString, OzoneBucket bucket,
     }
   }
 
-  @Test
-  public void testECReconstructionCoordinatorShouldCleanupContainersOnFailure()
-      throws Exception {
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2})
+  public void testECReconstructionCoordinatorShouldCleanupContainersOnFailure(
+      int blockGroupThreads) throws Exception {
     List<Integer> missingIndexes = ImmutableList.of(1, 3);
     ObjectStore objectStore = rpcClient.getObjectStore();
     String keyString = UUID.randomUUID().toString();
@@ -734,6 +766,10 @@ public void testECReconstructionCoordinatorShouldCleanupContainersOnFailure()
     OzoneVolume volume = objectStore.getVolume(volumeName);
     OzoneBucket bucket = volume.getBucket(bucketName);
     createKeyAndWriteData(keyString, bucket, 3);
+    // block groups in progress on other threads fail as well
+    for (int k = 1; k < 2 * blockGroupThreads; k++) {
+      createKeyAndWriteData(keyString + k, bucket, 3);
+    }
 
     OzoneKeyDetails key = bucket.getKey(keyString);
     long conID = key.getOzoneKeyLocations().get(0).getContainerID();
@@ -774,15 +810,19 @@ public void testECReconstructionCoordinatorShouldCleanupContainersOnFailure()
         MockDatanodeDetails.randomDatanodeDetails();
     targetNodeMap.put(3, invalidTargetNode);
 
+    ECReconstructionMetrics metrics = ECReconstructionMetrics.create();
     Assert.assertThrows(IOException.class, () -> {
       try (ECReconstructionCoordinator coordinator =
-          new ECReconstructionCoordinator(config, certClient,  secretKeyClient,
-              null, ECReconstructionMetrics.create())) {
+          new ECReconstructionCoordinator(
+              withBlockGroupThreads(blockGroupThreads), certClient,
+              secretKeyClient, null, metrics)) {
         coordinator.reconstructECContainerGroup(conID,
             (ECReplicationConfig) containerPipeline.getReplicationConfig(),
             sourceNodeMap, targetNodeMap);
       }
     });
+    Assertions.assertEquals(1L, metrics.getReconstructionFailsTotal());
+    Assertions.assertEquals(0L, metrics.getReconstructionBytesInFlight());
     final DatanodeDetails targetDNToCheckContainerCLeaned = goodTargetNode;
     StorageContainerException ex =
         Assert.assertThrows(StorageContainerException.class, () -> {
@@ -792,7 +832,16 @@ public void testECReconstructionCoordinatorShouldCleanupContainersOnFailure()
                 new ECReplicationConfig(3, 2), cToken);
           }
         });
-    Assert.assertEquals("ContainerID 1 does not exist", ex.getMessage());
+    Assert.assertEquals("ContainerID " + conID + " does not exist",
+        ex.getMessage());
+  }
+
+  private static OzoneConfiguration withBlockGroupThreads(int threads) {
+    OzoneConfiguration conf = new OzoneConfiguration(config);
+    DatanodeConfiguration dnConf = conf.getObject(DatanodeConfiguration.class);
+    dnConf.setEcReconstructionBlockGroupThreads(threads);
+    conf.setFromObject(dnConf);
+    return conf;
   }
 
   private void closeContainer(long conID)
@@ -110,6 +110,8 @@ public static void init() throws Exception {
             conf.getObject(DatanodeConfiguration.class);
     datanodeConfiguration.setRecoveringContainerScrubInterval(
             Duration.of(10, ChronoUnit.SECONDS));
+    // reconstruct the block groups of a container concurrently
+    datanodeConfiguration.setEcReconstructionBlockGroupThreads(2);
     conf.setFromObject(datanodeConfiguration);
     ReplicationManager.ReplicationManagerConfiguration rmConfig = conf
             .getObject(
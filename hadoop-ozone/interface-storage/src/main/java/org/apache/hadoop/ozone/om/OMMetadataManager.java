@@ -378,6 +378,24 @@ String getMultipartKey(String volume, String bucket, String key, String
 
   Table<String, String> getSnapshotRenamedTable();
 
+  /**
+   * Gets the table of blocks shared by more than one key, because the keys
+   * were copied without copying their data.  Absent blocks belong to a
+   * single key.
+   *
+   * @return Table.
+   */
+  Table<String, Long> getSharedBlockTable();
+
+  /**
+   * Returns the DB key of a block in the shared block table.
+   *
+   * @param containerID - ID of the container of the block
+   * @param localID - local ID of the block
+   * @return DB key as String.
+   */
+  String getSharedBlockKey(long containerID, long localID);
+
   /**
    * Gets the OM Meta table.
    * @return meta table reference.
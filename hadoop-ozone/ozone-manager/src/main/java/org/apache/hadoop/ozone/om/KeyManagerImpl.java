@@ -1215,16 +1215,18 @@ private OmKeyInfo createFakeDirIfShould(String volume, String bucket,
 
     Table<String, OmKeyInfo> keyTable = metadataManager.getKeyTable(layout);
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> cacheIterator =
-        keyTable.cacheIterator();
+        keyTable.cacheIterator(targetKey);
     while (cacheIterator.hasNext()) {
       Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>> cacheEntry =
           cacheIterator.next();
       String cacheKey = cacheEntry.getKey().getCacheKey();
+      if (!cacheKey.startsWith(targetKey)) {
+        // Keys are iterated in order, no more keys under targetKey.
+        break;
+      }
       CacheValue<OmKeyInfo> cacheValue = cacheEntry.getValue();
       boolean exists = cacheValue != null && cacheValue.getCacheValue() != null;
-      if (exists
-          && cacheKey.startsWith(targetKey)
-          && !Objects.equals(cacheKey, targetKey)) {
+      if (exists && !Objects.equals(cacheKey, targetKey)) {
         LOG.debug("Fake dir {} required for {}", targetKey, cacheKey);
         return createDirectoryKey(cacheValue.getCacheValue(), dirKey);
       }
@@ -1408,14 +1410,17 @@ private void listStatusFindKeyInTableCache(
       Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>> entry =
           cacheIter.next();
       String cacheKey = entry.getKey().getCacheKey();
+      if (!cacheKey.startsWith(startCacheKey)) {
+        // The iterator starts at startCacheKey and returns the keys in
+        // order, so no more keys match.
+        break;
+      }
       if (cacheKey.equals(keyArgs)) {
         continue;
       }
       OmKeyInfo cacheOmKeyInfo = entry.getValue().getCacheValue();
       // cacheOmKeyInfo is null if an entry is deleted in cache
-      if (cacheOmKeyInfo != null
-          && cacheKey.startsWith(startCacheKey)
-          && cacheKey.compareTo(startCacheKey) >= 0) {
+      if (cacheOmKeyInfo != null) {
         if (!recursive) {
           String remainingKey = StringUtils.stripEnd(cacheKey.substring(
               startCacheKey.length()), OZONE_URI_DELIMITER);
@@ -1571,11 +1576,11 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       TreeMap<String, OzoneFileStatus> cacheKeyMap, String keyArgs,
       Table<String, OmKeyInfo> keyTable) throws IOException {
     TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>> iterator;
-    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
-        cacheIter = keyTable.cacheIterator();
     String startCacheKey = OZONE_URI_DELIMITER + volumeName +
         OZONE_URI_DELIMITER + bucketName + OZONE_URI_DELIMITER +
         ((startKey.equals(OZONE_URI_DELIMITER)) ? "" : startKey);
+    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
+        cacheIter = keyTable.cacheIterator(startCacheKey);
 
     // First, find key in TableCache
     listStatusFindKeyInTableCache(cacheIter, keyArgs, startCacheKey,
@@ -1839,7 +1844,7 @@ public List<OmKeyInfo> getPendingDeletionSubDirs(long volumeId, long bucketId,
     Table dirTable = metadataManager.getDirectoryTable();
     try (TableIterator<String,
         ? extends Table.KeyValue<String, OmDirectoryInfo>>
-        iterator = dirTable.iterator()) {
+        iterator = dirTable.iterator(seekDirInDB)) {
       return gatherSubDirsWithIterator(parentInfo, numEntries,
           seekDirInDB, countEntries, iterator);
     }
@@ -1885,7 +1890,7 @@ public List<OmKeyInfo> getPendingDeletionSubFiles(long volumeId,
 
     Table fileTable = metadataManager.getFileTable();
     try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-        iterator = fileTable.iterator()) {
+        iterator = fileTable.iterator(seekFileInDB)) {
 
       iterator.seek(seekFileInDB);
 
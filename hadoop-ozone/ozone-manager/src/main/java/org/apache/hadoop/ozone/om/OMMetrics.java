@@ -57,6 +57,7 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numKeyAllocate;
   private @Metric MutableCounterLong numKeyLookup;
   private @Metric MutableCounterLong numKeyRenames;
+  private @Metric MutableCounterLong numKeyCopies;
   private @Metric MutableCounterLong numKeyDeletes;
   private @Metric MutableCounterLong numBucketLists;
   private @Metric MutableCounterLong numKeyLists;
@@ -65,6 +66,9 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numKeyCommits;
   private @Metric MutableCounterLong numKeyHSyncs;
   private @Metric MutableCounterLong numBlockAllocations;
+  private @Metric MutableCounterLong numBlocksPreAllocated;
+  private @Metric MutableCounterLong numPreAllocatedBlocksServed;
+  private @Metric MutableCounterLong numPreAllocatedBlocksExpired;
   private @Metric MutableCounterLong numGetServiceLists;
   private @Metric MutableCounterLong numBucketS3Lists;
   private @Metric MutableCounterLong numInitiateMultipartUploads;
@@ -105,6 +109,7 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numKeyAllocateFails;
   private @Metric MutableCounterLong numKeyLookupFails;
   private @Metric MutableCounterLong numKeyRenameFails;
+  private @Metric MutableCounterLong numKeyCopyFails;
   private @Metric MutableCounterLong numKeyDeleteFails;
   private @Metric MutableCounterLong numBucketListFails;
   private @Metric MutableCounterLong numKeyListFails;
@@ -740,6 +745,15 @@ public void incNumKeyRenameFails() {
     numKeyRenameFails.incr();
   }
 
+  public void incNumKeyCopies() {
+    numKeyOps.incr();
+    numKeyCopies.incr();
+  }
+
+  public void incNumKeyCopyFails() {
+    numKeyCopyFails.incr();
+  }
+
   public void incNumKeyDeleteFails() {
     numKeyDeleteFails.incr();
   }
@@ -771,6 +785,18 @@ public void incNumBlockAllocateCallFails() {
     numBlockAllocationFails.incr();
   }
 
+  public void incNumBlocksPreAllocated(long count) {
+    numBlocksPreAllocated.incr(count);
+  }
+
+  public void incNumPreAllocatedBlocksServed(long count) {
+    numPreAllocatedBlocksServed.incr(count);
+  }
+
+  public void incNumPreAllocatedBlocksExpired() {
+    numPreAllocatedBlocksExpired.incr();
+  }
+
   public void incNumBucketListFails() {
     numBucketListFails.incr();
   }
@@ -1003,6 +1029,16 @@ public long getNumKeyRenameFails() {
     return numKeyRenameFails.value();
   }
 
+  @VisibleForTesting
+  public long getNumKeyCopies() {
+    return numKeyCopies.value();
+  }
+
+  @VisibleForTesting
+  public long getNumKeyCopyFails() {
+    return numKeyCopyFails.value();
+  }
+
   @VisibleForTesting
   public long getNumKeyDeletes() {
     return numKeyDeletes.value();
@@ -1073,6 +1109,21 @@ public long getNumBlockAllocateFails() {
     return numBlockAllocationFails.value();
   }
 
+  @VisibleForTesting
+  public long getNumBlocksPreAllocated() {
+    return numBlocksPreAllocated.value();
+  }
+
+  @VisibleForTesting
+  public long getNumPreAllocatedBlocksServed() {
+    return numPreAllocatedBlocksServed.value();
+  }
+
+  @VisibleForTesting
+  public long getNumPreAllocatedBlocksExpired() {
+    return numPreAllocatedBlocksExpired.value();
+  }
+
   @VisibleForTesting
   public long getNumGetServiceListFails() {
     return numGetServiceListFails.value();
@@ -57,6 +57,7 @@
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
 import org.apache.hadoop.ozone.om.codec.TokenIdentifierCodec;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
@@ -196,6 +197,13 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
    * |                       |  2. /volumeId/bucketId/parentId/fileName        |
    * |                       |  3. /volumeName/bucketName/keyName              |
    * |-------------------------------------------------------------------------|
+   *
+   * Copy Tables:
+   * |----------------------------------------------------------------------|
+   * |  Column Family     |        VALUE                                    |
+   * |----------------------------------------------------------------------|
+   * | sharedBlockTable   | containerID/localID -> number of keys           |
+   * |----------------------------------------------------------------------|
    */
 
   public static final String USER_TABLE = "userTable";
@@ -224,6 +232,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   public static final String SNAPSHOT_INFO_TABLE = "snapshotInfoTable";
   public static final String SNAPSHOT_RENAMED_TABLE =
       "snapshotRenamedTable";
+  public static final String SHARED_BLOCK_TABLE = "sharedBlockTable";
 
   static final String[] ALL_TABLES = new String[] {
       USER_TABLE,
@@ -246,7 +255,8 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
       PRINCIPAL_TO_ACCESS_IDS_TABLE,
       TENANT_STATE_TABLE,
       SNAPSHOT_INFO_TABLE,
-      SNAPSHOT_RENAMED_TABLE
+      SNAPSHOT_RENAMED_TABLE,
+      SHARED_BLOCK_TABLE
   };
 
   private DBStore store;
@@ -277,6 +287,8 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private Table snapshotInfoTable;
   private Table snapshotRenamedTable;
 
+  private Table<String, Long> sharedBlockTable;
+
   private boolean isRatisEnabled;
   private boolean ignorePipelineinKey;
   private Table deletedDirTable;
@@ -603,8 +615,8 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
         .addTable(DELEGATION_TOKEN_TABLE)
         .addTable(S3_SECRET_TABLE)
         .addTable(PREFIX_TABLE)
-        .addTable(DIRECTORY_TABLE)
-        .addTable(FILE_TABLE)
+        .addTable(OMDBDefinition.DIRECTORY_TABLE)
+        .addTable(OMDBDefinition.FILE_TABLE)
         .addTable(OPEN_FILE_TABLE)
         .addTable(DELETED_DIR_TABLE)
         .addTable(TRANSACTION_INFO_TABLE)
@@ -614,6 +626,7 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
         .addTable(TENANT_STATE_TABLE)
         .addTable(SNAPSHOT_INFO_TABLE)
         .addTable(SNAPSHOT_RENAMED_TABLE)
+        .addTable(SHARED_BLOCK_TABLE)
         .addCodec(OzoneTokenIdentifier.class, TokenIdentifierCodec.get())
         .addCodec(OmKeyInfo.class, OmKeyInfo.getCodec(true))
         .addCodec(RepeatedOmKeyInfo.class, RepeatedOmKeyInfo.getCodec(true))
@@ -741,6 +754,11 @@ protected void initializeOmTables(boolean addCacheMetrics)
     checkTableStatus(snapshotRenamedTable, SNAPSHOT_RENAMED_TABLE,
         addCacheMetrics);
     // TODO: [SNAPSHOT] Initialize table lock for snapshotRenamedTable.
+
+    // containerID/localID -> number of keys sharing the block
+    sharedBlockTable = this.store.getTable(SHARED_BLOCK_TABLE,
+        String.class, Long.class);
+    checkTableStatus(sharedBlockTable, SHARED_BLOCK_TABLE, addCacheMetrics);
   }
 
   /**
@@ -1199,29 +1217,29 @@ public List<OmKeyInfo> listKeys(String volumeName, String bucketName,
 
 
     TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    // The cache iterates the keys in sorted order from the first key that is
+    // both in the prefix and not before seekKey, so only the entries up to
+    // the end of the prefix, or up to the page size, are visited. As in the
+    // DB iteration below, maxKeys + 1 entries are enough even if the start
+    // key is skipped.
+    String cacheSeekKey =
+        seekKey.compareTo(seekPrefix) >= 0 ? seekKey : seekPrefix;
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
-        keyTable.cacheIterator();
-
-    //TODO: We can avoid this iteration if table cache has stored entries in
-    // treemap. Currently HashMap is used in Cache. HashMap get operation is an
-    // constant time operation, where as for treeMap get is log(n).
-    // So if we move to treemap, the get operation will be affected. As get
-    // is frequent operation on table. So, for now in list we iterate cache map
-    // and construct treeMap which match with keyPrefix and are greater than or
-    // equal to startKey. Later we can revisit this, if list operation
-    // is becoming slow.
-    while (iterator.hasNext()) {
+        keyTable.cacheIterator(cacheSeekKey);
+    int cacheCount = 0;
+    while (cacheCount < maxKeys + 1 && iterator.hasNext()) {
       Map.Entry< CacheKey<String>, CacheValue<OmKeyInfo>> entry =
           iterator.next();
 
       String key = entry.getKey().getCacheKey();
+      if (!key.startsWith(seekPrefix)) {
+        break;
+      }
       OmKeyInfo omKeyInfo = entry.getValue().getCacheValue();
       // Making sure that entry in cache is not for delete key request.
-
-      if (omKeyInfo != null
-          && key.startsWith(seekPrefix)
-          && key.compareTo(seekKey) >= 0) {
+      if (omKeyInfo != null) {
         cacheKeyMap.put(key, omKeyInfo);
+        cacheCount++;
       }
     }
 
@@ -1899,6 +1917,16 @@ public Table<String, String> getSnapshotRenamedTable() {
     return snapshotRenamedTable;
   }
 
+  @Override
+  public Table<String, Long> getSharedBlockTable() {
+    return sharedBlockTable;
+  }
+
+  @Override
+  public String getSharedBlockKey(long containerID, long localID) {
+    return containerID + OM_KEY_PREFIX + localID;
+  }
+
   /**
    * Get Snapshot Chain Manager.
    *
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.util.Time;
+
+/**
+ * Leases blocks from SCM in batches, and hands them out to key requests
+ * one request at a time.
+ * <p>
+ * Each pool holds the blocks of a replication config, block size and owner.
+ * When a pool cannot serve a request, at least {@code batchSize} blocks are
+ * allocated with a single call to SCM.  Leased blocks are dropped when they
+ * are older than the lease timeout, or when a client reports their
+ * container, pipeline or datanodes as failed.  Dropped blocks were never
+ * written, so SCM has nothing to clean up for them.
+ */
+public class ScmBlockPreAllocator {
+
+  private final ScmBlockLocationProtocol blockClient;
+  private final int batchSize;
+  private final long leaseTimeout;
+  private final Map<PoolKey, Deque<Lease>> pools = new ConcurrentHashMap<>();
+
+  /**
+   * @param batchSize minimum number of blocks leased from SCM at once
+   * @param leaseTimeout time in milliseconds a leased block may be handed out
+   */
+  ScmBlockPreAllocator(ScmBlockLocationProtocol blockClient, int batchSize,
+      long leaseTimeout) {
+    this.blockClient = blockClient;
+    this.batchSize = batchSize;
+    this.leaseTimeout = leaseTimeout;
+  }
+
+  /**
+   * Allocates blocks, from the leased ones if possible.
+   * Same as {@link ScmBlockLocationProtocol#allocateBlock}, except that
+   * blocks are always requested from SCM when the exclude list is not empty.
+   */
+  public List<AllocatedBlock> allocateBlock(long size, int num,
+      ReplicationConfig replicationConfig, String owner,
+      ExcludeList excludeList, OMMetrics omMetrics) throws IOException {
+    if (!excludeList.isEmpty()) {
+      invalidate(excludeList);
+      return blockClient.allocateBlock(size, num, replicationConfig, owner,
+          excludeList);
+    }
+
+    final Deque<Lease> pool = pools.computeIfAbsent(
+        new PoolKey(size, replicationConfig, owner), k -> new ArrayDeque<>());
+    final List<AllocatedBlock> blocks = new ArrayList<>(num);
+    synchronized (pool) {
+      final long now = Time.monotonicNow();
+      while (!pool.isEmpty() && pool.peekFirst().expiry < now) {
+        pool.removeFirst();
+        omMetrics.incNumPreAllocatedBlocksExpired();
+      }
+      if (pool.size() >= num) {
+        while (blocks.size() < num) {
+          blocks.add(pool.removeFirst().block);
+        }
+      }
+    }
+
+    if (blocks.isEmpty()) {
+      // Other requests are served from the pool while SCM is called.
+      final List<AllocatedBlock> leased = blockClient.allocateBlockBatch(size,
+          Math.max(batchSize, num), replicationConfig, owner, excludeList);
+      omMetrics.incNumBlocksPreAllocated(leased.size());
+      final int served = Math.min(num, leased.size());
+      blocks.addAll(leased.subList(0, served));
+      final long expiry = Time.monotonicNow() + leaseTimeout;
+      synchronized (pool) {
+        for (AllocatedBlock block : leased.subList(served, leased.size())) {
+          pool.addLast(new Lease(block, expiry));
+        }
+      }
+    }
+    omMetrics.incNumPreAllocatedBlocksServed(blocks.size());
+    return blocks;
+  }
+
+  /**
+   * Drops the leased blocks in the excluded containers, pipelines or
+   * datanodes.
+   */
+  private void invalidate(ExcludeList excludeList) {
+    for (Deque<Lease> pool : pools.values()) {
+      synchronized (pool) {
+        for (Iterator<Lease> i = pool.iterator(); i.hasNext();) {
+          if (isExcluded(i.next().block, excludeList)) {
+            i.remove();
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean isExcluded(AllocatedBlock block,
+      ExcludeList excludeList) {
+    final Pipeline pipeline = block.getPipeline();
+    if (excludeList.getContainerIds().contains(
+        ContainerID.valueOf(block.getBlockID().getContainerID()))
+        || excludeList.getPipelineIds().contains(pipeline.getId())) {
+      return true;
+    }
+    for (DatanodeDetails dn : pipeline.getNodes()) {
+      if (excludeList.getDatanodes().contains(dn)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A block leased from SCM.
+   */
+  private static final class Lease {
+    private final AllocatedBlock block;
+    private final long expiry;
+
+    private Lease(AllocatedBlock block, long expiry) {
+      this.block = block;
+      this.expiry = expiry;
+    }
+  }
+
+  /**
+   * Identifies the pool of interchangeable blocks.
+   */
+  private static final class PoolKey {
+    private final long size;
+    private final ReplicationConfig replicationConfig;
+    private final String owner;
+
+    private PoolKey(long size, ReplicationConfig replicationConfig,
+        String owner) {
+      this.size = size;
+      this.replicationConfig = replicationConfig;
+      this.owner = owner;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final PoolKey that = (PoolKey) o;
+      return size == that.size
+          && replicationConfig.equals(that.replicationConfig)
+          && Objects.equals(owner, that.owner);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(size, replicationConfig, owner);
+    }
+  }
+}
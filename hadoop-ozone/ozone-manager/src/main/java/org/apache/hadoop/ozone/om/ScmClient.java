@@ -36,6 +36,10 @@
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREALLOCATION_BATCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREALLOCATION_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREALLOCATION_LEASE_TIMEOUT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREALLOCATION_LEASE_TIMEOUT_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_TTL;
@@ -50,6 +54,7 @@ public class ScmClient {
   private final StorageContainerLocationProtocol containerClient;
   private final LoadingCache<Long, Pipeline> containerLocationCache;
   private final CacheMetrics containerCacheMetrics;
+  private final ScmBlockPreAllocator blockPreAllocator;
 
   ScmClient(ScmBlockLocationProtocol blockClient,
             StorageContainerLocationProtocol containerClient,
@@ -60,6 +65,24 @@ public class ScmClient {
         createContainerLocationCache(configuration, containerClient);
     this.containerCacheMetrics = CacheMetrics.create(containerLocationCache,
         "ContainerInfo");
+    this.blockPreAllocator =
+        createBlockPreAllocator(configuration, blockClient);
+  }
+
+  static ScmBlockPreAllocator createBlockPreAllocator(
+      OzoneConfiguration configuration, ScmBlockLocationProtocol blockClient) {
+    int batchSize = configuration.getInt(
+        OZONE_OM_BLOCK_PREALLOCATION_BATCH_SIZE,
+        OZONE_OM_BLOCK_PREALLOCATION_BATCH_SIZE_DEFAULT);
+    if (batchSize <= 0) {
+      return null;
+    }
+    long leaseTimeout = configuration.getTimeDuration(
+        OZONE_OM_BLOCK_PREALLOCATION_LEASE_TIMEOUT,
+        OZONE_OM_BLOCK_PREALLOCATION_LEASE_TIMEOUT_DEFAULT.toLong(
+            TimeUnit.MILLISECONDS),
+        TimeUnit.MILLISECONDS);
+    return new ScmBlockPreAllocator(blockClient, batchSize, leaseTimeout);
   }
 
   static LoadingCache<Long, Pipeline> createContainerLocationCache(
@@ -100,6 +123,14 @@ public ScmBlockLocationProtocol getBlockClient() {
     return this.blockClient;
   }
 
+  /**
+   * @return the allocator handing out blocks leased from SCM,
+   *         null if blocks are allocated by SCM for each request
+   */
+  public ScmBlockPreAllocator getBlockPreAllocator() {
+    return blockPreAllocator;
+  }
+
   public StorageContainerLocationProtocol getContainerClient() {
     return this.containerClient;
   }
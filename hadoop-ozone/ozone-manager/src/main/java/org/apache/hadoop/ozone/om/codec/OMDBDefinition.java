@@ -38,6 +38,7 @@
 import org.apache.hadoop.ozone.om.helpers.S3SecretValue;
 import org.apache.hadoop.ozone.om.helpers.SnapshotInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.request.key.OMKeyCopyRequest;
 
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.ozone.om.service.SnapshotDeletingService;
@@ -51,6 +52,16 @@
  */
 public class OMDBDefinition extends DBDefinition.WithMap {
 
+  /**
+   * Length of "/volumeId/bucketId/parentId/", the prefix shared by the FSO
+   * keys of a directory, when the OM runs with Ratis.  The epoch sets the
+   * sign bit of every object ID then, so the IDs are 20 characters long.
+   * Without Ratis, the IDs have 19 digits, the directory prefixes are
+   * shorter than the extracted prefix and the tables are iterated in
+   * total order.
+   */
+  public static final int FSO_KEY_PREFIX_LENGTH = 4 + 3 * 20;
+
   public static final DBColumnFamilyDefinition<String, RepeatedOmKeyInfo>
             DELETED_TABLE =
             new DBColumnFamilyDefinition<>(
@@ -157,7 +168,8 @@ public class OMDBDefinition extends DBDefinition.WithMap {
                     String.class,
                     StringCodec.get(),
                     OmDirectoryInfo.class,
-                    OmDirectoryInfo.getCodec());
+                    OmDirectoryInfo.getCodec())
+                    .setCappedPrefix(FSO_KEY_PREFIX_LENGTH);
 
   public static final DBColumnFamilyDefinition<String, OmKeyInfo>
             FILE_TABLE =
@@ -166,7 +178,8 @@ public class OMDBDefinition extends DBDefinition.WithMap {
                     String.class,
                     StringCodec.get(),
                     OmKeyInfo.class,
-                    OmKeyInfo.getCodec(true));
+                    OmKeyInfo.getCodec(true))
+                    .setCappedPrefix(FSO_KEY_PREFIX_LENGTH);
 
   public static final DBColumnFamilyDefinition<String, OmKeyInfo>
             OPEN_FILE_TABLE =
@@ -250,6 +263,20 @@ public class OMDBDefinition extends DBDefinition.WithMap {
           String.class, // path to key in prev snapshot's key(file)/dir Table.
           StringCodec.get());
 
+  /**
+   * SharedBlockTable counts the keys which share a block after a copy
+   * without data movement, see {@link OMKeyCopyRequest}.  Blocks of a
+   * single key are not in the table.
+   */
+  public static final DBColumnFamilyDefinition<String, Long>
+      SHARED_BLOCK_TABLE =
+      new DBColumnFamilyDefinition<>(
+          OmMetadataManagerImpl.SHARED_BLOCK_TABLE,
+          String.class,  // containerID/localID
+          StringCodec.get(),
+          Long.class, // number of keys sharing the block
+          LongCodec.get());
+
   private static final Map<String, DBColumnFamilyDefinition<?, ?>>
       COLUMN_FAMILIES = DBColumnFamilyDefinition.newUnmodifiableMap(
           BUCKET_TABLE,
@@ -266,6 +293,7 @@ public class OMDBDefinition extends DBDefinition.WithMap {
           PREFIX_TABLE,
           PRINCIPAL_TO_ACCESS_IDS_TABLE,
           S3_SECRET_TABLE,
+          SHARED_BLOCK_TABLE,
           SNAPSHOT_INFO_TABLE,
           SNAPSHOT_RENAMED_TABLE,
           TENANT_ACCESS_ID_TABLE,
@@ -0,0 +1,320 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.ratis.metrics.OzoneManagerApplyMetrics;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysArgs;
+import org.apache.hadoop.util.Time;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the transactions of different buckets concurrently.
+ * <p>
+ * Key requests are assigned to a partition by their bucket, and each
+ * partition applies its requests in log order on its own thread.  So the
+ * requests of a bucket are applied in the same order on all OMs, while the
+ * requests of different buckets, which touch different entries, may
+ * interleave.
+ * <p>
+ * All other requests, like volume, bucket, snapshot, or upgrade requests,
+ * are barriers: they are applied alone, after all earlier requests and before
+ * all later ones.  So are key requests on links or on buckets not created
+ * yet, since those are resolved only while applying them, and requests
+ * submitted while a barrier is pending, since the buckets it changes are not
+ * known.
+ * <p>
+ * The responses are added to the double buffer in log order, so a flush
+ * never persists the index of a transaction before all earlier transactions
+ * are applied.
+ * <p>
+ * {@link #submit(OMRequest, long)} must be called in log order by a single
+ * thread, as done by the state machine.
+ */
+public final class OzoneManagerApplyExecutor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OzoneManagerApplyExecutor.class);
+
+  /**
+   * Applies a transaction, adding its responses to the given helper.
+   */
+  @FunctionalInterface
+  interface Applier {
+    OMResponse apply(OMRequest request, long transactionIndex,
+        OzoneManagerDoubleBufferHelper doubleBuffer);
+  }
+
+  private final Supplier<OMMetadataManager> metadataManager;
+  private final Applier applier;
+  private final OzoneManagerDoubleBufferHelper doubleBuffer;
+  private final ExecutorService barrierExecutor;
+  private final ExecutorService[] executors;
+  private final AtomicInteger[] queueDepths;
+  private final AtomicInteger barrierQueueDepth = new AtomicInteger();
+  private final OzoneManagerApplyMetrics metrics;
+
+  /** Last transaction of each partition, used by the submitting thread. */
+  private final CompletableFuture<?>[] tails;
+  /** Last barrier, used by the submitting thread. */
+  private CompletableFuture<?> barrier =
+      CompletableFuture.completedFuture(null);
+
+  /**
+   * Transactions not applied yet, or with earlier transactions not applied
+   * yet, in log order.  Guarded by this.
+   */
+  private final Deque<Transaction> pending = new ArrayDeque<>();
+
+  /**
+   * @param partitions number of partitions applying key requests
+   * @param metadataManager the current metadata of the OM
+   * @param barrierExecutor applies the barriers, not owned by this
+   * @param doubleBuffer receives the responses in log order
+   */
+  OzoneManagerApplyExecutor(int partitions,
+      Supplier<OMMetadataManager> metadataManager, Applier applier,
+      OzoneManagerDoubleBufferHelper doubleBuffer,
+      ExecutorService barrierExecutor) {
+    this.metadataManager = metadataManager;
+    this.applier = applier;
+    this.doubleBuffer = doubleBuffer;
+    this.barrierExecutor = barrierExecutor;
+    this.executors = new ExecutorService[partitions];
+    this.queueDepths = new AtomicInteger[partitions];
+    this.tails = new CompletableFuture<?>[partitions];
+    for (int i = 0; i < partitions; i++) {
+      executors[i] = HadoopExecutors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat(
+              "OM StateMachine ApplyTransaction Partition - " + i).build());
+      queueDepths[i] = new AtomicInteger();
+      tails[i] = barrier;
+    }
+    this.metrics = OzoneManagerApplyMetrics.create(this);
+  }
+
+  /**
+   * Schedules a transaction to be applied after the earlier ones it depends
+   * on.
+   * @return the response of the transaction
+   */
+  CompletableFuture<OMResponse> submit(OMRequest request,
+      long transactionIndex) {
+    final Transaction trx = new Transaction(transactionIndex);
+    synchronized (this) {
+      pending.addLast(trx);
+    }
+
+    final int partition = getPartition(request);
+    final CompletableFuture<OMResponse> future;
+    if (partition < 0) {
+      barrierQueueDepth.incrementAndGet();
+      future = CompletableFuture.allOf(tails).handleAsync(
+          (r, e) -> apply(request, trx, barrierQueueDepth), barrierExecutor);
+      metrics.incNumBarrierTransactions();
+      barrier = future;
+      Arrays.fill(tails, future);
+    } else {
+      final AtomicInteger queueDepth = queueDepths[partition];
+      queueDepth.incrementAndGet();
+      future = tails[partition].handleAsync(
+          (r, e) -> apply(request, trx, queueDepth), executors[partition]);
+      metrics.incNumPartitionedTransactions();
+      tails[partition] = future;
+    }
+    return future;
+  }
+
+  public int getPartitionCount() {
+    return executors.length;
+  }
+
+  public int getQueueDepth(int partition) {
+    return queueDepths[partition].get();
+  }
+
+  public int getBarrierQueueDepth() {
+    return barrierQueueDepth.get();
+  }
+
+  public OzoneManagerApplyMetrics getMetrics() {
+    return metrics;
+  }
+
+  void stop() {
+    for (ExecutorService executor : executors) {
+      HadoopExecutors.shutdown(executor, LOG, 5, TimeUnit.SECONDS);
+    }
+    metrics.unRegister();
+  }
+
+  /**
+   * @return the partition of the request, or -1 if it is a barrier
+   */
+  private int getPartition(OMRequest request) {
+    final Pair<String, String> bucket = getBucket(request);
+    if (bucket == null || !barrier.isDone()) {
+      return -1;
+    }
+    final String volumeName = bucket.getLeft();
+    final String bucketName = bucket.getRight();
+    final OMMetadataManager metadata = metadataManager.get();
+    final OmBucketInfo bucketInfo;
+    try {
+      bucketInfo = metadata.getBucketTable().get(
+          metadata.getBucketKey(volumeName, bucketName));
+    } catch (IOException e) {
+      LOG.debug("Failed to get bucket {}/{}", volumeName, bucketName, e);
+      return -1;
+    }
+    if (bucketInfo == null || bucketInfo.isLink()) {
+      return -1;
+    }
+    return Math.floorMod(bucket.hashCode(), executors.length);
+  }
+
+  /**
+   * @return the volume and bucket of a key request, null for other requests
+   */
+  static Pair<String, String> getBucket(OMRequest request) {
+    switch (request.getCmdType()) {
+    case CreateKey:
+      return getBucket(request.getCreateKeyRequest().getKeyArgs());
+    case CommitKey:
+      return getBucket(request.getCommitKeyRequest().getKeyArgs());
+    case AllocateBlock:
+      return getBucket(request.getAllocateBlockRequest().getKeyArgs());
+    case DeleteKey:
+      return getBucket(request.getDeleteKeyRequest().getKeyArgs());
+    case RenameKey:
+      return getBucket(request.getRenameKeyRequest().getKeyArgs());
+    case CreateDirectory:
+      return getBucket(request.getCreateDirectoryRequest().getKeyArgs());
+    case CreateFile:
+      return getBucket(request.getCreateFileRequest().getKeyArgs());
+    case InitiateMultiPartUpload:
+      return getBucket(
+          request.getInitiateMultiPartUploadRequest().getKeyArgs());
+    case CommitMultiPartUpload:
+      return getBucket(request.getCommitMultiPartUploadRequest().getKeyArgs());
+    case CompleteMultiPartUpload:
+      return getBucket(
+          request.getCompleteMultiPartUploadRequest().getKeyArgs());
+    case AbortMultiPartUpload:
+      return getBucket(request.getAbortMultiPartUploadRequest().getKeyArgs());
+    case SetTimes:
+      return getBucket(request.getSetTimesRequest().getKeyArgs());
+    case DeleteKeys:
+      final DeleteKeyArgs deleteKeys =
+          request.getDeleteKeysRequest().getDeleteKeys();
+      return Pair.of(deleteKeys.getVolumeName(), deleteKeys.getBucketName());
+    case RenameKeys:
+      final RenameKeysArgs renameKeys =
+          request.getRenameKeysRequest().getRenameKeysArgs();
+      return Pair.of(renameKeys.getVolumeName(), renameKeys.getBucketName());
+    default:
+      return null;
+    }
+  }
+
+  private static Pair<String, String> getBucket(KeyArgs keyArgs) {
+    return Pair.of(keyArgs.getVolumeName(), keyArgs.getBucketName());
+  }
+
+  private OMResponse apply(OMRequest request, Transaction trx,
+      AtomicInteger queueDepth) {
+    final long start = Time.monotonicNowNanos();
+    try {
+      return applier.apply(request, trx.index, trx);
+    } finally {
+      metrics.addApplyTime(Time.monotonicNowNanos() - start);
+      queueDepth.decrementAndGet();
+      complete(trx);
+    }
+  }
+
+  /**
+   * Marks a transaction applied, and passes the responses of the following
+   * transactions to the double buffer, up to the first one not applied yet.
+   */
+  private synchronized void complete(Transaction trx) {
+    trx.applied = true;
+    while (!pending.isEmpty() && pending.peekFirst().applied) {
+      pending.removeFirst();
+      final Transaction next = pending.peekFirst();
+      if (next != null) {
+        for (OMClientResponse response : next.responses) {
+          doubleBuffer.add(response, next.index);
+        }
+        next.responses.clear();
+      }
+    }
+  }
+
+  /**
+   * A transaction in {@link #pending}.  Its responses are held until all
+   * earlier transactions are applied, except for the first transaction,
+   * which passes them to the double buffer directly: a request may wait for
+   * its own response to be flushed.
+   */
+  private final class Transaction implements OzoneManagerDoubleBufferHelper {
+    private final long index;
+    private final List<OMClientResponse> responses = new ArrayList<>(1);
+    private boolean applied;
+
+    private Transaction(long index) {
+      this.index = index;
+    }
+
+    @Override
+    public CompletableFuture<Void> add(OMClientResponse response,
+        long transactionIndex) {
+      synchronized (OzoneManagerApplyExecutor.this) {
+        if (pending.peekFirst() == this) {
+          return doubleBuffer.add(response, transactionIndex);
+        }
+        responses.add(response);
+        // with Ratis the double buffer does not return a future either
+        return null;
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,7 +36,9 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -50,9 +53,11 @@
 import org.apache.hadoop.ozone.om.ratis.metrics.OzoneManagerDoubleBufferMetrics;
 import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.ReadsCommittedDB;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.util.Daemon;
 import org.apache.hadoop.util.Time;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
 import org.apache.ratis.util.ExitUtils;
 import org.apache.ratis.util.function.CheckedRunnable;
 import org.slf4j.Logger;
@@ -68,13 +73,23 @@
  * any entries, it swaps the buffer and creates a batch and commit to DB.
  * Adding OM request to doubleBuffer and swap of buffer are synchronized
  * methods.
- *
+ * <p>
+ * With pipelined flush, the responses of the next batch are added to a
+ * write batch while the previous batch is committed to RocksDB by a separate
+ * thread, and the buffer is split into batches sized to commit within the
+ * target latency.
  */
 public final class OzoneManagerDoubleBuffer {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerDoubleBuffer.class);
 
+  /**
+   * Lower bound of the batch size limit of the pipelined flush, as a
+   * fraction of the maximum.
+   */
+  private static final int MIN_BATCH_SIZE_LIMIT_DIVISOR = 16;
+
   // Taken unbounded queue, if sync thread is taking too long time, we
   // might end up taking huge memory to add entries to the buffer.
   // TODO: We can avoid this using unbounded queue and use queue with
@@ -109,6 +124,16 @@ public final class OzoneManagerDoubleBuffer {
   private final Semaphore unFlushedTransactions;
   private final FlushNotifier flushNotifier;
 
+  // Pipelined flush: the commit thread, null if the flush is not pipelined,
+  // and the commit of the last batch, used only by the flush thread.
+  private final ExecutorService commitExecutor;
+  private CompletableFuture<Void> lastCommit =
+      CompletableFuture.completedFuture(null);
+  private final long targetFlushLatency;
+  private final int maxBatchSizeLimit;
+  private final int minBatchSizeLimit;
+  private volatile int batchSizeLimit;
+
   /**
    * function which will get term associated with the transaction index.
    */
@@ -125,6 +150,8 @@ public static class Builder {
     private Function<Long, Long> indexToTerm = null;
     private int maxUnFlushedTransactionCount = 0;
     private FlushNotifier flushNotifier;
+    private boolean isPipelinedFlush = false;
+    private long targetFlushLatency = 0;
 
     public Builder setOmMetadataManager(OMMetadataManager omm) {
       this.mm = omm;
@@ -162,6 +189,23 @@ public Builder setFlushNotifier(FlushNotifier flushNotifier) {
       return this;
     }
 
+    /**
+     * Commit each batch on a separate thread while the next one is
+     * serialized.  Only used when ratis is enabled.
+     */
+    public Builder enablePipelinedFlush(boolean enablePipelinedFlush) {
+      this.isPipelinedFlush = enablePipelinedFlush;
+      return this;
+    }
+
+    /**
+     * @param latency target commit time of a batch in milliseconds
+     */
+    public Builder setTargetFlushLatency(long latency) {
+      this.targetFlushLatency = latency;
+      return this;
+    }
+
     public OzoneManagerDoubleBuffer build() {
       if (isRatisEnabled) {
         Preconditions.checkNotNull(rs, "When ratis is enabled, " +
@@ -178,15 +222,18 @@ public OzoneManagerDoubleBuffer build() {
 
       return new OzoneManagerDoubleBuffer(mm, rs, isRatisEnabled,
           isTracingEnabled, indexToTerm, maxUnFlushedTransactionCount,
-          flushNotifier);
+          flushNotifier, isRatisEnabled && isPipelinedFlush,
+          targetFlushLatency);
     }
   }
 
+  @SuppressWarnings("checkstyle:ParameterNumber")
   private OzoneManagerDoubleBuffer(OMMetadataManager omMetadataManager,
       OzoneManagerRatisSnapshot ozoneManagerRatisSnapShot,
       boolean isRatisEnabled, boolean isTracingEnabled,
       Function<Long, Long> indexToTerm, int maxUnFlushedTransactions,
-      FlushNotifier flushNotifier) {
+      FlushNotifier flushNotifier, boolean isPipelinedFlush,
+      long targetFlushLatency) {
     this.currentBuffer = new ConcurrentLinkedQueue<>();
     this.readyBuffer = new ConcurrentLinkedQueue<>();
     this.isRatisEnabled = isRatisEnabled;
@@ -202,6 +249,19 @@ private OzoneManagerDoubleBuffer(OMMetadataManager omMetadataManager,
         OzoneManagerDoubleBufferMetrics.create();
     this.indexToTerm = indexToTerm;
     this.flushNotifier = flushNotifier;
+    this.targetFlushLatency = targetFlushLatency;
+    this.maxBatchSizeLimit = maxUnFlushedTransactions;
+    this.minBatchSizeLimit = Math.max(1,
+        maxUnFlushedTransactions / MIN_BATCH_SIZE_LIMIT_DIVISOR);
+    this.batchSizeLimit = maxUnFlushedTransactions;
+    if (isPipelinedFlush) {
+      this.commitExecutor = HadoopExecutors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("OMDoubleBufferCommitThread").build());
+      ozoneManagerDoubleBufferMetrics.setBatchSizeLimit(batchSizeLimit);
+    } else {
+      this.commitExecutor = null;
+    }
 
     isRunning.set(true);
     // Daemon thread which runs in background and flushes transactions to DB.
@@ -311,11 +371,27 @@ void flushCurrentBuffer() {
           splitReadyBufferAtCreateSnapshot();
 
       for (Queue<DoubleBufferEntry<OMClientResponse>> buffer : bufferQueues) {
-        flushBatch(buffer);
+        if (commitExecutor == null) {
+          flushBatch(buffer);
+        } else {
+          for (Queue<DoubleBufferEntry<OMClientResponse>> batch
+              : splitBatches(buffer)) {
+            flushBatchPipelined(batch);
+          }
+        }
       }
 
       clearReadyBuffer();
-      flushNotifier.notifyFlush();
+      if (commitExecutor == null) {
+        flushNotifier.notifyFlush();
+      } else {
+        lastCommit = lastCommit.thenRun(flushNotifier::notifyFlush);
+        // canFlush() notifies the waiters once it finds both buffers empty,
+        // so the batches must be committed by then.
+        if (getCurrentBufferSize() == 0) {
+          lastCommit.join();
+        }
+      }
     } catch (IOException ex) {
       terminate(ex, 1);
     } catch (Throwable t) {
@@ -325,20 +401,62 @@ void flushCurrentBuffer() {
 
   private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
       throws IOException {
+    final Batch batch = serializeBatch(buffer);
+    try {
+      commitBatch(batch);
+    } finally {
+      batch.operation.close();
+    }
+    completeBatch(batch);
+  }
 
-    Map<String, List<Long>> cleanupEpochs = new HashMap<>();
-    List<Long> flushedEpochs;
-
-    try (BatchOperation batchOperation = omMetadataManager.getStore()
-        .initBatchOperation()) {
+  /**
+   * Serializes a batch once the previous one is not being committed any
+   * more, and commits it on the commit thread.
+   */
+  private void flushBatchPipelined(
+      Queue<DoubleBufferEntry<OMClientResponse>> buffer) throws IOException {
+    if (readsCommittedDB(buffer)) {
+      lastCommit.join();
+    }
+    final Batch batch = serializeBatch(buffer);
+    lastCommit.join();
+    lastCommit = CompletableFuture.runAsync(() -> {
+      try {
+        final long commitTime;
+        try {
+          commitTime = commitBatch(batch);
+        } finally {
+          batch.operation.close();
+        }
+        completeBatch(batch);
+        adaptBatchSizeLimit(batch.buffer.size(), commitTime);
+      } catch (IOException ex) {
+        terminate(ex, 1);
+      } catch (Throwable t) {
+        terminate(t, 2);
+      }
+    }, commitExecutor);
+  }
 
+  /**
+   * Adds the responses of a batch and the last transaction info to a new
+   * write batch.
+   */
+  private Batch serializeBatch(
+      Queue<DoubleBufferEntry<OMClientResponse>> buffer) throws IOException {
+    final long startTime = Time.monotonicNow();
+    final BatchOperation batchOperation =
+        omMetadataManager.getStore().initBatchOperation();
+    try {
       String lastTraceId = addToBatch(buffer, batchOperation);
 
+      Map<String, List<Long>> cleanupEpochs = new HashMap<>();
       buffer.iterator().forEachRemaining(
           entry -> addCleanupEntry(entry, cleanupEpochs));
 
       // Commit transaction info to DB.
-      flushedEpochs = buffer.stream()
+      List<Long> flushedEpochs = buffer.stream()
           .map(DoubleBufferEntry::getTrxLogIndex)
           .sorted()
           .collect(Collectors.toList());
@@ -358,14 +476,36 @@ private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
                   .setCurrentTerm(term)
                   .build()));
 
-      long startTime = Time.monotonicNow();
-      flushBatchWithTrace(lastTraceId, buffer.size(),
-          () -> omMetadataManager.getStore()
-              .commitBatchOperation(batchOperation));
-
-      ozoneManagerDoubleBufferMetrics.updateFlushTime(
+      ozoneManagerDoubleBufferMetrics.updateSerializeTime(
           Time.monotonicNow() - startTime);
+      return new Batch(buffer, batchOperation, lastTraceId, cleanupEpochs,
+          flushedEpochs);
+    } catch (IOException | RuntimeException e) {
+      batchOperation.close();
+      throw e;
     }
+  }
+
+  /**
+   * Commits the write batch to DB.
+   * @return the commit time in milliseconds
+   */
+  private long commitBatch(Batch batch) throws IOException {
+    long startTime = Time.monotonicNow();
+    flushBatchWithTrace(batch.lastTraceId, batch.buffer.size(),
+        () -> omMetadataManager.getStore()
+            .commitBatchOperation(batch.operation));
+
+    long commitTime = Time.monotonicNow() - startTime;
+    ozoneManagerDoubleBufferMetrics.updateFlushTime(commitTime);
+    return commitTime;
+  }
+
+  /**
+   * Completes the transactions of a committed batch.
+   */
+  private void completeBatch(Batch batch) {
+    final Queue<DoubleBufferEntry<OMClientResponse>> buffer = batch.buffer;
 
     // Complete futures first and then do other things.
     // So that handler threads will be released.
@@ -384,18 +524,75 @@ private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
     }
 
     // Clean up committed transactions.
-    cleanupCache(cleanupEpochs);
+    long startTime = Time.monotonicNow();
+    cleanupCache(batch.cleanupEpochs);
+    ozoneManagerDoubleBufferMetrics.updateCacheCleanupTime(
+        Time.monotonicNow() - startTime);
 
     if (isRatisEnabled) {
       releaseUnFlushedTransactions(flushedTransactionsSize);
     }
     // update the last updated index in OzoneManagerStateMachine.
-    ozoneManagerRatisSnapShot.updateLastAppliedIndex(flushedEpochs);
+    ozoneManagerRatisSnapShot.updateLastAppliedIndex(batch.flushedEpochs);
 
     // set metrics.
     updateMetrics(flushedTransactionsSize);
   }
 
+  /**
+   * Splits a buffer into batches of at most {@link #batchSizeLimit}
+   * transactions.
+   */
+  private List<Queue<DoubleBufferEntry<OMClientResponse>>> splitBatches(
+      Queue<DoubleBufferEntry<OMClientResponse>> buffer) {
+    final int limit = batchSizeLimit;
+    if (buffer.size() <= limit) {
+      return Collections.singletonList(buffer);
+    }
+    List<Queue<DoubleBufferEntry<OMClientResponse>>> batches =
+        new ArrayList<>();
+    Queue<DoubleBufferEntry<OMClientResponse>> batch = null;
+    for (DoubleBufferEntry<OMClientResponse> entry : buffer) {
+      if (batch == null || batch.size() >= limit) {
+        batch = new LinkedList<>();
+        batches.add(batch);
+      }
+      batch.add(entry);
+    }
+    return batches;
+  }
+
+  /**
+   * Halves the batch size limit if a batch took longer than the target
+   * latency to commit, down to a fraction of the maximum, and doubles it if
+   * a full batch took less than half of it.
+   */
+  @VisibleForTesting
+  void adaptBatchSizeLimit(int batchSize, long commitTime) {
+    final int limit = batchSizeLimit;
+    int newLimit = limit;
+    if (commitTime > targetFlushLatency) {
+      newLimit = Math.max(limit / 2, minBatchSizeLimit);
+    } else if (batchSize >= limit && commitTime < targetFlushLatency / 2) {
+      newLimit = (int) Math.min(2L * limit, maxBatchSizeLimit);
+    }
+    if (newLimit != limit) {
+      batchSizeLimit = newLimit;
+      ozoneManagerDoubleBufferMetrics.setBatchSizeLimit(newLimit);
+    }
+  }
+
+  private static boolean readsCommittedDB(
+      Queue<DoubleBufferEntry<OMClientResponse>> buffer) {
+    for (DoubleBufferEntry<OMClientResponse> entry : buffer) {
+      if (entry.getResponse().getClass()
+          .isAnnotationPresent(ReadsCommittedDB.class)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private String addToBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer,
                             BatchOperation batchOperation) {
     String lastTraceId = null;
@@ -542,6 +739,9 @@ private void updateMetrics(int flushedTransactionsSize) {
   @SuppressWarnings("squid:S2142")
   public void stop() {
     stopDaemon();
+    if (commitExecutor != null) {
+      HadoopExecutors.shutdown(commitExecutor, LOG, 5, TimeUnit.SECONDS);
+    }
     ozoneManagerDoubleBufferMetrics.unRegister();
   }
 
@@ -682,6 +882,27 @@ public void awaitFlush() throws InterruptedException {
     flushNotifier.await();
   }
 
+  /**
+   * Transactions added to a write batch, to be committed together.
+   */
+  private static final class Batch {
+    private final Queue<DoubleBufferEntry<OMClientResponse>> buffer;
+    private final BatchOperation operation;
+    private final String lastTraceId;
+    private final Map<String, List<Long>> cleanupEpochs;
+    private final List<Long> flushedEpochs;
+
+    private Batch(Queue<DoubleBufferEntry<OMClientResponse>> buffer,
+        BatchOperation operation, String lastTraceId,
+        Map<String, List<Long>> cleanupEpochs, List<Long> flushedEpochs) {
+      this.buffer = buffer;
+      this.operation = operation;
+      this.lastTraceId = lastTraceId;
+      this.cleanupEpochs = cleanupEpochs;
+      this.flushedEpochs = flushedEpochs;
+    }
+  }
+
   static class FlushNotifier {
     private final Set<CountDownLatch> flushLatches =
         ConcurrentHashMap.newKeySet();
@@ -41,6 +41,7 @@
 import org.apache.hadoop.ozone.om.OzoneManagerPrepareState;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OMRatisHelper;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
@@ -95,6 +96,7 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private OzoneManagerDoubleBuffer ozoneManagerDoubleBuffer;
   private final RatisSnapshotInfo snapshotInfo;
   private final ExecutorService executorService;
+  private final OzoneManagerApplyExecutor applyExecutor;
   private final ExecutorService installSnapshotExecutor;
   private final boolean isTracingEnabled;
   private final AtomicInteger statePausedCount = new AtomicInteger(0);
@@ -128,6 +130,17 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
     ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
         .setNameFormat("OM StateMachine ApplyTransaction Thread - %d").build();
     this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+    int applyPartitions = ozoneManager.getConfiguration().getInt(
+        OMConfigKeys.OZONE_OM_RATIS_APPLY_PARTITIONS,
+        OMConfigKeys.OZONE_OM_RATIS_APPLY_PARTITIONS_DEFAULT);
+    // Partitioned requests are applied on their own threads, all others on
+    // executorService.
+    this.applyExecutor = applyPartitions > 1
+        ? new OzoneManagerApplyExecutor(applyPartitions,
+            ozoneManager::getMetadataManager, this::runCommand,
+            (response, index) -> ozoneManagerDoubleBuffer.add(response, index),
+            executorService)
+        : null;
     this.installSnapshotExecutor = HadoopExecutors.newSingleThreadExecutor();
   }
 
@@ -317,33 +330,18 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
       OMRequest request = OMRatisHelper.convertByteStringToOMRequest(
           trx.getStateMachineLogEntry().getLogData());
       long trxLogIndex = trx.getLogEntry().getIndex();
-      // In the current approach we have one single global thread executor.
-      // with single thread. Right now this is being done for correctness, as
-      // applyTransaction will be run on multiple OM's we want to execute the
-      // transactions in the same order on all OM's, otherwise there is a
-      // chance that OM replica's can be out of sync.
-      // TODO: In this way we are making all applyTransactions in
-      // OM serial order. Revisit this in future to use multiple executors for
-      // volume/bucket.
-
-      // Reason for not immediately implementing executor per volume is, if
-      // one executor operations are slow, we cannot update the
-      // lastAppliedIndex in OzoneManager StateMachine, even if other
-      // executor has completed the transactions with id more.
-
-      // We have 300 transactions, And for each volume we have transactions
-      // of 150. Volume1 transactions 0 - 149 and Volume2 transactions 150 -
-      // 299.
-      // Example: Executor1 - Volume1 - 100 (current completed transaction)
-      // Example: Executor2 - Volume2 - 299 (current completed transaction)
-
-      // Now we have applied transactions of 0 - 100 and 149 - 299. We
-      // cannot update lastAppliedIndex to 299. We need to update it to 100,
-      // since 101 - 149 are not applied. When OM restarts it will
-      // applyTransactions from lastAppliedIndex.
-      // We can update the lastAppliedIndex to 100, and update it to 299,
-      // only after completing 101 - 149. In initial stage, we are starting
-      // with single global executor. Will revisit this when needed.
+      // By default all transactions are applied in log order by a single
+      // thread, so that all OMs apply them in the same order, otherwise
+      // there is a chance that OM replicas can be out of sync.
+
+      // With ozone.om.ratis.apply.partitions > 1 the key requests of
+      // different buckets are applied concurrently, since they do not touch
+      // the same entries, while the requests of a bucket are still applied
+      // in log order, see OzoneManagerApplyExecutor.  Since transactions may
+      // then complete out of order, their responses are added to the double
+      // buffer in log order: the transaction index flushed to the DB is only
+      // advanced once all earlier transactions are applied, so that a
+      // restarted OM does not skip any of them.
 
       // Add the term index and transaction log index to applyTransaction map
       // . This map will be used to update lastAppliedIndex.
@@ -355,8 +353,10 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
       //if there are too many pending requests, wait for doubleBuffer flushing
       ozoneManagerDoubleBuffer.acquireUnFlushedTransactions(1);
 
-      CompletableFuture<OMResponse> future = CompletableFuture.supplyAsync(
-          () -> runCommand(request, trxLogIndex), executorService);
+      CompletableFuture<OMResponse> future = applyExecutor != null
+          ? applyExecutor.submit(request, trxLogIndex)
+          : CompletableFuture.supplyAsync(
+              () -> runCommand(request, trxLogIndex), executorService);
       future.thenApply(omResponse -> {
         if (!omResponse.getSuccess()) {
           // When INTERNAL_ERROR or METADATA_ERROR it is considered as
@@ -457,6 +457,13 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
     int maxUnflushedTransactionSize = ozoneManager.getConfiguration()
         .getInt(OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT,
             OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT);
+    boolean pipelinedFlush = ozoneManager.getConfiguration().getBoolean(
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH,
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_DEFAULT);
+    long targetFlushLatency = ozoneManager.getConfiguration().getTimeDuration(
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY,
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY_DEFAULT,
+        TimeUnit.MILLISECONDS);
     return new OzoneManagerDoubleBuffer.Builder()
         .setOmMetadataManager(ozoneManager.getMetadataManager())
         .setOzoneManagerRatisSnapShot(this::updateLastAppliedIndex)
@@ -464,6 +471,8 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
         .setIndexToTerm(this::getTermForIndex)
         .enableRatis(true)
         .enableTracing(isTracingEnabled)
+        .enablePipelinedFlush(pipelinedFlush)
+        .setTargetFlushLatency(targetFlushLatency)
         .build();
   }
 
@@ -564,9 +573,14 @@ private TransactionContext handleStartTransactionRequests(
    * @throws ServiceException
    */
   private OMResponse runCommand(OMRequest request, long trxLogIndex) {
+    return runCommand(request, trxLogIndex, ozoneManagerDoubleBuffer::add);
+  }
+
+  private OMResponse runCommand(OMRequest request, long trxLogIndex,
+      OzoneManagerDoubleBufferHelper doubleBufferHelper) {
     try {
       return handler.handleWriteRequest(request,
-          trxLogIndex).getOMResponse();
+          trxLogIndex, doubleBufferHelper).getOMResponse();
     } catch (IOException e) {
       LOG.warn("Failed to write, Exception occurred ", e);
       return createErrorResponse(request, e);
@@ -717,6 +731,9 @@ public void setRaftGroupId(RaftGroupId raftGroupId) {
 
   public void stop() {
     ozoneManagerDoubleBuffer.stop();
+    if (applyExecutor != null) {
+      applyExecutor.stop();
+    }
     HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
     HadoopExecutors.shutdown(installSnapshotExecutor, LOG, 5, TimeUnit.SECONDS);
   }
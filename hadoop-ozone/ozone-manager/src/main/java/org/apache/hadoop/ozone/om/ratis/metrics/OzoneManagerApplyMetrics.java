@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis.metrics;
+
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerApplyExecutor;
+
+/**
+ * Class which maintains metrics related to applying transactions in
+ * bucket partitions, see {@link OzoneManagerApplyExecutor}.
+ */
+@Metrics(about = "OzoneManager Apply Transaction Metrics",
+    context = OzoneConsts.OZONE)
+public final class OzoneManagerApplyMetrics implements MetricsSource {
+
+  private static final String SOURCE_NAME =
+      OzoneManagerApplyMetrics.class.getSimpleName();
+
+  private final MetricsRegistry registry;
+  private final OzoneManagerApplyExecutor executor;
+
+  @Metric(about = "Time in nanoseconds to apply a transaction.")
+  private MutableRate applyTransactionNs;
+
+  @Metric(about = "Number of transactions applied in a bucket partition.")
+  private MutableCounterLong numPartitionedTransactions;
+
+  @Metric(about = "Number of transactions applied alone, after all earlier " +
+      "transactions.")
+  private MutableCounterLong numBarrierTransactions;
+
+  private OzoneManagerApplyMetrics(OzoneManagerApplyExecutor executor) {
+    this.registry = new MetricsRegistry(SOURCE_NAME);
+    this.executor = executor;
+  }
+
+  public static OzoneManagerApplyMetrics create(
+      OzoneManagerApplyExecutor executor) {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(SOURCE_NAME, "OzoneManager Apply Transaction Metrics",
+        new OzoneManagerApplyMetrics(executor));
+  }
+
+  public void unRegister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(SOURCE_NAME);
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    MetricsRecordBuilder builder = collector.addRecord(SOURCE_NAME);
+    applyTransactionNs.snapshot(builder, all);
+    numPartitionedTransactions.snapshot(builder, all);
+    numBarrierTransactions.snapshot(builder, all);
+    builder.addGauge(Interns.info("barrierQueueDepth",
+        "Number of transactions waiting to be applied alone."),
+        executor.getBarrierQueueDepth());
+    for (int i = 0; i < executor.getPartitionCount(); i++) {
+      builder.addGauge(Interns.info("partition" + i + "QueueDepth",
+          "Number of transactions waiting to be applied in partition " + i
+              + "."),
+          executor.getQueueDepth(i));
+    }
+  }
+
+  public void addApplyTime(long nanos) {
+    applyTransactionNs.add(nanos);
+  }
+
+  public void incNumPartitionedTransactions() {
+    numPartitionedTransactions.incr();
+  }
+
+  public void incNumBarrierTransactions() {
+    numBarrierTransactions.incr();
+  }
+
+  public long getNumPartitionedTransactions() {
+    return numPartitionedTransactions.value();
+  }
+
+  public long getNumBarrierTransactions() {
+    return numBarrierTransactions.value();
+  }
+}
@@ -25,6 +25,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeFloat;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.metrics2.lib.MutableStat;
 
@@ -55,6 +56,18 @@ public class OzoneManagerDoubleBufferMetrics {
       " rocksdb batch commit time.")
   private MutableRate flushTime;
 
+  @Metric(about = "DoubleBuffer serializeTime. This metrics captures the " +
+      "time to add the responses of a batch to the rocksdb write batch.")
+  private MutableRate serializeTime;
+
+  @Metric(about = "DoubleBuffer cacheCleanupTime. This metrics captures the " +
+      "time to clean up the table caches after a batch is committed.")
+  private MutableRate cacheCleanupTime;
+
+  @Metric(about = "Maximum number of transactions in a single batch, " +
+      "adapted to the commit time when the flush is pipelined.")
+  private MutableGaugeInt batchSizeLimit;
+
   @Metric(about = "Average number of transactions flushed in a single " +
       "iteration")
   private MutableGaugeFloat avgFlushTransactionsInOneIteration;
@@ -115,6 +128,32 @@ public MutableRate getFlushTime() {
     return flushTime;
   }
 
+  public void updateSerializeTime(long time) {
+    serializeTime.add(time);
+  }
+
+  @VisibleForTesting
+  public MutableRate getSerializeTime() {
+    return serializeTime;
+  }
+
+  public void updateCacheCleanupTime(long time) {
+    cacheCleanupTime.add(time);
+  }
+
+  @VisibleForTesting
+  public MutableRate getCacheCleanupTime() {
+    return cacheCleanupTime;
+  }
+
+  public void setBatchSizeLimit(int limit) {
+    batchSizeLimit.set(limit);
+  }
+
+  public int getBatchSizeLimit() {
+    return batchSizeLimit.value();
+  }
+
   public float getAvgFlushTransactionsInOneIteration() {
     return avgFlushTransactionsInOneIteration.value();
   }
@@ -874,7 +874,7 @@ private static boolean checkSubDirectoryExists(OmKeyInfo omKeyInfo,
             omKeyInfo.getObjectID(), "");
     try (TableIterator<String, ? extends
         Table.KeyValue<String, OmDirectoryInfo>>
-            iterator = dirTable.iterator()) {
+            iterator = dirTable.iterator(seekDirInDB)) {
 
       iterator.seek(seekDirInDB);
 
@@ -920,7 +920,7 @@ private static boolean checkSubFileExists(OmKeyInfo omKeyInfo,
     String seekFileInDB = metaMgr.getOzonePathKey(volumeId, bucketId,
             omKeyInfo.getObjectID(), "");
     try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-            iterator = fileTable.iterator()) {
+            iterator = fileTable.iterator(seekFileInDB)) {
 
       iterator.seek(seekFileInDB);
 
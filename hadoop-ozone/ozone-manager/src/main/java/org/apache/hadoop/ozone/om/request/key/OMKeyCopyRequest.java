@@ -0,0 +1,385 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.OmUtils;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.audit.AuditLogger;
+import org.apache.hadoop.ozone.audit.OMAction;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OMMetrics;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
+import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCopyResponse;
+import org.apache.hadoop.ozone.om.upgrade.DisallowedUntilLayoutVersion;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
+import org.apache.hadoop.ozone.security.acl.OzoneObj;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_SUPPORTED_OPERATION;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.SERVER_SIDE_COPY;
+
+/**
+ * Handles copy key request.
+ * <p>
+ * The destination key gets the blocks of the latest version of the source
+ * key, no data is read or written.  Each shared block is counted in the
+ * shared block table, so that its data is only deleted together with the
+ * last key using it, see {@link OMKeyPurgeRequest}.
+ * <p>
+ * Keys which can't share their blocks are rejected with
+ * {@code NOT_SUPPORTED_OPERATION}, the client has to copy the data instead.
+ */
+public class OMKeyCopyRequest extends OMKeyRequest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OMKeyCopyRequest.class);
+
+  public OMKeyCopyRequest(OMRequest omRequest) {
+    super(omRequest, BucketLayout.OBJECT_STORE);
+  }
+
+  @Override
+  @DisallowedUntilLayoutVersion(SERVER_SIDE_COPY)
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+
+    CopyKeyRequest copyKeyRequest = getOmRequest().getCopyKeyRequest();
+    Preconditions.checkNotNull(copyKeyRequest);
+
+    // Verify key name
+    final boolean checkKeyNameEnabled = ozoneManager.getConfiguration()
+         .getBoolean(OMConfigKeys.OZONE_OM_KEYNAME_CHARACTER_CHECK_ENABLED_KEY,
+                 OMConfigKeys.OZONE_OM_KEYNAME_CHARACTER_CHECK_ENABLED_DEFAULT);
+    if (checkKeyNameEnabled) {
+      OmUtils.validateKeyName(copyKeyRequest.getDstKeyArgs().getKeyName());
+    }
+
+    // Set modification time.
+    KeyArgs.Builder newDstKeyArgs = copyKeyRequest.getDstKeyArgs()
+        .toBuilder().setModificationTime(Time.now());
+
+    return getOmRequest().toBuilder()
+        .setCopyKeyRequest(copyKeyRequest.toBuilder()
+            .setDstKeyArgs(newDstKeyArgs))
+        .setUserInfo(getUserIfNotExists(ozoneManager)).build();
+  }
+
+  @Override
+  @SuppressWarnings("methodlength")
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
+      long trxnLogIndex, OzoneManagerDoubleBufferHelper omDoubleBufferHelper) {
+
+    CopyKeyRequest copyKeyRequest = getOmRequest().getCopyKeyRequest();
+    KeyArgs srcKeyArgs = copyKeyRequest.getSrcKeyArgs();
+    KeyArgs dstKeyArgs = copyKeyRequest.getDstKeyArgs();
+    Map<String, String> auditMap = buildAuditMap(srcKeyArgs, dstKeyArgs);
+
+    OMMetrics omMetrics = ozoneManager.getMetrics();
+    omMetrics.incNumKeyCopies();
+
+    AuditLogger auditLogger = ozoneManager.getAuditLogger();
+
+    OMResponse.Builder omResponse = OmResponseUtil.getOMResponseBuilder(
+        getOmRequest());
+
+    OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    String[] firstLock = null;
+    String[] secondLock = null;
+    OMClientResponse omClientResponse = null;
+    IOException exception = null;
+    Result result;
+    try {
+      if (srcKeyArgs.getKeyName().isEmpty() ||
+          dstKeyArgs.getKeyName().isEmpty()) {
+        throw new OMException("Key name is empty",
+            OMException.ResultCodes.INVALID_KEY_NAME);
+      }
+
+      srcKeyArgs = ozoneManager.resolveBucketLink(srcKeyArgs, this)
+          .update(srcKeyArgs);
+      dstKeyArgs = resolveBucketLink(ozoneManager, dstKeyArgs, auditMap);
+      String srcVolume = srcKeyArgs.getVolumeName();
+      String srcBucket = srcKeyArgs.getBucketName();
+      String dstVolume = dstKeyArgs.getVolumeName();
+      String dstBucket = dstKeyArgs.getBucketName();
+
+      // check Acls to see if user has access to read the source key and
+      // create the destination key
+      checkKeyAcls(ozoneManager, srcVolume, srcBucket,
+          srcKeyArgs.getKeyName(), IAccessAuthorizer.ACLType.READ,
+          OzoneObj.ResourceType.KEY);
+      checkKeyAcls(ozoneManager, dstVolume, dstBucket,
+          dstKeyArgs.getKeyName(), IAccessAuthorizer.ACLType.CREATE,
+          OzoneObj.ResourceType.KEY);
+
+      // Lock the buckets in a fixed order, so that concurrent copies in
+      // the opposite direction can't deadlock.
+      String[] srcLock = {srcVolume, srcBucket};
+      String[] dstLock = {dstVolume, dstBucket};
+      int order = (srcVolume + OzoneConsts.OM_KEY_PREFIX + srcBucket)
+          .compareTo(dstVolume + OzoneConsts.OM_KEY_PREFIX + dstBucket);
+      String[] lock = order < 0 ? srcLock : dstLock;
+      omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK, lock);
+      firstLock = lock;
+      if (order != 0) {
+        lock = order < 0 ? dstLock : srcLock;
+        omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK, lock);
+        secondLock = lock;
+      }
+
+      // Check the layout first, so that a copy in a file system bucket
+      // is rejected as unsupported rather than as a layout mismatch.
+      boolean fsPaths = ozoneManager.getEnableFileSystemPaths();
+      checkObjectStore(omMetadataManager, srcVolume, srcBucket, fsPaths);
+      checkObjectStore(omMetadataManager, dstVolume, dstBucket, fsPaths);
+      validateBucketAndVolume(omMetadataManager, srcVolume, srcBucket);
+      validateBucketAndVolume(omMetadataManager, dstVolume, dstBucket);
+      checkCanShareBlocks(
+          getBucketInfo(omMetadataManager, srcVolume, srcBucket));
+      OmBucketInfo dstBucketInfo =
+          getBucketInfo(omMetadataManager, dstVolume, dstBucket);
+      checkCanShareBlocks(dstBucketInfo);
+
+      Table<String, OmKeyInfo> keyTable =
+          omMetadataManager.getKeyTable(getBucketLayout());
+      String srcKey = omMetadataManager.getOzoneKey(srcVolume, srcBucket,
+          srcKeyArgs.getKeyName());
+      String dstKey = omMetadataManager.getOzoneKey(dstVolume, dstBucket,
+          dstKeyArgs.getKeyName());
+
+      OmKeyInfo srcKeyInfo = keyTable.get(srcKey);
+      if (srcKeyInfo == null) {
+        throw new OMException("Key not found " + srcKey, KEY_NOT_FOUND);
+      }
+      if (srcKeyInfo.getFileEncryptionInfo() != null ||
+          srcKeyInfo.getMetadata().containsKey(OzoneConsts.GDPR_FLAG) ||
+          srcKeyInfo.isHsync()) {
+        throw new OMException("Key " + srcKey + " can't share its blocks",
+            NOT_SUPPORTED_OPERATION);
+      }
+
+      OmKeyInfo dstKeyInfo = createDstKeyInfo(ozoneManager,
+          srcKeyInfo.copyObject(), dstKeyArgs, dstBucketInfo, trxnLogIndex);
+
+      long correctedSpace = dstKeyInfo.getReplicatedSize();
+      Map<String, RepeatedOmKeyInfo> oldKeyVersionsToDeleteMap = null;
+      OmKeyInfo keyToDelete = keyTable.get(dstKey);
+      if (keyToDelete != null) {
+        // The blocks of the overwritten key are released by the deleting
+        // service, even if some of them are shared with the new key.
+        correctedSpace -= keyToDelete.getReplicatedSize();
+        checkBucketQuotaInBytes(omMetadataManager, dstBucketInfo,
+            correctedSpace);
+        RepeatedOmKeyInfo oldVerKeyInfo = getOldVersionsToCleanUp(
+            keyToDelete, trxnLogIndex, ozoneManager.isRatisEnabled());
+        String delKeyName = omMetadataManager.getOzoneDeletePathKey(
+            keyToDelete.getObjectID(), dstKey);
+        oldKeyVersionsToDeleteMap = new HashMap<>();
+        oldKeyVersionsToDeleteMap.put(delKeyName, oldVerKeyInfo);
+      } else {
+        checkBucketQuotaInNamespace(dstBucketInfo, 1L);
+        checkBucketQuotaInBytes(omMetadataManager, dstBucketInfo,
+            correctedSpace);
+        dstBucketInfo.incrUsedNamespace(1L);
+      }
+
+      Map<String, Long> sharedBlocks =
+          addSharedBlocks(omMetadataManager, dstKeyInfo, trxnLogIndex);
+
+      keyTable.addCacheEntry(new CacheKey<>(dstKey),
+          CacheValue.get(trxnLogIndex, dstKeyInfo));
+      dstBucketInfo.incrUsedBytes(correctedSpace);
+
+      omClientResponse = new OMKeyCopyResponse(omResponse
+          .setCopyKeyResponse(CopyKeyResponse.newBuilder()).build(),
+          dstKey, dstKeyInfo, dstBucketInfo.copyObject(),
+          oldKeyVersionsToDeleteMap, sharedBlocks);
+
+      result = Result.SUCCESS;
+    } catch (IOException ex) {
+      result = Result.FAILURE;
+      exception = ex;
+      omClientResponse = new OMKeyCopyResponse(createErrorOMResponse(
+          omResponse, exception));
+    } finally {
+      addResponseToDoubleBuffer(trxnLogIndex, omClientResponse,
+          omDoubleBufferHelper);
+      if (secondLock != null) {
+        omMetadataManager.getLock().releaseWriteLock(BUCKET_LOCK, secondLock);
+      }
+      if (firstLock != null) {
+        omMetadataManager.getLock().releaseWriteLock(BUCKET_LOCK, firstLock);
+      }
+    }
+
+    auditLog(auditLogger, buildAuditMessage(OMAction.COPY_KEY, auditMap,
+        exception, getOmRequest().getUserInfo()));
+
+    switch (result) {
+    case SUCCESS:
+      LOG.debug("Copy Key is successfully completed for srcKey:{} " +
+          "dstKey:{}.", auditMap.get(OzoneConsts.SRC_KEY),
+          auditMap.get(OzoneConsts.DST_KEY));
+      break;
+    case FAILURE:
+      omMetrics.incNumKeyCopyFails();
+      if (exception instanceof OMException && ((OMException) exception)
+          .getResult() == NOT_SUPPORTED_OPERATION) {
+        LOG.debug("Copy key is not supported for srcKey:{} dstKey:{}. {}",
+            auditMap.get(OzoneConsts.SRC_KEY),
+            auditMap.get(OzoneConsts.DST_KEY), exception.getMessage());
+      } else {
+        LOG.error("Copy key failed for srcKey:{} dstKey:{}. Exception: {}.",
+            auditMap.get(OzoneConsts.SRC_KEY),
+            auditMap.get(OzoneConsts.DST_KEY), exception.getMessage());
+      }
+      break;
+    default:
+      LOG.error("Unrecognized Result for OMKeyCopyRequest: {}",
+          copyKeyRequest);
+    }
+    return omClientResponse;
+  }
+
+  private static void checkObjectStore(OMMetadataManager omMetadataManager,
+      String volume, String bucket, boolean fsPaths) throws IOException {
+    OmBucketInfo bucketInfo = omMetadataManager.getBucketTable().get(
+        omMetadataManager.getBucketKey(volume, bucket));
+    if (bucketInfo != null &&
+        !bucketInfo.getBucketLayout().isObjectStore(fsPaths)) {
+      throw new OMException("Keys can only share their blocks in " +
+          "object store buckets", NOT_SUPPORTED_OPERATION);
+    }
+  }
+
+  /**
+   * Rejects versioned and encrypted buckets, whether they hold the source or
+   * the destination key.
+   */
+  private static void checkCanShareBlocks(OmBucketInfo bucketInfo)
+      throws OMException {
+    if (bucketInfo.getIsVersionEnabled()) {
+      throw new OMException("Keys can't share their blocks in " +
+          "versioned buckets", NOT_SUPPORTED_OPERATION);
+    }
+    if (bucketInfo.getEncryptionKeyInfo() != null) {
+      throw new OMException("Keys can't share their blocks in " +
+          "encrypted buckets", NOT_SUPPORTED_OPERATION);
+    }
+  }
+
+  /**
+   * Creates the destination key with the blocks of the latest version of
+   * the source key, and the metadata and replication of the source key.
+   */
+  private OmKeyInfo createDstKeyInfo(OzoneManager ozoneManager,
+      OmKeyInfo srcKeyInfo, KeyArgs dstKeyArgs, OmBucketInfo dstBucketInfo,
+      long trxnLogIndex) throws IOException {
+    OmKeyLocationInfoGroup latest = srcKeyInfo.getLatestVersionLocations();
+    OmKeyLocationInfoGroup locations = latest == null
+        ? new OmKeyLocationInfoGroup(0, Collections.emptyList())
+        : new OmKeyLocationInfoGroup(latest.getVersion(),
+            latest.getLocationList(), latest.isMultipartKey());
+    return new OmKeyInfo.Builder()
+        .setVolumeName(dstKeyArgs.getVolumeName())
+        .setBucketName(dstKeyArgs.getBucketName())
+        .setKeyName(dstKeyArgs.getKeyName())
+        .setOmKeyLocationInfos(Collections.singletonList(locations))
+        .setCreationTime(dstKeyArgs.getModificationTime())
+        .setModificationTime(dstKeyArgs.getModificationTime())
+        .setDataSize(srcKeyInfo.getDataSize())
+        .setReplicationConfig(srcKeyInfo.getReplicationConfig())
+        .addAllMetadata(srcKeyInfo.getMetadata())
+        .setFileChecksum(srcKeyInfo.getFileChecksum())
+        .setAcls(getAclsForKey(dstKeyArgs, dstBucketInfo, null,
+            ozoneManager.getPrefixManager()))
+        .setObjectID(ozoneManager.getObjectIdFromTxId(trxnLogIndex))
+        .setUpdateID(trxnLogIndex)
+        .setFile(true)
+        .build();
+  }
+
+  /**
+   * Counts one more key for each block of the new key.
+   * @return the updated entries of the shared block table
+   */
+  private Map<String, Long> addSharedBlocks(OMMetadataManager omMetadataManager,
+      OmKeyInfo keyInfo, long trxnLogIndex) throws IOException {
+    Set<String> blocks = new LinkedHashSet<>();
+    for (OmKeyLocationInfoGroup group : keyInfo.getKeyLocationVersions()) {
+      for (OmKeyLocationInfo block : group.getLocationList()) {
+        blocks.add(omMetadataManager.getSharedBlockKey(
+            block.getContainerID(), block.getLocalID()));
+      }
+    }
+
+    Table<String, Long> sharedBlockTable =
+        omMetadataManager.getSharedBlockTable();
+    Map<String, Long> sharedBlocks = new HashMap<>();
+    for (String block : blocks) {
+      Long keys = sharedBlockTable.get(block);
+      long newKeys = keys == null ? 2 : keys + 1;
+      sharedBlockTable.addCacheEntry(new CacheKey<>(block),
+          CacheValue.get(trxnLogIndex, newKeys));
+      sharedBlocks.put(block, newKeys);
+    }
+    return sharedBlocks;
+  }
+
+  private Map<String, String> buildAuditMap(KeyArgs srcKeyArgs,
+      KeyArgs dstKeyArgs) {
+    Map<String, String> auditMap = buildKeyArgsAuditMap(dstKeyArgs);
+    auditMap.remove(OzoneConsts.KEY);
+    auditMap.put(OzoneConsts.SRC_KEY, srcKeyArgs.getVolumeName() +
+        OzoneConsts.OM_KEY_PREFIX + srcKeyArgs.getBucketName() +
+        OzoneConsts.OM_KEY_PREFIX + srcKeyArgs.getKeyName());
+    auditMap.put(OzoneConsts.DST_KEY, dstKeyArgs.getKeyName());
+    return auditMap;
+  }
+}
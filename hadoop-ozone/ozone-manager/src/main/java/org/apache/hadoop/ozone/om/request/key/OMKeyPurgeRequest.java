@@ -20,8 +20,22 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+
+import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.SnapshotInfo;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
 import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
@@ -38,6 +52,9 @@
 
 import java.util.List;
 
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+
 /**
  * Handles purging of keys from OM DB.
  */
@@ -46,6 +63,9 @@ public class OMKeyPurgeRequest extends OMKeyRequest {
   private static final Logger LOG =
       LoggerFactory.getLogger(OMKeyPurgeRequest.class);
 
+  /** Name of the deleted keys holding shared blocks no key uses anymore. */
+  static final String UNUSED_SHARED_BLOCKS_KEY = "#shared-blocks";
+
   public OMKeyPurgeRequest(OMRequest omRequest) {
     super(omRequest);
   }
@@ -78,8 +98,40 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
         fromSnapshotInfo = ozoneManager.getMetadataManager()
             .getSnapshotInfoTable().get(fromSnapshot);
       }
+      // Shared blocks are counted in the active DB, even for snapshots.
+      // The last key using a block is only known here, as copies and
+      // purges of the other keys are applied in order.
+      OMMetadataManager metadataManager = ozoneManager.getMetadataManager();
+      Table<String, Long> sharedBlockTable =
+          metadataManager.getSharedBlockTable();
+      Map<String, Long> sharedBlocks = new HashMap<>();
+      Map<String, RepeatedOmKeyInfo> unusedBlocks = new HashMap<>();
+      for (DeletedKeys bucketWithDeleteKeys : bucketDeletedKeysList) {
+        List<String> deletableBlocks = releaseSharedBlocks(sharedBlockTable,
+            bucketWithDeleteKeys.getReleasedSharedBlocksList(), sharedBlocks);
+        if (deletableBlocks.isEmpty()) {
+          continue;
+        }
+        OmKeyInfo keyInfo = createUnusedBlocksKeyInfo(ozoneManager,
+            bucketWithDeleteKeys.getVolumeName(),
+            bucketWithDeleteKeys.getBucketName(), deletableBlocks,
+            trxnLogIndex);
+        String deletedKey = metadataManager.getOzoneDeletePathKey(
+            keyInfo.getObjectID(), metadataManager.getOzoneKey(
+                keyInfo.getVolumeName(), keyInfo.getBucketName(),
+                keyInfo.getKeyName()));
+        unusedBlocks.computeIfAbsent(deletedKey,
+            k -> new RepeatedOmKeyInfo()).addOmKeyInfo(keyInfo);
+      }
+      for (Map.Entry<String, Long> entry : sharedBlocks.entrySet()) {
+        sharedBlockTable.addCacheEntry(new CacheKey<>(entry.getKey()),
+            entry.getValue() > 1
+                ? CacheValue.get(trxnLogIndex, entry.getValue())
+                : CacheValue.get(trxnLogIndex));
+      }
       omClientResponse = new OMKeyPurgeResponse(omResponse.build(),
-          keysToBePurgedList, fromSnapshotInfo, keysToUpdateList);
+          keysToBePurgedList, fromSnapshotInfo, keysToUpdateList,
+          sharedBlocks, unusedBlocks);
     } catch (IOException ex) {
       omClientResponse = new OMKeyPurgeResponse(
           createErrorOMResponse(omResponse, ex));
@@ -91,4 +143,67 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
     return omClientResponse;
   }
 
+  /**
+   * Uncounts the purged keys from the blocks they shared with other keys.
+   * Blocks are only counted while they are used by more than one key, so a
+   * released block without an entry was used by the purged key alone.
+   *
+   * @param sharedBlockTable the shared block table of the active DB.
+   * @param releasedBlocks shared blocks, once per purged key using them.
+   * @param sharedBlocks the number of keys still using each block, updated
+   *                     for the released blocks.  Blocks used by at most one
+   *                     key should be removed from the table.
+   * @return the blocks not used by any key anymore.
+   */
+  private static List<String> releaseSharedBlocks(
+      Table<String, Long> sharedBlockTable, List<String> releasedBlocks,
+      Map<String, Long> sharedBlocks) throws IOException {
+    List<String> deletableBlocks = new ArrayList<>();
+    for (String block : releasedBlocks) {
+      Long keys = sharedBlocks.get(block);
+      if (keys == null) {
+        keys = sharedBlockTable.get(block);
+      }
+      long remaining = (keys == null ? 1 : keys) - 1;
+      if (remaining < 0) {
+        continue;
+      }
+      sharedBlocks.put(block, remaining);
+      if (remaining == 0) {
+        deletableBlocks.add(block);
+      }
+    }
+    return deletableBlocks;
+  }
+
+  /**
+   * Creates a deleted key holding the shared blocks not used by any key
+   * anymore.  It is added to the deleted table in the same transaction, so
+   * the key deleting service sends the blocks to SCM like those of any other
+   * deleted key, and purges the key only once SCM has accepted them.
+   *
+   * @param blocks shared block keys, in the format containerID/localID.
+   */
+  private static OmKeyInfo createUnusedBlocksKeyInfo(OzoneManager ozoneManager,
+      String volumeName, String bucketName, List<String> blocks,
+      long trxnLogIndex) {
+    List<OmKeyLocationInfo> locations = new ArrayList<>(blocks.size());
+    for (String block : blocks) {
+      String[] ids = block.split(OM_KEY_PREFIX);
+      locations.add(new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(Long.parseLong(ids[0]),
+              Long.parseLong(ids[1])))
+          .build());
+    }
+    return new OmKeyInfo.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(UNUSED_SHARED_BLOCKS_KEY)
+        .setOmKeyLocationInfos(Collections.singletonList(
+            new OmKeyLocationInfoGroup(0, locations)))
+        .setReplicationConfig(StandaloneReplicationConfig.getInstance(ONE))
+        .setObjectID(ozoneManager.getObjectIdFromTxId(trxnLogIndex))
+        .setUpdateID(trxnLogIndex)
+        .build();
+  }
 }
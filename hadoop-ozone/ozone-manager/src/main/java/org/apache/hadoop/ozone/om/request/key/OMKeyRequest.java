@@ -78,6 +78,7 @@
 import org.apache.hadoop.ipc.Server;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.ScmBlockPreAllocator;
 import org.apache.hadoop.ozone.om.ScmClient;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
@@ -152,10 +153,16 @@ protected List< OmKeyLocationInfo > allocateBlock(ScmClient scmClient,
     List<OmKeyLocationInfo> locationInfos = new ArrayList<>(numBlocks);
     String remoteUser = getRemoteUser().getShortUserName();
     List<AllocatedBlock> allocatedBlocks;
+    ScmBlockPreAllocator preAllocator = scmClient.getBlockPreAllocator();
     try {
-      allocatedBlocks = scmClient.getBlockClient()
-          .allocateBlock(scmBlockSize, numBlocks, replicationConfig, omID,
-              excludeList);
+      if (preAllocator != null) {
+        allocatedBlocks = preAllocator.allocateBlock(scmBlockSize, numBlocks,
+            replicationConfig, omID, excludeList, omMetrics);
+      } else {
+        allocatedBlocks = scmClient.getBlockClient()
+            .allocateBlock(scmBlockSize, numBlocks, replicationConfig, omID,
+                excludeList);
+      }
     } catch (SCMException ex) {
       omMetrics.incNumBlockAllocateCallFails();
       if (ex.getResult()
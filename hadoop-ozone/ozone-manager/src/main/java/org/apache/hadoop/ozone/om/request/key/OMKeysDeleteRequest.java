@@ -132,13 +132,15 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
       // Validate bucket and volume exists or not.
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
       String volumeOwner = getVolumeOwner(omMetadataManager, volumeName);
+      List<OmKeyInfo> keyInfos = getOmKeyInfos(ozoneManager,
+          omMetadataManager, volumeName, bucketName,
+          deleteKeyArgs.getKeysList());
 
       for (indexFailed = 0; indexFailed < length; indexFailed++) {
         String keyName = deleteKeyArgs.getKeys(indexFailed);
         String objectKey =
             omMetadataManager.getOzoneKey(volumeName, bucketName, keyName);
-        OmKeyInfo omKeyInfo = getOmKeyInfo(ozoneManager, omMetadataManager,
-            volumeName, bucketName, keyName);
+        OmKeyInfo omKeyInfo = keyInfos.get(indexFailed);
 
         if (omKeyInfo == null) {
           deleteStatus = false;
@@ -288,11 +290,19 @@ protected void addKeyToAppropriateList(List<OmKeyInfo> omKeyInfoList,
     omKeyInfoList.add(omKeyInfo);
   }
 
-  protected OmKeyInfo getOmKeyInfo(
+  /**
+   * Gets the infos of the keys to delete with a single table lookup.
+   * @return the key infos in the order of the keys, null for missing keys.
+   */
+  protected List<OmKeyInfo> getOmKeyInfos(
       OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volume, String bucket, String key) throws IOException {
-    String objectKey = omMetadataManager.getOzoneKey(volume, bucket, key);
-    return omMetadataManager.getKeyTable(getBucketLayout()).get(objectKey);
+      String volume, String bucket, List<String> keys) throws IOException {
+    List<String> objectKeys = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      objectKeys.add(omMetadataManager.getOzoneKey(volume, bucket, key));
+    }
+    return omMetadataManager.getKeyTable(getBucketLayout())
+        .multiGet(objectKeys);
   }
 
   /**
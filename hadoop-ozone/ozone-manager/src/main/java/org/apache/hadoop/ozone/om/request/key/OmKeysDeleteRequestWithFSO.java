@@ -35,6 +35,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
@@ -61,14 +62,22 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
         omDoubleBufferHelper);
   }
 
+  /**
+   * Resolves the keys one by one, as each path is looked up component by
+   * component.
+   */
   @Override
-  protected OmKeyInfo getOmKeyInfo(
+  protected List<OmKeyInfo> getOmKeyInfos(
       OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volumeName, String bucketName, String keyName)
+      String volumeName, String bucketName, List<String> keyNames)
       throws IOException {
-    OzoneFileStatus keyStatus = getOzoneKeyStatus(
-        ozoneManager, omMetadataManager, volumeName, bucketName, keyName);
-    return keyStatus != null ? keyStatus.getKeyInfo() : null;
+    List<OmKeyInfo> keyInfos = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      OzoneFileStatus keyStatus = getOzoneKeyStatus(
+          ozoneManager, omMetadataManager, volumeName, bucketName, keyName);
+      keyInfos.add(keyStatus != null ? keyStatus.getKeyInfo() : null);
+    }
+    return keyInfos;
   }
 
   @Override
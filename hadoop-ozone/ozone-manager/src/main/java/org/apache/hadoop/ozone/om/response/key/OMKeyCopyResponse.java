@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.response.key;
+
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.BUCKET_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.KEY_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.SHARED_BLOCK_TABLE;
+
+/**
+ * Response for CopyKey request.
+ */
+@CleanupTableInfo(cleanupTables = {KEY_TABLE, DELETED_TABLE, BUCKET_TABLE,
+    SHARED_BLOCK_TABLE})
+public class OMKeyCopyResponse extends OmKeyResponse {
+
+  private String dstKeyName;
+  private OmKeyInfo dstKeyInfo;
+  private OmBucketInfo omBucketInfo;
+  private Map<String, RepeatedOmKeyInfo> keyToDeleteMap;
+  private Map<String, Long> sharedBlocks;
+
+  public OMKeyCopyResponse(@Nonnull OMResponse omResponse,
+      @Nonnull String dstKeyName, @Nonnull OmKeyInfo dstKeyInfo,
+      @Nonnull OmBucketInfo omBucketInfo,
+      Map<String, RepeatedOmKeyInfo> keyToDeleteMap,
+      @Nonnull Map<String, Long> sharedBlocks) {
+    super(omResponse, BucketLayout.OBJECT_STORE);
+    this.dstKeyName = dstKeyName;
+    this.dstKeyInfo = dstKeyInfo;
+    this.omBucketInfo = omBucketInfo;
+    this.keyToDeleteMap = keyToDeleteMap;
+    this.sharedBlocks = sharedBlocks;
+  }
+
+  /**
+   * For when the request is not successful.
+   * For a successful request, the other constructor should be used.
+   */
+  public OMKeyCopyResponse(@Nonnull OMResponse omResponse) {
+    super(omResponse, BucketLayout.OBJECT_STORE);
+    checkStatusNotOK();
+  }
+
+  @Override
+  public void addToDBBatch(OMMetadataManager omMetadataManager,
+      BatchOperation batchOperation) throws IOException {
+
+    omMetadataManager.getKeyTable(getBucketLayout())
+        .putWithBatch(batchOperation, dstKeyName, dstKeyInfo);
+
+    for (Map.Entry<String, Long> entry : sharedBlocks.entrySet()) {
+      omMetadataManager.getSharedBlockTable().putWithBatch(batchOperation,
+          entry.getKey(), entry.getValue());
+    }
+
+    if (keyToDeleteMap != null) {
+      for (Map.Entry<String, RepeatedOmKeyInfo> entry :
+          keyToDeleteMap.entrySet()) {
+        omMetadataManager.getDeletedTable().putWithBatch(batchOperation,
+            entry.getKey(), entry.getValue());
+      }
+    }
+
+    // update bucket usedBytes.
+    omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+        omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+            omBucketInfo.getBucketName()), omBucketInfo);
+  }
+}
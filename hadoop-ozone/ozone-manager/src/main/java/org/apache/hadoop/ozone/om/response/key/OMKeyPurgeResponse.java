@@ -27,6 +27,7 @@
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.SnapshotInfo;
 import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.ReadsCommittedDB;
 import org.apache.hadoop.ozone.om.request.key.OMKeyPurgeRequest;
 import org.apache.hadoop.ozone.om.snapshot.ReferenceCounted;
 import org.apache.hadoop.ozone.om.snapshot.SnapshotCache;
@@ -37,30 +38,54 @@
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
 
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.SHARED_BLOCK_TABLE;
 import static org.apache.hadoop.ozone.om.OmSnapshotManager.getSnapshotPrefix;
 import static org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotMoveDeletedKeysResponse.createRepeatedOmKeyInfo;
 
 /**
  * Response for {@link OMKeyPurgeRequest} request.
  */
-@CleanupTableInfo(cleanupTables = {DELETED_TABLE})
+@CleanupTableInfo(cleanupTables = {DELETED_TABLE, SHARED_BLOCK_TABLE})
+@ReadsCommittedDB
 public class OMKeyPurgeResponse extends OmKeyResponse {
   private List<String> purgeKeyList;
   private SnapshotInfo fromSnapshot;
   private List<SnapshotMoveKeyInfos> keysToUpdateList;
+  private Map<String, Long> sharedBlocks;
+  private Map<String, RepeatedOmKeyInfo> unusedBlocks;
 
   public OMKeyPurgeResponse(@Nonnull OMResponse omResponse,
       @Nonnull List<String> keyList,
       SnapshotInfo fromSnapshot,
       List<SnapshotMoveKeyInfos> keysToUpdate) {
+    this(omResponse, keyList, fromSnapshot, keysToUpdate,
+        Collections.emptyMap(), Collections.emptyMap());
+  }
+
+  /**
+   * @param sharedBlocks the number of keys still using the released shared
+   *                     blocks.
+   * @param unusedBlocks deleted keys holding the shared blocks no key uses
+   *                     anymore, added to the deleted table of the active DB.
+   */
+  public OMKeyPurgeResponse(@Nonnull OMResponse omResponse,
+      @Nonnull List<String> keyList,
+      SnapshotInfo fromSnapshot,
+      List<SnapshotMoveKeyInfos> keysToUpdate,
+      @Nonnull Map<String, Long> sharedBlocks,
+      @Nonnull Map<String, RepeatedOmKeyInfo> unusedBlocks) {
     super(omResponse);
     this.purgeKeyList = keyList;
     this.fromSnapshot = fromSnapshot;
     this.keysToUpdateList = keysToUpdate;
+    this.sharedBlocks = sharedBlocks;
+    this.unusedBlocks = unusedBlocks;
   }
 
   /**
@@ -103,6 +128,25 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
       processKeys(batchOperation, omMetadataManager);
       processKeysToUpdate(batchOperation, omMetadataManager);
     }
+    processSharedBlocks(batchOperation, omMetadataManager);
+  }
+
+  private void processSharedBlocks(BatchOperation batchOp,
+      OMMetadataManager metadataManager) throws IOException {
+    for (Map.Entry<String, Long> entry : sharedBlocks.entrySet()) {
+      if (entry.getValue() > 1) {
+        metadataManager.getSharedBlockTable().putWithBatch(batchOp,
+            entry.getKey(), entry.getValue());
+      } else {
+        metadataManager.getSharedBlockTable().deleteWithBatch(batchOp,
+            entry.getKey());
+      }
+    }
+    for (Map.Entry<String, RepeatedOmKeyInfo> entry :
+        unusedBlocks.entrySet()) {
+      metadataManager.getDeletedTable().putWithBatch(batchOp,
+          entry.getKey(), entry.getValue());
+    }
   }
 
   private void processKeysToUpdate(BatchOperation batchOp,
@@ -19,11 +19,10 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.ServiceException;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.utils.BackgroundService;
-import org.apache.hadoop.hdds.utils.db.BatchOperation;
-import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.common.BlockGroup;
@@ -54,9 +53,12 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -96,24 +98,18 @@ public AbstractKeyDeletingService(String serviceName, long interval,
   }
 
   protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
-      KeyManager manager,
       HashMap<String, RepeatedOmKeyInfo> keysToModify,
       String snapTableKey) throws IOException {
 
     long startTime = Time.monotonicNow();
     int delCount = 0;
+    Map<String, Set<String>> releasedSharedBlocks = new HashMap<>();
     List<DeleteBlockGroupResult> blockDeletionResults =
-        scmClient.deleteKeyBlocks(keyBlocksList);
+        scmClient.deleteKeyBlocks(splitSharedBlocks(keyBlocksList,
+            releasedSharedBlocks));
     if (blockDeletionResults != null) {
-      if (isRatisEnabled()) {
-        delCount = submitPurgeKeysRequest(blockDeletionResults,
-            keysToModify, snapTableKey);
-      } else {
-        // TODO: Once HA and non-HA paths are merged, we should have
-        //  only one code path here. Purge keys should go through an
-        //  OMRequest model.
-        delCount = deleteAllKeys(blockDeletionResults, manager);
-      }
+      delCount = submitPurgeKeysRequest(blockDeletionResults,
+          keysToModify, snapTableKey, releasedSharedBlocks);
       if (LOG.isDebugEnabled()) {
         LOG.debug("Blocks for {} (out of {}) keys are deleted in {} ms",
             delCount, blockDeletionResults.size(),
@@ -124,35 +120,47 @@ protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
   }
 
   /**
-   * Deletes all the keys that SCM has acknowledged and queued for delete.
+   * Removes the shared blocks from the blocks to be deleted.  Keys share
+   * blocks after they are copied without copying their data, the shared
+   * block table counts the keys using each block.  The data is deleted
+   * together with the last key using it, which is decided when the keys are
+   * purged: the purge adds the blocks no key uses anymore to the deleted
+   * table, so they are deleted by a later run.
+   * <p>
+   * Blocks without an entry are used by a single key, which is deleted, so
+   * they can't be shared again and are deleted right away.
    *
-   * @param results DeleteBlockGroups returned by SCM.
-   * @throws IOException      on Error
+   * @param keyBlocksList blocks of the keys to be deleted.
+   * @param releasedSharedBlocks collects the shared blocks released by each
+   *                             key, which are uncounted once the key is
+   *                             purged.
+   * @return blocks to be deleted by SCM.
    */
-  private int deleteAllKeys(List<DeleteBlockGroupResult> results,
-      KeyManager manager) throws IOException {
-    Table<String, RepeatedOmKeyInfo> deletedTable =
-        manager.getMetadataManager().getDeletedTable();
-    DBStore store = manager.getMetadataManager().getStore();
-
-    // Put all keys to delete in a single transaction and call for delete.
-    int deletedCount = 0;
-    try (BatchOperation writeBatch = store.initBatchOperation()) {
-      for (DeleteBlockGroupResult result : results) {
-        if (result.isSuccess()) {
-          // Purge key from OM DB.
-          deletedTable.deleteWithBatch(writeBatch,
-              result.getObjectKey());
-          if (LOG.isDebugEnabled()) {
-            LOG.debug("Key {} deleted from OM DB", result.getObjectKey());
-          }
-          deletedCount++;
+  private List<BlockGroup> splitSharedBlocks(List<BlockGroup> keyBlocksList,
+      Map<String, Set<String>> releasedSharedBlocks) throws IOException {
+    OMMetadataManager metadataManager = ozoneManager.getMetadataManager();
+    Table<String, Long> sharedBlockTable =
+        metadataManager.getSharedBlockTable();
+    List<BlockGroup> blocksToDelete = new ArrayList<>(keyBlocksList.size());
+    for (BlockGroup keyBlocks : keyBlocksList) {
+      List<BlockID> blockIDs = new ArrayList<>();
+      for (BlockID blockID : keyBlocks.getBlockIDList()) {
+        String block = metadataManager.getSharedBlockKey(
+            blockID.getContainerID(), blockID.getLocalID());
+        if (!sharedBlockTable.isExist(block)) {
+          blockIDs.add(blockID);
+          continue;
         }
+        // other versions of the same key release the block only once
+        releasedSharedBlocks.computeIfAbsent(keyBlocks.getGroupID(),
+            k -> new LinkedHashSet<>()).add(block);
       }
-      // Write a single transaction for delete.
-      store.commitBatchOperation(writeBatch);
+      blocksToDelete.add(BlockGroup.newBuilder()
+          .setKeyName(keyBlocks.getGroupID())
+          .addAllBlockIDs(blockIDs)
+          .build());
     }
-    return deletedCount;
+    return blocksToDelete;
   }
 
   /**
@@ -160,11 +168,17 @@ private int deleteAllKeys(List<DeleteBlockGroupResult> results,
    * by SCM.
    * @param results DeleteBlockGroups returned by SCM.
    * @param keysToModify Updated list of RepeatedOmKeyInfo
+   * @param releasedSharedBlocks shared blocks released by the keys.
    */
   private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
-      HashMap<String, RepeatedOmKeyInfo> keysToModify, String snapTableKey) {
+      HashMap<String, RepeatedOmKeyInfo> keysToModify, String snapTableKey,
+      Map<String, Set<String>> releasedSharedBlocks) {
     Map<Pair<String, String>, List<String>> purgeKeysMapPerBucket =
         new HashMap<>();
+    Map<Pair<String, String>, List<String>> releasedSharedBlocksPerBucket =
+        new HashMap<>();
+
+    PurgeKeysRequest.Builder purgeKeysRequest = PurgeKeysRequest.newBuilder();
 
     // Put all keys to be purged in a list
     int deletedCount = 0;
@@ -172,6 +186,12 @@ private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
       if (result.isSuccess()) {
         // Add key to PurgeKeys list.
         String deletedKey = result.getObjectKey();
+        Set<String> released = releasedSharedBlocks.remove(deletedKey);
+        if (released != null) {
+          releasedSharedBlocksPerBucket.computeIfAbsent(
+              getVolumeBucketPair(deletedKey), k -> new ArrayList<>())
+              .addAll(released);
+        }
         if (keysToModify != null && !keysToModify.containsKey(deletedKey)) {
           // Parse Volume and BucketName
           addToMap(purgeKeysMapPerBucket, deletedKey);
@@ -189,11 +209,16 @@ private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
       }
     }
 
-    PurgeKeysRequest.Builder purgeKeysRequest = PurgeKeysRequest.newBuilder();
     if (snapTableKey != null) {
       purgeKeysRequest.setSnapshotTableKey(snapTableKey);
     }
 
+    // Keys which are only updated release their shared blocks as well.
+    for (Pair<String, String> volumeBucketPair :
+        releasedSharedBlocksPerBucket.keySet()) {
+      purgeKeysMapPerBucket.putIfAbsent(volumeBucketPair, new ArrayList<>());
+    }
+
     // Add keys to PurgeKeysRequest bucket wise.
     for (Map.Entry<Pair<String, String>, List<String>> entry :
         purgeKeysMapPerBucket.entrySet()) {
@@ -202,6 +227,8 @@ private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
           .setVolumeName(volumeBucketPair.getLeft())
           .setBucketName(volumeBucketPair.getRight())
           .addAllKeys(entry.getValue())
+          .addAllReleasedSharedBlocks(releasedSharedBlocksPerBucket
+              .getOrDefault(volumeBucketPair, Collections.emptyList()))
           .build();
       purgeKeysRequest.addDeletedKeys(deletedKeysInBucket);
     }
@@ -233,12 +260,18 @@ private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
         .setClientId(clientId.toString())
         .build();
 
-    // Submit PurgeKeys request to OM
+    // Submit PurgeKeys request to OM.  Without Ratis, the request is still
+    // applied by OMKeyPurgeRequest, so that shared blocks are released the
+    // same way.
     try {
-      RaftClientRequest raftClientRequest =
-          createRaftClientRequestForPurge(omRequest);
-      ozoneManager.getOmRatisServer().submitRequest(omRequest,
-          raftClientRequest);
+      if (isRatisEnabled()) {
+        RaftClientRequest raftClientRequest =
+            createRaftClientRequestForPurge(omRequest);
+        ozoneManager.getOmRatisServer().submitRequest(omRequest,
+            raftClientRequest);
+      } else {
+        ozoneManager.getOmServerProtocol().submitRequest(null, omRequest);
+      }
     } catch (ServiceException e) {
       LOG.error("PurgeKey request failed. Will retry at next run.");
       return 0;
@@ -267,17 +300,23 @@ protected RaftClientRequest createRaftClientRequestForPurge(
    */
   private void addToMap(Map<Pair<String, String>, List<String>> map,
                         String objectKey) {
-    // Parse volume and bucket name
-    String[] split = objectKey.split(OM_KEY_PREFIX);
-    Preconditions.assertTrue(split.length > 3, "Volume and/or Bucket Name " +
-        "missing from Key Name.");
-    Pair<String, String> volumeBucketPair = Pair.of(split[1], split[2]);
+    Pair<String, String> volumeBucketPair = getVolumeBucketPair(objectKey);
     if (!map.containsKey(volumeBucketPair)) {
       map.put(volumeBucketPair, new ArrayList<>());
     }
     map.get(volumeBucketPair).add(objectKey);
   }
 
+  /**
+   * Parse Volume and Bucket Name from ObjectKey.
+   */
+  private static Pair<String, String> getVolumeBucketPair(String objectKey) {
+    String[] split = objectKey.split(OM_KEY_PREFIX);
+    Preconditions.assertTrue(split.length > 3, "Volume and/or Bucket Name " +
+        "missing from Key Name.");
+    return Pair.of(split[1], split[2]);
+  }
+
   protected void submitPurgePaths(List<PurgePathRequest> requests,
                                   String snapTableKey) {
     OzoneManagerProtocolProtos.PurgeDirectoriesRequest.Builder purgeDirRequest =
@@ -185,7 +185,6 @@ public BackgroundTaskResult call() {
               .getKeyBlocksList();
           if (keyBlocksList != null && !keyBlocksList.isEmpty()) {
             delCount = processKeyDeletes(keyBlocksList,
-                getOzoneManager().getKeyManager(),
                 pendingKeysDeletion.getKeysToModify(), null);
             deletedKeyCount.addAndGet(delCount);
           }
@@ -341,8 +340,8 @@ private void processSnapshotDeepClean(int delCount)
               }
 
               if (!keysToPurge.isEmpty()) {
-                processKeyDeletes(keysToPurge, currOmSnapshot.getKeyManager(),
-                    keysToModify, currSnapInfo.getTableKey());
+                processKeyDeletes(keysToPurge, keysToModify,
+                    currSnapInfo.getTableKey());
               }
             } finally {
               if (previousSnapshot != null) {
@@ -312,8 +312,7 @@ public BackgroundTaskResult call() throws InterruptedException {
             }
 
             // Delete keys From deletedTable
-            processKeyDeletes(keysToPurge, omSnapshot.getKeyManager(),
-                null, snapInfo.getTableKey());
+            processKeyDeletes(keysToPurge, null, snapInfo.getTableKey());
             successRunCount.incrementAndGet();
           } catch (IOException ex) {
             LOG.error("Error while running Snapshot Deleting Service for " +
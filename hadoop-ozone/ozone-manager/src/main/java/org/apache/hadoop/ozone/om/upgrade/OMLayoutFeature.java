@@ -44,7 +44,9 @@ public enum OMLayoutFeature implements LayoutFeature {
 
   FILESYSTEM_SNAPSHOT(5, "Ozone version supporting snapshot"),
 
-  QUOTA(6, "Ozone quota re-calculate");
+  QUOTA(6, "Ozone quota re-calculate"),
+
+  SERVER_SIDE_COPY(7, "Copy keys by sharing their blocks");
 
   ///////////////////////////////  /////////////////////////////
   //    Example OM Layout Feature with Actions
@@ -61,6 +61,7 @@
 import org.apache.hadoop.ozone.om.helpers.TenantUserInfoValue;
 import org.apache.hadoop.ozone.om.helpers.TenantUserList;
 import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
 import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
@@ -365,13 +366,21 @@ public OMResponse handleReadRequest(OMRequest request) {
   @Override
   public OMClientResponse handleWriteRequest(OMRequest omRequest,
       long transactionLogIndex) throws IOException {
+    return handleWriteRequest(omRequest, transactionLogIndex,
+        ozoneManagerDoubleBuffer::add);
+  }
+
+  @Override
+  public OMClientResponse handleWriteRequest(OMRequest omRequest,
+      long transactionLogIndex,
+      OzoneManagerDoubleBufferHelper doubleBufferHelper) throws IOException {
     OMClientRequest omClientRequest = null;
     OMClientResponse omClientResponse = null;
     omClientRequest =
         OzoneManagerRatisUtils.createClientRequest(omRequest, impl);
     omClientResponse = omClientRequest
         .validateAndUpdateCache(getOzoneManager(), transactionLogIndex,
-            ozoneManagerDoubleBuffer::add);
+            doubleBufferHelper);
     return omClientResponse;
   }
 
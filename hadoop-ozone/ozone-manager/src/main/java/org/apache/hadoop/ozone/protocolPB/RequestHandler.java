@@ -19,6 +19,7 @@
 
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.
     OMRequest;
@@ -60,6 +61,18 @@ public interface RequestHandler {
   OMClientResponse handleWriteRequest(OMRequest omRequest,
       long transactionLogIndex) throws IOException;
 
+  /**
+   * Handle write requests, adding the responses to the given helper instead
+   * of the double buffer of this handler.
+   * @param omRequest
+   * @param transactionLogIndex - ratis transaction log index
+   * @param doubleBufferHelper - receives the responses to flush
+   * @return OMClientResponse
+   */
+  OMClientResponse handleWriteRequest(OMRequest omRequest,
+      long transactionLogIndex,
+      OzoneManagerDoubleBufferHelper doubleBufferHelper) throws IOException;
+
   /**
    * Update the OzoneManagerDoubleBuffer. This will be called when
    * stateMachine is unpaused and set with new doublebuffer object.
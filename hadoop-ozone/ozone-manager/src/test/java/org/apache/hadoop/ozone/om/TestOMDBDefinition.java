@@ -21,6 +21,7 @@
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.DBColumnFamilyDefinition;
 import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -30,6 +31,8 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Test that all the tables are covered both by OMDBDefinition
@@ -71,4 +74,46 @@ public void testDBDefinition() throws Exception {
         + missingOmDBTables, 0, missingOmDBTables.size());
     Assert.assertEquals(countOmDBTables, countOmDefTables);
   }
+
+  @Test
+  public void testFsoKeyPrefix() throws Exception {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.set(OMConfigKeys.OZONE_OM_DB_DIRS,
+        folder.getRoot().getAbsolutePath());
+    OmMetadataManagerImpl metadataManager =
+        new OmMetadataManagerImpl(configuration, null);
+    try {
+      long epoch = OmUtils.EPOCH_WHEN_RATIS_ENABLED;
+      long volumeId = OmUtils.getObjectIdFromTxId(epoch, 1);
+      long bucketId = OmUtils.getObjectIdFromTxId(epoch, 2);
+      int directories = 1000;
+      Set<String> prefixes = new HashSet<>();
+      for (long txId = 3; txId < 3 + directories; txId++) {
+        long parentId = OmUtils.getObjectIdFromTxId(epoch, txId);
+        String dirPrefix = metadataManager.getOzonePathKey(volumeId,
+            bucketId, parentId, "");
+        Assert.assertEquals(OMDBDefinition.FSO_KEY_PREFIX_LENGTH,
+            dirPrefix.length());
+
+        String key = metadataManager.getOzonePathKey(volumeId, bucketId,
+            parentId, "file" + txId);
+        Assert.assertEquals(dirPrefix,
+            extractPrefix(OMDBDefinition.FILE_TABLE, key));
+        Assert.assertEquals(dirPrefix,
+            extractPrefix(OMDBDefinition.DIRECTORY_TABLE, key));
+        prefixes.add(extractPrefix(OMDBDefinition.FILE_TABLE, key));
+      }
+      Assert.assertEquals(directories, prefixes.size());
+    } finally {
+      metadataManager.stop();
+    }
+  }
+
+  /**
+   * @return the prefix the capped prefix extractor of the table returns.
+   */
+  private static String extractPrefix(DBColumnFamilyDefinition<?, ?> table,
+      String key) {
+    return key.substring(0, Math.min(key.length(), table.getPrefixLength()));
+  }
 }
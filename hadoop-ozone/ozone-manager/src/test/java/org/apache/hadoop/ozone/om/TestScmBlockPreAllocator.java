@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests for {@link ScmBlockPreAllocator}.
+ */
+public class TestScmBlockPreAllocator {
+
+  private static final long BLOCK_SIZE = 1024;
+  private static final String OWNER = "om";
+  private static final ReplicationConfig REPLICATION =
+      RatisReplicationConfig.getInstance(ReplicationFactor.THREE);
+
+  private final Pipeline pipeline = Pipeline.newBuilder()
+      .setState(Pipeline.PipelineState.OPEN)
+      .setId(PipelineID.randomId())
+      .setReplicationConfig(REPLICATION)
+      .setNodes(singletonList(MockDatanodeDetails.randomDatanodeDetails()))
+      .build();
+  private final AtomicLong localIDs = new AtomicLong();
+  private final List<Integer> scmCalls = new ArrayList<>();
+
+  private final List<Integer> batchCalls = new ArrayList<>();
+  private final AtomicReference<CountDownLatch> scmLatch =
+      new AtomicReference<>(new CountDownLatch(0));
+  private final AtomicInteger waitingForScm = new AtomicInteger();
+  private OMMetrics metrics;
+
+  private final ScmBlockLocationTestingClient scm =
+      new ScmBlockLocationTestingClient(null, null, 0) {
+        @Override
+        public List<AllocatedBlock> allocateBlock(long size, int num,
+            ReplicationConfig config, String owner, ExcludeList excludeList) {
+          return lease(num);
+        }
+
+        @Override
+        public List<AllocatedBlock> allocateBlockBatch(long size, int num,
+            ReplicationConfig config, String owner, ExcludeList excludeList)
+            throws IOException {
+          try {
+            waitingForScm.incrementAndGet();
+            scmLatch.get().await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+          }
+          batchCalls.add(num);
+          return lease(num);
+        }
+      };
+
+  @BeforeEach
+  public void setup() {
+    metrics = OMMetrics.create();
+  }
+
+  @AfterEach
+  public void cleanup() {
+    metrics.unRegister();
+  }
+
+  @Test
+  public void testBlocksAreLeasedInBatches() throws IOException {
+    ScmBlockPreAllocator allocator = new ScmBlockPreAllocator(scm, 10, 60_000);
+
+    for (int i = 0; i < 10; i++) {
+      List<AllocatedBlock> blocks = allocate(allocator, 1, new ExcludeList());
+      assertEquals(1, blocks.size());
+      assertEquals(i + 1, blocks.get(0).getBlockID().getLocalID());
+    }
+    assertEquals(singletonList(10), scmCalls);
+    assertEquals(scmCalls, batchCalls);
+
+    // more than a batch is leased at once
+    assertEquals(15, allocate(allocator, 15, new ExcludeList()).size());
+    assertEquals(2, scmCalls.size());
+    assertEquals(15, scmCalls.get(1));
+
+    assertEquals(25, metrics.getNumBlocksPreAllocated());
+    assertEquals(25, metrics.getNumPreAllocatedBlocksServed());
+  }
+
+  @Test
+  public void testExpiredBlocksAreDropped() throws IOException {
+    ScmBlockPreAllocator allocator = new ScmBlockPreAllocator(scm, 10, -1);
+
+    allocate(allocator, 1, new ExcludeList());
+    allocate(allocator, 1, new ExcludeList());
+
+    assertEquals(2, scmCalls.size());
+    assertEquals(9, metrics.getNumPreAllocatedBlocksExpired());
+  }
+
+  @Test
+  public void testExcludedBlocksAreDropped() throws IOException {
+    ScmBlockPreAllocator allocator = new ScmBlockPreAllocator(scm, 10, 60_000);
+    allocate(allocator, 1, new ExcludeList());
+
+    ExcludeList excludeList = new ExcludeList();
+    excludeList.addConatinerId(ContainerID.valueOf(1));
+    // requests with an exclude list go to SCM
+    allocate(allocator, 1, excludeList);
+    assertEquals(2, scmCalls.size());
+
+    // the leased blocks of the excluded container are not handed out
+    List<AllocatedBlock> blocks = allocate(allocator, 1, new ExcludeList());
+    assertEquals(3, scmCalls.size());
+    assertNotEquals(2, blocks.get(0).getBlockID().getLocalID());
+  }
+
+  @Test
+  public void testPoolIsServedWhileLeasing() throws Exception {
+    ScmBlockPreAllocator allocator = new ScmBlockPreAllocator(scm, 10, 60_000);
+    allocate(allocator, 1, new ExcludeList());
+
+    CountDownLatch release = new CountDownLatch(1);
+    scmLatch.set(release);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // more blocks than leased, this request waits for SCM
+      Future<List<AllocatedBlock>> leasing =
+          executor.submit(() -> allocate(allocator, 15, new ExcludeList()));
+      GenericTestUtils.waitFor(() -> waitingForScm.get() == 2, 10, 10000);
+
+      List<AllocatedBlock> blocks = allocate(allocator, 1, new ExcludeList());
+      assertEquals(2, blocks.get(0).getBlockID().getLocalID());
+      assertFalse(leasing.isDone());
+
+      release.countDown();
+      assertEquals(15, leasing.get(10, TimeUnit.SECONDS).size());
+      assertEquals(asList(10, 15), batchCalls);
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private List<AllocatedBlock> lease(int num) {
+    scmCalls.add(num);
+    List<AllocatedBlock> blocks = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      blocks.add(new AllocatedBlock.Builder()
+          .setContainerBlockID(
+              new ContainerBlockID(1, localIDs.incrementAndGet()))
+          .setPipeline(pipeline)
+          .build());
+    }
+    return blocks;
+  }
+
+  private List<AllocatedBlock> allocate(ScmBlockPreAllocator allocator,
+      int num, ExcludeList excludeList) throws IOException {
+    return allocator.allocateBlock(BLOCK_SIZE, num, REPLICATION, OWNER,
+        excludeList, metrics);
+  }
+}
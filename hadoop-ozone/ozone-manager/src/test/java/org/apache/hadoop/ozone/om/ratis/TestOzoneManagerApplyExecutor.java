@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link OzoneManagerApplyExecutor}.
+ */
+public class TestOzoneManagerApplyExecutor {
+
+  private static final String VOLUME = "vol";
+
+  @TempDir
+  private File tempDir;
+
+  private OMMetadataManager omMetadataManager;
+  private ExecutorService barrierExecutor;
+  private OzoneManagerApplyExecutor applyExecutor;
+
+  /** Latches blocking the transactions with the given index. */
+  private final Map<Long, CountDownLatch> blocked = new ConcurrentHashMap<>();
+  private final List<Long> applied =
+      Collections.synchronizedList(new ArrayList<>());
+  private final List<Long> flushed =
+      Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS, tempDir.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(conf, null);
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, "bucket1",
+        omMetadataManager);
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, "bucket2",
+        omMetadataManager);
+
+    barrierExecutor = Executors.newSingleThreadExecutor();
+    OzoneManagerDoubleBufferHelper doubleBuffer = (response, index) -> {
+      flushed.add(index);
+      return null;
+    };
+    applyExecutor = new OzoneManagerApplyExecutor(4,
+        () -> omMetadataManager, this::apply, doubleBuffer, barrierExecutor);
+  }
+
+  @AfterEach
+  public void cleanup() throws Exception {
+    blocked.values().forEach(CountDownLatch::countDown);
+    applyExecutor.stop();
+    barrierExecutor.shutdownNow();
+    omMetadataManager.stop();
+  }
+
+  @Test
+  public void testBucketsAreAppliedConcurrently() throws Exception {
+    CountDownLatch latch = block(1);
+    CompletableFuture<OMResponse> first =
+        applyExecutor.submit(createKey("bucket1"), 1);
+    CompletableFuture<OMResponse> second =
+        applyExecutor.submit(createKey("bucket2"), 2);
+    CompletableFuture<OMResponse> third =
+        applyExecutor.submit(createKey("bucket1"), 3);
+
+    // the other bucket is not held up by the first transaction
+    second.get(10, TimeUnit.SECONDS);
+    assertThrows(TimeoutException.class,
+        () -> third.get(100, TimeUnit.MILLISECONDS));
+    // but its response is not flushed before the one of the first
+    assertEquals(Collections.emptyList(), flushed);
+
+    latch.countDown();
+    CompletableFuture.allOf(first, third).get(10, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(1L, 2L, 3L), flushed);
+    assertEquals(3,
+        applyExecutor.getMetrics().getNumPartitionedTransactions());
+  }
+
+  @Test
+  public void testBarrierIsAppliedAlone() throws Exception {
+    CountDownLatch latch = block(1);
+    CompletableFuture<OMResponse> first =
+        applyExecutor.submit(createKey("bucket1"), 1);
+    CompletableFuture<OMResponse> barrier =
+        applyExecutor.submit(createVolume(), 2);
+    CompletableFuture<OMResponse> last =
+        applyExecutor.submit(createKey("bucket2"), 3);
+
+    assertThrows(TimeoutException.class,
+        () -> last.get(100, TimeUnit.MILLISECONDS));
+    assertFalse(barrier.isDone());
+
+    latch.countDown();
+    CompletableFuture.allOf(first, barrier, last).get(10, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(1L, 2L, 3L), applied);
+    assertEquals(Arrays.asList(1L, 2L, 3L), flushed);
+    // the last one was submitted while the barrier was pending
+    assertEquals(2, applyExecutor.getMetrics().getNumBarrierTransactions());
+  }
+
+  @Test
+  public void testUnknownBucketIsBarrier() throws Exception {
+    applyExecutor.submit(createKey("bucket1"), 1)
+        .get(10, TimeUnit.SECONDS);
+    applyExecutor.submit(createKey("missing"), 2)
+        .get(10, TimeUnit.SECONDS);
+
+    assertEquals(1,
+        applyExecutor.getMetrics().getNumPartitionedTransactions());
+    assertEquals(1, applyExecutor.getMetrics().getNumBarrierTransactions());
+  }
+
+  private CountDownLatch block(long index) {
+    CountDownLatch latch = new CountDownLatch(1);
+    blocked.put(index, latch);
+    return latch;
+  }
+
+  private OMResponse apply(OMRequest request, long index,
+      OzoneManagerDoubleBufferHelper doubleBuffer) {
+    applied.add(index);
+    CountDownLatch latch = blocked.get(index);
+    if (latch != null) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    OMResponse response = OMResponse.newBuilder()
+        .setCmdType(request.getCmdType())
+        .setStatus(Status.OK)
+        .build();
+    doubleBuffer.add(new DummyResponse(response), index);
+    return response;
+  }
+
+  private static OMRequest createKey(String bucket) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setClientId("client")
+        .setCreateKeyRequest(CreateKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName(VOLUME)
+                .setBucketName(bucket)
+                .setKeyName("key")))
+        .build();
+  }
+
+  private static OMRequest createVolume() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateVolume)
+        .setClientId("client")
+        .build();
+  }
+
+  private static final class DummyResponse extends OMClientResponse {
+    private DummyResponse(OMResponse omResponse) {
+      super(omResponse);
+    }
+
+    @Override
+    protected void addToDBBatch(OMMetadataManager omMetadataManager,
+        BatchOperation batchOperation) {
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.ratis.metrics.OzoneManagerDoubleBufferMetrics;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.ReadsCommittedDB;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.util.Time;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.BUCKET_TABLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the pipelined flush of {@link OzoneManagerDoubleBuffer}.
+ */
+public class TestOzoneManagerDoubleBufferPipelinedFlush {
+
+  private static final int MAX_BATCH_SIZE = 256;
+
+  @TempDir
+  private File tempDir;
+
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private final AtomicLong trxId = new AtomicLong(0);
+  private volatile long lastAppliedIndex;
+  private final long term = 1L;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.set(OZONE_METADATA_DIRS, tempDir.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(configuration, null);
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        .setOzoneManagerRatisSnapShot(
+            index -> lastAppliedIndex = index.get(index.size() - 1))
+        .setmaxUnFlushedTransactionCount(MAX_BATCH_SIZE)
+        .enableRatis(true)
+        .setIndexToTerm(val -> term)
+        .enablePipelinedFlush(true)
+        .setTargetFlushLatency(1000)
+        .build();
+    // flush explicitly
+    doubleBuffer.stopDaemon();
+  }
+
+  @AfterEach
+  public void stop() {
+    doubleBuffer.stop();
+  }
+
+  @Test
+  public void testFlushIsSplitIntoBatches() throws Exception {
+    String volumeName = UUID.randomUUID().toString();
+    int bucketCount = 1000;
+    OzoneManagerDoubleBufferMetrics metrics =
+        doubleBuffer.getOzoneManagerDoubleBufferMetrics();
+
+    for (int i = 0; i < bucketCount; i++) {
+      doubleBuffer.add(createBucketResponse(volumeName),
+          trxId.incrementAndGet());
+    }
+    doubleBuffer.flushCurrentBuffer();
+
+    // all batches are committed when the buffers are empty
+    assertEquals(bucketCount, doubleBuffer.getFlushedTransactionCount());
+    assertEquals(bucketCount, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+    assertEquals(4, metrics.getTotalNumOfFlushOperations());
+    assertEquals(MAX_BATCH_SIZE,
+        metrics.getMaxNumberOfTransactionsFlushedInOneIteration());
+    assertEquals(MAX_BATCH_SIZE, metrics.getBatchSizeLimit());
+
+    assertEquals(4, metrics.getSerializeTime().lastStat().numSamples());
+    assertEquals(4, metrics.getFlushTime().lastStat().numSamples());
+    assertEquals(4, metrics.getCacheCleanupTime().lastStat().numSamples());
+
+    assertEquals(bucketCount, lastAppliedIndex);
+    TransactionInfo transactionInfo =
+        omMetadataManager.getTransactionInfoTable().get(TRANSACTION_INFO_KEY);
+    assertEquals(bucketCount, transactionInfo.getTransactionIndex());
+    assertEquals(term, transactionInfo.getTerm());
+  }
+
+  @Test
+  public void testReaderSeesEarlierBatches() throws Exception {
+    String volumeName = UUID.randomUUID().toString();
+    OMDummyCreateBucketResponse last = null;
+    for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+      last = createBucketResponse(volumeName);
+      doubleBuffer.add(last, trxId.incrementAndGet());
+    }
+    OMDummyReadBucketResponse reader =
+        new OMDummyReadBucketResponse(last.omBucketInfo);
+    doubleBuffer.add(reader, trxId.incrementAndGet());
+    doubleBuffer.flushCurrentBuffer();
+
+    assertEquals(MAX_BATCH_SIZE + 1,
+        doubleBuffer.getFlushedTransactionCount());
+    assertTrue(reader.found);
+  }
+
+  @Test
+  public void testBatchSizeLimitAdaptsToCommitTime() {
+    OzoneManagerDoubleBufferMetrics metrics =
+        doubleBuffer.getOzoneManagerDoubleBufferMetrics();
+
+    // a slow commit halves the limit, however small the batch was
+    doubleBuffer.adaptBatchSizeLimit(10, 2000);
+    assertEquals(MAX_BATCH_SIZE / 2, metrics.getBatchSizeLimit());
+    doubleBuffer.adaptBatchSizeLimit(MAX_BATCH_SIZE / 2, 2000);
+    assertEquals(MAX_BATCH_SIZE / 4, metrics.getBatchSizeLimit());
+
+    // down to a fraction of the maximum
+    for (int i = 0; i < 10; i++) {
+      doubleBuffer.adaptBatchSizeLimit(MAX_BATCH_SIZE, 2000);
+    }
+    assertEquals(MAX_BATCH_SIZE / 16, metrics.getBatchSizeLimit());
+
+    // a full batch committed fast doubles it, a partial one does not
+    doubleBuffer.adaptBatchSizeLimit(MAX_BATCH_SIZE / 32, 100);
+    assertEquals(MAX_BATCH_SIZE / 16, metrics.getBatchSizeLimit());
+    for (int i = 0; i < 10; i++) {
+      doubleBuffer.adaptBatchSizeLimit(MAX_BATCH_SIZE, 100);
+    }
+    assertEquals(MAX_BATCH_SIZE, metrics.getBatchSizeLimit());
+  }
+
+  private static OMDummyCreateBucketResponse createBucketResponse(
+      String volumeName) {
+    OmBucketInfo omBucketInfo =
+        OmBucketInfo.newBuilder()
+            .setVolumeName(volumeName)
+            .setBucketName(UUID.randomUUID().toString())
+            .setCreationTime(Time.now())
+            .build();
+    return new OMDummyCreateBucketResponse(omBucketInfo);
+  }
+
+  private static OMResponse createBucketOMResponse() {
+    return OMResponse.newBuilder()
+        .setCmdType(Type.CreateBucket)
+        .setStatus(Status.OK)
+        .setCreateBucketResponse(CreateBucketResponse.newBuilder().build())
+        .build();
+  }
+
+  /**
+   * Puts a bucket.
+   */
+  @CleanupTableInfo(cleanupTables = {BUCKET_TABLE})
+  private static class OMDummyCreateBucketResponse extends OMClientResponse {
+    private final OmBucketInfo omBucketInfo;
+
+    OMDummyCreateBucketResponse(OmBucketInfo omBucketInfo) {
+      super(createBucketOMResponse());
+      this.omBucketInfo = omBucketInfo;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager omMetadataManager,
+        BatchOperation batchOperation) throws IOException {
+      omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+          omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+              omBucketInfo.getBucketName()), omBucketInfo);
+    }
+  }
+
+  /**
+   * Checks that a bucket is committed.
+   */
+  @CleanupTableInfo(cleanupTables = {BUCKET_TABLE})
+  @ReadsCommittedDB
+  private static class OMDummyReadBucketResponse extends OMClientResponse {
+    private final OmBucketInfo omBucketInfo;
+    private volatile boolean found;
+
+    OMDummyReadBucketResponse(OmBucketInfo omBucketInfo) {
+      super(createBucketOMResponse());
+      this.omBucketInfo = omBucketInfo;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager omMetadataManager,
+        BatchOperation batchOperation) throws IOException {
+      found = omMetadataManager.getBucketTable().getSkipCache(
+          omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+              omBucketInfo.getBucketName())) != null;
+    }
+  }
+}
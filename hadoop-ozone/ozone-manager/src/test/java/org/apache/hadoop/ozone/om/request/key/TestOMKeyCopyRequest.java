@@ -0,0 +1,306 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeletedKeys;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PurgeKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests CopyKey request.
+ */
+public class TestOMKeyCopyRequest extends TestOMKeyRequest {
+
+  private static final int BLOCKS = 3;
+
+  private String srcKeyName;
+  private String dstKeyName;
+  private List<OmKeyLocationInfo> blocks;
+
+  @Before
+  public void createSourceKey() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, getBucketLayout());
+    srcKeyName = "srcKey";
+    dstKeyName = "dstKey";
+
+    blocks = new ArrayList<>();
+    for (int i = 0; i < BLOCKS; i++) {
+      blocks.add(new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(1L, 100L + i))
+          .setLength(scmBlockSize)
+          .setOffset(0)
+          .build());
+    }
+    OmKeyInfo srcKeyInfo = OMRequestTestUtils.createOmKeyInfo(volumeName,
+        bucketName, srcKeyName, replicationType, replicationFactor, 0L);
+    srcKeyInfo.appendNewBlocks(blocks, false);
+    srcKeyInfo.setDataSize(BLOCKS * scmBlockSize);
+    OMRequestTestUtils.addKeyToTable(false, false, srcKeyInfo, clientID, 0L,
+        omMetadataManager);
+    when(ozoneManager.getObjectIdFromTxId(anyLong()))
+        .thenAnswer(i -> i.getArgument(0));
+  }
+
+  @Override
+  public BucketLayout getBucketLayout() {
+    return BucketLayout.OBJECT_STORE;
+  }
+
+  @Test
+  public void testCopySharesBlocks() throws Exception {
+    OMClientResponse response = copy(srcKeyName, dstKeyName, 100L);
+    Assert.assertEquals(Status.OK, response.getOMResponse().getStatus());
+
+    OmKeyInfo srcKeyInfo = getKey(srcKeyName);
+    OmKeyInfo dstKeyInfo = getKey(dstKeyName);
+    Assert.assertNotNull(srcKeyInfo);
+    Assert.assertNotNull(dstKeyInfo);
+    Assert.assertEquals(srcKeyInfo.getDataSize(), dstKeyInfo.getDataSize());
+    Assert.assertEquals(
+        srcKeyInfo.getLatestVersionLocations().getLocationList(),
+        dstKeyInfo.getLatestVersionLocations().getLocationList());
+    Assert.assertNotEquals(srcKeyInfo.getObjectID(),
+        dstKeyInfo.getObjectID());
+    Assert.assertTrue(dstKeyInfo.isFile());
+    assertSharedCount(2L);
+
+    // A second copy adds one more holder to every block.
+    response = copy(dstKeyName, "dstKey2", 101L);
+    Assert.assertEquals(Status.OK, response.getOMResponse().getStatus());
+    assertSharedCount(3L);
+    Assert.assertEquals(2, omMetrics.getNumKeyCopies());
+  }
+
+  @Test
+  public void testCopyOverwritesDestination() throws Exception {
+    Assert.assertEquals(Status.OK,
+        copy(srcKeyName, dstKeyName, 100L).getOMResponse().getStatus());
+    OmKeyInfo overwritten = getKey(dstKeyName);
+    OMClientResponse response = copy(srcKeyName, dstKeyName, 101L);
+    Assert.assertEquals(Status.OK, response.getOMResponse().getStatus());
+    try (BatchOperation batchOperation =
+        omMetadataManager.getStore().initBatchOperation()) {
+      response.checkAndUpdateDB(omMetadataManager, batchOperation);
+      omMetadataManager.getStore().commitBatchOperation(batchOperation);
+    }
+
+    // The overwritten copy goes to the deleted table and keeps its
+    // reference until it is purged.
+    String deletedKey = omMetadataManager.getOzoneDeletePathKey(
+        overwritten.getObjectID(), omMetadataManager.getOzoneKey(
+            volumeName, bucketName, dstKeyName));
+    Assert.assertNotNull(omMetadataManager.getDeletedTable().get(deletedKey));
+    assertSharedCount(3L);
+  }
+
+  @Test
+  public void testPurgeReleasesSharedBlocks() throws Exception {
+    copy(srcKeyName, dstKeyName, 100L);
+    copy(srcKeyName, "dstKey2", 101L);
+    assertSharedCount(3L);
+
+    Assert.assertEquals(Collections.emptyList(), purge(102L, 1));
+    assertSharedCount(2L);
+
+    // The last key using the blocks has no entry left.
+    Assert.assertEquals(Collections.emptyList(), purge(103L, 1));
+    assertSharedCount(null);
+
+    Assert.assertEquals(getSharedBlockKeys(), purge(104L, 1));
+    assertSharedCount(null);
+  }
+
+  @Test
+  public void testPurgeOfAllKeysDeletesSharedBlocks() throws Exception {
+    copy(srcKeyName, dstKeyName, 100L);
+    assertSharedCount(2L);
+
+    Assert.assertEquals(getSharedBlockKeys(), purge(101L, 2));
+    assertSharedCount(null);
+  }
+
+  @Test
+  public void testSourceNotFound() throws Exception {
+    OMClientResponse response = copy("missing", dstKeyName, 100L);
+    Assert.assertEquals(Status.KEY_NOT_FOUND,
+        response.getOMResponse().getStatus());
+    Assert.assertNull(getKey(dstKeyName));
+    Assert.assertEquals(1, omMetrics.getNumKeyCopyFails());
+  }
+
+  @Test
+  public void testFileSystemBucketNotSupported() throws Exception {
+    OMRequestTestUtils.addBucketToDB(volumeName, bucketName,
+        omMetadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+
+    OMClientResponse response = copy(srcKeyName, dstKeyName, 100L);
+    Assert.assertEquals(Status.NOT_SUPPORTED_OPERATION,
+        response.getOMResponse().getStatus());
+    assertSharedCount(null);
+  }
+
+  @Test
+  public void testVersionedSourceBucketNotSupported() throws Exception {
+    String srcBucketName = "versioned";
+    OMRequestTestUtils.addBucketToDB(omMetadataManager,
+        OmBucketInfo.newBuilder().setVolumeName(volumeName)
+            .setBucketName(srcBucketName)
+            .setBucketLayout(getBucketLayout())
+            .setIsVersionEnabled(true));
+    OmKeyInfo srcKeyInfo = OMRequestTestUtils.createOmKeyInfo(volumeName,
+        srcBucketName, srcKeyName, replicationType, replicationFactor, 0L);
+    srcKeyInfo.appendNewBlocks(blocks, false);
+    OMRequestTestUtils.addKeyToTable(false, false, srcKeyInfo, clientID, 0L,
+        omMetadataManager);
+
+    OMClientResponse response = copy(srcBucketName, srcKeyName, dstKeyName,
+        100L);
+    Assert.assertEquals(Status.NOT_SUPPORTED_OPERATION,
+        response.getOMResponse().getStatus());
+    Assert.assertNull(getKey(dstKeyName));
+    assertSharedCount(null);
+  }
+
+  private OMClientResponse copy(String fromKey, String toKey, long trxnIndex)
+      throws Exception {
+    return copy(bucketName, fromKey, toKey, trxnIndex);
+  }
+
+  private OMClientResponse copy(String fromBucket, String fromKey,
+      String toKey, long trxnIndex) throws Exception {
+    OMRequest modifiedRequest = new OMKeyCopyRequest(
+        createCopyKeyRequest(fromBucket, fromKey, toKey))
+        .preExecute(ozoneManager);
+    return new OMKeyCopyRequest(modifiedRequest).validateAndUpdateCache(
+        ozoneManager, trxnIndex, ozoneManagerDoubleBufferHelper);
+  }
+
+  /**
+   * Purges keys using all the blocks of the source key.
+   * @return the blocks which are not used by any key anymore, as queued for
+   *         deletion in the deleted table.
+   */
+  private List<String> purge(long trxnIndex, int keys) throws Exception {
+    List<String> released = new ArrayList<>();
+    for (int i = 0; i < keys; i++) {
+      released.addAll(getSharedBlockKeys());
+    }
+    OMRequest purgeRequest = OMRequest.newBuilder()
+        .setPurgeKeysRequest(PurgeKeysRequest.newBuilder()
+            .addDeletedKeys(DeletedKeys.newBuilder()
+                .setVolumeName(volumeName)
+                .setBucketName(bucketName)
+                .addAllReleasedSharedBlocks(released)))
+        .setCmdType(Type.PurgeKeys)
+        .setClientId(UUID.randomUUID().toString())
+        .build();
+    OMClientResponse response = new OMKeyPurgeRequest(purgeRequest)
+        .validateAndUpdateCache(ozoneManager, trxnIndex,
+            ozoneManagerDoubleBufferHelper);
+    Assert.assertEquals(Status.OK, response.getOMResponse().getStatus());
+    try (BatchOperation batchOperation =
+        omMetadataManager.getStore().initBatchOperation()) {
+      response.checkAndUpdateDB(omMetadataManager, batchOperation);
+      omMetadataManager.getStore().commitBatchOperation(batchOperation);
+    }
+
+    // object IDs are the transaction indexes in this test
+    RepeatedOmKeyInfo unused = omMetadataManager.getDeletedTable().get(
+        omMetadataManager.getOzoneDeletePathKey(trxnIndex,
+            omMetadataManager.getOzoneKey(volumeName, bucketName,
+                OMKeyPurgeRequest.UNUSED_SHARED_BLOCKS_KEY)));
+    List<String> deletable = new ArrayList<>();
+    if (unused != null) {
+      for (OmKeyInfo keyInfo : unused.getOmKeyInfoList()) {
+        for (OmKeyLocationInfo block :
+            keyInfo.getLatestVersionLocations().getLocationList()) {
+          deletable.add(getSharedBlockKey(block));
+        }
+      }
+    }
+    return deletable;
+  }
+
+  private List<String> getSharedBlockKeys() {
+    List<String> sharedBlockKeys = new ArrayList<>();
+    for (OmKeyLocationInfo block : blocks) {
+      sharedBlockKeys.add(getSharedBlockKey(block));
+    }
+    return sharedBlockKeys;
+  }
+
+  private void assertSharedCount(Long expected) throws Exception {
+    for (OmKeyLocationInfo block : blocks) {
+      Assert.assertEquals(expected,
+          omMetadataManager.getSharedBlockTable().get(
+              getSharedBlockKey(block)));
+    }
+  }
+
+  private String getSharedBlockKey(OmKeyLocationInfo block) {
+    return omMetadataManager.getSharedBlockKey(block.getContainerID(),
+        block.getLocalID());
+  }
+
+  private OmKeyInfo getKey(String keyName) throws Exception {
+    return omMetadataManager.getKeyTable(getBucketLayout()).get(
+        omMetadataManager.getOzoneKey(volumeName, bucketName, keyName));
+  }
+
+  private OMRequest createCopyKeyRequest(String fromBucket, String fromKey,
+      String toKey) {
+    CopyKeyRequest copyKeyRequest = CopyKeyRequest.newBuilder()
+        .setSrcKeyArgs(KeyArgs.newBuilder().setVolumeName(volumeName)
+            .setBucketName(fromBucket).setKeyName(fromKey))
+        .setDstKeyArgs(KeyArgs.newBuilder().setVolumeName(volumeName)
+            .setBucketName(bucketName).setKeyName(toKey))
+        .build();
+
+    return OMRequest.newBuilder()
+        .setClientId(UUID.randomUUID().toString())
+        .setCopyKeyRequest(copyKeyRequest)
+        .setCmdType(Type.CopyKey)
+        .build();
+  }
+}
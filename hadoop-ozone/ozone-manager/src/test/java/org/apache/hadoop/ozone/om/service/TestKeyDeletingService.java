@@ -34,6 +34,7 @@
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.IOmMetadataReader;
 import org.apache.hadoop.ozone.om.KeyManager;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OmSnapshot;
 import org.apache.hadoop.ozone.om.OmTestManagers;
@@ -370,6 +371,114 @@ public void checkDeletionForKeysWithMultipleVersions()
     Assert.assertTrue(scmBlockTestingClient.getNumberOfDeletedBlocks() >= 3);
   }
 
+  @Test(timeout = 30000)
+  public void checkDeletionForCopiedKey() throws Exception {
+    OzoneConfiguration conf = createConfAndInitValues();
+    OmTestManagers omTestManagers = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+    ScmBlockLocationTestingClient scmBlockTestingClient =
+        (ScmBlockLocationTestingClient) omTestManagers.getScmBlockClient();
+    KeyDeletingService keyDeletingService =
+        (KeyDeletingService) keyManager.getDeletingService();
+    Table<String, Long> sharedBlockTable =
+        keyManager.getMetadataManager().getSharedBlockTable();
+
+    String volumeName = String.format("volume%s",
+        RandomStringUtils.randomAlphanumeric(5));
+    String bucketName = String.format("bucket%s",
+        RandomStringUtils.randomAlphanumeric(5));
+    createVolumeAndBucket(keyManager, volumeName, bucketName, false);
+    OmKeyArgs srcKey = createAndCommitKey(keyManager, volumeName, bucketName,
+        "srcKey", 2);
+    OmKeyArgs dstKey = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName("dstKey")
+        .build();
+    writeClient.copyKey(srcKey, dstKey);
+    assertTableRowCount(sharedBlockTable, 2, keyManager.getMetadataManager());
+
+    // The blocks are still used by the copy.
+    writeClient.deleteKey(srcKey);
+    GenericTestUtils.waitFor(
+        () -> keyDeletingService.getDeletedKeyCount().get() >= 1,
+        100, 10000);
+    assertTableRowCount(sharedBlockTable, 0, keyManager.getMetadataManager());
+    Assert.assertEquals(0, scmBlockTestingClient.getNumberOfDeletedBlocks());
+
+    // The copy is the last key using the blocks.
+    writeClient.deleteKey(dstKey);
+    GenericTestUtils.waitFor(
+        () -> scmBlockTestingClient.getNumberOfDeletedBlocks() >= 2,
+        100, 10000);
+    Assert.assertEquals(2, keyDeletingService.getDeletedKeyCount().get());
+    Assert.assertEquals(0, keyManager.getPendingDeletionKeys(Integer.MAX_VALUE)
+        .getKeyBlocksList().size());
+  }
+
+  @Test(timeout = 30000)
+  public void checkDeletionForCopiedKeysPurgedTogether() throws Exception {
+    checkDeletionForCopiedKeysPurgedTogether(true);
+  }
+
+  @Test(timeout = 30000)
+  public void checkDeletionForCopiedKeysPurgedTogetherWithoutRatis()
+      throws Exception {
+    checkDeletionForCopiedKeysPurgedTogether(false);
+  }
+
+  private void checkDeletionForCopiedKeysPurgedTogether(boolean ratis)
+      throws Exception {
+    OzoneConfiguration conf = createConfAndInitValues();
+    conf.setBoolean(OMConfigKeys.OZONE_OM_RATIS_ENABLE_KEY, ratis);
+    OmTestManagers omTestManagers = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+    ScmBlockLocationTestingClient scmBlockTestingClient =
+        (ScmBlockLocationTestingClient) omTestManagers.getScmBlockClient();
+    KeyDeletingService keyDeletingService =
+        (KeyDeletingService) keyManager.getDeletingService();
+    Table<String, Long> sharedBlockTable =
+        keyManager.getMetadataManager().getSharedBlockTable();
+
+    String volumeName = String.format("volume%s",
+        RandomStringUtils.randomAlphanumeric(5));
+    String bucketName = String.format("bucket%s",
+        RandomStringUtils.randomAlphanumeric(5));
+    createVolumeAndBucket(keyManager, volumeName, bucketName, false);
+    OmKeyArgs srcKey = createAndCommitKey(keyManager, volumeName, bucketName,
+        "srcKey", 2);
+    OmKeyArgs dstKey = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName("dstKey")
+        .build();
+    writeClient.copyKey(srcKey, dstKey);
+
+    // Both keys are purged by the same run, which finds the blocks shared
+    // and leaves them to the purge.
+    keyDeletingService.suspend();
+    writeClient.deleteKey(srcKey);
+    writeClient.deleteKey(dstKey);
+    keyDeletingService.resume();
+
+    // The purge queues the blocks in the deleted table, and a later run
+    // deletes them.
+    GenericTestUtils.waitFor(
+        () -> scmBlockTestingClient.getNumberOfDeletedBlocks() >= 2,
+        100, 10000);
+    GenericTestUtils.waitFor(
+        () -> keyDeletingService.getDeletedKeyCount().get() >= 3,
+        100, 10000);
+    Assert.assertEquals(2, scmBlockTestingClient.getNumberOfDeletedBlocks());
+    assertTableRowCount(sharedBlockTable, 0, keyManager.getMetadataManager());
+    Assert.assertEquals(0, keyManager.getPendingDeletionKeys(Integer.MAX_VALUE)
+        .getKeyBlocksList().size());
+  }
+
   private void createAndDeleteKeys(KeyManager keyManager, int keyCount,
       int numBlocks) throws IOException {
     for (int x = 0; x < keyCount; x++) {
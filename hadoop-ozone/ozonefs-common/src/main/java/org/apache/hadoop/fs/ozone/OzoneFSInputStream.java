@@ -22,14 +22,18 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
+import java.util.List;
+import java.util.function.IntFunction;
 
 import org.apache.hadoop.fs.CanUnbuffer;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSInputStream;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Seekable;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 
 /**
  * The input stream for Ozone file system.
@@ -42,6 +46,14 @@
 public class OzoneFSInputStream extends FSInputStream
     implements ByteBufferReadable, CanUnbuffer {
 
+  /**
+   * Ranges closer than this are read together.  Reading a part of a chunk
+   * costs a round trip to the datanode, and checksums are verified over
+   * larger pieces anyway, so skipping small gaps is cheaper than seeking.
+   */
+  private static final int MIN_SEEK_FOR_VECTOR_READS = 256 * 1024;
+  private static final int MAX_READ_SIZE_FOR_VECTOR_READS = 4 * 1024 * 1024;
+
   private final InputStream inputStream;
   private final Statistics statistics;
 
@@ -131,6 +143,33 @@ public int read(ByteBuffer buf) throws IOException {
     return bytesRead;
   }
 
+  @Override
+  public int minSeekForVectorReads() {
+    return MIN_SEEK_FOR_VECTOR_READS;
+  }
+
+  @Override
+  public int maxReadSizeForVectorReads() {
+    return MAX_READ_SIZE_FOR_VECTOR_READS;
+  }
+
+  /**
+   * Merges nearby ranges and reads the ranges of different blocks in
+   * parallel.  The data is read by the time this returns, since the block
+   * streams are shared with the regular reads of this stream.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (inputStream instanceof MultipartInputStream) {
+      VectoredReads.read((MultipartInputStream) inputStream, ranges,
+          allocate, minSeekForVectorReads(), maxReadSizeForVectorReads(),
+          statistics);
+    } else {
+      super.readVectored(ranges, allocate);
+    }
+  }
+
   @Override
   public void unbuffer() {
     if (inputStream instanceof CanUnbuffer) {
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.fs.ozone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.apache.hadoop.fs.FileRange;
+import org.apache.hadoop.fs.FileSystem.Statistics;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import static org.apache.hadoop.fs.VectoredReadUtils.mergeSortedRanges;
+import static org.apache.hadoop.fs.VectoredReadUtils.sliceTo;
+import static org.apache.hadoop.fs.VectoredReadUtils.validateNonOverlappingAndReturnSortedRanges;
+import static org.apache.hadoop.fs.VectoredReadUtils.validateRangeRequest;
+
+/**
+ * Vectored reads of Ozone keys, see
+ * {@link OzoneFSInputStream#readVectored(List, IntFunction)}.
+ * <p>
+ * Kept apart from the stream so that only Hadoop versions that have
+ * vectored reads load the classes it refers to.
+ */
+final class VectoredReads {
+
+  private static final int MAX_THREADS = 32;
+
+  /**
+   * Threads reading the blocks of keys in parallel, shared by all streams.
+   * A read runs in the calling thread if all of them are busy.
+   */
+  private static final class Pool {
+    private static final Executor EXECUTOR = new ThreadPoolExecutor(
+        0, MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        new ThreadFactoryBuilder()
+            .setNameFormat("ozone-vectored-read-%d")
+            .setDaemon(true)
+            .build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private VectoredReads() {
+  }
+
+  /**
+   * Reads the ranges into buffers from the allocator.  Ranges closer than
+   * {@code minSeek} are merged into a single read of up to
+   * {@code maxSize} bytes, and the ranges of different blocks are read in
+   * parallel.  Failures are reported through the futures of the ranges.
+   */
+  static void read(MultipartInputStream in, List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, int minSeek, int maxSize,
+      Statistics statistics) throws IOException {
+    for (FileRange range : ranges) {
+      validateRangeRequest(range);
+      range.setData(new CompletableFuture<>());
+    }
+    final List<CombinedFileRange> combined = mergeSortedRanges(
+        validateNonOverlappingAndReturnSortedRanges(ranges), 1, minSeek,
+        maxSize);
+
+    final long[] offsets = new long[combined.size()];
+    final ByteBuffer[] buffers = new ByteBuffer[combined.size()];
+    long bytes = 0;
+    for (int i = 0; i < combined.size(); i++) {
+      offsets[i] = combined.get(i).getOffset();
+      buffers[i] = allocate.apply(combined.get(i).getLength());
+      bytes += combined.get(i).getLength();
+    }
+
+    try {
+      in.readFully(offsets, buffers, Pool.EXECUTOR);
+    } catch (IOException e) {
+      for (FileRange range : ranges) {
+        range.getData().completeExceptionally(e);
+      }
+      return;
+    }
+    if (statistics != null) {
+      statistics.incrementBytesRead(bytes);
+    }
+
+    for (int i = 0; i < combined.size(); i++) {
+      buffers[i].flip();
+      for (FileRange range : combined.get(i).getUnderlying()) {
+        range.getData().complete(sliceTo(buffers[i], offsets[i], range));
+      }
+    }
+  }
+}
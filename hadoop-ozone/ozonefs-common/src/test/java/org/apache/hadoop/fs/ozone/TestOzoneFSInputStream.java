@@ -24,19 +24,26 @@
 import org.apache.hadoop.crypto.CryptoCodec;
 import org.apache.hadoop.crypto.CryptoInputStream;
 import org.apache.hadoop.crypto.Decryptor;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.apache.hadoop.hdds.scm.storage.PartInputStream;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
 
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.IntFunction;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -166,6 +173,88 @@ public void testCryptoStreamUnbuffer()
     }
   }
 
+  @Test
+  public void readVectored() throws Exception {
+    for (IntFunction<ByteBuffer> constructor : BUFFER_CONSTRUCTORS) {
+      final byte[] source = RandomUtils.nextBytes(300);
+      final List<PartStream> parts = new ArrayList<>();
+      for (int off = 0; off < source.length; off += 100) {
+        parts.add(new PartStream(Arrays.copyOfRange(source, off, off + 100)));
+      }
+      final OzoneFSInputStream subject = createTestSubject(
+          new MultipartInputStream("key", parts));
+      subject.seek(42);
+
+      // nearby ranges, a range across blocks and one in another block
+      final List<FileRange> ranges = Arrays.asList(
+          FileRange.createFileRange(250, 10),
+          FileRange.createFileRange(10, 10),
+          FileRange.createFileRange(25, 10),
+          FileRange.createFileRange(95, 15));
+      subject.readVectored(ranges, constructor);
+
+      for (FileRange range : ranges) {
+        final ByteBuffer data = range.getData().get(10, TimeUnit.SECONDS);
+        final byte[] content = new byte[data.remaining()];
+        data.get(content);
+        assertArrayEquals(Arrays.copyOfRange(source, (int) range.getOffset(),
+            (int) range.getOffset() + range.getLength()), content);
+      }
+      assertEquals(42, subject.getPos());
+    }
+  }
+
+  @Test
+  public void readVectoredBeyondEOF() throws Exception {
+    final OzoneFSInputStream subject = createTestSubject(
+        new MultipartInputStream("key", Arrays.asList(
+            new PartStream(new byte[100]))));
+    final FileRange range = FileRange.createFileRange(90, 20);
+
+    subject.readVectored(Arrays.asList(range), ByteBuffer::allocate);
+
+    try {
+      range.getData().get(10, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof EOFException);
+      return;
+    }
+    throw new AssertionError("Read beyond EOF should fail");
+  }
+
+  /** A part of a key that is in memory. */
+  private static final class PartStream extends ByteArrayInputStream
+      implements PartInputStream {
+
+    PartStream(byte[] data) {
+      super(data);
+    }
+
+    @Override
+    public synchronized void seek(long position) {
+      pos = (int) position;
+    }
+
+    @Override
+    public synchronized long getPos() {
+      return pos;
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPos) {
+      return false;
+    }
+
+    @Override
+    public long getLength() {
+      return count;
+    }
+
+    @Override
+    public void unbuffer() {
+    }
+  }
+
   private static OzoneFSInputStream createTestSubject(InputStream input) {
     return new OzoneFSInputStream(input,
         new FileSystem.Statistics("test"));
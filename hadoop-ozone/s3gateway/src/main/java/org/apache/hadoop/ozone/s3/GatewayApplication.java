@@ -25,5 +25,7 @@
 public class GatewayApplication extends ResourceConfig {
   public GatewayApplication() {
     packages("org.apache.hadoop.ozone.s3", "org.apache.hadoop.ozone.s3secret");
+    register(new S3GatewayIOExecutorProvider(
+        OzoneConfigurationHolder.getConfiguration()));
   }
 }
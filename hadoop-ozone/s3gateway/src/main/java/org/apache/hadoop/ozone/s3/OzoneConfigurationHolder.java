@@ -36,6 +36,10 @@ public OzoneConfiguration configuration() {
     return configuration;
   }
 
+  public static OzoneConfiguration getConfiguration() {
+    return configuration;
+  }
+
   public static void setConfiguration(
       OzoneConfiguration conf) {
     OzoneConfigurationHolder.configuration = conf;
@@ -81,6 +81,35 @@ public final class S3GatewayConfigKeys {
   public static final boolean OZONE_S3G_LIST_KEYS_SHALLOW_ENABLED_DEFAULT =
       true;
 
+  /**
+   * Configuration key that enables copying objects in Ozone Manager by
+   * sharing the blocks of the source key, when the copy keeps its
+   * replication.  The data is copied through the gateway otherwise.
+   */
+  public static final String OZONE_S3G_COPY_SERVER_SIDE_ENABLED =
+      "ozone.s3g.copy.server-side.enabled";
+  public static final boolean OZONE_S3G_COPY_SERVER_SIDE_ENABLED_DEFAULT =
+      false;
+
+  /**
+   * Configuration key that enables serving object reads and writes on a
+   * bounded pool of I/O threads, so that the HTTP threads are not held by
+   * the transfers.
+   */
+  public static final String OZONE_S3G_ASYNC_IO_ENABLED =
+      "ozone.s3g.async.io.enabled";
+  public static final boolean OZONE_S3G_ASYNC_IO_ENABLED_DEFAULT = false;
+  public static final String OZONE_S3G_ASYNC_IO_THREADS =
+      "ozone.s3g.async.io.threads";
+  public static final int OZONE_S3G_ASYNC_IO_THREADS_DEFAULT = 100;
+  public static final String OZONE_S3G_ASYNC_IO_QUEUE_SIZE =
+      "ozone.s3g.async.io.queue.size";
+  public static final int OZONE_S3G_ASYNC_IO_QUEUE_SIZE_DEFAULT = 1000;
+  public static final String OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT =
+      "ozone.s3g.async.io.shutdown.timeout";
+  public static final String OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT_DEFAULT =
+      "30s";
+
   /**
    * Never constructed.
    */
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.s3;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.ManagedAsyncExecutor;
+import org.glassfish.jersey.spi.ExecutorServiceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_QUEUE_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_QUEUE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_THREADS;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_THREADS_DEFAULT;
+
+/**
+ * Provides the executor Jersey runs the {@link ManagedAsync} resource
+ * methods on, which read and write object data.
+ * <p>
+ * If async I/O is enabled, this is a bounded pool, so the HTTP threads are
+ * only held while the requests are dispatched, and the number of concurrent
+ * transfers is limited. Requests wait for an I/O thread in a bounded queue.
+ * When the queue is full, they are served on their HTTP thread, as they are
+ * when async I/O is disabled.
+ */
+@ManagedAsyncExecutor
+public class S3GatewayIOExecutorProvider implements ExecutorServiceProvider {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(S3GatewayIOExecutorProvider.class);
+
+  private final ExecutorService executor;
+  private final long shutdownTimeout;
+
+  public S3GatewayIOExecutorProvider(ConfigurationSource conf) {
+    shutdownTimeout = conf.getTimeDuration(
+        OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT,
+        OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT_DEFAULT, TimeUnit.MILLISECONDS);
+    if (conf.getBoolean(OZONE_S3G_ASYNC_IO_ENABLED,
+        OZONE_S3G_ASYNC_IO_ENABLED_DEFAULT)) {
+      int threads = conf.getInt(OZONE_S3G_ASYNC_IO_THREADS,
+          OZONE_S3G_ASYNC_IO_THREADS_DEFAULT);
+      int queueSize = conf.getInt(OZONE_S3G_ASYNC_IO_QUEUE_SIZE,
+          OZONE_S3G_ASYNC_IO_QUEUE_SIZE_DEFAULT);
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+          60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+          new ThreadFactoryBuilder()
+              .setNameFormat("S3G-IO-%d")
+              .setDaemon(true)
+              .build(),
+          new ThreadPoolExecutor.CallerRunsPolicy());
+      pool.allowCoreThreadTimeOut(true);
+      executor = pool;
+      LOG.info("Serving object reads and writes on {} I/O threads, " +
+          "with {} queued requests at most.", threads, queueSize);
+    } else {
+      executor = MoreExecutors.newDirectExecutorService();
+    }
+  }
+
+  @Override
+  public ExecutorService getExecutorService() {
+    return executor;
+  }
+
+  /**
+   * Lets the transfers in progress and the queued requests complete, and
+   * interrupts them after the shutdown timeout.
+   */
+  @Override
+  public void dispose(ExecutorService executorService) {
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(shutdownTimeout,
+          TimeUnit.MILLISECONDS)) {
+        LOG.warn("Interrupting object reads and writes still in progress " +
+            "after {} ms.", shutdownTimeout);
+        executorService.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executorService.shutdownNow();
+    }
+  }
+}
@@ -29,6 +29,7 @@
 import io.opentracing.ScopeManager;
 import io.opentracing.Span;
 import io.opentracing.util.GlobalTracer;
+import org.glassfish.jersey.server.ManagedAsync;
 
 import java.io.FilterOutputStream;
 import java.io.IOException;
@@ -56,9 +57,24 @@ public void filter(ContainerRequestContext requestContext) {
     Span span = GlobalTracer.get().buildSpan(
         resourceInfo.getResourceClass().getSimpleName() + "." +
             resourceInfo.getResourceMethod().getName()).start();
-    Scope scope = GlobalTracer.get().activateSpan(span);
-    requestContext.setProperty(TRACING_SCOPE, scope);
     requestContext.setProperty(TRACING_SPAN, span);
+    // Managed async methods activate the span on the thread they run on.
+    if (!resourceInfo.getResourceMethod()
+        .isAnnotationPresent(ManagedAsync.class)) {
+      activateSpan(requestContext);
+    }
+  }
+
+  /**
+   * Makes the span of the request active on the current thread, until the
+   * response is written.
+   */
+  public static void activateSpan(ContainerRequestContext requestContext) {
+    Span span = (Span) requestContext.getProperty(TRACING_SPAN);
+    if (span != null) {
+      Scope scope = GlobalTracer.get().activateSpan(span);
+      requestContext.setProperty(TRACING_SCOPE, scope);
+    }
   }
 
   @Override
@@ -93,7 +109,10 @@ private static void finishAndClose(Scope scope, Span span) {
     finishAndCloseActiveSpan();
   }
 
-  private static void finishAndCloseActiveSpan() {
+  /**
+   * Finishes the span left active on the current thread, if any.
+   */
+  public static void finishAndCloseActiveSpan() {
     ScopeManager scopeManager = GlobalTracer.get().scopeManager();
     if (scopeManager != null && scopeManager.activeSpan() != null) {
       scopeManager.activeSpan().finish();
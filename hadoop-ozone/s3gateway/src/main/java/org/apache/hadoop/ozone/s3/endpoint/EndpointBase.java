@@ -21,6 +21,7 @@
 import javax.inject.Inject;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.Context;
 import java.io.IOException;
@@ -32,6 +33,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Collections;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -51,6 +53,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.protocol.S3Auth;
+import org.apache.hadoop.ozone.s3.TracingFilter;
 import org.apache.hadoop.ozone.s3.exception.OS3Exception;
 import org.apache.hadoop.ozone.s3.exception.S3ErrorTable;
 
@@ -59,6 +62,7 @@
 import org.apache.hadoop.ozone.s3.metrics.S3GatewayMetrics;
 import org.apache.hadoop.ozone.s3.util.AuditUtils;
 import org.apache.hadoop.util.Time;
+import org.glassfish.jersey.server.ManagedAsync;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -115,9 +119,7 @@ protected OzoneBucket getBucket(OzoneVolume volume, String bucketName)
   @PostConstruct
   public void initialization() {
     LOG.debug("S3 access id: {}", s3Auth.getAccessID());
-    getClient().getObjectStore()
-        .getClientProxy()
-        .setThreadLocalS3Auth(s3Auth);
+    getClientProtocol().setThreadLocalS3Auth(s3Auth);
     init();
   }
 
@@ -356,6 +358,27 @@ protected ClientProtocol getClientProtocol() {
     return getClient().getProxy();
   }
 
+  /**
+   * Completes a request suspended by a {@link ManagedAsync} resource method
+   * with the response of the call. Jersey writes the response, including
+   * streamed content, on the current thread, so the S3 credentials and the
+   * tracing span of the request are bound to it until then.
+   */
+  protected void resume(AsyncResponse asyncResponse,
+      Callable<Response> call) {
+    ClientProtocol proxy = getClientProtocol();
+    proxy.setThreadLocalS3Auth(s3Auth);
+    TracingFilter.activateSpan(context);
+    try {
+      asyncResponse.resume(call.call());
+    } catch (Exception e) {
+      asyncResponse.resume(e);
+    } finally {
+      TracingFilter.finishAndCloseActiveSpan();
+      proxy.clearThreadLocalS3Auth();
+    }
+  }
+
   @VisibleForTesting
   public S3GatewayMetrics getMetrics() {
     return S3GatewayMetrics.create();
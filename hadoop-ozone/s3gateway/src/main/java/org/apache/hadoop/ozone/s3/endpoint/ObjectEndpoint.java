@@ -31,7 +31,9 @@
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -108,6 +110,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ENABLE_FILESYSTEM_PATHS;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_CLIENT_BUFFER_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_CLIENT_BUFFER_SIZE_KEY;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_COPY_SERVER_SIDE_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_COPY_SERVER_SIDE_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.s3.exception.S3ErrorTable.ENTITY_TOO_SMALL;
@@ -128,6 +132,7 @@
 import static org.apache.hadoop.ozone.s3.util.S3Utils.urlDecode;
 
 import org.apache.http.HttpStatus;
+import org.glassfish.jersey.server.ManagedAsync;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -153,6 +158,7 @@ public class ObjectEndpoint extends EndpointBase {
   private int chunkSize;
   private boolean datastreamEnabled;
   private long datastreamMinLength;
+  private boolean serverSideCopyEnabled;
 
   public ObjectEndpoint() {
     overrideQueryParameter = ImmutableMap.<String, String>builder()
@@ -183,22 +189,38 @@ public void init() {
     datastreamMinLength = (long) ozoneConfiguration.getStorageSize(
         OZONE_FS_DATASTREAM_AUTO_THRESHOLD,
         OZONE_FS_DATASTREAM_AUTO_THRESHOLD_DEFAULT, StorageUnit.BYTES);
+    serverSideCopyEnabled = ozoneConfiguration.getBoolean(
+        OZONE_S3G_COPY_SERVER_SIDE_ENABLED,
+        OZONE_S3G_COPY_SERVER_SIDE_ENABLED_DEFAULT);
   }
 
   /**
-   * Rest endpoint to upload object to a bucket.
-   * <p>
-   * See: https://docs.aws.amazon.com/AmazonS3/latest/API/RESTObjectPUT.html for
-   * more details.
+   * Rest endpoint to upload object to a bucket, served by {@link #put} on
+   * the I/O executor of the gateway.
    */
   @PUT
-  public Response put(
+  @ManagedAsync
+  public void putAsync(
       @PathParam("bucket") String bucketName,
       @PathParam("path") String keyPath,
       @HeaderParam("Content-Length") long length,
       @QueryParam("partNumber")  int partNumber,
       @QueryParam("uploadId") @DefaultValue("") String uploadID,
-      InputStream body) throws IOException, OS3Exception {
+      InputStream body,
+      @Suspended AsyncResponse asyncResponse) {
+    resume(asyncResponse, () -> put(bucketName, keyPath, length, partNumber,
+        uploadID, body));
+  }
+
+  /**
+   * Uploads object to a bucket.
+   * <p>
+   * See: https://docs.aws.amazon.com/AmazonS3/latest/API/RESTObjectPUT.html for
+   * more details.
+   */
+  public Response put(String bucketName, String keyPath, long length,
+      int partNumber, String uploadID, InputStream body)
+      throws IOException, OS3Exception {
     long startNanos = Time.monotonicNowNanos();
     S3GAction s3GAction = S3GAction.CREATE_KEY;
 
@@ -329,21 +351,32 @@ public Response put(
   }
 
   /**
-   * Rest endpoint to download object from a bucket, if query param uploadId
-   * is specified, request for list parts of a multipart upload key with
-   * specific uploadId.
-   * <p>
-   * See: https://docs.aws.amazon.com/AmazonS3/latest/API/RESTObjectGET.html
-   * https://docs.aws.amazon.com/AmazonS3/latest/API/mpUploadListParts.html
-   * for more details.
+   * Rest endpoint to download object from a bucket, served by {@link #get}
+   * on the I/O executor of the gateway.
    */
   @GET
-  public Response get(
+  @ManagedAsync
+  public void getAsync(
       @PathParam("bucket") String bucketName,
       @PathParam("path") String keyPath,
       @QueryParam("uploadId") String uploadId,
       @QueryParam("max-parts") @DefaultValue("1000") int maxParts,
-      @QueryParam("part-number-marker") String partNumberMarker)
+      @QueryParam("part-number-marker") String partNumberMarker,
+      @Suspended AsyncResponse asyncResponse) {
+    resume(asyncResponse, () -> get(bucketName, keyPath, uploadId, maxParts,
+        partNumberMarker));
+  }
+
+  /**
+   * Downloads object from a bucket, if uploadId is specified, lists the
+   * parts of a multipart upload key with specific uploadId.
+   * <p>
+   * See: https://docs.aws.amazon.com/AmazonS3/latest/API/RESTObjectGET.html
+   * https://docs.aws.amazon.com/AmazonS3/latest/API/mpUploadListParts.html
+   * for more details.
+   */
+  public Response get(String bucketName, String keyPath, String uploadId,
+      int maxParts, String partNumberMarker)
       throws IOException, OS3Exception {
     long startNanos = Time.monotonicNowNanos();
     S3GAction s3GAction = S3GAction.GET_KEY;
@@ -1070,11 +1103,18 @@ private CopyObjectResponse copyObject(OzoneVolume volume,
           volume.getName(), sourceBucket, sourceKey);
       long sourceKeyLen = sourceKeyDetails.getDataSize();
 
-      try (OzoneInputStream src = getClientProtocol().getKey(volume.getName(),
-          sourceBucket, sourceKey)) {
+      if (serverSideCopyEnabled && copyInOzoneManager(volume, sourceBucket,
+          sourceKey, sourceKeyDetails.getReplicationConfig(), destBucket,
+          destkey, replicationConfig)) {
         getMetrics().updateCopyKeyMetadataStats(startNanos);
-        copy(volume, src, sourceKeyLen, destkey, destBucket, replicationConfig,
-                sourceKeyDetails.getMetadata());
+        getMetrics().incCopyObjectSuccessLength(sourceKeyLen);
+      } else {
+        try (OzoneInputStream src = getClientProtocol().getKey(
+            volume.getName(), sourceBucket, sourceKey)) {
+          getMetrics().updateCopyKeyMetadataStats(startNanos);
+          copy(volume, src, sourceKeyLen, destkey, destBucket,
+              replicationConfig, sourceKeyDetails.getMetadata());
+        }
       }
 
       final OzoneKeyDetails destKeyDetails = getClientProtocol().getKeyDetails(
@@ -1098,6 +1138,38 @@ private CopyObjectResponse copyObject(OzoneVolume volume,
     }
   }
 
+  /**
+   * Copies the key in Ozone Manager, the new key shares the blocks of the
+   * source key.  This is only possible if the copy keeps the replication of
+   * the source key.
+   *
+   * @return false if the data has to be copied instead
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private boolean copyInOzoneManager(OzoneVolume volume, String sourceBucket,
+      String sourceKey, ReplicationConfig sourceReplicationConfig,
+      String destBucket, String destKey, ReplicationConfig replicationConfig)
+      throws IOException {
+    if (replicationConfig != null &&
+        !replicationConfig.equals(sourceReplicationConfig)) {
+      return false;
+    }
+    try {
+      getClientProtocol().copyKey(volume.getName(), sourceBucket, sourceKey,
+          destBucket, destKey);
+      return true;
+    } catch (OMException ex) {
+      if (ex.getResult() == ResultCodes.NOT_SUPPORTED_OPERATION ||
+          ex.getResult() ==
+              ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION) {
+        LOG.debug("Copying the data of {}/{}: {}", sourceBucket, sourceKey,
+            ex.getMessage());
+        return false;
+      }
+      throw ex;
+    }
+  }
+
   /**
    * Parse the key and bucket name from copy header.
    */
@@ -65,6 +65,7 @@ public class ClientProtocolStub implements ClientProtocol {
   private static final String STUB_KERBEROS_ID = "stub_kerberos_id";
   private static final String STUB_SECRET = "stub_secret";
   private final ObjectStoreStub objectStoreStub;
+  private final ThreadLocal<S3Auth> threadLocalS3Auth = new ThreadLocal<>();
 
   public ClientProtocolStub(ObjectStoreStub objectStoreStub) {
     this.objectStoreStub = objectStoreStub;
@@ -248,6 +249,15 @@ public void renameKey(String volumeName, String bucketName,
 
   }
 
+  @Override
+  public void copyKey(String volumeName, String srcBucketName,
+      String srcKeyName, String dstBucketName, String dstKeyName)
+      throws IOException {
+    ((OzoneBucketStub) getBucket(volumeName, srcBucketName)).copyKey(
+        srcKeyName, (OzoneBucketStub) getBucket(volumeName, dstBucketName),
+        dstKeyName);
+  }
+
   @Override
   public void renameKeys(String volumeName, String bucketName,
                          Map<String, String> keyMap) throws IOException {
@@ -566,17 +576,17 @@ public OzoneKey headObject(String volumeName, String bucketName,
 
   @Override
   public void setThreadLocalS3Auth(S3Auth s3Auth) {
-
+    threadLocalS3Auth.set(s3Auth);
   }
 
   @Override
   public S3Auth getThreadLocalS3Auth() {
-    return null;
+    return threadLocalS3Auth.get();
   }
 
   @Override
   public void clearThreadLocalS3Auth() {
-
+    threadLocalS3Auth.remove();
   }
 
   @Override
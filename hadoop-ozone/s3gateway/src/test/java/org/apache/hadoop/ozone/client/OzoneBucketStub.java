@@ -389,6 +389,23 @@ public void deleteKey(String key) throws IOException {
     keyDetails.remove(key);
   }
 
+  /**
+   * Copies the key as Ozone Manager does, the new key shares the blocks and
+   * the data of the source key.
+   */
+  public void copyKey(String srcKeyName, OzoneBucketStub dstBucket,
+      String dstKeyName) throws IOException {
+    OzoneKeyDetails srcKey = getKey(srcKeyName);
+    long now = System.currentTimeMillis();
+    dstBucket.keyContents.put(dstKeyName, keyContents.get(srcKeyName));
+    dstBucket.keyDetails.put(dstKeyName, new OzoneKeyDetails(
+        dstBucket.getVolumeName(), dstBucket.getName(), dstKeyName,
+        srcKey.getDataSize(), now, now, srcKey.getOzoneKeyLocations(),
+        srcKey.getReplicationConfig(), srcKey.getMetadata(),
+        srcKey.getFileEncryptionInfo(), () -> dstBucket.readKey(dstKeyName),
+        true));
+  }
+
   @Override
   public void renameKey(String fromKeyName, String toKeyName)
       throws IOException {
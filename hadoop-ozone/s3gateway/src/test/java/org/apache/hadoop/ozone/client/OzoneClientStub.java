@@ -28,7 +28,12 @@ public OzoneClientStub() {
   }
 
   public OzoneClientStub(ObjectStoreStub objectStoreStub) {
-    super(objectStoreStub, new ClientProtocolStub(objectStoreStub));
+    this(objectStoreStub, new ClientProtocolStub(objectStoreStub));
+  }
+
+  public OzoneClientStub(ObjectStoreStub objectStoreStub,
+      ClientProtocolStub clientProtocolStub) {
+    super(objectStoreStub, clientProtocolStub);
   }
 
   @Override
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.s3;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_QUEUE_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_THREADS;
+
+/**
+ * Tests for {@link S3GatewayIOExecutorProvider}.
+ */
+public class TestS3GatewayIOExecutorProvider {
+
+  @Test
+  public void disabledRunsOnCallerThread() throws Exception {
+    S3GatewayIOExecutorProvider provider =
+        new S3GatewayIOExecutorProvider(new OzoneConfiguration());
+    ExecutorService executor = provider.getExecutorService();
+    try {
+      Assert.assertEquals(Thread.currentThread(),
+          executor.submit(Thread::currentThread).get());
+    } finally {
+      provider.dispose(executor);
+    }
+  }
+
+  @Test
+  public void enabledIsBounded() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_ASYNC_IO_ENABLED, true);
+    conf.setInt(OZONE_S3G_ASYNC_IO_THREADS, 1);
+    conf.setInt(OZONE_S3G_ASYNC_IO_QUEUE_SIZE, 1);
+    S3GatewayIOExecutorProvider provider =
+        new S3GatewayIOExecutorProvider(conf);
+    ExecutorService executor = provider.getExecutorService();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      Future<Thread> first = executor.submit(() -> {
+        running.countDown();
+        release.await();
+        return Thread.currentThread();
+      });
+      Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+      Future<Thread> queued = executor.submit(Thread::currentThread);
+
+      // The pool and the queue are full, the caller serves the request.
+      Assert.assertEquals(Thread.currentThread(),
+          executor.submit(Thread::currentThread).get());
+
+      release.countDown();
+      Thread ioThread = first.get();
+      Assert.assertNotEquals(Thread.currentThread(), ioThread);
+      Assert.assertTrue(ioThread.getName().startsWith("S3G-IO-"));
+      Assert.assertEquals(ioThread, queued.get());
+    } finally {
+      release.countDown();
+      provider.dispose(executor);
+    }
+  }
+
+  @Test
+  public void disposeCompletesTransfers() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_ASYNC_IO_ENABLED, true);
+    S3GatewayIOExecutorProvider provider =
+        new S3GatewayIOExecutorProvider(conf);
+    ExecutorService executor = provider.getExecutorService();
+    CountDownLatch running = new CountDownLatch(1);
+    Future<?> transfer = executor.submit(() -> {
+      running.countDown();
+      Thread.sleep(500);
+      return null;
+    });
+    Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+
+    provider.dispose(executor);
+
+    Assert.assertTrue(executor.isTerminated());
+    transfer.get();
+  }
+
+  @Test
+  public void disposeInterruptsTransfersAfterTimeout() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_ASYNC_IO_ENABLED, true);
+    conf.set(OZONE_S3G_ASYNC_IO_SHUTDOWN_TIMEOUT, "100ms");
+    S3GatewayIOExecutorProvider provider =
+        new S3GatewayIOExecutorProvider(conf);
+    ExecutorService executor = provider.getExecutorService();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    executor.submit(() -> {
+      running.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    });
+    Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+
+    provider.dispose(executor);
+
+    Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+  }
+}
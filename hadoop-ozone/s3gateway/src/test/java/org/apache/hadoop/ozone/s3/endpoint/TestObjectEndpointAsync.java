@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.s3.endpoint;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response.Status;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.opentracing.Span;
+import io.opentracing.util.GlobalTracer;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.client.ClientProtocolStub;
+import org.apache.hadoop.ozone.client.ObjectStoreStub;
+import org.apache.hadoop.ozone.client.OzoneClient;
+import org.apache.hadoop.ozone.client.OzoneClientStub;
+import org.apache.hadoop.ozone.client.OzoneKeyDetails;
+import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.hadoop.ozone.om.protocol.S3Auth;
+import org.apache.hadoop.ozone.s3.S3GatewayIOExecutorProvider;
+import org.apache.hadoop.ozone.s3.TracingFilter;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_QUEUE_SIZE;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_ASYNC_IO_THREADS;
+
+/**
+ * Tests the managed async object endpoints served by Jersey, on the I/O
+ * executor of the gateway or on the HTTP thread.
+ */
+@RunWith(Parameterized.class)
+public class TestObjectEndpointAsync {
+
+  private static final URI BASE_URI = URI.create("http://localhost/");
+  private static final String BUCKET = "b1";
+  private static final String CONTENT = "0123456789";
+  private static final String BLOCKED_KEY = "blocked";
+
+  private static final InMemoryReporter REPORTER = new InMemoryReporter();
+
+  private final boolean asyncEnabled;
+
+  private S3Auth s3Auth;
+  private RecordingClientProtocol proxy;
+  private OzoneClient client;
+  private S3GatewayIOExecutorProvider executorProvider;
+  private ApplicationHandler handler;
+
+  public TestObjectEndpointAsync(boolean asyncEnabled) {
+    this.asyncEnabled = asyncEnabled;
+  }
+
+  @Parameters(name = "asyncEnabled={0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {{false}, {true}});
+  }
+
+  @BeforeClass
+  public static void registerTracer() {
+    GlobalTracer.registerIfAbsent(
+        new JaegerTracer.Builder(TestObjectEndpointAsync.class.getSimpleName())
+            .withReporter(REPORTER)
+            .withSampler(new ConstSampler(true))
+            .build());
+  }
+
+  @Before
+  public void setup() throws IOException {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_ASYNC_IO_ENABLED, asyncEnabled);
+    conf.setInt(OZONE_S3G_ASYNC_IO_THREADS, 1);
+    conf.setInt(OZONE_S3G_ASYNC_IO_QUEUE_SIZE, 1);
+
+    ObjectStoreStub objectStore = new ObjectStoreStub();
+    proxy = new RecordingClientProtocol(objectStore);
+    client = new OzoneClientStub(objectStore, proxy);
+    client.getObjectStore().createS3Bucket(BUCKET);
+    s3Auth = new S3Auth("stringToSign", "signature", "accessID", "user");
+    executorProvider = new S3GatewayIOExecutorProvider(conf);
+    REPORTER.clear();
+
+    handler = new ApplicationHandler(new ResourceConfig()
+        .register(ObjectEndpoint.class)
+        .register(TracingFilter.class)
+        .register(executorProvider)
+        .register(new AbstractBinder() {
+          @Override
+          protected void configure() {
+            bind(client).to(OzoneClient.class);
+            bind(s3Auth).to(S3Auth.class);
+            bind(conf).to(OzoneConfiguration.class);
+          }
+        }));
+  }
+
+  @After
+  public void cleanup() {
+    proxy.release.countDown();
+    executorProvider.dispose(executorProvider.getExecutorService());
+  }
+
+  @Test
+  public void put() throws Exception {
+    ContainerResponse response = put("key1", CONTENT).get(10, TimeUnit.SECONDS);
+
+    Assert.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+    Assert.assertEquals(CONTENT, IOUtils.toString(
+        client.getObjectStore().getS3Bucket(BUCKET).readKey("key1"), UTF_8));
+    assertServedOnIOThread(proxy.getCall("createKey", "key1"),
+        "ObjectEndpoint.putAsync");
+    assertThreadCleared();
+  }
+
+  @Test
+  public void get() throws Exception {
+    createKey("key1");
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    ContainerResponse response = get("key1", body).get(10, TimeUnit.SECONDS);
+
+    Assert.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+    Assert.assertEquals(CONTENT, body.toString(UTF_8.name()));
+    assertServedOnIOThread(proxy.getCall("getS3KeyDetails", "key1"),
+        "ObjectEndpoint.getAsync");
+    // The content is streamed on the same thread, within the request span.
+    assertServedOnIOThread(proxy.getCall("getContent", "key1"),
+        "ObjectEndpoint.getAsync");
+    assertThreadCleared();
+  }
+
+  @Test
+  public void requestIsSuspendedWhileTransferring() throws Exception {
+    Assume.assumeTrue(asyncEnabled);
+    Future<ContainerResponse> response = put(BLOCKED_KEY, CONTENT);
+
+    // The HTTP thread is released while the I/O thread writes the key.
+    Assert.assertTrue(proxy.blocked.await(10, TimeUnit.SECONDS));
+    Assert.assertFalse(response.isDone());
+
+    proxy.release.countDown();
+    Assert.assertEquals(Status.OK.getStatusCode(),
+        response.get(10, TimeUnit.SECONDS).getStatus());
+    assertServedOnIOThread(proxy.getCall("createKey", BLOCKED_KEY),
+        "ObjectEndpoint.putAsync");
+  }
+
+  @Test
+  public void callerRunsWhenQueueIsFull() throws Exception {
+    Assume.assumeTrue(asyncEnabled);
+    createKey("key1");
+    createKey("key2");
+    Future<ContainerResponse> blocked = put(BLOCKED_KEY, CONTENT);
+    Assert.assertTrue(proxy.blocked.await(10, TimeUnit.SECONDS));
+    ByteArrayOutputStream queuedBody = new ByteArrayOutputStream();
+    Future<ContainerResponse> queued = get("key1", queuedBody);
+
+    // The I/O thread and the queue are taken, the HTTP thread serves it.
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    Future<ContainerResponse> response = get("key2", body);
+    Assert.assertTrue(response.isDone());
+    Assert.assertEquals(Status.OK.getStatusCode(),
+        response.get().getStatus());
+    Assert.assertEquals(CONTENT, body.toString(UTF_8.name()));
+    Call call = proxy.getCall("getS3KeyDetails", "key2");
+    Assert.assertEquals(Thread.currentThread(), call.thread);
+    Assert.assertSame(s3Auth, call.s3Auth);
+    Assert.assertEquals("ObjectEndpoint.getAsync", call.spanName);
+    Assert.assertFalse(queued.isDone());
+
+    proxy.release.countDown();
+    Assert.assertEquals(Status.OK.getStatusCode(),
+        blocked.get(10, TimeUnit.SECONDS).getStatus());
+    Assert.assertEquals(Status.OK.getStatusCode(),
+        queued.get(10, TimeUnit.SECONDS).getStatus());
+    Assert.assertEquals(CONTENT, queuedBody.toString(UTF_8.name()));
+    Assert.assertEquals(proxy.getCall("createKey", BLOCKED_KEY).thread,
+        proxy.getCall("getS3KeyDetails", "key1").thread);
+  }
+
+  private Future<ContainerResponse> put(String key, String content) {
+    byte[] bytes = content.getBytes(UTF_8);
+    ContainerRequest request = newRequest("PUT", key);
+    request.header(HttpHeaders.CONTENT_LENGTH, bytes.length);
+    request.setEntityStream(new ByteArrayInputStream(bytes));
+    return handler.apply(request, new ByteArrayOutputStream());
+  }
+
+  private Future<ContainerResponse> get(String key,
+      ByteArrayOutputStream body) {
+    return handler.apply(newRequest("GET", key), body);
+  }
+
+  private ContainerRequest newRequest(String method, String key) {
+    return new ContainerRequest(BASE_URI,
+        BASE_URI.resolve(BUCKET + "/" + key), method, null,
+        new MapPropertiesDelegate(), handler.getConfiguration());
+  }
+
+  private void createKey(String key) throws IOException {
+    try (OzoneOutputStream out = client.getObjectStore().getS3Bucket(BUCKET)
+        .createKey(key, CONTENT.length())) {
+      out.write(CONTENT.getBytes(UTF_8));
+    }
+  }
+
+  private void assertServedOnIOThread(Call call, String spanName) {
+    if (asyncEnabled) {
+      Assert.assertNotEquals(Thread.currentThread(), call.thread);
+      Assert.assertTrue(call.thread.getName().startsWith("S3G-IO-"));
+    } else {
+      Assert.assertEquals(Thread.currentThread(), call.thread);
+    }
+    Assert.assertSame(s3Auth, call.s3Auth);
+    Assert.assertEquals(spanName, call.spanName);
+  }
+
+  /**
+   * Checks that the thread which served the request does not keep its
+   * credentials or its span, and that the span is reported.
+   */
+  private void assertThreadCleared() throws Exception {
+    ExecutorService executor = executorProvider.getExecutorService();
+    Assert.assertNull(executor.submit(proxy::getThreadLocalS3Auth).get());
+    Assert.assertNull(executor.submit(() -> GlobalTracer.get().activeSpan())
+        .get());
+    Assert.assertEquals(1, REPORTER.getSpans().size());
+  }
+
+  /**
+   * A client call, with the thread it was made on and its context.
+   */
+  private static final class Call {
+    private final String method;
+    private final String key;
+    private final Thread thread;
+    private final S3Auth s3Auth;
+    private final String spanName;
+
+    private Call(String method, String key, S3Auth s3Auth) {
+      this.method = method;
+      this.key = key;
+      this.thread = Thread.currentThread();
+      this.s3Auth = s3Auth;
+      Span span = GlobalTracer.get().activeSpan();
+      this.spanName = span instanceof JaegerSpan
+          ? ((JaegerSpan) span).getOperationName() : null;
+    }
+  }
+
+  /**
+   * Records the object reads and writes, and blocks the writes of
+   * {@link #BLOCKED_KEY} until released.
+   */
+  private static final class RecordingClientProtocol
+      extends ClientProtocolStub {
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private RecordingClientProtocol(ObjectStoreStub objectStoreStub) {
+      super(objectStoreStub);
+    }
+
+    @Override
+    public OzoneOutputStream createKey(String volumeName, String bucketName,
+        String keyName, long size, ReplicationConfig replicationConfig,
+        Map<String, String> metadata) throws IOException {
+      record("createKey", keyName);
+      if (BLOCKED_KEY.equals(keyName)) {
+        blocked.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      return super.createKey(volumeName, bucketName, keyName, size,
+          replicationConfig, metadata);
+    }
+
+    @Override
+    public OzoneKeyDetails getS3KeyDetails(String bucketName, String keyName)
+        throws IOException {
+      record("getS3KeyDetails", keyName);
+      OzoneKeyDetails key = super.getS3KeyDetails(bucketName, keyName);
+      return new OzoneKeyDetails(key.getVolumeName(), key.getBucketName(),
+          key.getName(), key.getDataSize(),
+          key.getCreationTime().toEpochMilli(),
+          key.getModificationTime().toEpochMilli(),
+          key.getOzoneKeyLocations(), key.getReplicationConfig(),
+          key.getMetadata(), key.getFileEncryptionInfo(),
+          () -> {
+            record("getContent", keyName);
+            return key.getContent();
+          }, key.isFile());
+    }
+
+    private void record(String method, String key) {
+      calls.add(new Call(method, key, getThreadLocalS3Auth()));
+    }
+
+    private Call getCall(String method, String key) {
+      return calls.stream()
+          .filter(c -> c.method.equals(method) && c.key.equals(key))
+          .findFirst()
+          .orElseThrow(() -> new AssertionError(method + " " + key));
+    }
+  }
+}
@@ -23,6 +23,8 @@
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import org.apache.commons.io.IOUtils;
@@ -49,6 +51,7 @@
 import org.mockito.Mockito;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_COPY_SERVER_SIDE_ENABLED;
 import static org.apache.hadoop.ozone.s3.util.S3Consts.COPY_SOURCE_HEADER;
 import static org.apache.hadoop.ozone.s3.util.S3Consts.STORAGE_CLASS_HEADER;
 import static org.apache.hadoop.ozone.s3.util.S3Utils.urlEncode;
@@ -260,6 +263,48 @@ public void testCopyObject() throws IOException, OS3Exception {
 
   }
 
+  @Test
+  public void testCopyObjectInOzoneManager() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_COPY_SERVER_SIDE_ENABLED, true);
+    objectEndpoint.setOzoneConfiguration(conf);
+    objectEndpoint.init();
+    HttpHeaders headers = Mockito.mock(HttpHeaders.class);
+    objectEndpoint.setHeaders(headers);
+
+    OzoneBucket srcBucket =
+        clientStub.getObjectStore().getS3Bucket(bucketName);
+    try (OutputStream out = srcBucket.createKey(keyName, CONTENT.length(),
+        null, Collections.singletonMap("custom-key", "custom-value"))) {
+      out.write(CONTENT.getBytes(UTF_8));
+    }
+    OzoneKeyDetails srcKey = srcBucket.getKey(keyName);
+
+    when(headers.getHeaderString(COPY_SOURCE_HEADER)).thenReturn(
+        bucketName + "/" + urlEncode(keyName));
+    Response response = objectEndpoint.put(destBucket, destkey,
+        CONTENT.length(), 1, null, null);
+
+    Assert.assertEquals(200, response.getStatus());
+    CopyObjectResponse copyObjectResponse =
+        (CopyObjectResponse) response.getEntity();
+    Assert.assertNotNull(copyObjectResponse.getETag());
+    OzoneKeyDetails dstKey =
+        clientStub.getObjectStore().getS3Bucket(destBucket).getKey(destkey);
+    // The copy shares the blocks instead of writing the data again.
+    Assert.assertSame(srcKey.getOzoneKeyLocations(),
+        dstKey.getOzoneKeyLocations());
+    Assert.assertEquals(srcKey.getMetadata(), dstKey.getMetadata());
+    Assert.assertEquals(srcKey.getReplicationConfig(),
+        dstKey.getReplicationConfig());
+    Assert.assertEquals(copyObjectResponse.getLastModified(),
+        dstKey.getModificationTime());
+    try (InputStream in = clientStub.getObjectStore()
+        .getS3Bucket(destBucket).readKey(destkey)) {
+      Assert.assertEquals(CONTENT, IOUtils.toString(in, UTF_8));
+    }
+  }
+
   @Test
   public void testInvalidStorageType() throws IOException {
     HttpHeaders headers = Mockito.mock(HttpHeaders.class);
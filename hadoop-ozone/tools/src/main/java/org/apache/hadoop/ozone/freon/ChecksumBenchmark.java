@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.freon;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Computes checksums of in-memory chunks, without any I/O.
+ * <p>
+ * Run once per checksum type and buffer type, and compare runs with and
+ * without {@code --parallel}.
+ */
+@Command(name = "cksb",
+    aliases = "checksum-benchmark",
+    description = "Compute chunk checksums as fast as possible.",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+public class ChecksumBenchmark extends BaseFreonGenerator implements
+    Callable<Void> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChecksumBenchmark.class);
+
+  /** The {@link ChunkBuffer} implementations used by the client. */
+  enum BufferType {
+    /** A single ByteBuffer. */
+    BYTE_BUFFER,
+    /** A list of ByteBuffers, one per checksum. */
+    BYTE_BUFFER_LIST,
+    /** Incrementally allocated buffer, as used by BlockOutputStream. */
+    INCREMENTAL
+  }
+
+  @Option(names = {"-s", "--size"},
+      description = "Size of the chunks (in bytes)",
+      defaultValue = "4194304")
+  private int chunkSize;
+
+  @Option(names = {"--bytes-per-checksum"},
+      description = "Number of bytes covered by each checksum",
+      defaultValue = "1048576")
+  private int bytesPerChecksum;
+
+  @Option(names = {"--checksum-type"},
+      description = "Checksum type: ${COMPLETION-CANDIDATES}",
+      defaultValue = "CRC32")
+  private ChecksumType checksumType;
+
+  @Option(names = {"--buffer-type"},
+      description = "Buffer type: ${COMPLETION-CANDIDATES}",
+      defaultValue = "BYTE_BUFFER")
+  private BufferType bufferType;
+
+  @Option(names = {"--parallel"},
+      description = "Compute the checksums of a chunk in parallel",
+      defaultValue = "false")
+  private boolean parallel;
+
+  private byte[] data;
+
+  private Timer timer;
+
+  private final ThreadLocal<Checksum> checksums = new ThreadLocal<>();
+
+  @Override
+  public Void call() throws Exception {
+    init();
+
+    data = RandomUtils.nextBytes(chunkSize);
+    timer = getMetrics().timer("checksum");
+
+    LOG.info("Running checksum test: threads={} chunkSize={} " +
+            "bytesPerChecksum={} checksumType={} bufferType={} parallel={}",
+        getThreadNo(), chunkSize, bytesPerChecksum, checksumType, bufferType,
+        parallel);
+
+    runTests(this::computeChecksum);
+    return null;
+  }
+
+  private void computeChecksum(long l) throws OzoneChecksumException {
+    Checksum checksum = checksums.get();
+    if (checksum == null) {
+      checksum = new Checksum(checksumType, bytesPerChecksum, parallel);
+      checksums.set(checksum);
+    }
+    final ChunkBuffer buffer = createBuffer();
+
+    final long start = System.nanoTime();
+    checksum.computeChecksum(buffer);
+    timer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  private ChunkBuffer createBuffer() {
+    switch (bufferType) {
+    case BYTE_BUFFER:
+      return ChunkBuffer.wrap(ByteBuffer.wrap(data).asReadOnlyBuffer());
+    case BYTE_BUFFER_LIST:
+      final List<ByteBuffer> buffers = new ArrayList<>();
+      for (int off = 0; off < chunkSize; off += bytesPerChecksum) {
+        buffers.add(ByteBuffer.wrap(data, off,
+            Math.min(bytesPerChecksum, chunkSize - off)).slice());
+      }
+      return ChunkBuffer.wrap(buffers);
+    case INCREMENTAL:
+      final ChunkBuffer incremental =
+          ChunkBuffer.allocate(chunkSize, bytesPerChecksum);
+      incremental.put(data).rewind();
+      return incremental;
+    default:
+      throw new IllegalArgumentException("Unknown buffer type " + bufferType);
+    }
+  }
+}
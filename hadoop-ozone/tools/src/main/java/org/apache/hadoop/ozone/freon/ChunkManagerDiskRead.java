@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.freon;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext.WriteChunkStage;
+import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
+import org.apache.hadoop.ozone.container.common.volume.RoundRobinVolumeChoosingPolicy;
+import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.keyvalue.impl.ChunkManagerFactory;
+import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
+
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang3.RandomStringUtils.randomAscii;
+
+/**
+ * Reads chunks directly through the datanode ChunkManager.
+ * <p>
+ * Compare runs with {@code --read-channel-cache-size 0} (open and lock the
+ * file for every read) and a positive size (cached, lock-free channels).
+ */
+@Command(name = "cmdr",
+    aliases = "chunk-manager-disk-read",
+    description = "Read chunks as fast as possible.",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+@SuppressWarnings("java:S2245") // no need for secure random
+public class ChunkManagerDiskRead extends BaseFreonGenerator implements
+    Callable<Void> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChunkManagerDiskRead.class);
+
+  @Option(names = {"-s", "--size"},
+      description = "Size of the chunks (in bytes)",
+      defaultValue = "4194304")
+  private int chunkSize;
+
+  @Option(names = {"-c", "--chunks-per-block"},
+      description = "The number of chunks written to each block",
+      defaultValue = "4")
+  private int chunksPerBlock;
+
+  @Option(names = {"-b", "--blocks"},
+      description = "The number of blocks written before reading",
+      defaultValue = "16")
+  private int blocks;
+
+  @Option(names = {"--read-channel-cache-size"},
+      description = "Number of read channels cached per volume, " +
+          "0 to disable the cache",
+      defaultValue = "256")
+  private int readChannelCacheSize;
+
+  @Option(names = {"-l", "--layout"},
+      description = "Strategy to layout files in the container",
+      defaultValue = "FILE_PER_BLOCK"
+  )
+  private ContainerLayoutVersion containerLayout;
+
+  private ChunkManager chunkManager;
+
+  private KeyValueContainer container;
+
+  private Timer timer;
+
+  @Override
+  public Void call() throws Exception {
+    MutableVolumeSet volumeSet = null;
+    try {
+      init();
+      OzoneConfiguration ozoneConfiguration = createOzoneConfiguration();
+      DatanodeConfiguration dnConf =
+          ozoneConfiguration.getObject(DatanodeConfiguration.class);
+      dnConf.setReadChannelCacheSize(readChannelCacheSize);
+      ozoneConfiguration.setFromObject(dnConf);
+
+      volumeSet =
+          new MutableVolumeSet("dnid", "clusterid", ozoneConfiguration, null,
+              StorageVolume.VolumeType.DATA_VOLUME, null);
+
+      //use a non-negative container id
+      long containerId = new Random().nextLong() & 0x0F_FF_FF_FF_FF_FF_FF_FFL;
+      KeyValueContainerData containerData =
+          new KeyValueContainerData(containerId, containerLayout,
+              (long) chunkSize * chunksPerBlock * blocks, getPrefix(),
+              "nodeid");
+      container = new KeyValueContainer(containerData, ozoneConfiguration);
+      container.create(volumeSet, new RoundRobinVolumeChoosingPolicy(),
+          "scmid");
+
+      chunkManager = ChunkManagerFactory.createChunkManager(ozoneConfiguration,
+          null, null);
+
+      writeBlocks();
+
+      timer = getMetrics().timer("chunk-read");
+
+      LOG.info("Running chunk read test: threads={} chunkSize={} " +
+              "chunksPerBlock={} blocks={} layout={} readChannelCacheSize={}",
+          getThreadNo(), chunkSize, chunksPerBlock, blocks, containerLayout,
+          readChannelCacheSize);
+
+      runTests(this::readChunk);
+    } finally {
+      if (chunkManager != null) {
+        chunkManager.shutdown();
+      }
+      if (volumeSet != null) {
+        volumeSet.shutdown();
+      }
+    }
+    return null;
+  }
+
+  private void writeBlocks() throws StorageContainerException {
+    byte[] data = randomAscii(chunkSize).getBytes(UTF_8);
+    long index = 0;
+    for (int b = 0; b < blocks; b++) {
+      BlockID blockID = getBlockID(b);
+      for (int c = 0; c < chunksPerBlock; c++) {
+        DispatcherContext context = new DispatcherContext.Builder()
+            .setStage(WriteChunkStage.COMBINED)
+            .setTerm(1L)
+            .setLogIndex(index++)
+            .build();
+        chunkManager.writeChunk(container, blockID, getChunkInfo(b, c),
+            ByteBuffer.wrap(data), context);
+      }
+    }
+  }
+
+  private void readChunk(long l) {
+    int blockIndex = (int) (l % blocks);
+    BlockID blockID = getBlockID(blockIndex);
+    ChunkInfo chunkInfo =
+        getChunkInfo(blockIndex, (int) ((l / blocks) % chunksPerBlock));
+
+    timer.time(() -> {
+      try {
+        ChunkBuffer data =
+            chunkManager.readChunk(container, blockID, chunkInfo, null);
+        if (data.remaining() != chunkSize) {
+          throw new IllegalStateException("Unexpected read size " +
+              data.remaining() + " for " + chunkInfo);
+        }
+      } catch (StorageContainerException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private BlockID getBlockID(int index) {
+    return new BlockID(container.getContainerData().getContainerID(), index);
+  }
+
+  private ChunkInfo getChunkInfo(int blockIndex, int index) {
+    String chunkName = getPrefix() + "_" + blockIndex + "_chunk_" + index;
+    return new ChunkInfo(chunkName, (long) index * chunkSize, chunkSize);
+  }
+}
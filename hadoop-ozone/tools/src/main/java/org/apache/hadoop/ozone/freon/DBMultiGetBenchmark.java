@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.freon;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
+import org.apache.hadoop.hdds.utils.db.Table;
+
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Looks up random keys of a local RocksDB table, either one by one or with
+ * a single {@link Table#multiGet(List)} per batch.
+ * <p>
+ * Run once with and once without {@code --multi-get} on the same DB, and
+ * compare the lookup times.
+ */
+@Command(name = "dbmgb",
+    aliases = "db-multiget-benchmark",
+    description = "Look up batches of keys in a local RocksDB table.",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+public class DBMultiGetBenchmark extends BaseFreonGenerator implements
+    Callable<Void> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(DBMultiGetBenchmark.class);
+
+  private static final String TABLE_NAME = "benchmark";
+
+  @Option(names = {"--path"},
+      description = "Directory of the DB, created and filled if missing",
+      required = true)
+  private File path;
+
+  @Option(names = {"--keys"},
+      description = "Number of keys in the table",
+      defaultValue = "1000000")
+  private int keyCount;
+
+  @Option(names = {"--value-size"},
+      description = "Size of the values (in bytes)",
+      defaultValue = "512")
+  private int valueSize;
+
+  @Option(names = {"--batch-size"},
+      description = "Number of keys looked up together",
+      defaultValue = "64")
+  private int batchSize;
+
+  @Option(names = {"--multi-get"},
+      description = "Look up each batch with a single MultiGet",
+      defaultValue = "false")
+  private boolean multiGet;
+
+  private Table<String, byte[]> table;
+
+  private Timer timer;
+
+  @Override
+  public Void call() throws Exception {
+    init();
+
+    final boolean exists = path.exists();
+    final OzoneConfiguration conf = createOzoneConfiguration();
+    try (DBStore store = DBStoreBuilder.newBuilder(conf)
+        .setName("benchmark.db")
+        .setPath(path.toPath())
+        .addTable(TABLE_NAME)
+        .build()) {
+      table = store.getTable(TABLE_NAME, String.class, byte[].class);
+      if (!exists) {
+        fill(store);
+      }
+      timer = getMetrics().timer("lookup");
+
+      LOG.info("Running lookup test: threads={} keys={} batchSize={} " +
+          "multiGet={}", getThreadNo(), keyCount, batchSize, multiGet);
+
+      runTests(this::lookup);
+    }
+    return null;
+  }
+
+  private void fill(DBStore store) throws IOException {
+    LOG.info("Writing {} keys to {}", keyCount, path);
+    final byte[] value = RandomUtils.nextBytes(valueSize);
+    final int flushEvery = 10000;
+    for (int start = 0; start < keyCount; start += flushEvery) {
+      try (BatchOperation batch = store.initBatchOperation()) {
+        for (int i = start; i < Math.min(start + flushEvery, keyCount); i++) {
+          table.putWithBatch(batch, key(i), value);
+        }
+        store.commitBatchOperation(batch);
+      }
+    }
+    store.flushDB();
+  }
+
+  private void lookup(long l) throws IOException {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final List<String> keys = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      keys.add(key(random.nextInt(keyCount)));
+    }
+
+    final long start = System.nanoTime();
+    if (multiGet) {
+      table.multiGet(keys);
+    } else {
+      for (String key : keys) {
+        table.get(key);
+      }
+    }
+    timer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  private static String key(int i) {
+    return String.format("/vol/bucket/key-%010d", i);
+  }
+}
@@ -58,6 +58,9 @@
         DatanodeBlockPutter.class,
         FollowerAppendLogEntryGenerator.class,
         ChunkManagerDiskWrite.class,
+        ChunkManagerDiskRead.class,
+        ChecksumBenchmark.class,
+        DBMultiGetBenchmark.class,
         LeaderAppendLogEntryGenerator.class,
         GeneratorOm.class,
         GeneratorScm.class,
@@ -94,6 +94,7 @@
  * - allocate blocks (ops)
  * - allocate containers (ops)
  * - process reports(container reports only) (ops)
+ * - process heartbeats(node reports only) (ops)
  *
  * Remember to add the following configs to your ozone-site.xml:
  * - ozone.scm.heartbeat.thread.interval: 1h
@@ -121,6 +122,7 @@ public enum BenchmarkType {
     AllocateBlocks,
     AllocateContainers,
     ProcessReports,
+    ProcessHeartbeats,
   }
 
   @CommandLine.ParentCommand
@@ -128,7 +130,8 @@ public enum BenchmarkType {
 
   @CommandLine.Option(names = {"--benchmark"},
       description = "Which type of benchmark to run " +
-          "(AllocateBlocks, AllocateContainers, ProcessReports).",
+          "(AllocateBlocks, AllocateContainers, ProcessReports, " +
+          "ProcessHeartbeats).",
       required = true,
       defaultValue = "")
   private String benchmarkType = "";
@@ -213,6 +216,9 @@ private ThroughputBenchmark createBenchmark() {
       benchmark = new ReportBenchmark(numDatanodes, numContainers,
           numHeartbeats);
       break;
+    case ProcessHeartbeats:
+      benchmark = new HeartbeatBenchmark(numThreads, numHeartbeats);
+      break;
     default:
       throw new IllegalArgumentException(benchmarkType +
           " is not a valid benchmarkType.");
@@ -790,6 +796,82 @@ public void run() {
     }
   }
 
+  /**
+   * Benchmarks throughput of heartbeats carrying node reports in scm.
+   * Each round every fake datanode sends one heartbeat with a full node
+   * report, so the heartbeat path and the node report path are measured
+   * together.
+   */
+  private class HeartbeatBenchmark extends ThroughputBenchmark {
+
+    private final AtomicInteger nextDatanode;
+    private final AtomicInteger succHeartbeatCounter;
+    private final AtomicInteger failHeartbeatCounter;
+    private final int totalHeartbeats;
+
+    HeartbeatBenchmark(int threads, int rounds) {
+      super(threads);
+      this.nextDatanode = new AtomicInteger();
+      this.succHeartbeatCounter = new AtomicInteger();
+      this.failHeartbeatCounter = new AtomicInteger();
+      this.totalHeartbeats = numDatanodes * rounds;
+    }
+
+    @Override
+    public void prepare() {
+      super.prepare();
+      for (int i = 0; i < getNumThreads(); i++) {
+        enqueueTask(new HeartbeatTask());
+      }
+    }
+
+    @Override
+    public void showSummary() {
+      super.showSummary();
+
+      long execSecs = TimeUnit.SECONDS.convert(getExecTime(),
+          TimeUnit.NANOSECONDS);
+      long heartbeats = succHeartbeatCounter.get();
+      float heartbeatsPerSec = execSecs != 0 ?
+          (float) heartbeats / execSecs : heartbeats;
+
+      System.out.println("***************************************");
+      System.out.printf("Total heartbeats sent: %d%n", heartbeats);
+      System.out.printf("Total failed heartbeats: %d%n",
+          failHeartbeatCounter.get());
+      System.out.printf("Execution Time: %s%n", getFormattedTime());
+      System.out.printf("Throughput: %f (ops)%n", heartbeatsPerSec);
+      System.out.println("***************************************");
+    }
+
+    @Override
+    public void waitForComplete() throws InterruptedException {
+      while (succHeartbeatCounter.get() + failHeartbeatCounter.get()
+          < totalHeartbeats) {
+        Thread.sleep(CHECK_INTERVAL_MILLIS);
+        LOG.info("Heartbeats sent: ({}+{})/{}", succHeartbeatCounter.get(),
+            failHeartbeatCounter.get(), totalHeartbeats);
+      }
+    }
+
+    private class HeartbeatTask implements Runnable {
+
+      @Override
+      public void run() {
+        for (int i = nextDatanode.getAndIncrement(); i < totalHeartbeats;
+             i = nextDatanode.getAndIncrement()) {
+          try {
+            datanodes.get(i % numDatanodes).sendNodeReportHeartbeat();
+            succHeartbeatCounter.incrementAndGet();
+          } catch (IOException | TimeoutException e) {
+            LOG.error("Failed to send heartbeat with node report.", e);
+            failHeartbeatCounter.incrementAndGet();
+          }
+        }
+      }
+    }
+  }
+
   /**
    * This class simulates the register and heartbeat behavior
    * of a normal Datanode, but does not have real daemons.
@@ -832,6 +914,18 @@ public void sendHeartbeat() throws IOException, TimeoutException {
       // scm commands are ignored
     }
 
+    public void sendNodeReportHeartbeat()
+        throws IOException, TimeoutException {
+      SCMHeartbeatRequestProto heartbeatRequest = SCMHeartbeatRequestProto
+          .newBuilder()
+          .setDatanodeDetails(datanodeDetails.getProtoBufMessage())
+          .setNodeReport(createNodeReport(datanodeDetails.getUuid()))
+          .setDataNodeLayoutVersion(UpgradeUtils.defaultLayoutVersionProto())
+          .build();
+      datanodeScmClient.sendHeartbeat(heartbeatRequest);
+      // scm commands are ignored
+    }
+
     public void buildContainerReports(List<ContainerInfo> containers) {
       ContainerReportsProto.Builder reportBuilder =
           ContainerReportsProto.newBuilder();